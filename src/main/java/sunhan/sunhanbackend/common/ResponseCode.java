@@ -16,4 +16,7 @@ public interface ResponseCode {
 
     // 로그아웃 실패를 나타내는 코드
     String LOGOUT_FAIL = "LF";
+
+    // 로그인 시도 제한 초과를 나타내는 코드
+    String TOO_MANY_REQUESTS = "TMR";
 }
@@ -16,4 +16,7 @@ public interface ResponseMessage {
 
     // 로그아웃 실패를 나타내는 메시지
     String LOGOUT_FAIL = "Logout Fail.";
+
+    // 로그인 시도 제한 초과를 나타내는 메시지
+    String TOO_MANY_REQUESTS = "Too many login attempts.";
 }
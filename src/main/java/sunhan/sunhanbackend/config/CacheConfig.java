@@ -16,6 +16,6 @@ public class CacheConfig {
                 "deptCache", "deptJobLevelCache","deptManagerUseFlagCache","deptUsersCache",
                 "signatureCache", "deptManagerCache","hrStaffCache", "hrStaffUseFlagCache",
                 "jobLevelCache","jobLevelUsersCache", "jobLevelUseFlagCache",
-                "formTemplate", "permissionCheckCache", "userAllPermissionsCache");
+                "formTemplate", "permissionCheckCache");
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package sunhan.sunhanbackend.config;
 
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -46,6 +47,9 @@ public class SecurityConfig {
                         sessionManagement.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
 
                 .authorizeHttpRequests(request -> request
+                        // ⭐ 0. 비동기 디스패치 (StreamingResponseBody 완료 시점) - 최초 요청에서 이미 인가됨
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // ⭐ 1. 관리자 전용 경로 (가장 먼저!)
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
 
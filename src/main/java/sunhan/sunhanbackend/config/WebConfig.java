@@ -1,17 +1,23 @@
 package sunhan.sunhanbackend.config;
 
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.Resource;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.springframework.web.servlet.resource.PathResourceResolver;
+import sunhan.sunhanbackend.security.PermissionCheckInterceptor;
 
 import java.io.IOException;
 
 @Configuration
+@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
 
+    private final PermissionCheckInterceptor permissionCheckInterceptor;
+
     @Value("${file.upload.employment-dir}")
     private String employmentDir;
 
@@ -27,6 +33,12 @@ public class WebConfig implements WebMvcConfigurer {
     @Value("${file.upload.consent-dir}")
     private String consentDir;
 
+    // ✅ @RequiresPermission / @RequiresJobLevel 검사
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(permissionCheckInterceptor).addPathPatterns("/api/**");
+    }
+
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
         // ⭐ React 앱 설정 - 수정된 버전
@@ -0,0 +1,49 @@
+package sunhan.sunhanbackend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import sunhan.sunhanbackend.util.WorkingDayCalendar;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.*;
+
+/**
+ * 휴가 일수 계산 규칙 설정
+ * 기본값은 기존 동작과 같이 모든 날을 휴가 일수에 포함합니다.
+ *
+ * leave.working-day.exclude-weekends=true      토/일 제외
+ * leave.working-day.exclude-holidays=true      양력 공휴일 + holidays 목록 제외
+ * leave.working-day.holidays=2025-01-28,...    음력 명절/대체공휴일 등
+ */
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "leave.working-day")
+public class WorkingDayConfig {
+
+    // 양력 고정 공휴일 (PdfGenerationService 기본 공휴일과 동일)
+    private static final Set<MonthDay> FIXED_HOLIDAYS = Set.of(
+            MonthDay.of(1, 1), MonthDay.of(3, 1), MonthDay.of(5, 5), MonthDay.of(6, 6),
+            MonthDay.of(8, 15), MonthDay.of(10, 3), MonthDay.of(10, 9), MonthDay.of(12, 25)
+    );
+
+    private boolean excludeWeekends = false;
+    private boolean excludeHolidays = false;
+    private List<LocalDate> holidays = new ArrayList<>();
+
+    @Bean
+    public WorkingDayCalendar workingDayCalendar() {
+        Set<DayOfWeek> weekendDays = excludeWeekends
+                ? EnumSet.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY)
+                : EnumSet.noneOf(DayOfWeek.class);
+        if (!excludeHolidays) {
+            return new WorkingDayCalendar(weekendDays, Set.of(), Set.of());
+        }
+        return new WorkingDayCalendar(weekendDays, FIXED_HOLIDAYS, new HashSet<>(holidays));
+    }
+}
@@ -28,6 +28,8 @@ import sunhan.sunhanbackend.enums.PermissionType;
 import sunhan.sunhanbackend.provider.JwtProvider;
 import sunhan.sunhanbackend.repository.mysql.LeaveApplicationRepository;
 import sunhan.sunhanbackend.repository.mysql.UserRepository;
+import sunhan.sunhanbackend.security.RequiresJobLevel;
+import sunhan.sunhanbackend.security.RequiresPermission;
 import sunhan.sunhanbackend.service.LeaveApplicationService;
 import sunhan.sunhanbackend.service.PermissionService;
 import sunhan.sunhanbackend.service.UserService;
@@ -78,6 +80,16 @@ public class AdminController {
         // ✅ 연도 기본값 설정
         final Integer targetYear = (year != null) ? year : LocalDate.now().getYear();
 
+        // ✅ 연차 현황 일괄 조회 (실패 시 사용자별 개별 조회)
+        Map<String, VacationStatusResponseDto> vacationStatuses = new HashMap<>();
+        try {
+            vacationStatuses = vacationService.getVacationStatuses(
+                    users.stream().map(UserEntity::getUserId).toList(), targetYear);
+        } catch (Exception e) {
+            log.warn("연차 현황 일괄 조회 실패: year={}", targetYear, e);
+        }
+        final Map<String, VacationStatusResponseDto> prefetchedStatuses = vacationStatuses;
+
         List<UserResponseDto> dtos = users.stream().map(u -> {
             UserResponseDto dto = new UserResponseDto();
             dto.setUserId(u.getUserId());
@@ -89,10 +101,10 @@ public class AdminController {
 
             // ✅ VacationService 사용
             try {
-                VacationStatusResponseDto vacationStatus = vacationService.getVacationStatus(
-                        u.getUserId(),
-                        targetYear
-                );
+                VacationStatusResponseDto vacationStatus = prefetchedStatuses.get(u.getUserId());
+                if (vacationStatus == null) {
+                    vacationStatus = vacationService.getVacationStatus(u.getUserId(), targetYear);
+                }
                 dto.setTotalVacationDays(vacationStatus.getAnnualTotalDays());
                 dto.setUsedVacationDays(vacationStatus.getAnnualUsedDays());
                 dto.setRemainingVacationDays(vacationStatus.getAnnualRemainingDays());
@@ -535,6 +547,7 @@ public class AdminController {
 
     @PostMapping("/reset-user-password")
     @PreAuthorize("hasRole('ADMIN')") // ✅ 추가 (보안 강화)
+    @RequiresJobLevel(levels = 6, message = "최고관리자(jobLevel 6)만 비밀번호를 변경할 수 있습니다.")
     public ResponseEntity<?> resetUserPassword(
             @RequestBody ResetPasswordRequest request,
             Authentication authentication
@@ -543,15 +556,6 @@ public class AdminController {
             // ✅ Authentication에서 userId 추출
             String adminUserId = (String) authentication.getPrincipal();
 
-            UserEntity admin = userRepository.findByUserId(adminUserId)
-                    .orElseThrow(() -> new IllegalArgumentException("관리자를 찾을 수 없습니다."));
-
-            int adminLevel = Integer.parseInt(admin.getJobLevel());
-            if (adminLevel != 6) {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN)
-                        .body(Map.of("error", "최고관리자(jobLevel 6)만 비밀번호를 변경할 수 있습니다."));
-            }
-
             UserEntity targetUser = userRepository.findByUserId(request.getTargetUserId())
                     .orElseThrow(() -> new IllegalArgumentException("대상 사용자를 찾을 수 없습니다."));
 
@@ -561,13 +565,10 @@ public class AdminController {
             userRepository.save(targetUser);
 
             log.info("최고관리자 {}가 사용자 {}의 비밀번호를 변경함",
-                    admin.getUserId(), targetUser.getUserId());
+                    adminUserId, targetUser.getUserId());
 
             return ResponseEntity.ok(Map.of("message", "비밀번호가 변경되었습니다."));
 
-        } catch (NumberFormatException e) {
-            return ResponseEntity.badRequest()
-                    .body(Map.of("error", "잘못된 jobLevel 형식입니다."));
         } catch (Exception e) {
             log.error("비밀번호 변경 실패", e);
             return ResponseEntity.badRequest()
@@ -580,20 +581,12 @@ public class AdminController {
      */
     @PostMapping("/users/register")
     @PreAuthorize("hasRole('ADMIN')")
+    @RequiresPermission(value = PermissionType.MANAGE_USERS, message = "회원 등록 권한이 없습니다.")
     public ResponseEntity<?> registerUser(
             @RequestBody UserRegistrationDto dto,
             Authentication authentication
     ) {
         try {
-            String adminUserId = (String) authentication.getPrincipal();
-
-            // 권한 체크
-            Set<PermissionType> permissions = permissionService.getAllUserPermissions(adminUserId);
-            if (!permissions.contains(PermissionType.MANAGE_USERS)) {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN)
-                        .body(Map.of("error", "회원 등록 권한이 없습니다."));
-            }
-
             UserEntity newUser = userService.registerUser(dto);
 
             return ResponseEntity.ok(Map.of(
@@ -28,12 +28,13 @@ public class AuthController {
     @PostMapping("/sign-in")
     public ResponseEntity<?> signIn(
             @RequestBody @Valid SignInRequestDto requestBody,
+            HttpServletRequest request,
             HttpServletResponse response
     ) {
         log.info("🔐 Login attempt for userId: {}", requestBody.getId());
 
-        // 1. 로그인 처리
-        ResponseEntity<? super SignInResponseDto> result = authService.signIn(requestBody);
+        // 1. 로그인 처리 (IP별 시도 제한 포함, 프록시 뒤에서는 RemoteIpValve가 X-Forwarded-For의 실제 IP로 바꿔 줌)
+        ResponseEntity<? super SignInResponseDto> result = authService.signIn(requestBody, request.getRemoteAddr());
 
         // 2. 로그인 실패 시
         if (result.getStatusCode() != HttpStatus.OK) {
@@ -14,9 +14,11 @@ import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import sunhan.sunhanbackend.entity.mysql.UserEntity;
 import sunhan.sunhanbackend.entity.mysql.consent.ConsentAgreement;
+import sunhan.sunhanbackend.enums.PermissionType;
 import sunhan.sunhanbackend.enums.consent.ConsentStatus;
 import sunhan.sunhanbackend.enums.consent.ConsentType;
 import sunhan.sunhanbackend.repository.mysql.UserRepository;
+import sunhan.sunhanbackend.security.RequiresPermission;
 import sunhan.sunhanbackend.service.consent.ConsentService;
 import sunhan.sunhanbackend.util.ConsentPdfRenderer;
 import org.springframework.http.ContentDisposition;
@@ -60,10 +62,10 @@ public class ConsentController {
      * 권한: CONSENT_MANAGE 필요
      */
     @GetMapping("/admin/list")
+    @RequiresPermission(value = PermissionType.CONSENT_MANAGE, message = "관리 권한이 없습니다.")
     public ResponseEntity<?> getAdminList(Authentication auth) {
         try {
-            String userId = auth.getName();
-            List<ConsentAgreement> agreements = consentService.findAllForAdmin(userId);
+            List<ConsentAgreement> agreements = consentService.findAllForAdmin();
             return ResponseEntity.ok(agreements);
         } catch (Exception e) {
             log.error("관리자 목록 조회 실패", e);
@@ -81,6 +83,7 @@ public class ConsentController {
      * @param size 페이지 크기 (default: 20)
      */
     @GetMapping("/admin/search")
+    @RequiresPermission(value = PermissionType.CONSENT_MANAGE, message = "관리 권한이 없습니다.")
     public ResponseEntity<?> searchAgreements(
             @RequestParam(required = false) ConsentStatus status,
             @RequestParam(required = false) ConsentType type,
@@ -90,11 +93,10 @@ public class ConsentController {
             Authentication auth
     ) {
         try {
-            String userId = auth.getName();
             Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
 
             Page<ConsentAgreement> result = consentService.searchAgreements(
-                    userId, status, type, searchTerm, pageable
+                    status, type, searchTerm, pageable
             );
 
             return ResponseEntity.ok(Map.of(
@@ -114,10 +116,10 @@ public class ConsentController {
      * 관리자용: 통계 조회
      */
     @GetMapping("/admin/statistics")
+    @RequiresPermission(value = PermissionType.CONSENT_MANAGE, message = "관리 권한이 없습니다.")
     public ResponseEntity<?> getStatistics(Authentication auth) {
         try {
-            String userId = auth.getName();
-            Map<String, Object> stats = consentService.getStatistics(userId);
+            Map<String, Object> stats = consentService.getStatistics();
             return ResponseEntity.ok(stats);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
@@ -132,6 +134,7 @@ public class ConsentController {
      * 권한: CONSENT_CREATE 필요
      */
     @GetMapping("/creator/list")
+    @RequiresPermission(value = PermissionType.CONSENT_CREATE, message = "동의서 생성 권한이 없습니다.")
     public ResponseEntity<?> getMyIssuedList(Authentication auth) {
         try {
             String userId = auth.getName();
@@ -147,6 +150,7 @@ public class ConsentController {
      * 생성자용: 내가 발송한 완료 동의서만
      */
     @GetMapping("/creator/completed")
+    @RequiresPermission(value = PermissionType.CONSENT_CREATE, message = "동의서 생성 권한이 없습니다.")
     public ResponseEntity<?> getMyCompletedList(Authentication auth) {
         try {
             String userId = auth.getName();
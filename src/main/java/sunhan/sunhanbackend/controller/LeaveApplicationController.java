@@ -20,19 +20,29 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import sunhan.sunhanbackend.dto.request.*;
 import sunhan.sunhanbackend.dto.response.AttachmentResponseDto;
+import sunhan.sunhanbackend.dto.response.BulkApprovalResultDto;
+import sunhan.sunhanbackend.dto.response.DeptAbsenceCalendarDto;
 import sunhan.sunhanbackend.dto.response.LeaveApplicationResponseDto;
+import sunhan.sunhanbackend.dto.response.LeaveApprovalHistoryDto;
 import sunhan.sunhanbackend.entity.mysql.LeaveApplication;
+import sunhan.sunhanbackend.entity.mysql.LeaveApplicationAttachment;
 import sunhan.sunhanbackend.entity.mysql.UserEntity;
 import sunhan.sunhanbackend.enums.LeaveApplicationStatus;
 import sunhan.sunhanbackend.enums.PermissionType;
+import sunhan.sunhanbackend.service.LeaveApplicationBatchService;
 import sunhan.sunhanbackend.service.LeaveApplicationService;
+import sunhan.sunhanbackend.service.LeaveApprovalHistoryService;
+import sunhan.sunhanbackend.service.LeaveCalendarService;
 import sunhan.sunhanbackend.service.PermissionService;
 import sunhan.sunhanbackend.service.UserService;
 import sunhan.sunhanbackend.service.VacationService;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @RestController
@@ -45,6 +55,9 @@ public class LeaveApplicationController {
     private final UserService userService;
     private final ObjectMapper objectMapper; // ObjectMapper 주입
     private final PermissionService permissionService;
+    private final LeaveCalendarService leaveCalendarService;
+    private final LeaveApprovalHistoryService approvalHistoryService;
+    private final LeaveApplicationBatchService leaveApplicationBatchService;
 
 
     /**
@@ -760,23 +773,32 @@ public class LeaveApplicationController {
 
     /**
      * 휴가원 첨부파일 다운로드
+     * 내용 해시로 저장된 파일은 ETag(SHA-256)와 immutable 캐시 헤더를 붙여 내려주며,
+     * Range / If-None-Match 요청은 Spring MVC의 Resource 처리로 206 / 304 응답됩니다.
      */
     @GetMapping("/attachments/{attachmentId}/download")
     public ResponseEntity<Resource> downloadAttachment(@PathVariable Long attachmentId) {
         try {
             // 파일 정보를 먼저 조회하여 원본 파일 이름을 가져옴
-            String originalFileName = leaveApplicationService.getAttachmentInfo(attachmentId).getOriginalFileName();
-            Resource resource = leaveApplicationService.loadFileAsResource(attachmentId);
+            LeaveApplicationAttachment attachment = leaveApplicationService.getAttachmentInfo(attachmentId);
+            Resource resource = leaveApplicationService.loadFileAsResource(attachment);
 
             // 한글 파일 이름이 깨지지 않도록 Content-Disposition 헤더 설정
             ContentDisposition contentDisposition = ContentDisposition.builder("attachment")
-                    .filename(originalFileName, StandardCharsets.UTF_8)
+                    .filename(attachment.getOriginalFileName(), StandardCharsets.UTF_8)
                     .build();
 
-            return ResponseEntity.ok()
+            ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
                     .contentType(MediaType.APPLICATION_OCTET_STREAM) // 범용적인 이진 파일 타입
-                    .header(HttpHeaders.CONTENT_DISPOSITION, contentDisposition.toString())
-                    .body(resource);
+                    .header(HttpHeaders.CONTENT_DISPOSITION, contentDisposition.toString());
+
+            // ✅ 내용 해시가 있으면 내용이 바뀌지 않으므로 장기 캐시 허용
+            if (attachment.getContentHash() != null) {
+                builder.eTag(attachment.getContentHash())
+                        .cacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePrivate().immutable());
+            }
+
+            return builder.body(resource);
 
         } catch (EntityNotFoundException e) {
             log.error("다운로드할 파일을 찾을 수 없음: attachmentId={}", attachmentId, e);
@@ -935,6 +957,48 @@ public class LeaveApplicationController {
     }
 
 
+    /**
+     * ✅ 결재라인 기반 일괄 승인 (한 트랜잭션, 항목별 결과 반환)
+     */
+    @PostMapping("/bulk/approve")
+    public ResponseEntity<?> bulkApprove(
+            @Valid @RequestBody BulkApprovalRequestDto request,
+            Authentication auth
+    ) {
+        try {
+            BulkApprovalResultDto result = leaveApplicationBatchService.approveAll(auth.getName(), request);
+            return ResponseEntity.ok(result);
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            log.error("일괄 승인 실패", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * ✅ 결재라인 기반 일괄 반려 (한 트랜잭션, 항목별 결과 반환)
+     */
+    @PostMapping("/bulk/reject")
+    public ResponseEntity<?> bulkReject(
+            @Valid @RequestBody BulkApprovalRequestDto request,
+            Authentication auth
+    ) {
+        try {
+            BulkApprovalResultDto result = leaveApplicationBatchService.rejectAll(auth.getName(), request);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            log.error("일괄 반려 실패", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
     /**
      * 날짜 범위로 완료된 휴가원 검색
      */
@@ -1030,5 +1094,117 @@ public class LeaveApplicationController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
-}
 
+    /**
+     * ✅ 휴가원 결재 이력 조회
+     */
+    @GetMapping("/{id}/approval-history")
+    public ResponseEntity<?> getApprovalHistory(@PathVariable Long id, Authentication auth) {
+        try {
+            List<LeaveApprovalHistoryDto> history = leaveApplicationService.getApprovalHistory(id, auth.getName());
+            return ResponseEntity.ok(history);
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("error", e.getMessage()));
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            log.error("결재 이력 조회 실패: id={}", id, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * ✅ 내가 처리한 결재 이력 조회 (페이지네이션)
+     */
+    @GetMapping("/approval-history/me")
+    public ResponseEntity<Page<LeaveApprovalHistoryDto>> getMyApprovalHistory(
+            Authentication auth,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        int safeSize = Math.max(1, Math.min(size, 100));
+        Page<LeaveApprovalHistoryDto> result = approvalHistoryService.getHistoryByActor(
+                auth.getName(), PageRequest.of(Math.max(0, page), safeSize));
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("X-Total-Count", String.valueOf(result.getTotalElements()));
+        return new ResponseEntity<>(result, headers, HttpStatus.OK);
+    }
+
+    /**
+     * ✅ 과거 JSON 결재 이력 이관 (최고관리자 전용, 1회성)
+     */
+    @PostMapping("/admin/migrate-approval-history")
+    public ResponseEntity<?> migrateApprovalHistory(Authentication auth) {
+        try {
+            UserEntity user = userService.getUserInfo(auth.getName());
+            if (!user.isSuperAdmin()) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body(Map.of("error", "최고관리자만 실행할 수 있습니다."));
+            }
+
+            int migrated = approvalHistoryService.migrateLegacyJsonHistory();
+            return ResponseEntity.ok(Map.of("migratedCount", migrated));
+        } catch (Exception e) {
+            log.error("결재 이력 마이그레이션 실패", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * ✅ 부서 부재 달력 조회 (월 단위)
+     * dept 미지정 시 요청자 부서, month 형식: yyyy-MM
+     */
+    @GetMapping("/calendar")
+    public ResponseEntity<?> getDepartmentCalendar(
+            Authentication auth,
+            @RequestParam(required = false) String dept,
+            @RequestParam String month
+    ) {
+        try {
+            YearMonth yearMonth = YearMonth.parse(month);
+            DeptAbsenceCalendarDto calendar =
+                    leaveCalendarService.getDepartmentCalendar(auth.getName(), dept, yearMonth);
+            return ResponseEntity.ok(calendar);
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", "month는 yyyy-MM 형식이어야 합니다."));
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            log.error("부서 부재 달력 조회 실패", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * ✅ 부서 부재 달력 재구축 (최고관리자 전용, 기존 승인 데이터 백필용)
+     */
+    @PostMapping("/calendar/rebuild")
+    public ResponseEntity<?> rebuildDepartmentCalendar(
+            Authentication auth,
+            @RequestParam int year
+    ) {
+        try {
+            UserEntity user = userService.getUserInfo(auth.getName());
+            if (!user.isSuperAdmin()) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body(Map.of("error", "최고관리자만 실행할 수 있습니다."));
+            }
+
+            int count = leaveCalendarService.rebuild(
+                    LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31));
+            return ResponseEntity.ok(Map.of("year", year, "rebuiltCount", count));
+        } catch (Exception e) {
+            log.error("부서 부재 달력 재구축 실패", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+}
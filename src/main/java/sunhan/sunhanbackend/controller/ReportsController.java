@@ -10,8 +10,10 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import sunhan.sunhanbackend.dto.response.ReportsCursorPageDto;
 import sunhan.sunhanbackend.dto.response.ReportsResponseDto;
 import sunhan.sunhanbackend.entity.mysql.UserEntity;
+import sunhan.sunhanbackend.service.DocumentInboxRebuildJob;
 import sunhan.sunhanbackend.service.IntegratedReportsService;
 import sunhan.sunhanbackend.service.UserService;
 
@@ -26,6 +28,7 @@ public class ReportsController {
 
     private final IntegratedReportsService integratedReportsService;
     private final UserService userService;
+    private final DocumentInboxRebuildJob documentInboxRebuildJob;
 
     /**
      * 문서 현황 보고서 - 상태별 개수만 반환 (DB 레벨 최적화)
@@ -77,6 +80,73 @@ public class ReportsController {
         return ResponseEntity.ok(resultPage);
     }
 
+    /**
+     * 완료 문서 목록 커서 조회 - 깊은 페이지도 타입별 size+1건만 조회
+     * 첫 페이지는 cursor 없이 호출하고, 이후 응답의 nextCursor를 그대로 전달
+     */
+    @GetMapping("/reports/documents/completed/cursor")
+    public ResponseEntity<?> getCompletedDocumentsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            Authentication auth) {
+
+        String userId = auth.getName();
+        try {
+            ReportsCursorPageDto result = integratedReportsService.getCompletedDocumentsByCursor(userId, cursor, size);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            log.error("완료 문서 커서 조회 실패: userId={}", userId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "완료 문서 조회 중 오류가 발생했습니다."));
+        }
+    }
+
+    /**
+     * ✅ 관리자용: 문서함 조회 모델 전체 백필 (배포 직후 / 데이터 이관 후 1회 실행)
+     */
+    @PostMapping("/reports/inbox/backfill")
+    public ResponseEntity<?> backfillInbox(Authentication auth) {
+        try {
+            UserEntity user = userService.getUserInfo(auth.getName());
+            if (user == null || !user.isSuperAdmin()) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body(Map.of("error", "시스템 관리자만 실행할 수 있습니다."));
+            }
+
+            Map<String, Integer> written = documentInboxRebuildJob.backfill();
+            return ResponseEntity.ok(Map.of("written", written));
+        } catch (Exception e) {
+            log.error("문서함 백필 실패", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "문서함 백필 중 오류가 발생했습니다."));
+        }
+    }
+
+    /**
+     * ✅ 관리자용: 문서함 조회 모델 정합성 검사 (repair=true면 불일치 문서 보정)
+     */
+    @PostMapping("/reports/inbox/verify")
+    public ResponseEntity<?> verifyInbox(
+            @RequestParam(defaultValue = "false") boolean repair,
+            Authentication auth) {
+        try {
+            UserEntity user = userService.getUserInfo(auth.getName());
+            if (user == null || !user.isSuperAdmin()) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body(Map.of("error", "시스템 관리자만 실행할 수 있습니다."));
+            }
+
+            Map<String, Integer> mismatched = documentInboxRebuildJob.verify(repair);
+            return ResponseEntity.ok(Map.of("mismatched", mismatched, "repaired", repair));
+        } catch (Exception e) {
+            log.error("문서함 정합성 검사 실패: repair={}", repair, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "문서함 정합성 검사 중 오류가 발생했습니다."));
+        }
+    }
+
     /**
      * 문서 상태를 카테고리로 매핑하는 헬퍼 메서드
      */
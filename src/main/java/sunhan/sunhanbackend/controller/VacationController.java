@@ -1,12 +1,11 @@
 package sunhan.sunhanbackend.controller;
 
-import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.*;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -15,6 +14,8 @@ import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import sunhan.sunhanbackend.dto.request.VacationSimulationRequestDto;
 import sunhan.sunhanbackend.dto.response.*;
 import sunhan.sunhanbackend.entity.mysql.Department;
 import sunhan.sunhanbackend.entity.mysql.UserEntity;
@@ -22,12 +23,17 @@ import sunhan.sunhanbackend.enums.HalfDayType;
 import sunhan.sunhanbackend.enums.PermissionType;
 import sunhan.sunhanbackend.repository.mysql.DepartmentRepository;
 import sunhan.sunhanbackend.repository.mysql.UserRepository;
+import sunhan.sunhanbackend.security.RequiresJobLevel;
+import sunhan.sunhanbackend.security.RequiresPermission;
+import sunhan.sunhanbackend.service.LeaveApplicationDayBackfillService;
 import sunhan.sunhanbackend.service.PermissionService;
-import sunhan.sunhanbackend.service.UserService;
+import sunhan.sunhanbackend.service.VacationRecalculationService;
 import sunhan.sunhanbackend.service.VacationService;
+import sunhan.sunhanbackend.service.VacationSimulationService;
 import sunhan.sunhanbackend.service.VacationYearService;
 
-import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
@@ -44,12 +50,20 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class VacationController {
 
+    private static final MediaType XLSX_MEDIA_TYPE =
+            MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+    private static final int EXCEL_ROW_WINDOW = 100;          // SXSSF가 메모리에 유지하는 행 수
+    private static final int LEDGER_USER_CHUNK_SIZE = 100;    // 관리대장 엑셀 생성 시 한 번에 조회할 사용자 수
+    private static final int[] STATISTICS_COLUMN_WIDTHS = {3500, 3500, 3000, 3500, 2800, 2800, 2800, 3000};
+    private static final int[] LEDGER_COLUMN_WIDTHS = {3000, 4500, 3500, 3500, 3000, 3000, 3000};
+
     private final VacationService vacationService;
     private final UserRepository userRepository;
     private final DepartmentRepository departmentRepository;
     private final VacationYearService vacationYearService;
     private final PermissionService permissionService;
-    private final UserService userService;
+    private final LeaveApplicationDayBackfillService leaveApplicationDayBackfillService;
+    private final VacationSimulationService vacationSimulationService;
 
     /**
      * 특정 사용자의 휴가 사용 내역 조회
@@ -128,12 +142,42 @@ public class VacationController {
                     .body(Map.of("error", "휴가 이력 조회 중 오류가 발생했습니다."));
         }
     }
+    /**
+     * ✅ 연차 사용 시뮬레이션 (DB 변경 없음)
+     * 가정한 기간을 현재 잔여 연차에서 차감했을 때의 예상 잔여를 계산합니다.
+     */
+    @PostMapping("/simulate")
+    public ResponseEntity<?> simulateVacation(
+            @RequestBody VacationSimulationRequestDto request,
+            Authentication authentication
+    ) {
+        try {
+            String currentUserId = (String) authentication.getPrincipal();
+            String targetUserId = request.getUserId() != null && !request.getUserId().isBlank()
+                    ? request.getUserId()
+                    : currentUserId;
+
+            if (!currentUserId.equals(targetUserId) && !vacationService.canViewUserVacation(currentUserId, targetUserId)) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+            }
+
+            return ResponseEntity.ok(vacationSimulationService.simulate(targetUserId, request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            log.error("연차 시뮬레이션 실패", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "연차 시뮬레이션 중 오류가 발생했습니다."));
+        }
+    }
+
     /**
      * 사용자의 휴가일수 설정 (관리자만) - Deprecated
      * @deprecated 대신 /vacation-details/{userId} PUT 엔드포인트 사용
      */
     @Deprecated
     @PutMapping("/total-days/{userId}")
+    @RequiresPermission(value = PermissionType.HR_LEAVE_APPLICATION, message = "연차 설정 권한이 없습니다.")
     public ResponseEntity<?> setTotalVacationDays(
             @PathVariable String userId,
             @RequestBody Map<String, Object> request,
@@ -202,23 +246,19 @@ public class VacationController {
      */
     @PostMapping("/admin/recalculate-history")
     @PreAuthorize("hasRole('ADMIN')")
+    @RequiresJobLevel(levels = 6, message = "시스템 관리자만 실행할 수 있습니다.")
     public ResponseEntity<?> recalculateVacationHistory(
             @RequestParam Integer year,
             Authentication auth
     ) {
         try {
-            String userId = auth.getName();
-            UserEntity user = userService.getUserInfo(userId);
-
-            if (!user.isSuperAdmin()) {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN)
-                        .body(Map.of("error", "시스템 관리자만 실행할 수 있습니다."));
-            }
-
             // ✅ VacationService의 메서드 호출
             Map<String, Object> result = vacationService.recalculateYearVacationHistory(year);
 
             return ResponseEntity.ok(result);
+        } catch (VacationRecalculationService.RecalculationInProgressException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             log.error("연차 히스토리 재계산 실패", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -226,6 +266,50 @@ public class VacationController {
         }
     }
 
+    /**
+     * ✅ 연차 히스토리 재계산 진행 상황 조회
+     */
+    @GetMapping("/admin/recalculate-history/progress")
+    @PreAuthorize("hasRole('ADMIN')")
+    @RequiresJobLevel(levels = 6, message = "시스템 관리자만 조회할 수 있습니다.")
+    public ResponseEntity<?> getRecalculationProgress(
+            @RequestParam Integer year,
+            Authentication auth
+    ) {
+        try {
+            VacationRecalculationProgressDto progress = vacationService.getRecalculationProgress(year);
+            if (progress == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(Map.of("error", year + "년도 재계산 이력이 없습니다."));
+            }
+            return ResponseEntity.ok(progress);
+        } catch (Exception e) {
+            log.error("연차 재계산 진행 상황 조회 실패", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "진행 상황 조회 중 오류가 발생했습니다."));
+        }
+    }
+
+    /**
+     * ✅ 일자(leave_application_day)가 없는 승인 휴가원 일자 보정
+     */
+    @PostMapping("/admin/backfill-leave-days")
+    @PreAuthorize("hasRole('ADMIN')")
+    @RequiresJobLevel(levels = 6, message = "시스템 관리자만 실행할 수 있습니다.")
+    public ResponseEntity<?> backfillLeaveDays(Authentication auth) {
+        try {
+            int backfilled = leaveApplicationDayBackfillService.backfillMissingDays();
+            return ResponseEntity.ok(Map.of(
+                    "backfilledCount", backfilled,
+                    "message", "휴가원 일자 보정 완료"
+            ));
+        } catch (Exception e) {
+            log.error("휴가원 일자 보정 실패", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "일자 보정 중 오류가 발생했습니다."));
+        }
+    }
+
     /**
      * 단일 사용자 조회 (기존 API 호환)
      */
@@ -260,15 +344,16 @@ public class VacationController {
      * ✅ 부서별 휴가 통계 조회 (정렬 기능 추가)
      */
     @GetMapping("/statistics")
+    @RequiresJobLevel(levels = 6)
+    @RequiresPermission(value = PermissionType.HR_LEAVE_APPLICATION, message = "통계 조회 권한이 없습니다.")
     public ResponseEntity<?> getDepartmentStatistics(
             Authentication auth,
             @RequestParam(defaultValue = "usageRate") String sortBy,
             @RequestParam(defaultValue = "desc") String sortOrder
     ) {
         try {
-            String userId = auth.getName();
             List<VacationStatisticsResponseDto> statistics =
-                    vacationService.getDepartmentStatistics(userId, sortBy, sortOrder);
+                    vacationService.getDepartmentStatistics(sortBy, sortOrder);
             return ResponseEntity.ok(statistics);
         } catch (Exception e) {
             log.error("부서별 휴가 통계 조회 실패", e);
@@ -281,14 +366,15 @@ public class VacationController {
      * ✅ 특정 직원 휴가 통계 조회
      */
     @PostMapping("/statistics/specific")
+    @RequiresJobLevel(levels = 6)
+    @RequiresPermission(value = PermissionType.HR_LEAVE_APPLICATION, message = "통계 조회 권한이 없습니다.")
     public ResponseEntity<?> getSpecificEmployeesVacation(
             Authentication auth,
             @RequestBody List<String> userIds
     ) {
         try {
-            String adminUserId = auth.getName();
             List<EmployeeVacationDto> statistics =
-                    vacationService.getSpecificEmployeesVacation(adminUserId, userIds);
+                    vacationService.getSpecificEmployeesVacation(userIds);
             return ResponseEntity.ok(statistics);
         } catch (Exception e) {
             log.error("특정 직원 휴가 통계 조회 실패", e);
@@ -301,6 +387,8 @@ public class VacationController {
      * ✅ 월별 휴가 통계 조회
      */
     @GetMapping("/statistics/monthly")
+    @RequiresJobLevel(levels = 6)
+    @RequiresPermission(value = PermissionType.HR_LEAVE_APPLICATION, message = "통계 조회 권한이 없습니다.")
     public ResponseEntity<?> getMonthlyVacationStatistics(
             Authentication auth,
             @RequestParam int startYear,
@@ -310,10 +398,9 @@ public class VacationController {
             @RequestParam(required = false) List<String> userIds
     ) {
         try {
-            String adminUserId = auth.getName();
             List<MonthlyVacationStatisticsDto> statistics =
                     vacationService.getMonthlyVacationStatistics(
-                            adminUserId, startYear, startMonth, endYear, endMonth, userIds
+                            startYear, startMonth, endYear, endMonth, userIds
                     );
             return ResponseEntity.ok(statistics);
         } catch (Exception e) {
@@ -327,28 +414,24 @@ public class VacationController {
      * ✅ 엑셀 다운로드
      */
     @GetMapping("/statistics/excel")
-    public ResponseEntity<ByteArrayResource> downloadVacationStatisticsExcel(
+    @RequiresJobLevel(levels = 6)
+    @RequiresPermission(value = PermissionType.HR_LEAVE_APPLICATION, message = "통계 조회 권한이 없습니다.")
+    public ResponseEntity<StreamingResponseBody> downloadVacationStatisticsExcel(
             Authentication auth,
             @RequestParam(defaultValue = "usageRate") String sortBy,
             @RequestParam(defaultValue = "desc") String sortOrder
     ) {
         try {
-            String userId = auth.getName();
             List<VacationStatisticsResponseDto> statistics =
-                    vacationService.getDepartmentStatistics(userId, sortBy, sortOrder);
-
-            byte[] excelData = generateExcel(statistics);
-
-            ByteArrayResource resource = new ByteArrayResource(excelData);
+                    vacationService.getDepartmentStatistics(sortBy, sortOrder);
 
             String filename = "vacation_statistics_" +
                     LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd")) + ".xlsx";
 
             return ResponseEntity.ok()
                     .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename)
-                    .contentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
-                    .contentLength(excelData.length)
-                    .body(resource);
+                    .contentType(XLSX_MEDIA_TYPE)
+                    .body(out -> writeStatisticsExcel(statistics, out));
 
         } catch (Exception e) {
             log.error("엑셀 다운로드 실패", e);
@@ -357,10 +440,11 @@ public class VacationController {
     }
 
     /**
-     * ✅ 엑셀 생성 로직
+     * ✅ 엑셀 생성 로직 (SXSSF 스트리밍 - 고정 컬럼 너비, 응답 스트림에 바로 기록)
      */
-    private byte[] generateExcel(List<VacationStatisticsResponseDto> statistics) throws Exception {
-        try (Workbook workbook = new XSSFWorkbook()) {
+    private void writeStatisticsExcel(List<VacationStatisticsResponseDto> statistics, OutputStream out) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(EXCEL_ROW_WINDOW);
+        try {
             Sheet sheet = workbook.createSheet("휴가 사용 통계");
 
             // 헤더 스타일
@@ -372,6 +456,13 @@ public class VacationController {
             headerStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
             headerStyle.setAlignment(HorizontalAlignment.CENTER);
 
+            // 컬럼 너비 (autoSizeColumn은 모든 셀을 측정하므로 고정값 사용)
+            for (int i = 0; i < STATISTICS_COLUMN_WIDTHS.length; i++) {
+                sheet.setColumnWidth(i, STATISTICS_COLUMN_WIDTHS[i]);
+            }
+
+            DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+            String[] headers = {"이름", "사번", "직급", "입사일자", "총 휴가", "사용", "남은휴가", "사용률(%)"};
             int rowNum = 0;
 
             for (VacationStatisticsResponseDto dept : statistics) {
@@ -383,7 +474,6 @@ public class VacationController {
 
                 // 컬럼 헤더
                 Row headerRow = sheet.createRow(rowNum++);
-                String[] headers = {"이름", "사번", "직급", "입사일자", "총 휴가", "사용", "남은휴가", "사용률(%)"};
                 for (int i = 0; i < headers.length; i++) {
                     org.apache.poi.ss.usermodel.Cell cell = headerRow.createCell(i);
                     cell.setCellValue(headers[i]);
@@ -397,9 +487,7 @@ public class VacationController {
                     row.createCell(1).setCellValue(emp.getUserId());
                     row.createCell(2).setCellValue(getPositionByJobLevel(emp.getJobLevel()));
                     row.createCell(3).setCellValue(
-                            emp.getStartDate() != null ?
-                                    emp.getStartDate().format(DateTimeFormatter.ofPattern("yyyy-MM-dd")) :
-                                    "-"
+                            emp.getStartDate() != null ? emp.getStartDate().format(dateFormatter) : "-"
                     );
                     row.createCell(4).setCellValue(emp.getTotalDays());
                     row.createCell(5).setCellValue(emp.getUsedDays());
@@ -410,14 +498,10 @@ public class VacationController {
                 rowNum++; // 부서 간 빈 줄
             }
 
-            // 컬럼 너비 자동 조정
-            for (int i = 0; i < 8; i++) {
-                sheet.autoSizeColumn(i);
-            }
-
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            workbook.write(outputStream);
-            return outputStream.toByteArray();
+            workbook.write(out);
+        } finally {
+            workbook.dispose();
+            workbook.close();
         }
     }
 
@@ -457,11 +541,12 @@ public class VacationController {
      * ✅ 부서 요약 정보만 조회 (직원 데이터 제외)
      */
     @GetMapping("/statistics/summary")
+    @RequiresJobLevel(levels = 6)
+    @RequiresPermission(value = PermissionType.HR_LEAVE_APPLICATION, message = "통계 조회 권한이 없습니다.")
     public ResponseEntity<?> getDepartmentSummaries(Authentication auth) {
         try {
-            String userId = auth.getName();
             List<DepartmentSummaryDto> summaries =
-                    vacationService.getDepartmentSummaries(userId);
+                    vacationService.getDepartmentSummaries();
             return ResponseEntity.ok(summaries);
         } catch (Exception e) {
             log.error("부서 요약 정보 조회 실패", e);
@@ -474,6 +559,8 @@ public class VacationController {
      * ✅ 특정 부서 상세 정보 조회 (직원별 상세 정보 포함)
      */
     @GetMapping("/statistics/department/{deptCode}")
+    @RequiresJobLevel(levels = 6)
+    @RequiresPermission(value = PermissionType.HR_LEAVE_APPLICATION, message = "통계 조회 권한이 없습니다.")
     public ResponseEntity<?> getDepartmentDetail(
             Authentication auth,
             @PathVariable String deptCode,
@@ -481,9 +568,8 @@ public class VacationController {
             @RequestParam(defaultValue = "desc") String sortOrder
     ) {
         try {
-            String userId = auth.getName();
             VacationStatisticsResponseDto detail =
-                    vacationService.getDepartmentDetail(userId, deptCode, sortBy, sortOrder);
+                    vacationService.getDepartmentDetail(deptCode, sortBy, sortOrder);
             return ResponseEntity.ok(detail);
         } catch (Exception e) {
             log.error("부서 상세 정보 조회 실패", e);
@@ -496,31 +582,26 @@ public class VacationController {
      * ✅ 선택된 부서의 직원별 상세 현황을 엑셀로 다운로드 (전체 지원)
      */
     @GetMapping("/statistics/excel/department/{deptCode}")
-    public ResponseEntity<ByteArrayResource> downloadDepartmentExcel(
+    @RequiresJobLevel(levels = 6)
+    @RequiresPermission(value = PermissionType.HR_LEAVE_APPLICATION, message = "통계 조회 권한이 없습니다.")
+    public ResponseEntity<StreamingResponseBody> downloadDepartmentExcel(
             Authentication auth,
             @PathVariable String deptCode,
             @RequestParam(defaultValue = "usageRate") String sortBy,
             @RequestParam(defaultValue = "desc") String sortOrder
     ) {
         try {
-            String userId = auth.getName();
-
             // ✅ "ALL"이든 특정 부서든 동일하게 처리
             VacationStatisticsResponseDto dept =
-                    vacationService.getDepartmentDetail(userId, deptCode, sortBy, sortOrder);
+                    vacationService.getDepartmentDetail(deptCode, sortBy, sortOrder);
 
-            // 엑셀 생성
-            byte[] excelData = generateExcel(List.of(dept));
-
-            ByteArrayResource resource = new ByteArrayResource(excelData);
             String filename = dept.getDeptName() + "_vacation_statistics_" +
                     LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd")) + ".xlsx";
 
             return ResponseEntity.ok()
                     .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename)
-                    .contentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
-                    .contentLength(excelData.length)
-                    .body(resource);
+                    .contentType(XLSX_MEDIA_TYPE)
+                    .body(out -> writeStatisticsExcel(List.of(dept), out));
 
         } catch (Exception e) {
             log.error("엑셀 다운로드 실패", e);
@@ -532,18 +613,18 @@ public class VacationController {
      * ✅ 선택된 직원들의 휴가 통계를 엑셀로 다운로드
      */
     @PostMapping("/statistics/excel/custom")
-    public ResponseEntity<ByteArrayResource> downloadCustomExcel(
+    @RequiresJobLevel(levels = 6)
+    @RequiresPermission(value = PermissionType.HR_LEAVE_APPLICATION, message = "통계 조회 권한이 없습니다.")
+    public ResponseEntity<StreamingResponseBody> downloadCustomExcel(
             Authentication auth,
             @RequestBody List<String> userIds,
             @RequestParam(defaultValue = "usageRate") String sortBy,
             @RequestParam(defaultValue = "desc") String sortOrder
     ) {
         try {
-            String userId = auth.getName();
-
             // 선택된 직원들의 휴가 정보 조회
             List<EmployeeVacationDto> employees =
-                    vacationService.getSpecificEmployeesVacation(userId, userIds);
+                    vacationService.getSpecificEmployeesVacation(userIds);
 
             // 정렬 적용
             employees = vacationService.sortEmployeeList(employees, sortBy, sortOrder);
@@ -569,19 +650,14 @@ public class VacationController {
                     .employees(employees)
                     .build();
 
-            // 엑셀 생성
-            byte[] excelData = generateExcel(List.of(customDept));
-
-            ByteArrayResource resource = new ByteArrayResource(excelData);
             String filename = "선택직원_vacation_statistics_" +
                     LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd")) + ".xlsx";
 
             return ResponseEntity.ok()
                     .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" +
                             URLEncoder.encode(filename, StandardCharsets.UTF_8))
-                    .contentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
-                    .contentLength(excelData.length)
-                    .body(resource);
+                    .contentType(XLSX_MEDIA_TYPE)
+                    .body(out -> writeStatisticsExcel(List.of(customDept), out));
 
         } catch (Exception e) {
             log.error("커스텀 엑셀 다운로드 실패", e);
@@ -593,6 +669,7 @@ public class VacationController {
      * ✅ 연차 설정 (연도별)
      */
     @PutMapping("/vacation-details/{userId}")
+    @RequiresPermission(value = PermissionType.HR_LEAVE_APPLICATION, message = "연차 설정 권한이 없습니다.")
     public ResponseEntity<?> setVacationDetails(
             @PathVariable String userId,
             @RequestParam(required = false) Integer year,
@@ -624,22 +701,24 @@ public class VacationController {
      * ✅ 관리자용: 연도별 데이터 수동 초기화
      */
     @PostMapping("/admin/initialize-year")
+    @RequiresJobLevel(levels = 6, message = "시스템 관리자만 실행할 수 있습니다.")
     public ResponseEntity<?> initializeYear(
             @RequestParam Integer year,
             @RequestParam(defaultValue = "false") boolean forceOverwrite,
             Authentication auth
     ) {
         try {
-            String userId = auth.getName();
-            UserEntity user = userRepository.findByUserId(userId)
-                    .orElseThrow(() -> new EntityNotFoundException("사용자를 찾을 수 없습니다."));
-
-            if (!user.isSuperAdmin()) {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN)
-                        .body(Map.of("error", "시스템 관리자만 실행할 수 있습니다."));
+            if (!forceOverwrite) {
+                // ✅ 신규 생성만 필요한 경우 청크 배치로 실행 (중단 시 이어서 실행 가능)
+                BatchJobProgressDto progress = vacationYearService.runYearInitializationJob(year);
+                if (progress != null && "FAILED".equals(progress.getStatus())) {
+                    return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                            .body(Map.of("error", "초기화 중 오류가 발생했습니다. 다시 실행하면 중단된 지점부터 이어집니다."));
+                }
+                return ResponseEntity.ok(progress);
             }
 
-            vacationYearService.initializeYearVacationManually(year, forceOverwrite);
+            vacationYearService.initializeYearVacationManually(year, true);
 
             return ResponseEntity.ok(Map.of(
                     "message", year + "년 연차 데이터 초기화가 완료되었습니다.",
@@ -652,7 +731,32 @@ public class VacationController {
         }
     }
 
+    /**
+     * ✅ 관리자용: 연도 초기화 배치 진행 상황 조회
+     */
+    @GetMapping("/admin/initialize-year/progress")
+    @RequiresJobLevel(levels = 6, message = "시스템 관리자만 조회할 수 있습니다.")
+    public ResponseEntity<?> getInitializeYearProgress(
+            @RequestParam Integer year,
+            Authentication auth
+    ) {
+        try {
+            BatchJobProgressDto progress = vacationYearService.getYearInitializationProgress(year);
+            if (progress == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(Map.of("error", year + "년 초기화 배치 이력이 없습니다."));
+            }
+            return ResponseEntity.ok(progress);
+        } catch (Exception e) {
+            log.error("연도 초기화 진행 상황 조회 실패: year={}", year, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "진행 상황 조회 중 오류가 발생했습니다."));
+        }
+    }
+
     @GetMapping("/statistics/ledger")
+    @RequiresJobLevel(levels = 6)
+    @RequiresPermission(value = PermissionType.HR_LEAVE_APPLICATION, message = "관리대장 조회 권한이 없습니다.")
     public ResponseEntity<?> getVacationLedger(
             Authentication auth,
             @RequestParam(required = false, defaultValue = "ALL") String deptCode,
@@ -660,8 +764,7 @@ public class VacationController {
             @RequestParam(defaultValue = "2025") int year
     ) {
         try {
-            String userId = auth.getName();
-            List<VacationLedgerDto> ledger = vacationService.getVacationLedger(userId, deptCode, leaveType, year);
+            List<VacationLedgerDto> ledger = vacationService.getVacationLedger(deptCode, leaveType, year);
             return ResponseEntity.ok(ledger);
         } catch (Exception e) {
             log.error("관리대장 조회 실패", e);
@@ -672,14 +775,15 @@ public class VacationController {
 
     // ✅ 특정 직원들 관리대장 조회
     @PostMapping("/statistics/ledger/users")
+    @RequiresJobLevel(levels = 6)
+    @RequiresPermission(value = PermissionType.HR_LEAVE_APPLICATION, message = "관리대장 조회 권한이 없습니다.")
     public ResponseEntity<?> getVacationLedgerByUsers(
             Authentication auth,
             @RequestBody List<String> userIds,
             @RequestParam(defaultValue = "2025") int year
     ) {
         try {
-            String adminUserId = auth.getName();
-            List<VacationLedgerDto> ledger = vacationService.getVacationLedgerByUsers(adminUserId, userIds, year);
+            List<VacationLedgerDto> ledger = vacationService.getVacationLedgerByUsers(userIds, year);
             return ResponseEntity.ok(ledger);
         } catch (Exception e) {
             log.error("특정 직원 관리대장 조회 실패", e);
@@ -689,15 +793,17 @@ public class VacationController {
     }
 
     @GetMapping("/statistics/ledger/excel")
-    public ResponseEntity<ByteArrayResource> downloadLedgerExcel(
+    @RequiresJobLevel(levels = 6)
+    @RequiresPermission(value = PermissionType.HR_LEAVE_APPLICATION, message = "관리대장 조회 권한이 없습니다.")
+    public ResponseEntity<StreamingResponseBody> downloadLedgerExcel(
             Authentication auth,
             @RequestParam(required = false, defaultValue = "ALL") String deptCode,
             @RequestParam(defaultValue = "ALL") String leaveType,
             @RequestParam(defaultValue = "2025") int year
     ) {
         try {
-            String userId = auth.getName();
-            List<VacationLedgerDto> ledger = vacationService.getVacationLedger(userId, deptCode, leaveType, year);
+            // 대상 사용자 조회는 요청 스레드에서 먼저 수행 (실패 시 오류 응답)
+            List<UserEntity> users = vacationService.getLedgerTargetUsers(deptCode);
 
             // ✅ 부서명 조회
             String deptName = "전체";
@@ -709,19 +815,15 @@ public class VacationController {
                     deptName = deptCode;
                 }
             }
-
-            byte[] excelData = generateLedgerExcel(ledger, leaveType, year, deptName);
-
-            ByteArrayResource resource = new ByteArrayResource(excelData);
+            String sheetDeptName = deptName;
 
             String filename = String.format("%d년_연차특별경조_휴가관리대장[%s].xlsx", year, deptName);
 
             return ResponseEntity.ok()
                     .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" +
                             URLEncoder.encode(filename, StandardCharsets.UTF_8))
-                    .contentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
-                    .contentLength(excelData.length)
-                    .body(resource);
+                    .contentType(XLSX_MEDIA_TYPE)
+                    .body(out -> writeLedgerExcel(users, year, sheetDeptName, out));
         } catch (Exception e) {
             log.error("관리대장 엑셀 다운로드 실패", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -730,35 +832,37 @@ public class VacationController {
 
     // ✅ 특정 직원들 엑셀 다운로드
     @PostMapping("/statistics/ledger/excel/users")
-    public ResponseEntity<ByteArrayResource> downloadLedgerExcelByUsers(
+    @RequiresJobLevel(levels = 6)
+    @RequiresPermission(value = PermissionType.HR_LEAVE_APPLICATION, message = "관리대장 조회 권한이 없습니다.")
+    public ResponseEntity<StreamingResponseBody> downloadLedgerExcelByUsers(
             Authentication auth,
             @RequestBody List<String> userIds,
             @RequestParam(defaultValue = "2025") int year
     ) {
         try {
-            String adminUserId = auth.getName();
-            List<VacationLedgerDto> ledger = vacationService.getVacationLedgerByUsers(adminUserId, userIds, year);
-
-            byte[] excelData = generateLedgerExcel(ledger, "ALL", year, "선택직원");
-
-            ByteArrayResource resource = new ByteArrayResource(excelData);
+            List<UserEntity> users = vacationService.getLedgerTargetUsersByIds(userIds);
 
             String filename = String.format("%d년_연차특별경조_휴가관리대장[선택직원].xlsx", year);
 
             return ResponseEntity.ok()
                     .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" +
                             URLEncoder.encode(filename, StandardCharsets.UTF_8))
-                    .contentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
-                    .contentLength(excelData.length)
-                    .body(resource);
+                    .contentType(XLSX_MEDIA_TYPE)
+                    .body(out -> writeLedgerExcel(users, year, "선택직원", out));
         } catch (Exception e) {
             log.error("특정 직원 관리대장 엑셀 다운로드 실패", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
-    private byte[] generateLedgerExcel(List<VacationLedgerDto> ledger, String leaveType, int year, String deptName) throws Exception {
-        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+    /**
+     * ✅ 관리대장 엑셀 (SXSSF 스트리밍)
+     * 사용자 청크 단위로 관리대장 행을 만들고 바로 시트에 기록하므로, 전체 관리대장을 한 번에 메모리에 올리지 않습니다.
+     */
+    private void writeLedgerExcel(List<UserEntity> users, int year, String deptName, OutputStream out) throws IOException {
+        // 날짜별 색상(Rich Text)을 유지하려면 공유 문자열 테이블을 사용해야 함
+        SXSSFWorkbook workbook = new SXSSFWorkbook(null, EXCEL_ROW_WINDOW, true, true);
+        try {
             Sheet sheet = workbook.createSheet("휴가 관리대장");
 
             // 스타일 정의
@@ -776,7 +880,7 @@ public class VacationController {
             headerStyle.setBorderRight(BorderStyle.THIN);
 
             // ✅ 기본 셀 스타일 (경계선만)
-            XSSFCellStyle baseStyle = workbook.createCellStyle();
+            CellStyle baseStyle = workbook.createCellStyle();
             baseStyle.setAlignment(HorizontalAlignment.LEFT);
             baseStyle.setVerticalAlignment(VerticalAlignment.TOP);
             baseStyle.setWrapText(true);
@@ -786,13 +890,13 @@ public class VacationController {
             baseStyle.setBorderRight(BorderStyle.THIN);
 
             // ✅ 폰트 정의 (Rich Text용)
-            XSSFFont blackFont = workbook.createFont();
+            XSSFFont blackFont = (XSSFFont) workbook.createFont();
             blackFont.setColor(new XSSFColor(new byte[]{0, 0, 0}, null)); // 검정
 
-            XSSFFont redFont = workbook.createFont();
+            XSSFFont redFont = (XSSFFont) workbook.createFont();
             redFont.setColor(new XSSFColor(new byte[]{(byte)255, 0, 0}, null)); // 빨강
 
-            XSSFFont blueFont = workbook.createFont();
+            XSSFFont blueFont = (XSSFFont) workbook.createFont();
             blueFont.setColor(new XSSFColor(new byte[]{0, 0, (byte)255}, null)); // 파랑
 
             CellStyle normalStyle = workbook.createCellStyle();
@@ -803,6 +907,19 @@ public class VacationController {
             normalStyle.setBorderLeft(BorderStyle.THIN);
             normalStyle.setBorderRight(BorderStyle.THIN);
 
+            // 컬럼 너비 (autoSizeColumn 대신 고정값)
+            for (int i = 0; i < LEDGER_COLUMN_WIDTHS.length; i++) {
+                sheet.setColumnWidth(i, LEDGER_COLUMN_WIDTHS[i]);
+            }
+            for (int month = 0; month < 12; month++) {
+                int usageCol = 7 + (month * 2);
+                sheet.setColumnWidth(usageCol, 5000);
+                sheet.setColumnWidth(usageCol + 1, 2500);
+            }
+            for (int i = 31; i < 34; i++) {
+                sheet.setColumnWidth(i, i == 33 ? 6000 : 3000);
+            }
+
             int rowNum = 0;
 
             // 제목 행
@@ -868,134 +985,121 @@ public class VacationController {
                 cell2.setCellStyle(headerStyle);
             }
 
-            // ✅ 데이터 행
-            String prevUserName = null;
-            int userStartRow = -1;
-
-            for (int i = 0; i < ledger.size(); i++) {
-                VacationLedgerDto entry = ledger.get(i);
-                Row row = sheet.createRow(rowNum);
-                colNum = 0;
-
-                boolean isNewUser = !entry.getUserName().equals(prevUserName);
-
-                if (isNewUser) {
-                    userStartRow = rowNum;
-                    prevUserName = entry.getUserName();
-                }
-
-                if (isNewUser) {
-                    createCell(row, colNum++, entry.getRowNumber(), normalStyle);
-                    createCell(row, colNum++, entry.getDeptName(), normalStyle);
-                    createCell(row, colNum++, entry.getUserName(), normalStyle);
-
-                    String startDateStr = "-";
-                    if (entry.getStartDate() != null && !entry.getStartDate().isEmpty()) {
-                        try {
-                            LocalDate date = LocalDate.parse(entry.getStartDate());
-                            startDateStr = date.format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
-                        } catch (Exception e) {
-                            startDateStr = entry.getStartDate();
+            // ✅ 데이터 행 (사용자 청크 단위로 조회 후 기록)
+            int ledgerRowNumber = 1;
+            for (int from = 0; from < users.size(); from += LEDGER_USER_CHUNK_SIZE) {
+                List<UserEntity> chunk = users.subList(from, Math.min(from + LEDGER_USER_CHUNK_SIZE, users.size()));
+                List<VacationLedgerDto> ledger = vacationService.buildVacationLedger(chunk, year, ledgerRowNumber);
+                ledgerRowNumber += ledger.size();
+
+                String prevUserId = null;
+                int userStartRow = -1;
+
+                for (int i = 0; i < ledger.size(); i++) {
+                    VacationLedgerDto entry = ledger.get(i);
+                    Row row = sheet.createRow(rowNum);
+                    colNum = 0;
+
+                    boolean isNewUser = !entry.getUserId().equals(prevUserId);
+
+                    if (isNewUser) {
+                        userStartRow = rowNum;
+                        prevUserId = entry.getUserId();
+
+                        createCell(row, colNum++, entry.getRowNumber(), normalStyle);
+                        createCell(row, colNum++, entry.getDeptName(), normalStyle);
+                        createCell(row, colNum++, entry.getUserName(), normalStyle);
+
+                        String startDateStr = "-";
+                        if (entry.getStartDate() != null && !entry.getStartDate().isEmpty()) {
+                            try {
+                                LocalDate date = LocalDate.parse(entry.getStartDate());
+                                startDateStr = date.format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+                            } catch (Exception e) {
+                                startDateStr = entry.getStartDate();
+                            }
+                        }
+                        createCell(row, colNum++, startDateStr, normalStyle);
+                    } else {
+                        for (int j = 0; j < 4; j++) {
+                            Cell emptyCell = row.createCell(colNum++);
+                            emptyCell.setCellStyle(normalStyle);
                         }
                     }
-                    createCell(row, colNum++, startDateStr, normalStyle);
-                } else {
-                    for (int j = 0; j < 4; j++) {
-                        Cell emptyCell = row.createCell(colNum++);
-                        emptyCell.setCellStyle(normalStyle);
-                    }
-                }
-
-                createCell(row, colNum++, entry.getLeaveType(), normalStyle);
-                createCell(row, colNum++, entry.getCarryoverDays() != null ? entry.getCarryoverDays() : "-", normalStyle);
-                createCell(row, colNum++, entry.getRegularDays() != null ? entry.getRegularDays() : "-", normalStyle);
-
-                // ✅ 월별 데이터 (Rich Text 사용)
-                for (int month = 1; month <= 12; month++) {
-                    VacationLedgerDto.MonthlyUsage monthData = entry.getMonthlyUsage().get(month);
-
-                    if (monthData != null && !monthData.getDetails().isEmpty()) {
-                        XSSFCell detailCell = (XSSFCell) row.createCell(colNum);
-                        detailCell.setCellStyle(baseStyle);
-
-                        // ✅ Rich Text String 생성
-                        XSSFRichTextString richText = new XSSFRichTextString();
 
-                        for (int j = 0; j < monthData.getDetails().size(); j++) {
-                            VacationLedgerDto.DailyDetail daily = monthData.getDetails().get(j);
-                            LocalDate date = LocalDate.parse(daily.getDate());
-                            String dayText = String.valueOf(date.getDayOfMonth());
-
-                            if (j > 0) {
-                                richText.append(", ", blackFont); // 구분자는 검정
+                    createCell(row, colNum++, entry.getLeaveType(), normalStyle);
+                    createCell(row, colNum++, entry.getCarryoverDays() != null ? entry.getCarryoverDays() : "-", normalStyle);
+                    createCell(row, colNum++, entry.getRegularDays() != null ? entry.getRegularDays() : "-", normalStyle);
+
+                    // ✅ 월별 데이터 (Rich Text 사용)
+                    for (int month = 1; month <= 12; month++) {
+                        VacationLedgerDto.MonthlyUsage monthData = entry.getMonthlyUsage().get(month);
+
+                        if (monthData != null && !monthData.getDetails().isEmpty()) {
+                            Cell detailCell = row.createCell(colNum);
+                            detailCell.setCellStyle(baseStyle);
+
+                            // ✅ Rich Text String 생성
+                            XSSFRichTextString richText = new XSSFRichTextString();
+
+                            for (int j = 0; j < monthData.getDetails().size(); j++) {
+                                VacationLedgerDto.DailyDetail daily = monthData.getDetails().get(j);
+                                LocalDate date = LocalDate.parse(daily.getDate());
+                                String dayText = String.valueOf(date.getDayOfMonth());
+
+                                if (j > 0) {
+                                    richText.append(", ", blackFont); // 구분자는 검정
+                                }
+
+                                // ✅ 각 날짜에 타입별 색상 적용
+                                switch (daily.getHalfDayType()) {
+                                    case ALL_DAY:
+                                        richText.append(dayText, blackFont);
+                                        break;
+                                    case MORNING:
+                                        richText.append(dayText, redFont);
+                                        break;
+                                    case AFTERNOON:
+                                        richText.append(dayText, blueFont);
+                                        break;
+                                }
                             }
 
-                            // ✅ 각 날짜에 타입별 색상 적용
-                            switch (daily.getHalfDayType()) {
-                                case ALL_DAY:
-                                    richText.append(dayText, blackFont);
-                                    break;
-                                case MORNING:
-                                    richText.append(dayText, redFont);
-                                    break;
-                                case AFTERNOON:
-                                    richText.append(dayText, blueFont);
-                                    break;
-                            }
+                            detailCell.setCellValue(richText);
+                        } else {
+                            createCell(row, colNum, "-", normalStyle);
                         }
+                        colNum++;
 
-                        detailCell.setCellValue(richText);
-                    } else {
-                        createCell(row, colNum, "-", normalStyle);
-                    }
-                    colNum++;
-
-                    if (monthData != null) {
-                        createCell(row, colNum, monthData.getMonthTotal(), normalStyle);
-                    } else {
-                        createCell(row, colNum, 0.0, normalStyle);
+                        if (monthData != null) {
+                            createCell(row, colNum, monthData.getMonthTotal(), normalStyle);
+                        } else {
+                            createCell(row, colNum, 0.0, normalStyle);
+                        }
+                        colNum++;
                     }
-                    colNum++;
-                }
 
-                createCell(row, colNum++, entry.getTotalUsed(), normalStyle);
-                createCell(row, colNum++, entry.getRemaining() != null ? entry.getRemaining() : "-", normalStyle);
-                createCell(row, colNum++, entry.getRemarks() != null ? entry.getRemarks() : "", normalStyle);
+                    createCell(row, colNum++, entry.getTotalUsed(), normalStyle);
+                    createCell(row, colNum++, entry.getRemaining() != null ? entry.getRemaining() : "-", normalStyle);
+                    createCell(row, colNum++, entry.getRemarks() != null ? entry.getRemarks() : "", normalStyle);
 
-                boolean isLastRowOfUser = (i == ledger.size() - 1) ||
-                        !entry.getUserName().equals(ledger.get(i + 1).getUserName());
+                    boolean isLastRowOfUser = (i == ledger.size() - 1) ||
+                            !entry.getUserId().equals(ledger.get(i + 1).getUserId());
 
-                if (isLastRowOfUser && userStartRow >= 0) {
-                    for (int col = 0; col < 4; col++) {
-                        sheet.addMergedRegion(new CellRangeAddress(userStartRow, rowNum, col, col));
+                    if (isLastRowOfUser && userStartRow >= 0 && userStartRow < rowNum) {
+                        for (int col = 0; col < 4; col++) {
+                            sheet.addMergedRegion(new CellRangeAddress(userStartRow, rowNum, col, col));
+                        }
                     }
-                }
-
-                rowNum++;
-            }
-
-            // 컬럼 너비 조정
-            for (int i = 0; i < 7; i++) {
-                sheet.autoSizeColumn(i);
-                sheet.setColumnWidth(i, Math.max(sheet.getColumnWidth(i), 3000));
-            }
 
-            for (int month = 0; month < 12; month++) {
-                int usageCol = 7 + (month * 2);
-                int totalCol = usageCol + 1;
-
-                sheet.setColumnWidth(usageCol, 5000);
-                sheet.setColumnWidth(totalCol, 2500);
-            }
-
-            for (int i = 31; i < 34; i++) {
-                sheet.autoSizeColumn(i);
-                sheet.setColumnWidth(i, Math.max(sheet.getColumnWidth(i), 3000));
+                    rowNum++;
+                }
             }
 
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            workbook.write(outputStream);
-            return outputStream.toByteArray();
+            workbook.write(out);
+        } finally {
+            workbook.dispose();
+            workbook.close();
         }
     }
 
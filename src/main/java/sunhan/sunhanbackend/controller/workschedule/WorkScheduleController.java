@@ -351,7 +351,8 @@ public class WorkScheduleController {
                 schedule.setApprovalStatus(WorkSchedule.ScheduleStatus.REJECTED);
                 schedule.setCurrentApprovalStep(0);
                 schedule.setIsActive(false);
-                scheduleRepository.save(schedule);
+                // 승인 해제 → 저장 시 월간 휴가 사용량 집계에서 제외
+                scheduleService.saveScheduleChange(schedule);
 
                 return ResponseEntity.ok(Map.of("message", "근무표가 반려되었습니다."));
             }
@@ -396,7 +397,7 @@ public class WorkScheduleController {
                 // ✅ [중요] currentApprovalStep 초기화
                 schedule.setCurrentApprovalStep(0);
                 schedule.setIsActive(false);
-                scheduleRepository.save(schedule);
+                scheduleService.saveScheduleChange(schedule);
 
                 return ResponseEntity.ok(Map.of("message", "근무표가 반려되었습니다."));
             }
@@ -442,7 +443,7 @@ public class WorkScheduleController {
                 // IN_PROGRESS 등: 제출된 이후 진행 중이면 REVIEWED(검토 완료)로 표시하거나 SUBMITTED 유지
                 schedule.setApprovalStatus(WorkSchedule.ScheduleStatus.SUBMITTED);
             }
-            scheduleRepository.save(schedule);
+            scheduleService.saveScheduleChange(schedule);
 
             return ResponseEntity.ok(Map.of("message", "결재가 완료되었습니다."));
 
@@ -639,7 +640,7 @@ public class WorkScheduleController {
                             Base64.getEncoder().encodeToString(creator.getSignimage());
                     schedule.setCreatorSignatureUrl(signatureUrl);
                     schedule.setCreatorSignedAt(LocalDateTime.now());
-                    scheduleRepository.save(schedule);
+                    scheduleService.saveScheduleChange(schedule);
                 }
 
                 return ResponseEntity.ok(Map.of("message", "작성자 서명이 완료되었습니다."));
@@ -850,7 +851,7 @@ public class WorkScheduleController {
                         log.warn("PDF 파일 없음 또는 빈 파일: {}", pdfPath);
                         needsRegeneration = true;
                         schedule.setPdfUrl(null);
-                        scheduleRepository.save(schedule);
+                        scheduleService.saveScheduleChange(schedule);
                     }
                 }
             }
@@ -939,7 +940,7 @@ public class WorkScheduleController {
 
             // ✅ DB에서 PDF URL 제거
             schedule.setPdfUrl(null);
-            scheduleRepository.save(schedule);
+            scheduleService.saveScheduleChange(schedule);
 
             return ResponseEntity.ok(Map.of("message", "PDF가 초기화되었습니다."));
 
@@ -1172,7 +1173,7 @@ public class WorkScheduleController {
                         .body(Map.of("error", "작성자만 삭제할 수 있습니다."));
             }
 
-            scheduleRepository.delete(schedule);
+            scheduleService.deleteSchedule(schedule);
             return ResponseEntity.ok(Map.of("message", "근무표가 삭제되었습니다."));
 
         } catch (Exception e) {
@@ -1342,7 +1343,7 @@ public class WorkScheduleController {
             schedule.setApprovalStatus(WorkSchedule.ScheduleStatus.APPROVED);
             schedule.setCurrentApprovalStep(0);
             schedule.setIsPrintable(true);
-            scheduleRepository.save(schedule);
+            scheduleService.saveScheduleChange(schedule);
 
             return ResponseEntity.ok(Map.of("message", "전결 승인 완료"));
 
@@ -0,0 +1,20 @@
+package sunhan.sunhanbackend.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+// 휴가원 일괄 승인/반려 요청 DTO
+@Data
+public class BulkApprovalRequestDto {
+    @NotEmpty(message = "처리할 휴가원 ID는 필수입니다.")
+    @Size(max = 100, message = "한 번에 최대 100건까지 처리할 수 있습니다.")
+    private List<Long> ids;
+
+    private String comment;            // 승인 의견 (승인 시)
+    private String signatureImageUrl;  // 승인 서명 이미지 (승인 시)
+    private boolean finalApproval;     // 전결 여부 (승인 시)
+    private String rejectionReason;    // 반려 사유 (반려 시)
+}
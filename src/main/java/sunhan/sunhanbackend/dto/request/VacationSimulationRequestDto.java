@@ -0,0 +1,28 @@
+package sunhan.sunhanbackend.dto.request;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import sunhan.sunhanbackend.enums.HalfDayType;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class VacationSimulationRequestDto {
+    private String userId;                  // 비어 있으면 본인
+    private Boolean includePending = true;  // 결재 진행 중인 연차를 미리 차감할지 여부
+    private List<Period> periods = new ArrayList<>();
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class Period {
+        private LocalDate startDate;
+        private LocalDate endDate;
+        private HalfDayType halfDayType;    // 비어 있으면 종일
+    }
+}
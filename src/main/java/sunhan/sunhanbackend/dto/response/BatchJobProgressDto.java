@@ -0,0 +1,45 @@
+package sunhan.sunhanbackend.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+import sunhan.sunhanbackend.entity.mysql.BatchJobCheckpoint;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class BatchJobProgressDto {
+    private String jobName;
+    private String status;          // PENDING, RUNNING, COMPLETED, FAILED
+    private long totalCount;        // 대상 건수
+    private long processedCount;    // 처리한 건수
+    private long createdCount;      // 새로 생성한 건수
+    private String lastProcessedKey;
+    private String leaseOwner;
+    private LocalDateTime leaseUntil;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private LocalDateTime updatedAt;
+    private String message;
+
+    public double getProgressRate() {
+        return totalCount > 0 ? Math.min(100.0, (double) processedCount / totalCount * 100) : 0;
+    }
+
+    public static BatchJobProgressDto fromEntity(BatchJobCheckpoint checkpoint) {
+        return BatchJobProgressDto.builder()
+                .jobName(checkpoint.getJobName())
+                .status(checkpoint.getStatus())
+                .totalCount(checkpoint.getTotalCount())
+                .processedCount(checkpoint.getProcessedCount())
+                .createdCount(checkpoint.getCreatedCount())
+                .lastProcessedKey(checkpoint.getLastProcessedKey())
+                .leaseOwner(checkpoint.getLeaseOwner())
+                .leaseUntil(checkpoint.getLeaseUntil())
+                .startedAt(checkpoint.getStartedAt())
+                .finishedAt(checkpoint.getFinishedAt())
+                .updatedAt(checkpoint.getUpdatedAt())
+                .message(checkpoint.getMessage())
+                .build();
+    }
+}
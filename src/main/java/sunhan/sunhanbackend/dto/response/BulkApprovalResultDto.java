@@ -0,0 +1,24 @@
+package sunhan.sunhanbackend.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class BulkApprovalResultDto {
+    private int requested;
+    private int succeeded;
+    private int failed;
+    private List<ItemResult> results;
+
+    @Data
+    @Builder
+    public static class ItemResult {
+        private Long id;
+        private boolean success;
+        private String status;   // 처리 후 휴가원 상태
+        private String message;  // 실패 사유
+    }
+}
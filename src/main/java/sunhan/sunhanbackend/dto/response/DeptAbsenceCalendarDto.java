@@ -0,0 +1,37 @@
+package sunhan.sunhanbackend.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+import sunhan.sunhanbackend.enums.HalfDayType;
+import sunhan.sunhanbackend.enums.LeaveType;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// 부서 월간 부재 달력
+@Data
+@Builder
+public class DeptAbsenceCalendarDto {
+    private String deptCode;
+    private String deptName;
+    private String month;          // yyyy-MM
+    private List<DayRoster> days;  // 해당 월의 모든 날짜 (부재자가 없으면 빈 목록)
+
+    @Data
+    @Builder
+    public static class DayRoster {
+        private LocalDate date;
+        private List<Absentee> absentees;
+    }
+
+    @Data
+    @Builder
+    public static class Absentee {
+        private String userId;
+        private String userName;
+        private Long leaveApplicationId;
+        private LeaveType leaveType;
+        private HalfDayType halfDayType;  // ALL_DAY, MORNING, AFTERNOON
+        private Double days;              // 1.0 or 0.5
+    }
+}
@@ -0,0 +1,35 @@
+package sunhan.sunhanbackend.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+import sunhan.sunhanbackend.entity.mysql.LeaveApprovalHistory;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class LeaveApprovalHistoryDto {
+    private Long id;
+    private Long leaveApplicationId;
+    private String action;
+    private String stepName;
+    private String actorId;
+    private String actorName;
+    private String actorJobLevel;
+    private String comment;
+    private LocalDateTime actedAt;
+
+    public static LeaveApprovalHistoryDto fromEntity(LeaveApprovalHistory entity) {
+        return LeaveApprovalHistoryDto.builder()
+                .id(entity.getId())
+                .leaveApplicationId(entity.getLeaveApplicationId())
+                .action(entity.getAction().name())
+                .stepName(entity.getStepName())
+                .actorId(entity.getActorId())
+                .actorName(entity.getActorName())
+                .actorJobLevel(entity.getActorJobLevel())
+                .comment(entity.getComment())
+                .actedAt(entity.getActedAt())
+                .build();
+    }
+}
@@ -0,0 +1,15 @@
+package sunhan.sunhanbackend.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class ReportsCursorPageDto {
+    private List<ReportsResponseDto> content;
+    private int size;               // 요청한 페이지 크기
+    private boolean hasNext;        // 다음 페이지 존재 여부
+    private String nextCursor;      // 다음 페이지 요청 시 그대로 전달 (마지막 페이지면 null)
+}
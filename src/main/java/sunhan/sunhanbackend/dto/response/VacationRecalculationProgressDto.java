@@ -0,0 +1,24 @@
+package sunhan.sunhanbackend.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder(toBuilder = true)
+public class VacationRecalculationProgressDto {
+    private Integer year;
+    private String status;          // RUNNING, COMPLETED, FAILED
+    private int totalUsers;         // 재계산 대상 히스토리 수
+    private int processedUsers;     // 처리 완료된 히스토리 수
+    private int updatedCount;       // 실제 값이 변경된 히스토리 수
+    private int skippedCount;       // 동시 차감/복구와 계속 충돌해 반영하지 못한 히스토리 수
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String message;
+
+    public double getProgressRate() {
+        return totalUsers > 0 ? (double) processedUsers / totalUsers * 100 : 0;
+    }
+}
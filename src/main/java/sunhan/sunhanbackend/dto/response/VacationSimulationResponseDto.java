@@ -0,0 +1,48 @@
+package sunhan.sunhanbackend.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+import sunhan.sunhanbackend.enums.HalfDayType;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+public class VacationSimulationResponseDto {
+    private String userId;
+    private Integer year;
+
+    // 현재 잔여 (승인 기준)
+    private Double carryoverDays;
+    private Double regularDays;
+    private Double usedCarryoverDays;
+    private Double usedRegularDays;
+    private Double remainingDays;
+
+    // 결재 진행 중인 연차 (includePending일 때만 차감)
+    private Double pendingDays;
+
+    // 가정한 기간별 결과
+    private List<PeriodResult> periods;
+    private Double requestedDays;
+
+    // 예상 잔여
+    private Double projectedUsedCarryoverDays;
+    private Double projectedUsedRegularDays;
+    private Double projectedRemainingDays;
+    private boolean sufficient;             // 모든 기간을 차감할 수 있는지
+
+    @Data
+    @Builder
+    public static class PeriodResult {
+        private LocalDate startDate;
+        private LocalDate endDate;
+        private HalfDayType halfDayType;
+        private Double days;                // 공휴일/주말 규칙 적용 후 사용 일수
+        private Double carryoverDeducted;   // 이월 연차에서 차감
+        private Double regularDeducted;     // 정상 연차에서 차감
+        private boolean deductible;         // 잔여가 부족하면 false (실제 차감도 거절됨)
+        private List<LocalDate> overlappingDates;  // 이미 신청/승인된 연차와 겹치는 날짜
+    }
+}
@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -51,4 +52,15 @@ public class SignInResponseDto extends ResponseDto {
         );
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(responseBody);
     }
-}
\ No newline at end of file
+
+    // 로그인 시도 제한 응답 (429)
+    public static ResponseEntity<ResponseDto> tooManyRequests(long retryAfterSeconds) {
+        ResponseDto responseBody = new ResponseDto(
+                ResponseCode.TOO_MANY_REQUESTS,
+                ResponseMessage.TOO_MANY_REQUESTS
+        );
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(responseBody);
+    }
+}
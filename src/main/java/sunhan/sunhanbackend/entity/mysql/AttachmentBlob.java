@@ -0,0 +1,43 @@
+package sunhan.sunhanbackend.entity.mysql;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 첨부파일 원본 (내용 주소 기반 저장소)
+ * 동일한 내용의 파일은 SHA-256 해시 기준으로 한 번만 저장되고, 참조 수(refCount)로 수명을 관리합니다.
+ */
+@Entity
+@Table(name = "attachment_blob",
+        uniqueConstraints = @UniqueConstraint(name = "uk_attachment_blob_sha256", columnNames = "sha256")
+)
+@Getter
+@Setter
+@NoArgsConstructor
+public class AttachmentBlob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String sha256; // 소문자 hex
+
+    @Column(name = "stored_path", nullable = false)
+    private String storedPath; // 업로드 루트 기준 상대 경로 (예: blobs/ab/cd/abcd...)
+
+    @Column(name = "file_size", nullable = false)
+    private long fileSize;
+
+    @Column(name = "ref_count", nullable = false)
+    private int refCount;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,58 @@
+package sunhan.sunhanbackend.entity.mysql;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 배치 작업 체크포인트 + 실행 임대(lease)
+ * 작업당 1행이며, lease를 가진 노드만 작업을 진행합니다.
+ * 마지막으로 처리한 키를 남겨 두므로 중단되어도 이어서 실행할 수 있습니다.
+ */
+@Entity
+@Table(name = "batch_job_checkpoint")
+@Getter
+@Setter
+@NoArgsConstructor
+public class BatchJobCheckpoint {
+
+    @Id
+    @Column(name = "job_name", length = 100)
+    private String jobName;
+
+    @Column(name = "status", nullable = false, length = 20)
+    private String status;              // PENDING, RUNNING, COMPLETED, FAILED
+
+    @Column(name = "lease_owner", length = 100)
+    private String leaseOwner;
+
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "last_processed_key", length = 100)
+    private String lastProcessedKey;
+
+    @Column(name = "total_count", nullable = false)
+    private long totalCount;
+
+    @Column(name = "processed_count", nullable = false)
+    private long processedCount;
+
+    @Column(name = "created_count", nullable = false)
+    private long createdCount;
+
+    @Column(name = "message", length = 500)
+    private String message;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
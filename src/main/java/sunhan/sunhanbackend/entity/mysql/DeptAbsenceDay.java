@@ -0,0 +1,64 @@
+package sunhan.sunhanbackend.entity.mysql;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+import sunhan.sunhanbackend.enums.HalfDayType;
+import sunhan.sunhanbackend.enums.LeaveType;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 부서별 일자별 부재 현황 (집계 테이블)
+ * 승인 완료된 휴가원의 LeaveApplicationDay를 (부서, 날짜) 기준으로 펼쳐 저장합니다.
+ * 승인/반려/취소 시 같은 트랜잭션에서 갱신되므로 월간 달력은 인덱스 범위 조회 한 번으로 처리됩니다.
+ */
+@Entity
+@Table(name = "dept_absence_day",
+        indexes = {
+                @Index(name = "idx_absence_dept_date", columnList = "dept_code, absence_date"),
+                @Index(name = "idx_absence_application", columnList = "leave_application_id")
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+public class DeptAbsenceDay {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "dept_code", nullable = false, length = 20)
+    private String deptCode; // 기본 부서 코드 (OS01 -> OS)
+
+    @Column(name = "absence_date", nullable = false)
+    private LocalDate absenceDate;
+
+    @Column(name = "user_id", nullable = false, length = 20)
+    private String userId;
+
+    @Column(name = "user_name", length = 100)
+    private String userName; // 조회 시 사용자 조인을 피하기 위한 스냅샷
+
+    @Column(name = "leave_application_id", nullable = false)
+    private Long leaveApplicationId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "leave_type")
+    private LeaveType leaveType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "half_day_type", nullable = false)
+    private HalfDayType halfDayType;
+
+    @Column(name = "days")
+    private Double days;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+}
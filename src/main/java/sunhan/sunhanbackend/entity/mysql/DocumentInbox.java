@@ -0,0 +1,76 @@
+package sunhan.sunhanbackend.entity.mysql;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// 문서함 조회 모델: (문서, 사용자, 문서함) 당 1행
+// user_id가 ''인 행은 전체 조회 권한자/인사팀 공용 문서함용 (COMPLETED, HR_PENDING)
+@Entity
+@Table(name = "document_inbox",
+        uniqueConstraints = @UniqueConstraint(name = "uk_document_inbox",
+                columnNames = {"user_id", "box", "document_type", "document_id"}),
+        indexes = {
+                @Index(name = "idx_document_inbox_box_updated", columnList = "user_id, box, updated_at, document_id"),
+                @Index(name = "idx_document_inbox_box_type_updated", columnList = "user_id, box, document_type, updated_at, document_id"),
+                @Index(name = "idx_document_inbox_document", columnList = "document_type, document_id")
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+public class DocumentInbox {
+
+    // 전체 조회 권한자 / 인사팀 공용 문서함 행의 user_id
+    public static final String SHARED_USER = "";
+
+    public static final String BOX_DRAFT = "DRAFT";
+    public static final String BOX_IN_PROGRESS = "IN_PROGRESS";
+    public static final String BOX_REJECTED = "REJECTED";
+    public static final String BOX_PENDING = "PENDING";
+    public static final String BOX_HR_PENDING = "HR_PENDING";
+    public static final String BOX_COMPLETED = "COMPLETED";
+
+    public static final String TYPE_CONTRACT = "CONTRACT";
+    public static final String TYPE_LEAVE_APPLICATION = "LEAVE_APPLICATION";
+    public static final String TYPE_WORK_SCHEDULE = "WORK_SCHEDULE";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false, length = 20)
+    private String userId;
+
+    @Column(name = "box", nullable = false, length = 20)
+    private String box;
+
+    @Column(name = "role", nullable = false, length = 20)
+    private String role;            // CREATOR, EMPLOYEE, APPLICANT, APPROVER, PARTICIPANT, HR_STAFF, ALL
+
+    @Column(name = "document_type", nullable = false, length = 30)
+    private String documentType;
+
+    @Column(name = "document_id", nullable = false)
+    private Long documentId;
+
+    @Column(name = "title", length = 100)
+    private String title;
+
+    @Column(name = "status", length = 30)
+    private String status;
+
+    @Column(name = "creator_name", length = 100)
+    private String creatorName;
+
+    @Column(name = "employee_name", length = 100)
+    private String employeeName;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
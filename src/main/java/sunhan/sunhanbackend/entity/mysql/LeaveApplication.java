@@ -98,7 +98,7 @@ public class LeaveApplication {
     private LeaveApplicationStatus status; // 승인 상태
 
     @Column(name = "approval_history", columnDefinition = "TEXT")
-    private String approvalHistory; // 승인 이력 (JSON 형태)
+    private String approvalHistory; // 승인 이력 (JSON 형태) - ⚠️ 더 이상 기록하지 않음, leave_approval_history 사용
 
     @Column(name = "form_data_json", columnDefinition = "TEXT")
     private String formDataJson; // 전체 폼 데이터 (JSON 형태)
@@ -30,12 +30,16 @@ public class LeaveApplicationAttachment {
 
     private long fileSize; // 파일 크기 (bytes)
 
+    @Column(name = "content_hash", length = 64)
+    private String contentHash; // ✅ AttachmentBlob SHA-256 (기존 경로 저장 파일은 null)
+
     @Builder
-    public LeaveApplicationAttachment(LeaveApplication leaveApplication, String originalFileName, String storedFilePath, String fileType, long fileSize) {
+    public LeaveApplicationAttachment(LeaveApplication leaveApplication, String originalFileName, String storedFilePath, String fileType, long fileSize, String contentHash) {
         this.leaveApplication = leaveApplication;
         this.originalFileName = originalFileName;
         this.storedFilePath = storedFilePath;
         this.fileType = fileType;
         this.fileSize = fileSize;
+        this.contentHash = contentHash;
     }
 }
\ No newline at end of file
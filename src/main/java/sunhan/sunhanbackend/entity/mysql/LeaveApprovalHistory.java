@@ -0,0 +1,60 @@
+package sunhan.sunhanbackend.entity.mysql;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import sunhan.sunhanbackend.enums.approval.ApprovalAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * 휴가원 결재 이력 (추가 전용)
+ * 결재 행위 1건당 1행을 INSERT만 하며, 기존 formDataJson의 approvalHistory 배열을 대체합니다.
+ */
+@Entity
+@Table(name = "leave_approval_history",
+        indexes = {
+                @Index(name = "idx_leave_history_app", columnList = "leave_application_id, acted_at"),
+                @Index(name = "idx_leave_history_actor", columnList = "actor_id, acted_at")
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+public class LeaveApprovalHistory {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "leave_application_id", nullable = false, updatable = false)
+    private Long leaveApplicationId;
+
+    @Column(name = "action", nullable = false, updatable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private ApprovalAction action;
+
+    @Column(name = "step_name", updatable = false)
+    private String stepName; // 처리 시점의 결재 단계 (예: DEPARTMENT_HEAD_APPROVAL)
+
+    // ✅ 처리자 정보 스냅샷 (처리 시점 기준)
+    @Column(name = "actor_id", updatable = false)
+    private String actorId; // 마이그레이션된 과거 이력은 이름만 있을 수 있음
+
+    @Column(name = "actor_name", updatable = false)
+    private String actorName;
+
+    @Column(name = "actor_job_level", updatable = false)
+    private String actorJobLevel;
+
+    @Column(name = "comment", columnDefinition = "TEXT", updatable = false)
+    private String comment;
+
+    @Column(name = "acted_at", nullable = false, updatable = false)
+    private LocalDateTime actedAt;
+
+    // formDataJson / approval_history JSON에서 이관된 과거 이력 여부 (마이그레이션 재실행 시 중복 방지용)
+    @Column(name = "legacy", nullable = false, updatable = false)
+    private Boolean legacy = false;
+}
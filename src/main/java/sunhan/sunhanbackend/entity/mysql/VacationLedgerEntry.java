@@ -0,0 +1,62 @@
+package sunhan.sunhanbackend.entity.mysql;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+import sunhan.sunhanbackend.enums.VacationLedgerType;
+
+import java.time.LocalDateTime;
+
+/**
+ * 연차 거래 원장 (추가 전용)
+ * 잔여 연차(user_annual_vacation_history)를 바꾸는 모든 작업은 이 테이블에 1행을 남깁니다.
+ * idempotencyKey가 유니크이므로 같은 문서의 차감/복구가 중복 반영되지 않습니다.
+ */
+@Entity
+@Table(name = "vacation_ledger_entry",
+        uniqueConstraints = @UniqueConstraint(name = "uk_vacation_ledger_idempotency", columnNames = "idempotency_key"),
+        indexes = {
+                @Index(name = "idx_vacation_ledger_user_year", columnList = "user_id, year"),
+                @Index(name = "idx_vacation_ledger_document", columnList = "source_document_id")
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+public class VacationLedgerEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private String userId;
+
+    @Column(name = "year", nullable = false, updatable = false)
+    private Integer year;
+
+    @Column(name = "entry_type", nullable = false, updatable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private VacationLedgerType entryType;
+
+    @Column(name = "days", nullable = false, updatable = false)
+    private Double days; // 차감/복구 일수 (조정은 총 연차 증감분)
+
+    @Column(name = "source_document_id", updatable = false)
+    private Long sourceDocumentId; // 휴가원 ID (조정은 null)
+
+    @Column(name = "idempotency_key", length = 100, updatable = false)
+    private String idempotencyKey; // 예: DEDUCT:123:0, RESTORE:123:0
+
+    @Column(name = "actor_id", updatable = false)
+    private String actorId; // 조정한 관리자 ID
+
+    @Column(name = "memo", updatable = false)
+    private String memo;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+}
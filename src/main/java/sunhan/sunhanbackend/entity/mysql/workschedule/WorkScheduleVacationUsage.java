@@ -0,0 +1,37 @@
+package sunhan.sunhanbackend.entity.mysql.workschedule;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// 승인된 근무표 기준 사용자별 월간 휴가 사용량 집계 (user_id, year, month 당 1행)
+@Entity
+@Table(name = "work_schedule_vacation_usage",
+        uniqueConstraints = @UniqueConstraint(name = "uk_ws_vacation_usage", columnNames = {"user_id", "year", "month"}))
+@Getter
+@Setter
+@NoArgsConstructor
+public class WorkScheduleVacationUsage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Column(name = "year", nullable = false)
+    private Integer year;
+
+    @Column(name = "month", nullable = false)
+    private Integer month;
+
+    @Column(name = "used_days", nullable = false)
+    private Double usedDays = 0.0;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,7 @@
+package sunhan.sunhanbackend.enums;
+
+public enum VacationLedgerType {
+    DEDUCT,   // 휴가 승인에 따른 차감
+    RESTORE,  // 반려/취소에 따른 복구
+    ADJUST    // 관리자 연차 일수 조정
+}
@@ -5,5 +5,6 @@ public enum ApprovalAction {
     REJECTED,             // 반려
     SKIPPED,              // 건너뜀
     FINAL_APPROVED,        // 전결 승인
-    PENDING //대기 중 (아직 처리되지 않은 단계의 초기값으로 사용)
+    PENDING, //대기 중 (아직 처리되지 않은 단계의 초기값으로 사용)
+    CANCELLED // 승인 완료 후 관리자 취소 (휴가원 이력 전용)
 }
\ No newline at end of file
@@ -16,10 +16,11 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
-import sunhan.sunhanbackend.entity.mysql.UserEntity;
 import sunhan.sunhanbackend.enums.Role;
-import sunhan.sunhanbackend.repository.mysql.UserRepository;
 import sunhan.sunhanbackend.provider.JwtProvider;
+import sunhan.sunhanbackend.service.AuthPrincipalCache;
+import sunhan.sunhanbackend.service.AuthPrincipalCache.AuthPrincipal;
+import sunhan.sunhanbackend.service.RequestLookupContext;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -31,7 +32,8 @@ import java.util.List;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtProvider jwtProvider;
-    private final UserRepository userRepository;
+    private final AuthPrincipalCache authPrincipalCache;
+    private final RequestLookupContext requestLookupContext;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -45,6 +47,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
+        // 요청 범위 사용자/권한 조회 재사용 시작
+        RequestLookupContext.Lookups lookups = requestLookupContext.begin(request);
+        try {
+            doFilterAuthenticated(request, response, filterChain, requestURI);
+        } finally {
+            log.debug("Request lookups - URI: {}, {}", requestURI, lookups);
+        }
+    }
+
+    private void doFilterAuthenticated(HttpServletRequest request, HttpServletResponse response,
+                                       FilterChain filterChain, String requestURI)
+            throws ServletException, IOException {
         try {
             String token = parseBearerToken(request);
             if (token == null) {
@@ -60,8 +74,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 return;
             }
 
-            UserEntity userEntity = userRepository.findByUserIdNoCache(userId).orElse(null);
-            if (userEntity == null) {
+            // 인증용 사용자 정보는 캐시에서 조회 (권한 변경 시 무효화)
+            AuthPrincipal principal = authPrincipalCache.get(userId);
+            if (principal == null) {
                 log.warn("User not found: {}", userId);
                 filterChain.doFilter(request, response);
                 return;
@@ -70,7 +85,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             // 권한 설정
             List<GrantedAuthority> authorities = new ArrayList<>();
 
-            Role userRole = userEntity.getRole();
+            Role userRole = principal.role();
             if (userRole != null) {
                 authorities.add(new SimpleGrantedAuthority("ROLE_" + userRole.name()));
             } else {
@@ -78,7 +93,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             }
 
             // jobLevel 기반 추가 권한
-            if ("1".equals(userEntity.getJobLevel())) {
+            if ("1".equals(principal.jobLevel())) {
                 authorities.add(new SimpleGrantedAuthority("ROLE_DEPT_APPROVER"));
             }
 
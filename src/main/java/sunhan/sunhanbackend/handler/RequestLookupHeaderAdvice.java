@@ -0,0 +1,45 @@
+package sunhan.sunhanbackend.handler;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+import sunhan.sunhanbackend.service.RequestLookupContext;
+
+/**
+ * 요청 범위 조회 집계를 디버그 응답 헤더로 노출 (debug.request-lookups.headers=true 일 때만)
+ * 같은 요청에서 사용자/권한을 반복 조회하는 패턴(N+1)을 응답만 보고 확인할 수 있습니다.
+ */
+@RestControllerAdvice
+@RequiredArgsConstructor
+public class RequestLookupHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    private final RequestLookupContext requestLookupContext;
+
+    @Value("${debug.request-lookups.headers:false}")
+    private boolean enabled;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return enabled;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        RequestLookupContext.Lookups lookups = requestLookupContext.current();
+        if (lookups != null) {
+            response.getHeaders().set("X-Debug-User-Lookups",
+                    "load=" + lookups.userLoads() + ";reuse=" + lookups.userReuses());
+            response.getHeaders().set("X-Debug-Permission-Lookups",
+                    "load=" + lookups.permissionLoads() + ";reuse=" + lookups.permissionReuses());
+        }
+        return body;
+    }
+}
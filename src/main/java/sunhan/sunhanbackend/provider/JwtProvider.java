@@ -1,10 +1,12 @@
 package sunhan.sunhanbackend.provider;
 
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -17,20 +19,31 @@ import sunhan.sunhanbackend.enums.Role;
 
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class JwtProvider {
 
+    private static final long ALLOWED_CLOCK_SKEW_SECONDS = 30;
+
+    private final VerifiedTokenCache verifiedTokenCache;
+
     @Value("${secret-key}")
     private String secretKey;
 
     @Value("${jwt.access-token.expiration:86400000}") // 24시간
     private Long accessTokenExpiration;
     private Key signingKey;
+    // 서명 검증용 파서 (불변 객체이므로 한 번 만들어 재사용)
+    private JwtParser jwtParser;
     private Key getSigningKey() {
         return Keys.hmacShaKeyFor(secretKey.getBytes());
     }
     @PostConstruct
     public void init() {
         this.signingKey = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .setAllowedClockSkewSeconds(ALLOWED_CLOCK_SKEW_SECONDS)
+                .build();
     }
 
     // ⭐ 수정: role을 String 대신 Role enum으로 받기
@@ -70,12 +83,7 @@ public class JwtProvider {
 
     public String validate(String token) {
         try {
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(signingKey)
-                    .setAllowedClockSkewSeconds(30)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            Claims claims = parseVerified(token);
 
             String userId = claims.getSubject();
             String role = claims.get("role", String.class);
@@ -94,12 +102,7 @@ public class JwtProvider {
     // ⭐ 추가: Role 추출 메서드
     public Role extractRole(String token) {
         try {
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(signingKey)
-                    .setAllowedClockSkewSeconds(30)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            Claims claims = parseVerified(token);
 
             String roleString = claims.get("role", String.class);
             return Role.valueOf(roleString);
@@ -111,11 +114,7 @@ public class JwtProvider {
 
     public boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(signingKey)
-                    .setAllowedClockSkewSeconds(30)
-                    .build()
-                    .parseClaimsJws(token);
+            parseVerified(token);
             return true;
         } catch (ExpiredJwtException e) {
             log.error("❌ Token expired: {}", e.getMessage());
@@ -126,6 +125,32 @@ public class JwtProvider {
         }
     }
 
+    /**
+     * ✅ 로그아웃한 토큰을 검증 캐시에서 제거
+     */
+    public void evictVerifiedToken(String token) {
+        if (token != null) {
+            verifiedTokenCache.evict(token);
+        }
+    }
+
+    /**
+     * 서명 검증된 claims (캐시에 있으면 재사용, 없으면 검증 후 만료 시각까지 캐시)
+     */
+    private Claims parseVerified(String token) {
+        Claims cached = verifiedTokenCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+
+        Claims claims = jwtParser.parseClaimsJws(token).getBody();
+        Date expiration = claims.getExpiration();
+        if (expiration != null) {
+            verifiedTokenCache.put(token, claims, expiration.getTime() + ALLOWED_CLOCK_SKEW_SECONDS * 1000);
+        }
+        return claims;
+    }
+
     public long getAccessTokenExpirationTime() {
         long expiresInSeconds = accessTokenExpiration / 1000;
         log.info("getAccessTokenExpirationTime: {} seconds", expiresInSeconds);
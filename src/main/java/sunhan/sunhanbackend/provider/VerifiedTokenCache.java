@@ -0,0 +1,115 @@
+package sunhan.sunhanbackend.provider;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ✅ 서명 검증을 마친 토큰 캐시 (토큰 SHA-256 해시 → claims, 최대 MAX_ENTRIES건)
+ * 같은 토큰이 요청마다 다시 전송되므로 한 번 검증한 결과를 토큰 만료 시각까지 재사용합니다.
+ * 원문 토큰은 보관하지 않으며, 만료된 항목은 조회 시/가득 찼을 때 정리하고 로그아웃 시 제거합니다.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private static final int MAX_ENTRIES = 10_000;
+
+    private final Map<String, VerifiedToken> entries = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+
+    public VerifiedTokenCache(MeterRegistry meterRegistry) {
+        this.hits = Counter.builder("jwt.verified_token_cache")
+                .tag("result", "hit")
+                .description("서명 검증 캐시 적중")
+                .register(meterRegistry);
+        this.misses = Counter.builder("jwt.verified_token_cache")
+                .tag("result", "miss")
+                .description("서명 검증 캐시 미적중")
+                .register(meterRegistry);
+        meterRegistry.gaugeMapSize("jwt.verified_token_cache.size", Tags.empty(), entries);
+    }
+
+    /**
+     * 검증된 claims (없거나 만료 시각이 지났으면 null)
+     */
+    public Claims get(String token) {
+        String key = hash(token);
+        VerifiedToken cached = entries.get(key);
+        if (cached == null) {
+            misses.increment();
+            return null;
+        }
+        if (cached.isExpired(System.currentTimeMillis())) {
+            entries.remove(key, cached);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return cached.claims();
+    }
+
+    /**
+     * 검증된 claims 저장 (expiresAtMillis: 만료 시각 + 허용 오차)
+     */
+    public void put(String token, Claims claims, long expiresAtMillis) {
+        entries.put(hash(token), new VerifiedToken(claims, expiresAtMillis));
+        trimIfNeeded();
+    }
+
+    /**
+     * 토큰 제거 (로그아웃)
+     */
+    public void evict(String token) {
+        entries.remove(hash(token));
+    }
+
+    /**
+     * 최대 건수를 넘으면 만료된 항목을 먼저 지우고, 그래도 넘으면 가장 먼저 만료될 항목부터 10% 여유가 생길 때까지 제거
+     */
+    private void trimIfNeeded() {
+        if (entries.size() <= MAX_ENTRIES) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.isExpired(now));
+
+        int overflow = entries.size() - MAX_ENTRIES;
+        if (overflow <= 0) {
+            return;
+        }
+        int removeCount = overflow + MAX_ENTRIES / 10;
+        entries.entrySet().stream()
+                .sorted(Comparator.comparingLong(entry -> entry.getValue().expiresAtMillis()))
+                .limit(removeCount)
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(entries::remove);
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다.", e);
+        }
+    }
+
+    private record VerifiedToken(Claims claims, long expiresAtMillis) {
+
+        private boolean isExpired(long now) {
+            return now > expiresAtMillis;
+        }
+    }
+}
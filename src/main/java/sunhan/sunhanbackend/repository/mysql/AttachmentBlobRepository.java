@@ -0,0 +1,44 @@
+package sunhan.sunhanbackend.repository.mysql;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import sunhan.sunhanbackend.entity.mysql.AttachmentBlob;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface AttachmentBlobRepository extends JpaRepository<AttachmentBlob, Long> {
+
+    Optional<AttachmentBlob> findBySha256(String sha256);
+
+    /**
+     * 참조 수 변경용 행 잠금 조회
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM AttachmentBlob b WHERE b.sha256 = :sha256")
+    Optional<AttachmentBlob> findBySha256ForUpdate(@Param("sha256") String sha256);
+
+    /**
+     * 참조 추가: 행이 없으면 참조 수 1로 생성, 있으면 참조 수 +1 (같은 해시 동시 저장은 이 행에서 직렬화됨)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO attachment_blob (sha256, stored_path, file_size, ref_count, created_at) " +
+            "VALUES (:sha256, :storedPath, :fileSize, 1, :now) " +
+            "ON DUPLICATE KEY UPDATE ref_count = ref_count + 1", nativeQuery = true)
+    int addReference(@Param("sha256") String sha256,
+                     @Param("storedPath") String storedPath,
+                     @Param("fileSize") long fileSize,
+                     @Param("now") LocalDateTime now);
+
+    /**
+     * 현재 참조 수 (영속성 컨텍스트가 아닌 DB 값)
+     */
+    @Query("SELECT b.refCount FROM AttachmentBlob b WHERE b.sha256 = :sha256")
+    Optional<Integer> findRefCountBySha256(@Param("sha256") String sha256);
+}
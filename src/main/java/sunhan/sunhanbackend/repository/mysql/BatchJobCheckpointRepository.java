@@ -0,0 +1,57 @@
+package sunhan.sunhanbackend.repository.mysql;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import sunhan.sunhanbackend.entity.mysql.BatchJobCheckpoint;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface BatchJobCheckpointRepository extends JpaRepository<BatchJobCheckpoint, String> {
+
+    /**
+     * 체크포인트 행이 없으면 생성 (여러 노드가 동시에 호출해도 1행만 남음)
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO batch_job_checkpoint " +
+            "(job_name, status, total_count, processed_count, created_count, updated_at) " +
+            "VALUES (:jobName, 'PENDING', 0, 0, 0, :now)", nativeQuery = true)
+    int insertIfAbsent(@Param("jobName") String jobName, @Param("now") LocalDateTime now);
+
+    /**
+     * lease 획득: 비어 있거나, 내 것이거나, 만료된 경우에만 성공 (1 = 획득)
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE BatchJobCheckpoint c SET c.leaseOwner = :owner, c.leaseUntil = :leaseUntil, c.updatedAt = :now " +
+            "WHERE c.jobName = :jobName " +
+            "AND (c.leaseOwner IS NULL OR c.leaseOwner = :owner OR c.leaseUntil < :now)")
+    int tryAcquireLease(@Param("jobName") String jobName,
+                        @Param("owner") String owner,
+                        @Param("leaseUntil") LocalDateTime leaseUntil,
+                        @Param("now") LocalDateTime now);
+
+    /**
+     * 청크 처리 결과 기록 + lease 연장 (lease를 잃었으면 0)
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE BatchJobCheckpoint c SET c.lastProcessedKey = :lastKey, " +
+            "c.processedCount = c.processedCount + :processed, " +
+            "c.createdCount = c.createdCount + :created, " +
+            "c.leaseUntil = :leaseUntil, c.updatedAt = :now " +
+            "WHERE c.jobName = :jobName AND c.leaseOwner = :owner")
+    int advance(@Param("jobName") String jobName,
+                @Param("owner") String owner,
+                @Param("lastKey") String lastKey,
+                @Param("processed") long processed,
+                @Param("created") long created,
+                @Param("leaseUntil") LocalDateTime leaseUntil,
+                @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE BatchJobCheckpoint c SET c.leaseOwner = NULL, c.leaseUntil = NULL " +
+            "WHERE c.jobName = :jobName AND c.leaseOwner = :owner")
+    int releaseLease(@Param("jobName") String jobName, @Param("owner") String owner);
+}
@@ -0,0 +1,36 @@
+package sunhan.sunhanbackend.repository.mysql;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import sunhan.sunhanbackend.entity.mysql.DeptAbsenceDay;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DeptAbsenceDayRepository extends JpaRepository<DeptAbsenceDay, Long> {
+
+    /**
+     * 부서 + 기간 범위 조회 (idx_absence_dept_date 범위 스캔)
+     */
+    @Query("SELECT d FROM DeptAbsenceDay d " +
+            "WHERE d.deptCode = :deptCode " +
+            "AND d.absenceDate BETWEEN :startDate AND :endDate " +
+            "ORDER BY d.absenceDate, d.userName")
+    List<DeptAbsenceDay> findByDeptCodeAndPeriod(
+            @Param("deptCode") String deptCode,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    @Modifying
+    @Query("DELETE FROM DeptAbsenceDay d WHERE d.leaveApplicationId = :leaveApplicationId")
+    int deleteByLeaveApplicationId(@Param("leaveApplicationId") Long leaveApplicationId);
+
+    @Modifying
+    @Query("DELETE FROM DeptAbsenceDay d WHERE d.absenceDate BETWEEN :startDate AND :endDate")
+    int deleteByPeriod(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+}
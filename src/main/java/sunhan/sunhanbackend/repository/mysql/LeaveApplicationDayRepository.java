@@ -1,10 +1,15 @@
 package sunhan.sunhanbackend.repository.mysql;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import sunhan.sunhanbackend.entity.mysql.LeaveApplicationDay;
+import sunhan.sunhanbackend.enums.LeaveApplicationStatus;
+import sunhan.sunhanbackend.enums.LeaveType;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -12,4 +17,95 @@ public interface LeaveApplicationDayRepository extends JpaRepository<LeaveApplic
     List<LeaveApplicationDay> findByLeaveApplicationId(Long leaveApplicationId);
 
     List<LeaveApplicationDay> findByDateBetween(LocalDate startDate, LocalDate endDate);
+
+    /**
+     * 기간 내 특정 상태 휴가원의 일자 조회 (휴가원/신청자 함께 로드)
+     */
+    @Query("SELECT d FROM LeaveApplicationDay d " +
+            "JOIN FETCH d.leaveApplication la " +
+            "LEFT JOIN FETCH la.applicant " +
+            "WHERE la.status = :status " +
+            "AND d.date BETWEEN :startDate AND :endDate")
+    List<LeaveApplicationDay> findByStatusAndDateBetweenWithApplication(
+            @Param("status") LeaveApplicationStatus status,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    /**
+     * ✅ 지정한 사용자들의 연도별 휴가 사용량 집계 (연차 재계산 청크용)
+     * 휴가원 시작일 기준 연도에 속한 일자를 1~2월 / 3~12월 사용량으로 나누어 합산합니다.
+     * 반환: [applicantId, 1~2월 사용일수, 3~12월 사용일수] (사용 내역이 없는 사용자는 제외)
+     */
+    @Query("SELECT la.applicantId, " +
+            "SUM(CASE WHEN EXTRACT(MONTH FROM d.date) <= 2 THEN COALESCE(d.days, 1.0) ELSE 0.0 END), " +
+            "SUM(CASE WHEN EXTRACT(MONTH FROM d.date) > 2 THEN COALESCE(d.days, 1.0) ELSE 0.0 END) " +
+            "FROM LeaveApplicationDay d JOIN d.leaveApplication la " +
+            "WHERE la.applicantId IN :userIds " +
+            "AND la.status = :status " +
+            "AND la.leaveType = :leaveType " +
+            "AND la.startDate BETWEEN :yearStart AND :yearEnd " +
+            "GROUP BY la.applicantId")
+    List<Object[]> sumUsageByApplicantIds(
+            @Param("userIds") Collection<String> userIds,
+            @Param("status") LeaveApplicationStatus status,
+            @Param("leaveType") LeaveType leaveType,
+            @Param("yearStart") LocalDate yearStart,
+            @Param("yearEnd") LocalDate yearEnd
+    );
+
+    /**
+     * ✅ 기간 내 재직자 휴가 사용량 사용자·연월별 집계 (월별 통계용)
+     * 반환: [applicantId, 연도, 월, 사용일수]
+     */
+    @Query("SELECT la.applicantId, EXTRACT(YEAR FROM d.date), EXTRACT(MONTH FROM d.date), SUM(COALESCE(d.days, 1.0)) " +
+            "FROM LeaveApplicationDay d JOIN d.leaveApplication la JOIN la.applicant u " +
+            "WHERE u.useFlag = '1' " +
+            "AND la.status = :status " +
+            "AND la.leaveType = :leaveType " +
+            "AND d.date BETWEEN :startDate AND :endDate " +
+            "GROUP BY la.applicantId, EXTRACT(YEAR FROM d.date), EXTRACT(MONTH FROM d.date)")
+    List<Object[]> sumMonthlyUsageOfActiveUsers(
+            @Param("status") LeaveApplicationStatus status,
+            @Param("leaveType") LeaveType leaveType,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    /**
+     * ✅ 기간 내 지정 사용자 휴가 사용량 사용자·연월별 집계 (월별 통계용)
+     * 반환: [applicantId, 연도, 월, 사용일수]
+     */
+    @Query("SELECT la.applicantId, EXTRACT(YEAR FROM d.date), EXTRACT(MONTH FROM d.date), SUM(COALESCE(d.days, 1.0)) " +
+            "FROM LeaveApplicationDay d JOIN d.leaveApplication la " +
+            "WHERE la.applicantId IN :userIds " +
+            "AND la.status = :status " +
+            "AND la.leaveType = :leaveType " +
+            "AND d.date BETWEEN :startDate AND :endDate " +
+            "GROUP BY la.applicantId, EXTRACT(YEAR FROM d.date), EXTRACT(MONTH FROM d.date)")
+    List<Object[]> sumMonthlyUsageByApplicantIds(
+            @Param("userIds") Collection<String> userIds,
+            @Param("status") LeaveApplicationStatus status,
+            @Param("leaveType") LeaveType leaveType,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    /**
+     * ✅ 특정 사용자의 기간 내 휴가 일자 (휴가 시뮬레이션용)
+     * 반환: [leaveApplicationId, status, 휴가원 시작일, 일자, 일수]
+     */
+    @Query("SELECT la.id, la.status, la.startDate, d.date, COALESCE(d.days, 1.0) " +
+            "FROM LeaveApplicationDay d JOIN d.leaveApplication la " +
+            "WHERE la.applicantId = :userId " +
+            "AND la.leaveType = :leaveType " +
+            "AND la.status IN :statuses " +
+            "AND d.date BETWEEN :startDate AND :endDate")
+    List<Object[]> findDayRowsByApplicantId(
+            @Param("userId") String userId,
+            @Param("leaveType") LeaveType leaveType,
+            @Param("statuses") Collection<LeaveApplicationStatus> statuses,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
 }
@@ -12,6 +12,7 @@ import sunhan.sunhanbackend.enums.LeaveApplicationStatus;
 import sunhan.sunhanbackend.enums.LeaveType;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -178,4 +179,38 @@ public interface LeaveApplicationRepository extends JpaRepository<LeaveApplicati
             @Param("endDate") LocalDate endDate,
             Pageable pageable
     );
-}
\ No newline at end of file
+
+    /**
+     * ✅ 과거 JSON 결재 이력 마이그레이션용 (id 기준 keyset 페이지)
+     */
+    @Query("SELECT la FROM LeaveApplication la " +
+            "WHERE la.id > :lastId " +
+            "AND (la.formDataJson LIKE '%approvalHistory%' OR la.approvalHistory IS NOT NULL) " +
+            "ORDER BY la.id ASC")
+    List<LeaveApplication> findLegacyApprovalHistoryChunk(@Param("lastId") Long lastId, Pageable pageable);
+
+    /**
+     * ✅ 관리대장용: 여러 사용자의 기간 내 승인 휴가원을 일자와 함께 일괄 조회
+     */
+    @Query("SELECT DISTINCT la FROM LeaveApplication la " +
+            "LEFT JOIN FETCH la.days " +
+            "WHERE la.applicantId IN :applicantIds " +
+            "AND la.leaveType IN :leaveTypes " +
+            "AND la.status = 'APPROVED' " +
+            "AND la.startDate BETWEEN :startDate AND :endDate")
+    List<LeaveApplication> findApprovedWithDaysByApplicantIds(
+            @Param("applicantIds") Collection<String> applicantIds,
+            @Param("leaveTypes") Collection<LeaveType> leaveTypes,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    /**
+     * ✅ 일자(leave_application_day)가 없는 승인 휴가원 (id 기준 keyset 페이지, 일자 보정 작업용)
+     */
+    @Query("SELECT la FROM LeaveApplication la " +
+            "WHERE la.id > :lastId " +
+            "AND la.status = 'APPROVED' " +
+            "AND la.days IS EMPTY " +
+            "ORDER BY la.id ASC")
+    List<LeaveApplication> findApprovedWithoutDaysChunk(@Param("lastId") Long lastId, Pageable pageable);
+}
@@ -0,0 +1,33 @@
+package sunhan.sunhanbackend.repository.mysql;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import sunhan.sunhanbackend.entity.mysql.LeaveApprovalHistory;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface LeaveApprovalHistoryRepository extends JpaRepository<LeaveApprovalHistory, Long> {
+
+    /**
+     * 휴가원별 이력 (idx_leave_history_app)
+     */
+    List<LeaveApprovalHistory> findByLeaveApplicationIdOrderByActedAtAscIdAsc(Long leaveApplicationId);
+
+    /**
+     * 처리자별 이력 (idx_leave_history_actor)
+     */
+    Page<LeaveApprovalHistory> findByActorIdOrderByActedAtDescIdDesc(String actorId, Pageable pageable);
+
+    /**
+     * 마이그레이션 시 과거 JSON 이력이 이미 이관된 휴가원 확인용 (배포 후 새로 기록된 행은 제외)
+     */
+    @Query("SELECT DISTINCT h.leaveApplicationId FROM LeaveApprovalHistory h " +
+            "WHERE h.legacy = true AND h.leaveApplicationId IN :ids")
+    List<Long> findLegacyMigratedApplicationIds(@Param("ids") Collection<Long> ids);
+}
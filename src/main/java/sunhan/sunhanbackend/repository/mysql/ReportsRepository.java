@@ -1,11 +1,9 @@
 package sunhan.sunhanbackend.repository.mysql;
 
-import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
-
+import java.time.LocalDateTime;
 import java.util.List;
 
-
+// 문서함 탭별 조회 (document_inbox 조회 모델 기반, 행 형식은 기존 UNION 쿼리와 동일)
 public interface ReportsRepository {
 
     List<Object[]> findDraftDocuments(String userId, int limit, int offset);
@@ -17,9 +15,6 @@ public interface ReportsRepository {
     List<Object[]> findRejectedDocuments(String userId, int limit, int offset);
     long countRejectedDocuments(String userId);
 
-    List<Object[]> findCompletedDocumentsUnion(String userId, boolean isAdmin, int limit, int offset);
-    long countCompletedDocuments(String userId, boolean isAdmin);
-
     List<Object[]> findPendingDocuments(String userId, int limit, int offset);
     long countPendingDocuments(String userId);
 
@@ -38,4 +33,9 @@ public interface ReportsRepository {
     // 추가: Work Schedule 전용 메서드
     List<Object[]> findCompletedWorkSchedules(String userId, boolean hasPermission, int limit, int offset);
     long countCompletedWorkSchedules(String userId, boolean hasPermission);
+
+    // 완료 문서 커서 조회: (updated_at, id)가 커서보다 뒤인 행을 updated_at DESC, id DESC 순으로 limit건
+    List<Object[]> findCompletedContractsAfter(String userId, boolean isAdmin, LocalDateTime cursorUpdatedAt, long cursorId, int limit);
+    List<Object[]> findCompletedLeaveApplicationsAfter(String userId, boolean isAdmin, LocalDateTime cursorUpdatedAt, long cursorId, int limit);
+    List<Object[]> findCompletedWorkSchedulesAfter(String userId, boolean hasPermission, LocalDateTime cursorUpdatedAt, long cursorId, int limit);
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package sunhan.sunhanbackend.repository.mysql;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -31,4 +32,87 @@ public interface UserAnnualVacationHistoryRepository extends JpaRepository<UserA
     List<UserAnnualVacationHistory> findByUserIdsAndYear(@Param("userIds") List<String> userIds,
                                                          @Param("year") Integer year);
 
-}
\ No newline at end of file
+    @Query("SELECT h.userId FROM UserAnnualVacationHistory h WHERE h.year = :year ORDER BY h.userId")
+    List<String> findUserIdsByYear(@Param("year") Integer year);
+
+    // ========== ✅ 원자적 잔여 연차 갱신 (MySQL, 조건부 UPDATE) ==========
+    // SET 절은 왼쪽부터 평가되므로 참조하는 컬럼보다 뒤에서 해당 컬럼을 갱신한다.
+
+    /**
+     * 이월 연차 우선 차감 (1~2월). 잔여 총 연차가 부족하면 0 반환
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE user_annual_vacation_history SET " +
+            "used_regular_days = COALESCE(used_regular_days, 0) + GREATEST(0, :days - GREATEST(0, COALESCE(carryover_days, 0) - COALESCE(used_carryover_days, 0))), " +
+            "used_carryover_days = COALESCE(used_carryover_days, 0) + LEAST(:days, GREATEST(0, COALESCE(carryover_days, 0) - COALESCE(used_carryover_days, 0))), " +
+            "updated_at = NOW() " +
+            "WHERE user_id = :userId AND year = :year " +
+            "AND COALESCE(carryover_days, 0) + COALESCE(regular_days, 15) " +
+            "- COALESCE(used_carryover_days, 0) - COALESCE(used_regular_days, 0) >= :days",
+            nativeQuery = true)
+    int deductCarryoverFirst(@Param("userId") String userId, @Param("year") Integer year, @Param("days") Double days);
+
+    /**
+     * 정상 연차 차감 (3월 이후). 잔여 총 연차가 부족하면 0 반환
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE user_annual_vacation_history SET " +
+            "used_regular_days = COALESCE(used_regular_days, 0) + :days, " +
+            "updated_at = NOW() " +
+            "WHERE user_id = :userId AND year = :year " +
+            "AND COALESCE(carryover_days, 0) + COALESCE(regular_days, 15) " +
+            "- COALESCE(used_carryover_days, 0) - COALESCE(used_regular_days, 0) >= :days",
+            nativeQuery = true)
+    int deductRegular(@Param("userId") String userId, @Param("year") Integer year, @Param("days") Double days);
+
+    /**
+     * 정상 연차 우선 복구, 부족분은 이월 연차에서 복구 (1~2월)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE user_annual_vacation_history SET " +
+            "used_carryover_days = GREATEST(0, COALESCE(used_carryover_days, 0) - GREATEST(0, :days - COALESCE(used_regular_days, 0))), " +
+            "used_regular_days = GREATEST(0, COALESCE(used_regular_days, 0) - :days), " +
+            "updated_at = NOW() " +
+            "WHERE user_id = :userId AND year = :year",
+            nativeQuery = true)
+    int restoreRegularFirst(@Param("userId") String userId, @Param("year") Integer year, @Param("days") Double days);
+
+    /**
+     * 정상 연차 복구 (3월 이후)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE user_annual_vacation_history SET " +
+            "used_regular_days = GREATEST(0, COALESCE(used_regular_days, 0) - :days), " +
+            "updated_at = NOW() " +
+            "WHERE user_id = :userId AND year = :year",
+            nativeQuery = true)
+    int restoreRegular(@Param("userId") String userId, @Param("year") Integer year, @Param("days") Double days);
+
+    /**
+     * 재계산한 사용 일수 반영 (읽은 뒤 다른 차감/복구가 반영되지 않았을 때만). 값이 바뀌었으면 0 반환
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE user_annual_vacation_history SET " +
+            "used_carryover_days = :newCarryover, " +
+            "used_regular_days = :newRegular, " +
+            "updated_at = NOW() " +
+            "WHERE user_id = :userId AND year = :year " +
+            "AND used_carryover_days <=> :oldCarryover AND used_regular_days <=> :oldRegular",
+            nativeQuery = true)
+    int replaceUsageIfUnchanged(@Param("userId") String userId, @Param("year") Integer year,
+                                @Param("oldCarryover") Double oldCarryover, @Param("oldRegular") Double oldRegular,
+                                @Param("newCarryover") Double newCarryover, @Param("newRegular") Double newRegular);
+
+    /**
+     * 연차 부여 일수 설정 (사용 일수 컬럼은 건드리지 않음). null이면 기존 값 유지
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE user_annual_vacation_history SET " +
+            "carryover_days = COALESCE(:carryoverDays, carryover_days), " +
+            "regular_days = COALESCE(:regularDays, regular_days), " +
+            "updated_at = NOW() " +
+            "WHERE user_id = :userId AND year = :year",
+            nativeQuery = true)
+    int updateEntitlement(@Param("userId") String userId, @Param("year") Integer year,
+                          @Param("carryoverDays") Double carryoverDays, @Param("regularDays") Double regularDays);
+}
@@ -202,4 +202,15 @@ public interface UserRepository extends JpaRepository<UserEntity, String> {
             "(LOWER(u.userId) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
             "LOWER(u.userName) LIKE LOWER(CONCAT('%', :query, '%')))")
     List<UserEntity> searchUsers(@Param("query") String query);
-}
\ No newline at end of file
+
+    /**
+     * ✅ 연도 초기화 배치용: 재직자(시스템 부서 제외)를 userId 순 keyset 페이지로 조회
+     * 부서 미지정(NULL) 직원도 대상에 포함
+     */
+    @Query("SELECT u.userId FROM UserEntity u WHERE u.useFlag = '1' AND (u.deptCode IS NULL OR u.deptCode <> '000') " +
+            "AND u.userId > :lastUserId ORDER BY u.userId ASC")
+    List<String> findActiveUserIdsAfter(@Param("lastUserId") String lastUserId, Pageable pageable);
+
+    @Query("SELECT COUNT(u) FROM UserEntity u WHERE u.useFlag = '1' AND (u.deptCode IS NULL OR u.deptCode <> '000')")
+    long countActiveUsers();
+}
@@ -0,0 +1,18 @@
+package sunhan.sunhanbackend.repository.mysql;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import sunhan.sunhanbackend.entity.mysql.VacationLedgerEntry;
+import sunhan.sunhanbackend.enums.VacationLedgerType;
+
+import java.util.List;
+
+@Repository
+public interface VacationLedgerEntryRepository extends JpaRepository<VacationLedgerEntry, Long> {
+
+    boolean existsByIdempotencyKey(String idempotencyKey);
+
+    long countBySourceDocumentIdAndEntryType(Long sourceDocumentId, VacationLedgerType entryType);
+
+    List<VacationLedgerEntry> findByUserIdAndYearOrderByIdAsc(String userId, Integer year);
+}
@@ -7,6 +7,7 @@ import org.springframework.stereotype.Repository;
 import sunhan.sunhanbackend.entity.mysql.approval.ApprovalStepHistory;
 import sunhan.sunhanbackend.enums.approval.ApprovalAction;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -58,4 +59,15 @@ public interface ApprovalStepHistoryRepository extends JpaRepository<ApprovalSte
             @Param("stepOrder") Integer stepOrder,
             @Param("actions") List<ApprovalAction> actions
     );
-}
\ No newline at end of file
+
+    /**
+     * ✅ 일괄 결재용: 여러 프로세스의 특정 액션 이력 한 번에 조회
+     */
+    @Query("SELECT h FROM ApprovalStepHistory h " +
+            "WHERE h.approvalProcess.id IN :processIds " +
+            "AND h.action = :action")
+    List<ApprovalStepHistory> findByApprovalProcessIdInAndAction(
+            @Param("processIds") Collection<Long> processIds,
+            @Param("action") ApprovalAction action
+    );
+}
@@ -8,6 +8,7 @@ import sunhan.sunhanbackend.entity.mysql.approval.DocumentApprovalProcess;
 import sunhan.sunhanbackend.enums.approval.ApprovalProcessStatus;
 import sunhan.sunhanbackend.enums.approval.DocumentType;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -57,4 +58,17 @@ public interface DocumentApprovalProcessRepository extends JpaRepository<Documen
             DocumentType documentType,
             ApprovalProcessStatus status
     );
-}
\ No newline at end of file
+
+    /**
+     * ✅ 일괄 결재용: 여러 문서의 프로세스를 결재라인/단계와 함께 한 번에 조회
+     */
+    @Query("SELECT DISTINCT dap FROM DocumentApprovalProcess dap " +
+            "JOIN FETCH dap.approvalLine al " +
+            "LEFT JOIN FETCH al.steps " +
+            "WHERE dap.documentId IN :documentIds " +
+            "AND dap.documentType = :documentType")
+    List<DocumentApprovalProcess> findByDocumentIdInAndDocumentTypeWithLine(
+            @Param("documentIds") Collection<Long> documentIds,
+            @Param("documentType") DocumentType documentType
+    );
+}
@@ -7,6 +7,7 @@ import org.springframework.stereotype.Repository;
 import sunhan.sunhanbackend.entity.mysql.workschedule.WorkSchedule;
 import sunhan.sunhanbackend.entity.mysql.workschedule.WorkScheduleEntry;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -63,31 +64,35 @@ public interface WorkScheduleEntryRepository extends JpaRepository<WorkScheduleE
      */
     Optional<WorkScheduleEntry> findByUserIdAndWorkScheduleId(String userId, Long scheduleId);
 
+    /**
+     * 승인된 근무표 기준 사용자별 특정 월 휴가 사용량 합계
+     * @return [userId, 합계]
+     */
     @Query("""
-    SELECT SUM(e.vacationUsedThisMonth)
+    SELECT e.userId, SUM(e.vacationUsedThisMonth)
     FROM WorkScheduleEntry e
     JOIN e.workSchedule s
-    WHERE e.userId = :userId
-      AND SUBSTRING(s.scheduleYearMonth, 1, 4) = :year
+    WHERE e.userId IN :userIds
+      AND s.scheduleYearMonth = :yearMonth
       AND s.approvalStatus = 'APPROVED'
+    GROUP BY e.userId
 """)
-    Double sumApprovedVacationByUserIdAndYear(
-            @Param("userId") String userId,
-            @Param("year") String year
+    List<Object[]> sumApprovedVacationByUserIdsAndYearMonth(
+            @Param("userIds") Collection<String> userIds,
+            @Param("yearMonth") String yearMonth
     );
 
+    /**
+     * 승인된 근무표 기준 해당 연도 사용자별/월별 휴가 사용량 합계 (집계 검증용)
+     * @return [userId, scheduleYearMonth, 합계]
+     */
     @Query("""
-    SELECT SUM(e.vacationUsedThisMonth)
+    SELECT e.userId, s.scheduleYearMonth, SUM(e.vacationUsedThisMonth)
     FROM WorkScheduleEntry e
     JOIN e.workSchedule s
-    WHERE e.userId = :userId
-      AND SUBSTRING(s.scheduleYearMonth, 1, 4) = :year
-      AND s.id != :excludeScheduleId
+    WHERE SUBSTRING(s.scheduleYearMonth, 1, 4) = :year
       AND s.approvalStatus = 'APPROVED'
+    GROUP BY e.userId, s.scheduleYearMonth
 """)
-    Double sumApprovedVacationByUserIdAndYearExcludingCurrent(
-            @Param("userId") String userId,
-            @Param("year") String year,
-            @Param("excludeScheduleId") Long excludeScheduleId
-    );
-}
\ No newline at end of file
+    List<Object[]> sumApprovedVacationGroupedByUserAndYearMonth(@Param("year") String year);
+}
@@ -0,0 +1,31 @@
+package sunhan.sunhanbackend.repository.mysql.workschedule;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import sunhan.sunhanbackend.entity.mysql.workschedule.WorkScheduleVacationUsage;
+
+import java.util.List;
+
+@Repository
+public interface WorkScheduleVacationUsageRepository extends JpaRepository<WorkScheduleVacationUsage, Long> {
+
+    List<WorkScheduleVacationUsage> findByYear(Integer year);
+
+    /**
+     * 사용자의 연간 누적 사용량 (월별 집계 최대 12행 합산)
+     */
+    @Query("SELECT COALESCE(SUM(u.usedDays), 0) FROM WorkScheduleVacationUsage u " +
+            "WHERE u.userId = :userId AND u.year = :year")
+    Double sumByUserIdAndYear(@Param("userId") String userId, @Param("year") Integer year);
+
+    /**
+     * 사용자의 연간 누적 사용량 (특정 월 제외)
+     */
+    @Query("SELECT COALESCE(SUM(u.usedDays), 0) FROM WorkScheduleVacationUsage u " +
+            "WHERE u.userId = :userId AND u.year = :year AND u.month != :month")
+    Double sumByUserIdAndYearExcludingMonth(@Param("userId") String userId,
+                                            @Param("year") Integer year,
+                                            @Param("month") Integer month);
+}
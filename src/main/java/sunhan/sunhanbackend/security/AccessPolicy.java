@@ -0,0 +1,98 @@
+package sunhan.sunhanbackend.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import sunhan.sunhanbackend.enums.PermissionType;
+import sunhan.sunhanbackend.service.AuthPrincipalCache;
+import sunhan.sunhanbackend.service.AuthPrincipalCache.AuthPrincipal;
+import sunhan.sunhanbackend.service.PermissionService;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * ✅ @RequiresPermission / @RequiresJobLevel 판정
+ * 핸들러별 규칙은 처음 한 번만 어노테이션에서 읽어 보관하고,
+ * 판정은 캐시된 인증 사용자 정보(직급)와 권한 매트릭스 비트 검사만으로 끝납니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class AccessPolicy {
+
+    private final AuthPrincipalCache authPrincipalCache;
+    private final PermissionService permissionService;
+
+    // 핸들러 메서드 → 규칙 (규칙이 없는 핸들러는 Optional.empty)
+    private final Map<Method, Optional<AccessRule>> rules = new ConcurrentHashMap<>();
+
+    /**
+     * 핸들러에 선언된 규칙 (없으면 empty)
+     */
+    public Optional<AccessRule> ruleFor(HandlerMethod handlerMethod) {
+        return rules.computeIfAbsent(handlerMethod.getMethod(), method -> compile(handlerMethod));
+    }
+
+    /**
+     * ✅ 규칙 판정 (직급 조건 또는 권한 조건 중 하나라도 만족하면 허용)
+     */
+    public boolean allows(String userId, AccessRule rule) {
+        AuthPrincipal principal = authPrincipalCache.get(userId);
+        if (principal == null) {
+            return false;
+        }
+        if (rule.matchesJobLevel(principal.jobLevelValue())) {
+            return true;
+        }
+        return !rule.permissions().isEmpty() && permissionService.hasAnyPermission(userId, rule.permissions());
+    }
+
+    private Optional<AccessRule> compile(HandlerMethod handlerMethod) {
+        RequiresPermission permission = find(handlerMethod, RequiresPermission.class);
+        RequiresJobLevel jobLevel = find(handlerMethod, RequiresJobLevel.class);
+        if (permission == null && jobLevel == null) {
+            return Optional.empty();
+        }
+
+        Set<PermissionType> permissions = EnumSet.noneOf(PermissionType.class);
+        if (permission != null) {
+            permissions.addAll(Arrays.asList(permission.value()));
+        }
+        String message = permission != null ? permission.message() : jobLevel.message();
+        if (jobLevel == null) {
+            return Optional.of(new AccessRule(permissions, null, Set.of(), message));
+        }
+        Set<Integer> exactLevels = Arrays.stream(jobLevel.levels()).boxed().collect(Collectors.toUnmodifiableSet());
+        Integer minJobLevel = exactLevels.isEmpty() ? jobLevel.min() : null;
+        return Optional.of(new AccessRule(permissions, minJobLevel, exactLevels, message));
+    }
+
+    private static <A extends java.lang.annotation.Annotation> A find(HandlerMethod handlerMethod, Class<A> type) {
+        A onMethod = handlerMethod.getMethodAnnotation(type);
+        if (onMethod != null) {
+            return onMethod;
+        }
+        return AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), type);
+    }
+
+    /**
+     * 핸들러 접근 규칙
+     * jobLevels가 비어 있지 않으면 정확히 일치하는 직급만, 아니면 minJobLevel 이상 (둘 다 없으면 직급 조건 없음)
+     */
+    public record AccessRule(Set<PermissionType> permissions, Integer minJobLevel, Set<Integer> jobLevels, String message) {
+
+        boolean matchesJobLevel(int jobLevel) {
+            if (!jobLevels.isEmpty()) {
+                return jobLevels.contains(jobLevel);
+            }
+            return minJobLevel != null && jobLevel >= minJobLevel;
+        }
+    }
+}
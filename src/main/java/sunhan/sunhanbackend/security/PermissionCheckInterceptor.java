@@ -0,0 +1,61 @@
+package sunhan.sunhanbackend.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import sunhan.sunhanbackend.security.AccessPolicy.AccessRule;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * ✅ @RequiresPermission / @RequiresJobLevel 검사 인터셉터
+ * 규칙이 선언된 핸들러만 검사하며, 거부 시 핸들러를 실행하지 않고 403 {"error": message}를 반환합니다.
+ * 비동기 재디스패치(StreamingResponseBody 완료)는 최초 요청에서 이미 검사했으므로 건너뜁니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PermissionCheckInterceptor implements HandlerInterceptor {
+
+    private final AccessPolicy accessPolicy;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (!(handler instanceof HandlerMethod handlerMethod) || request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+
+        Optional<AccessRule> rule = accessPolicy.ruleFor(handlerMethod);
+        if (rule.isEmpty()) {
+            return true;
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && !(authentication instanceof AnonymousAuthenticationToken)
+                && accessPolicy.allows(authentication.getName(), rule.get())) {
+            return true;
+        }
+
+        log.warn("권한 검사 거부: user={}, URI={}",
+                authentication != null ? authentication.getName() : null, request.getRequestURI());
+        response.setStatus(HttpStatus.FORBIDDEN.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getWriter(), Map.of("error", rule.get().message()));
+        return false;
+    }
+}
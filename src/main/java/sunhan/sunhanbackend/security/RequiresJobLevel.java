@@ -0,0 +1,23 @@
+package sunhan.sunhanbackend.security;
+
+import java.lang.annotation.*;
+
+/**
+ * ✅ 컨트롤러 직급 요구
+ * levels를 지정하면 jobLevel이 그 값 중 하나와 정확히 일치해야 통과하고(예: 최고관리자 전용 levels = 6),
+ * 지정하지 않으면 jobLevel >= min 이면 통과합니다.
+ * PermissionCheckInterceptor가 핸들러 실행 전에 인증 사용자 기준으로 검사하며, 거부 시 403 {"error": message}를 반환합니다.
+ * 같은 핸들러에 @RequiresPermission이 함께 있으면 둘 중 하나만 만족해도 통과합니다.
+ * 메서드에 붙은 어노테이션이 클래스에 붙은 어노테이션보다 우선합니다.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RequiresJobLevel {
+
+    int min() default 0;
+
+    int[] levels() default {};
+
+    String message() default "권한이 없습니다.";
+}
@@ -0,0 +1,21 @@
+package sunhan.sunhanbackend.security;
+
+import sunhan.sunhanbackend.enums.PermissionType;
+
+import java.lang.annotation.*;
+
+/**
+ * ✅ 컨트롤러 권한 요구 (지정한 권한 중 하나라도 있으면 통과)
+ * PermissionCheckInterceptor가 핸들러 실행 전에 인증 사용자 기준으로 검사하며, 거부 시 403 {"error": message}를 반환합니다.
+ * 같은 핸들러에 @RequiresJobLevel이 함께 있으면 둘 중 하나만 만족해도 통과하며, 거부 메시지는 이 어노테이션의 message를 사용합니다.
+ * 메서드에 붙은 어노테이션이 클래스에 붙은 어노테이션보다 우선합니다.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RequiresPermission {
+
+    PermissionType[] value();
+
+    String message() default "권한이 없습니다.";
+}
@@ -0,0 +1,182 @@
+package sunhan.sunhanbackend.service;
+
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sunhan.sunhanbackend.entity.mysql.AttachmentBlob;
+import sunhan.sunhanbackend.repository.mysql.AttachmentBlobRepository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.*;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+
+/**
+ * 첨부파일 내용 주소 기반 저장소
+ * - 업로드 스트림을 임시 파일로 쓰면서 동시에 SHA-256을 계산 (파일을 두 번 읽지 않음)
+ * - 같은 해시는 한 번만 저장하고 참조 수로 관리
+ * - 저장/해제는 해시 행 잠금(upsert, SELECT ... FOR UPDATE)을 먼저 잡은 뒤 파일을 다루므로 같은 해시끼리 직렬화됨
+ * - 디렉토리는 해시 앞자리로 분산 (blobs/ab/cd/abcd...)
+ */
+@Slf4j
+@Service
+public class AttachmentBlobStore {
+
+    private static final String BLOB_DIR = "blobs";
+    private static final String TEMP_DIR = "tmp";
+
+    private final AttachmentBlobRepository blobRepository;
+    private final TransactionTemplate fileCleanupTransaction;
+
+    @Value("${file.upload-dir}")
+    private String uploadDir;
+
+    public AttachmentBlobStore(AttachmentBlobRepository blobRepository,
+                               PlatformTransactionManager transactionManager) {
+        this.blobRepository = blobRepository;
+        // 커밋 후 파일 삭제는 별도 트랜잭션에서 해시 행을 잠근 채 수행
+        this.fileCleanupTransaction = new TransactionTemplate(transactionManager);
+        this.fileCleanupTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * 스트림을 저장하고 blob을 반환 (이미 있는 내용이면 참조 수만 증가)
+     */
+    @Transactional
+    public AttachmentBlob store(InputStream inputStream) throws IOException {
+        Path root = rootPath();
+        Path tempDir = root.resolve(TEMP_DIR);
+        Files.createDirectories(tempDir);
+        Path tempFile = Files.createTempFile(tempDir, "upload-", ".part");
+
+        String sha256;
+        long size;
+        try {
+            MessageDigest digest = newDigest();
+            try (InputStream in = new DigestInputStream(inputStream, digest)) {
+                size = Files.copy(in, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            sha256 = HexFormat.of().formatHex(digest.digest());
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+
+        // 파일을 건드리기 전에 해시 행부터 잡는다: 없으면 생성, 있으면(동시 저장의 중복 키 포함) 참조 수 +1
+        // 행 잠금은 커밋까지 유지되므로 같은 해시의 다른 저장/해제는 그동안 대기
+        String relativePath = relativePathOf(sha256);
+        try {
+            blobRepository.addReference(sha256, relativePath, size, LocalDateTime.now());
+            int refCount = blobRepository.findRefCountBySha256(sha256)
+                    .orElseThrow(() -> new IllegalStateException("첨부파일 blob 참조 추가 실패: " + sha256));
+
+            // 새로 만든 행이면 파일을 배치 (해제 직후 삭제 중이었거나 롤백으로 남은 파일이 있어도 같은 내용이므로 덮어써도 무방)
+            Path target = root.resolve(relativePath);
+            if (refCount == 1 || !Files.exists(target)) {
+                Files.createDirectories(target.getParent());
+                moveIntoPlace(tempFile, target);
+            } else {
+                log.debug("첨부파일 중복 저장 생략: sha256={}, refCount={}", sha256, refCount);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+
+        return blobRepository.findBySha256(sha256)
+                .orElseThrow(() -> new IllegalStateException("첨부파일 blob을 찾을 수 없습니다: " + sha256));
+    }
+
+    /**
+     * 참조 해제 - 참조 수가 0이 되면 행을 삭제하고 커밋 후 파일 삭제
+     */
+    @Transactional
+    public void release(String sha256) {
+        AttachmentBlob blob = blobRepository.findBySha256ForUpdate(sha256).orElse(null);
+        if (blob == null) {
+            log.warn("해제할 첨부파일 blob이 없습니다: sha256={}", sha256);
+            return;
+        }
+
+        int remaining = blob.getRefCount() - 1;
+        if (remaining > 0) {
+            blob.setRefCount(remaining);
+            return;
+        }
+
+        blobRepository.delete(blob);
+        Path target = rootPath().resolve(blob.getStoredPath());
+        // 새 트랜잭션에서 해시 행(없으면 그 자리의 갭)을 잠근 채 확인 후 삭제:
+        // 그사이 같은 내용이 다시 저장되었다면 행이 있으므로 파일을 남기고,
+        // 삭제 중 들어온 저장은 잠금이 풀린 뒤 행을 새로 만들며 파일을 다시 배치한다 (InnoDB REPEATABLE READ 기준)
+        Runnable deleteFile = () -> fileCleanupTransaction.executeWithoutResult(status -> {
+            if (blobRepository.findBySha256ForUpdate(sha256).isPresent()) return;
+            try {
+                Files.deleteIfExists(target);
+            } catch (IOException e) {
+                log.warn("첨부파일 blob 삭제 실패: {}", target, e);
+            }
+        });
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deleteFile.run();
+                }
+            });
+        } else {
+            deleteFile.run();
+        }
+    }
+
+    /**
+     * 해시로 파일 리소스 조회
+     */
+    public Resource loadAsResource(String sha256) {
+        Path path = rootPath().resolve(relativePathOf(sha256)).normalize();
+        if (!Files.isReadable(path)) {
+            throw new EntityNotFoundException("첨부파일 원본을 찾을 수 없습니다: " + sha256);
+        }
+        return new FileSystemResource(path);
+    }
+
+    /**
+     * 해시 앞 4자리로 2단계 디렉토리 분산
+     */
+    private String relativePathOf(String sha256) {
+        return BLOB_DIR + "/" + sha256.substring(0, 2) + "/" + sha256.substring(2, 4) + "/" + sha256;
+    }
+
+    private Path rootPath() {
+        return Paths.get(uploadDir).toAbsolutePath().normalize();
+    }
+
+    private void moveIntoPlace(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 알고리즘을 사용할 수 없습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package sunhan.sunhanbackend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import sunhan.sunhanbackend.entity.mysql.UserEntity;
+import sunhan.sunhanbackend.enums.Role;
+import sunhan.sunhanbackend.repository.mysql.UserRepository;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ✅ 요청 인증용 사용자 정보 캐시 (userId 단위: role, jobLevel, deptCode)
+ * JwtAuthenticationFilter가 요청마다 DB를 조회하지 않도록 인증에 필요한 값만 보관합니다.
+ * 권한/직급/부서/사용 여부가 바뀌면 커밋 이후 해당 사용자의 보안 버전을 올리고 항목을 제거하며,
+ * 조회 도중 버전이 바뀌면 조회 결과를 캐시에 넣지 않습니다. 그 외 경로의 변경은 ENTRY_TTL 이내에 반영됩니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AuthPrincipalCache {
+
+    private static final Duration ENTRY_TTL = Duration.ofMinutes(10);
+
+    private final UserRepository userRepository;
+
+    private final Map<String, AuthPrincipal> entries = new ConcurrentHashMap<>();
+    // 사용자별 보안 버전 (권한 변경이 커밋될 때마다 증가)
+    private final Map<String, AtomicLong> securityVersions = new ConcurrentHashMap<>();
+
+    /**
+     * 인증용 사용자 정보 (없는 사용자면 null)
+     */
+    public AuthPrincipal get(String userId) {
+        AuthPrincipal cached = entries.get(userId);
+        if (cached != null && !cached.isExpired()) {
+            return cached;
+        }
+
+        long version = versionOf(userId).get();
+        UserEntity user = userRepository.findByUserIdNoCache(userId).orElse(null);
+        if (user == null) {
+            entries.remove(userId);
+            return null;
+        }
+
+        AuthPrincipal loaded = toPrincipal(user, version);
+        // 조회 도중 권한 변경이 커밋됐으면 캐시에 넣지 않음
+        entries.compute(userId, (key, current) -> versionOf(userId).get() == version ? loaded : current);
+        return loaded;
+    }
+
+    /**
+     * 여러 사용자의 인증용 정보 (캐시에 없는 사용자만 한 번에 조회, 없는 사용자는 결과에서 제외)
+     */
+    public Map<String, AuthPrincipal> getAll(Collection<String> userIds) {
+        Map<String, AuthPrincipal> result = new HashMap<>();
+        Map<String, Long> versions = new HashMap<>();
+        for (String userId : userIds) {
+            AuthPrincipal cached = entries.get(userId);
+            if (cached != null && !cached.isExpired()) {
+                result.put(userId, cached);
+            } else {
+                versions.put(userId, versionOf(userId).get());
+            }
+        }
+        if (versions.isEmpty()) {
+            return result;
+        }
+
+        for (UserEntity user : userRepository.findByUserIdInIncludingAdmin(versions.keySet())) {
+            Long version = versions.get(user.getUserId());
+            if (version == null) {
+                continue;
+            }
+            AuthPrincipal loaded = toPrincipal(user, version);
+            entries.compute(user.getUserId(),
+                    (key, current) -> versionOf(key).get() == version.longValue() ? loaded : current);
+            result.put(user.getUserId(), loaded);
+        }
+        return result;
+    }
+
+    /**
+     * ✅ 커밋 이후 사용자 보안 버전 증가 및 캐시 제거
+     */
+    public void invalidateAfterCommit(String userId) {
+        runAfterCommit(() -> invalidate(userId));
+    }
+
+    /**
+     * ✅ 커밋 이후 여러 사용자 보안 버전 증가 및 캐시 제거
+     */
+    public void invalidateAfterCommit(Collection<String> userIds) {
+        List<String> targets = List.copyOf(userIds);
+        runAfterCommit(() -> targets.forEach(this::invalidate));
+    }
+
+    private void invalidate(String userId) {
+        versionOf(userId).incrementAndGet();
+        entries.remove(userId);
+        log.debug("인증 사용자 캐시 무효화: userId={}", userId);
+    }
+
+    private AuthPrincipal toPrincipal(UserEntity user, long version) {
+        return new AuthPrincipal(user.getUserId(), user.getRole(), user.getJobLevel(), user.getDeptCode(),
+                version, System.currentTimeMillis());
+    }
+
+    private AtomicLong versionOf(String userId) {
+        return securityVersions.computeIfAbsent(userId, k -> new AtomicLong());
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * 인증에 필요한 사용자 정보 스냅샷
+     */
+    public record AuthPrincipal(String userId, Role role, String jobLevel, String deptCode,
+                                long securityVersion, long loadedAt) {
+
+        /**
+         * 직급 숫자값 (없거나 숫자가 아니면 -1)
+         */
+        public int jobLevelValue() {
+            try {
+                return jobLevel != null ? Integer.parseInt(jobLevel) : -1;
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+
+        private boolean isExpired() {
+            return System.currentTimeMillis() - loadedAt > ENTRY_TTL.toMillis();
+        }
+    }
+}
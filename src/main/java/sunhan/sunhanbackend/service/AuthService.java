@@ -8,7 +8,7 @@ import sunhan.sunhanbackend.dto.response.auth.SignInResponseDto;
 
 public interface AuthService{
     // 로그인 처리
-    ResponseEntity<? super SignInResponseDto> signIn(SignInRequestDto dto);
+    ResponseEntity<? super SignInResponseDto> signIn(SignInRequestDto dto, String clientIp);
     // 로그아웃 처리
     ResponseEntity<String> logout(HttpServletRequest request, HttpServletResponse response, String loginMethod);
     boolean validateToken(String token);
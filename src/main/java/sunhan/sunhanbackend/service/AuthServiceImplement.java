@@ -10,7 +10,6 @@ import org.springframework.http.*;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import sunhan.sunhanbackend.dto.request.auth.SignInRequestDto;
 import sunhan.sunhanbackend.dto.response.ResponseDto;
 import sunhan.sunhanbackend.dto.response.auth.SignInResponseDto;
@@ -31,14 +30,13 @@ public class AuthServiceImplement implements AuthService {
     private final JwtProvider jwtProvider;
 
     @Override
-    @Transactional
-    public ResponseEntity<? super SignInResponseDto> signIn(SignInRequestDto dto) {
+    public ResponseEntity<? super SignInResponseDto> signIn(SignInRequestDto dto, String clientIp) {
         try {
             String userId = dto.getId();
             String passwd = dto.getPasswd();
 
             // ✅ UserService.authenticateUser()가 모든 인증 로직 처리
-            boolean authenticated = userService.authenticateUser(userId, passwd);
+            boolean authenticated = userService.authenticateUser(userId, passwd, clientIp);
 
             if (!authenticated) {
                 log.warn("❌ Authentication failed for userId: {}", userId);
@@ -58,6 +56,10 @@ public class AuthServiceImplement implements AuthService {
 
             return SignInResponseDto.success(token, expiresIn);
 
+        } catch (PasswordVerificationPool.LoginThrottledException exception) {
+            // ✅ 로그인 시도 제한 초과 / 검증 풀 포화 → 429
+            log.warn("⏳ SignIn throttled for userId: {} ({})", dto.getId(), exception.getMessage());
+            return SignInResponseDto.tooManyRequests(exception.getRetryAfterSeconds());
         } catch (Exception exception) {
             log.error("❌ SignIn error", exception);
             return ResponseDto.databaseError();
@@ -74,11 +76,18 @@ public class AuthServiceImplement implements AuthService {
                 log.info("✅ Session invalidated");
             }
 
+            // 검증 캐시에서 토큰 제거 (Authorization 헤더 / accessToken 쿠키)
+            String authorization = request.getHeader("Authorization");
+            if (authorization != null && authorization.startsWith("Bearer ")) {
+                jwtProvider.evictVerifiedToken(authorization.substring(7).trim());
+            }
+
             // 쿠키 삭제
             Cookie[] cookies = request.getCookies();
             if (cookies != null) {
                 for (Cookie cookie : cookies) {
                     if ("accessToken".equals(cookie.getName())) {
+                        jwtProvider.evictVerifiedToken(cookie.getValue());
                         Cookie deleteCookie = new Cookie("accessToken", null);
                         deleteCookie.setMaxAge(0);
                         deleteCookie.setPath("/");
@@ -43,6 +43,7 @@ public class ContractService {
     private final FormService formService;
     private final UserService userService;
     private final PdfGenerationService pdfGenerationService; // 비동기 서비스 주입
+    private final DocumentInboxService documentInboxService;
 
     // 기존 메서드 - 모든 계약서 조회 (하위 호환성 유지)
     public Page<ContractResponseDto> getContracts(String userId, boolean isAdmin, Pageable pageable) {
@@ -95,6 +96,7 @@ public class ContractService {
         c.setFormDataJson(initialFormData);
 
         repo.save(c);
+        documentInboxService.contractChanged(c.getId());
         return toDto(c);
     }
 
@@ -118,6 +120,7 @@ public class ContractService {
         c.setFormDataJson(initialFormData);
 
         repo.save(c);
+        documentInboxService.contractChanged(c.getId());
         return toDto(c);
     }
 
@@ -195,7 +198,9 @@ public class ContractService {
             throw new AccessDeniedException("현재 계약 상태에서는 수정할 수 없습니다.");
         }
 
-        return toDto(repo.save(c));
+        EmploymentContract savedContract = repo.save(c);
+        documentInboxService.contractChanged(savedContract.getId());
+        return toDto(savedContract);
     }
 
     public ContractResponseDto sendToEmployee(Long id, String userId) {
@@ -209,6 +214,7 @@ public class ContractService {
 
         //return toDto(repo.save(c));
         EmploymentContract savedContract = repo.save(c);
+        documentInboxService.contractChanged(savedContract.getId());
 
         // ✅ 근로계약서 서명 요청 알림 전송
         UserEntity employee = savedContract.getEmployee();
@@ -254,6 +260,7 @@ public class ContractService {
 
         //return toDto(repo.save(c));
         EmploymentContract savedContract = repo.save(c);
+        documentInboxService.contractChanged(savedContract.getId());
 
         // ✅ 근로계약서 서명 완료 알림 전송 (작성자 & 직원 모두에게)
         UserEntity creator = savedContract.getCreator();
@@ -309,6 +316,7 @@ public class ContractService {
         // 물리 삭제 대신 논리 삭제
         contract.setStatus(ContractStatus.DELETED);
         repo.save(contract);
+        documentInboxService.contractChanged(contract.getId());
 
         log.info("근로계약서 논리 삭제 완료: id={}, by={}", id, userId);
     }
@@ -338,6 +346,7 @@ public class ContractService {
         log.info("계약서 ID {} 반려 처리됨, 사유: {}", id, reason);
         //return toDto(repo.save(c));
         EmploymentContract savedContract = repo.save(c);
+        documentInboxService.contractChanged(savedContract.getId());
 
         // ✅ 근로계약서 반려 알림 전송 (작성자에게)
         UserEntity creator = savedContract.getCreator();
@@ -365,7 +374,9 @@ public class ContractService {
         c.setPdfUrl(pdf);
         c.setPrintable(true);
         c.setStatus(ContractStatus.COMPLETED);
-        return toDto(repo.save(c));
+        EmploymentContract savedContract = repo.save(c);
+        documentInboxService.contractChanged(savedContract.getId());
+        return toDto(savedContract);
     }
 
     private String getInitialFormData(ContractType contractType, String employeeId, String creatorId) {
@@ -661,6 +672,8 @@ public class ContractService {
 
         log.info("관리자({})가 계약서 {}를 반려함. 사유: {}", adminId, id, reason);
 
-        return toDto(repo.save(contract));
+        EmploymentContract savedContract = repo.save(contract);
+        documentInboxService.contractChanged(savedContract.getId());
+        return toDto(savedContract);
     }
 }
\ No newline at end of file
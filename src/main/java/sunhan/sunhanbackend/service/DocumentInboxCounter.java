@@ -0,0 +1,236 @@
+package sunhan.sunhanbackend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ✅ 문서함 탭별 배지 개수 캐시 (문서함 user_id 단위, 최대 MAX_ENTRIES명)
+ * 처음 조회할 때 document_inbox에서 (문서함, 문서 타입)별 개수를 한 번 읽어 두고,
+ * 이후에는 DocumentInboxService가 커밋한 문서함 행 증감만 반영하므로 조회는 메모리에서 끝납니다.
+ * 주기적으로 캐시된 사용자의 개수를 SQL 집계와 대조해 어긋난 값은 교체합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DocumentInboxCounter {
+
+    private static final int MAX_ENTRIES = 5000;
+    private static final int RECONCILE_BATCH_SIZE = 500;
+
+    private static final String COUNT_USER_SQL =
+            "SELECT box, document_type, COUNT(*) AS cnt FROM document_inbox WHERE user_id = ? " +
+            "GROUP BY box, document_type";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<String, CachedCounts> entries = new ConcurrentHashMap<>();
+    // 문서함 쓰기 시작/종료마다 증가 - 조회 도중 쓰기가 끼어들면 조회 결과를 캐시에 넣지 않음
+    private final AtomicLong writeGeneration = new AtomicLong();
+    // 문서함 행을 바꾸고 아직 커밋/롤백되지 않은 트랜잭션 수 - 0이 아니면 조회 결과를 캐시에 넣지 않음
+    private final AtomicInteger writesInFlight = new AtomicInteger();
+
+    /**
+     * 문서함 개수 (모든 문서 타입 합계)
+     */
+    public long count(String userId, String box) {
+        return load(userId).total(box);
+    }
+
+    /**
+     * 문서함 개수 (문서 타입별)
+     */
+    public long count(String userId, String box, String documentType) {
+        return load(userId).get(key(box, documentType));
+    }
+
+    /**
+     * ✅ 문서함 쓰기 시작 (커밋 전에 호출, 반드시 writeFinished와 짝을 이룸)
+     */
+    public void writeStarted() {
+        writesInFlight.incrementAndGet();
+        writeGeneration.incrementAndGet();
+    }
+
+    /**
+     * ✅ 문서함 쓰기 종료 - 커밋됐으면 행 증감 반영, 롤백이면 deltas = null
+     * (사용자 → "문서함|문서 타입" → 증감, 캐시에 없는 사용자는 무시)
+     */
+    public void writeFinished(Map<String, Map<String, Long>> deltas) {
+        try {
+            if (deltas != null) {
+                deltas.forEach((userId, userDeltas) ->
+                        entries.computeIfPresent(userId, (key, cached) -> cached.plus(userDeltas)));
+            }
+        } finally {
+            writeGeneration.incrementAndGet();
+            writesInFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * ✅ 전체 캐시 제거 (백필/정합성 보정처럼 여러 문서가 한꺼번에 바뀐 경우)
+     */
+    public void invalidateAll() {
+        writeGeneration.incrementAndGet();
+        entries.clear();
+    }
+
+    /**
+     * 10분마다 캐시된 사용자의 개수를 SQL 집계와 대조
+     */
+    @Scheduled(fixedDelay = 600_000, initialDelay = 600_000)
+    public void scheduledReconcile() {
+        try {
+            reconcile();
+        } catch (Exception e) {
+            log.error("문서함 배지 개수 대조 실패", e);
+        }
+    }
+
+    /**
+     * ✅ 캐시된 사용자의 개수를 SQL 집계로 다시 읽어 다른 값만 교체
+     * @return 값이 달랐던 사용자 수
+     */
+    public int reconcile() {
+        List<String> userIds = new ArrayList<>(entries.keySet());
+        int drifted = 0;
+        for (int from = 0; from < userIds.size(); from += RECONCILE_BATCH_SIZE) {
+            List<String> batch = userIds.subList(from, Math.min(from + RECONCILE_BATCH_SIZE, userIds.size()));
+            long stamp = writeGeneration.get();
+            boolean quiet = writesInFlight.get() == 0;
+            Map<String, Map<String, Long>> actual = queryCounts(batch);
+
+            // 집계 도중 문서함 쓰기가 있었으면 이번 배치는 건너뜀 (다음 주기에 다시 대조)
+            if (!quiet || writeGeneration.get() != stamp) {
+                continue;
+            }
+            for (String userId : batch) {
+                Map<String, Long> counts = actual.getOrDefault(userId, Map.of());
+                CachedCounts cached = entries.get(userId);
+                if (cached != null && !cached.counts.equals(counts)) {
+                    CachedCounts corrected = new CachedCounts(counts, cached.lastAccess);
+                    if (!entries.replace(userId, cached, corrected)) {
+                        continue;
+                    }
+                    // 교체 직전에 끼어든 쓰기가 있으면 보정값이 낡았을 수 있으므로 제거 (다음 조회에서 다시 적재)
+                    if (writesInFlight.get() != 0 || writeGeneration.get() != stamp) {
+                        entries.remove(userId, corrected);
+                        continue;
+                    }
+                    drifted++;
+                }
+            }
+        }
+
+        if (drifted > 0) {
+            log.warn("문서함 배지 개수 불일치 보정: {}명 (캐시 {}명)", drifted, userIds.size());
+        }
+        return drifted;
+    }
+
+    /**
+     * 개수 키 ("문서함|문서 타입")
+     */
+    public static String key(String box, String documentType) {
+        return box + "|" + documentType;
+    }
+
+    private CachedCounts load(String userId) {
+        CachedCounts cached = entries.get(userId);
+        if (cached != null) {
+            cached.touch();
+            return cached;
+        }
+
+        long stamp = writeGeneration.get();
+        boolean quiet = writesInFlight.get() == 0;
+        Map<String, Long> counts = new HashMap<>();
+        jdbcTemplate.query(COUNT_USER_SQL, rs -> {
+            counts.put(key(rs.getString("box"), rs.getString("document_type")), rs.getLong("cnt"));
+        }, userId);
+
+        CachedCounts loaded = new CachedCounts(counts, System.currentTimeMillis());
+        if (quiet && writeGeneration.get() == stamp) {
+            entries.put(userId, loaded);
+            // 확인과 put 사이에 쓰기가 시작~커밋까지 끝났다면 그 갱신은 항목이 없어 반영되지 않았으므로 되돌림
+            if (writesInFlight.get() != 0 || writeGeneration.get() != stamp) {
+                entries.remove(userId, loaded);
+            } else {
+                trimIfNeeded();
+            }
+        }
+        return loaded;
+    }
+
+    private Map<String, Map<String, Long>> queryCounts(List<String> userIds) {
+        String placeholders = String.join(",", Collections.nCopies(userIds.size(), "?"));
+        String sql = "SELECT user_id, box, document_type, COUNT(*) AS cnt FROM document_inbox " +
+                "WHERE user_id IN (" + placeholders + ") GROUP BY user_id, box, document_type";
+
+        Map<String, Map<String, Long>> counts = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            counts.computeIfAbsent(rs.getString("user_id"), k -> new HashMap<>())
+                    .put(key(rs.getString("box"), rs.getString("document_type")), rs.getLong("cnt"));
+        }, userIds.toArray());
+        return counts;
+    }
+
+    /**
+     * 최대 건수를 넘으면 가장 오래 쓰이지 않은 항목부터 10% 여유가 생길 때까지 제거
+     */
+    private void trimIfNeeded() {
+        int overflow = entries.size() - MAX_ENTRIES;
+        if (overflow <= 0) {
+            return;
+        }
+        int removeCount = overflow + MAX_ENTRIES / 10;
+        entries.entrySet().stream()
+                .sorted(Comparator.comparingLong(entry -> entry.getValue().lastAccess))
+                .limit(removeCount)
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(entries::remove);
+    }
+
+    private static final class CachedCounts {
+        // "문서함|문서 타입" → 개수 (0건은 보관하지 않음)
+        private final Map<String, Long> counts;
+        private volatile long lastAccess;
+
+        private CachedCounts(Map<String, Long> counts, long lastAccess) {
+            this.counts = Map.copyOf(counts);
+            this.lastAccess = lastAccess;
+        }
+
+        private long get(String key) {
+            return counts.getOrDefault(key, 0L);
+        }
+
+        private long total(String box) {
+            String prefix = box + "|";
+            return counts.entrySet().stream()
+                    .filter(entry -> entry.getKey().startsWith(prefix))
+                    .mapToLong(Map.Entry::getValue)
+                    .sum();
+        }
+
+        private CachedCounts plus(Map<String, Long> deltas) {
+            Map<String, Long> updated = new HashMap<>(counts);
+            deltas.forEach((key, delta) -> updated.merge(key, delta, Long::sum));
+            updated.values().removeIf(count -> count <= 0);
+            return new CachedCounts(updated, lastAccess);
+        }
+
+        private void touch() {
+            lastAccess = System.currentTimeMillis();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package sunhan.sunhanbackend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static sunhan.sunhanbackend.entity.mysql.DocumentInbox.*;
+
+/**
+ * ✅ 문서함 조회 모델 백필 / 정합성 검사
+ * 문서 타입별로 원본 테이블을 id 순 페이지 단위로 읽어 문서함 행을 다시 계산합니다.
+ * 페이지마다 한 트랜잭션이며, 마지막 페이지는 원본에 없는 id의 남은 행까지 정리합니다.
+ */
+@Slf4j
+@Service
+public class DocumentInboxRebuildJob {
+
+    private static final int CHUNK_SIZE = 500;
+
+    // 문서 타입 → 원본 테이블
+    private static final Map<String, String> SOURCE_TABLES = Map.of(
+            TYPE_CONTRACT, "employment_contract",
+            TYPE_LEAVE_APPLICATION, "leave_application",
+            TYPE_WORK_SCHEDULE, "work_schedule"
+    );
+    private static final List<String> DOCUMENT_TYPES = List.of(TYPE_CONTRACT, TYPE_LEAVE_APPLICATION, TYPE_WORK_SCHEDULE);
+
+    private final DocumentInboxService documentInboxService;
+    private final DocumentInboxCounter documentInboxCounter;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public DocumentInboxRebuildJob(DocumentInboxService documentInboxService,
+                                   DocumentInboxCounter documentInboxCounter,
+                                   JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager) {
+        this.documentInboxService = documentInboxService;
+        this.documentInboxCounter = documentInboxCounter;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * ✅ 전체 백필 (문서함 행을 원본 기준으로 모두 다시 씀, 여러 번 실행해도 결과 동일)
+     * @return 문서 타입별 기록 행 수
+     */
+    public Map<String, Integer> backfill() {
+        Map<String, Integer> written = new LinkedHashMap<>();
+        // 백필 중에는 배지 개수를 캐시하지 않고, 끝나면 캐시를 비움
+        documentInboxCounter.writeStarted();
+        try {
+            for (String documentType : DOCUMENT_TYPES) {
+                int count = forEachChunk(documentType, (from, to) -> documentInboxService.rebuild(documentType, from, to));
+                written.put(documentType, count);
+                log.info("문서함 백필 완료: type={}, rows={}", documentType, count);
+            }
+        } finally {
+            documentInboxCounter.writeFinished(null);
+            documentInboxCounter.invalidateAll();
+        }
+        return written;
+    }
+
+    /**
+     * ✅ 정합성 검사 (repair면 다른 문서의 행을 원본 기준으로 교체)
+     * @return 문서 타입별 불일치 문서 수
+     */
+    public Map<String, Integer> verify(boolean repair) {
+        Map<String, Integer> mismatched = new LinkedHashMap<>();
+        if (repair) {
+            documentInboxCounter.writeStarted();
+        }
+        try {
+            for (String documentType : DOCUMENT_TYPES) {
+                int count = forEachChunk(documentType, (from, to) -> documentInboxService.verify(documentType, from, to, repair));
+                mismatched.put(documentType, count);
+            }
+        } finally {
+            if (repair) {
+                documentInboxCounter.writeFinished(null);
+            }
+        }
+
+        int total = mismatched.values().stream().mapToInt(Integer::intValue).sum();
+        if (repair && total > 0) {
+            documentInboxCounter.invalidateAll();
+        }
+        if (total > 0) {
+            log.warn("문서함 정합성 검사: 불일치 {}건 {} ({})", total, repair ? "보정" : "발견", mismatched);
+        } else {
+            log.info("문서함 정합성 검사 완료: 불일치 없음");
+        }
+        return mismatched;
+    }
+
+    /**
+     * 매일 새벽 4시 30분 정합성 검사 및 보정 (사용자 이름 변경 등 상태 변경 외 원인 포함)
+     */
+    @Scheduled(cron = "0 30 4 * * *")
+    public void scheduledVerify() {
+        try {
+            verify(true);
+        } catch (Exception e) {
+            log.error("문서함 정합성 검사 실패", e);
+        }
+    }
+
+    /**
+     * 원본 id를 CHUNK_SIZE씩 끊어 (from, to] 범위마다 한 트랜잭션으로 처리하고 결과를 합산
+     */
+    private int forEachChunk(String documentType, ChunkAction action) {
+        String selectIdsSql = "SELECT id FROM " + SOURCE_TABLES.get(documentType) + " WHERE id > ? ORDER BY id LIMIT ?";
+
+        int total = 0;
+        long from = 0L;
+        while (true) {
+            List<Long> ids = jdbcTemplate.queryForList(selectIdsSql, Long.class, from, CHUNK_SIZE);
+            boolean lastChunk = ids.size() < CHUNK_SIZE;
+            // 마지막 범위는 끝을 열어 두어 삭제된 문서의 남은 행도 함께 처리
+            long to = lastChunk ? Long.MAX_VALUE : ids.get(ids.size() - 1);
+
+            long chunkFrom = from;
+            Integer count = transactionTemplate.execute(status -> action.run(chunkFrom, to));
+            total += count != null ? count : 0;
+
+            if (lastChunk) break;
+            from = to;
+        }
+        return total;
+    }
+
+    @FunctionalInterface
+    private interface ChunkAction {
+        int run(long fromIdExclusive, long toIdInclusive);
+    }
+}
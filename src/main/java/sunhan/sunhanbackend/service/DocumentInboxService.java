@@ -0,0 +1,497 @@
+package sunhan.sunhanbackend.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import sunhan.sunhanbackend.enums.approval.DocumentType;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static sunhan.sunhanbackend.entity.mysql.DocumentInbox.*;
+
+/**
+ * ✅ 문서함 조회 모델(document_inbox) 유지
+ * 문서 상태가 바뀌면 해당 문서의 문서함 행을 원본 테이블 기준으로 다시 계산해 교체합니다.
+ * 트랜잭션 안에서 호출되면 커밋 직전(flush 이후)에 같은 트랜잭션으로 반영하므로
+ * 상태 변경과 문서함이 함께 커밋되거나 함께 롤백됩니다.
+ * 탭별 노출 규칙은 기존 UNION 조회 쿼리의 조건과 같습니다.
+ * 문서 단위로 바뀐 행의 사용자별 증감은 커밋 이후 DocumentInboxCounter(배지 개수)에 반영합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DocumentInboxService {
+
+    private static final String ROLE_CREATOR = "CREATOR";
+    private static final String ROLE_EMPLOYEE = "EMPLOYEE";
+    private static final String ROLE_APPLICANT = "APPLICANT";
+    private static final String ROLE_APPROVER = "APPROVER";
+    private static final String ROLE_PARTICIPANT = "PARTICIPANT";
+    private static final String ROLE_HR_STAFF = "HR_STAFF";
+    private static final String ROLE_ALL = "ALL";
+
+    private static final String INSERT_ROW_SQL =
+            "INSERT INTO document_inbox (user_id, box, role, document_type, document_id, title, status, " +
+            "creator_name, employee_name, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String DELETE_RANGE_SQL =
+            "DELETE FROM document_inbox WHERE document_type = ? AND document_id > ? AND document_id <= ?";
+    private static final String DELETE_DOCUMENT_SQL =
+            "DELETE FROM document_inbox WHERE document_type = ? AND document_id = ?";
+    private static final String SELECT_DOCUMENT_BOXES_SQL =
+            "SELECT user_id, box FROM document_inbox WHERE document_type = ? AND document_id = ? FOR UPDATE";
+    private static final String SELECT_RANGE_SQL =
+            "SELECT user_id, box, role, document_type, document_id, title, status, creator_name, employee_name, " +
+            "created_at, updated_at FROM document_inbox WHERE document_type = ? AND document_id > ? AND document_id <= ?";
+
+    // 원본 조회는 공유 잠금으로 읽어 동시에 커밋되는 상태 변경보다 오래된 값으로 덮어쓰지 않도록 함
+    private static final String CONTRACT_SOURCE_SQL = """
+            SELECT ec.id, ec.creator_id, ec.employee_id, ec.status, ec.created_at, ec.updated_at,
+                   creator.name AS creator_name, employee.name AS employee_name
+            FROM employment_contract ec
+            JOIN usrmst creator ON ec.creator_id = creator.id
+            JOIN usrmst employee ON ec.employee_id = employee.id
+            WHERE ec.id > ? AND ec.id <= ?
+            LOCK IN SHARE MODE
+            """;
+    private static final String LEAVE_SOURCE_SQL = """
+            SELECT la.id, la.applicant_id, la.status, la.created_at, la.updated_at,
+                   la.approval_line_id, la.current_approver_id, applicant.name AS applicant_name
+            FROM leave_application la
+            JOIN usrmst applicant ON la.applicant_id = applicant.id
+            WHERE la.id > ? AND la.id <= ?
+            LOCK IN SHARE MODE
+            """;
+    // 결재 중인 휴가원의 현재 단계 결재자 (handled: 해당 결재자의 이력이 이미 있음)
+    private static final String LEAVE_APPROVER_SQL = """
+            SELECT la.id, ast.approver_id, ast.approver_type,
+                   EXISTS (
+                       SELECT 1 FROM approval_step_history ash
+                       WHERE ash.approval_process_id = la.approval_process_id
+                         AND ash.approver_id = ast.approver_id
+                         AND ash.step_order = ast.step_order
+                   ) AS handled,
+                   TRUE AS has_process
+            FROM leave_application la
+            JOIN approval_step ast ON ast.approval_line_id = la.approval_line_id
+                AND ast.step_order = la.current_step_order
+            WHERE la.status = 'PENDING'
+              AND la.id > ? AND la.id <= ?
+            """;
+    private static final String WORK_SCHEDULE_SOURCE_SQL = """
+            SELECT ws.id, ws.created_by, ws.approval_status, ws.is_active, ws.schedule_year_month,
+                   ws.created_at, ws.updated_at, creator.name AS creator_name
+            FROM work_schedule ws
+            JOIN usrmst creator ON ws.created_by = creator.id
+            WHERE ws.id > ? AND ws.id <= ?
+            LOCK IN SHARE MODE
+            """;
+    private static final String WORK_SCHEDULE_APPROVER_SQL = """
+            SELECT ws.id, ast.approver_id, ast.approver_type,
+                   EXISTS (
+                       SELECT 1 FROM document_approval_process dap
+                       JOIN approval_step_history ash ON ash.approval_process_id = dap.id
+                       WHERE dap.document_id = ws.id
+                         AND dap.document_type = 'WORK_SCHEDULE'
+                         AND ash.approver_id = ast.approver_id
+                         AND ash.step_order = ast.step_order
+                   ) AS handled,
+                   EXISTS (
+                       SELECT 1 FROM document_approval_process dap
+                       WHERE dap.document_id = ws.id
+                         AND dap.document_type = 'WORK_SCHEDULE'
+                   ) AS has_process
+            FROM work_schedule ws
+            JOIN approval_step ast ON ast.approval_line_id = ws.approval_line_id
+                AND ast.step_order = ws.current_approval_step
+            WHERE ws.approval_status = 'SUBMITTED'
+              AND ws.is_active = true
+              AND ws.id > ? AND ws.id <= ?
+            """;
+    private static final String WORK_SCHEDULE_PARTICIPANT_SQL = """
+            SELECT DISTINCT wse.work_schedule_id, wse.user_id
+            FROM work_schedule_entry wse
+            JOIN work_schedule ws ON ws.id = wse.work_schedule_id
+            WHERE ws.approval_status = 'APPROVED'
+              AND wse.user_id IS NOT NULL
+              AND wse.work_schedule_id > ? AND wse.work_schedule_id <= ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DocumentInboxCounter documentInboxCounter;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // 트랜잭션별 변경 문서 목록을 묶어 두는 리소스 키
+    private final Object resourceKey = new Object();
+
+    /**
+     * ✅ 근로계약서 상태 변경 알림
+     */
+    public void contractChanged(Long contractId) {
+        documentChanged(TYPE_CONTRACT, contractId);
+    }
+
+    /**
+     * ✅ 휴가원 상태 변경 알림
+     */
+    public void leaveApplicationChanged(Long leaveApplicationId) {
+        documentChanged(TYPE_LEAVE_APPLICATION, leaveApplicationId);
+    }
+
+    /**
+     * ✅ 근무현황표 상태/구성원 변경 알림
+     */
+    public void workScheduleChanged(Long scheduleId) {
+        documentChanged(TYPE_WORK_SCHEDULE, scheduleId);
+    }
+
+    /**
+     * ✅ 결재 프로세스 진행 알림 (결재 대상 문서 기준)
+     */
+    public void approvalDocumentChanged(DocumentType documentType, Long documentId) {
+        if (documentType == null) return;
+        documentChanged(documentType.name(), documentId);
+    }
+
+    /**
+     * 트랜잭션 중이면 커밋 직전에 한 번만 반영, 아니면 즉시 반영
+     */
+    @SuppressWarnings("unchecked")
+    private void documentChanged(String documentType, Long documentId) {
+        if (documentId == null) return;
+
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            Map<String, Map<String, Long>> deltas = new HashMap<>();
+            documentInboxCounter.writeStarted();
+            try {
+                rebuildDocument(documentType, documentId, deltas);
+            } catch (RuntimeException e) {
+                deltas = null;
+                throw e;
+            } finally {
+                documentInboxCounter.writeFinished(deltas);
+            }
+            return;
+        }
+
+        Set<DocumentKey> changed = (Set<DocumentKey>) TransactionSynchronizationManager.getResource(resourceKey);
+        if (changed == null) {
+            Set<DocumentKey> keys = new LinkedHashSet<>();
+            Map<String, Map<String, Long>> deltas = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(resourceKey, keys);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                private boolean writeStarted;
+
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    // 배지 개수 캐시가 커밋 전후 값을 섞어 담지 않도록 쓰기 시작을 먼저 알림
+                    documentInboxCounter.writeStarted();
+                    writeStarted = true;
+                    // 아직 flush되지 않은 엔티티 변경을 먼저 반영한 뒤 원본을 다시 읽음
+                    entityManager.flush();
+                    for (DocumentKey key : keys) {
+                        rebuildDocument(key.documentType(), key.documentId(), deltas);
+                    }
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(resourceKey);
+                    if (writeStarted) {
+                        documentInboxCounter.writeFinished(status == STATUS_COMMITTED ? deltas : null);
+                    }
+                }
+            });
+            changed = keys;
+        }
+        changed.add(new DocumentKey(documentType, documentId));
+    }
+
+    /**
+     * 문서 1건의 문서함 행을 교체하고 사용자별 행 증감을 deltas에 누적
+     */
+    private void rebuildDocument(String documentType, long documentId, Map<String, Map<String, Long>> deltas) {
+        List<Map<String, Object>> previous =
+                jdbcTemplate.queryForList(SELECT_DOCUMENT_BOXES_SQL, documentType, documentId);
+        for (Map<String, Object> row : previous) {
+            deltas.computeIfAbsent((String) row.get("user_id"), k -> new HashMap<>())
+                    .merge(DocumentInboxCounter.key((String) row.get("box"), documentType), -1L, Long::sum);
+        }
+
+        List<InboxRow> rows = computeRows(documentType, documentId - 1, documentId);
+        jdbcTemplate.update(DELETE_DOCUMENT_SQL, documentType, documentId);
+        insertRows(rows);
+        for (InboxRow row : rows) {
+            deltas.computeIfAbsent(row.userId(), k -> new HashMap<>())
+                    .merge(DocumentInboxCounter.key(row.box(), documentType), 1L, Long::sum);
+        }
+    }
+
+    /**
+     * ✅ (fromIdExclusive, toIdInclusive] 범위 문서의 문서함 행을 원본 기준으로 교체
+     * @return 기록한 행 수
+     */
+    public int rebuild(String documentType, long fromIdExclusive, long toIdInclusive) {
+        List<InboxRow> rows = computeRows(documentType, fromIdExclusive, toIdInclusive);
+        jdbcTemplate.update(DELETE_RANGE_SQL, documentType, fromIdExclusive, toIdInclusive);
+        insertRows(rows);
+        return rows.size();
+    }
+
+    /**
+     * ✅ 범위 문서의 문서함 행을 원본 기준 계산값과 대조 (repair면 다른 문서만 교체)
+     * @return 불일치 문서 수
+     */
+    public int verify(String documentType, long fromIdExclusive, long toIdInclusive, boolean repair) {
+        Map<Long, Set<InboxRow>> expected = groupByDocument(computeRows(documentType, fromIdExclusive, toIdInclusive));
+        Map<Long, Set<InboxRow>> actual = groupByDocument(jdbcTemplate.query(SELECT_RANGE_SQL,
+                (rs, rowNum) -> new InboxRow(
+                        rs.getString("document_type"),
+                        rs.getLong("document_id"),
+                        rs.getString("user_id"),
+                        rs.getString("box"),
+                        rs.getString("role"),
+                        rs.getString("title"),
+                        rs.getString("status"),
+                        rs.getString("creator_name"),
+                        rs.getString("employee_name"),
+                        rs.getObject("created_at", LocalDateTime.class),
+                        rs.getObject("updated_at", LocalDateTime.class)),
+                documentType, fromIdExclusive, toIdInclusive));
+
+        Set<Long> documentIds = new TreeSet<>(expected.keySet());
+        documentIds.addAll(actual.keySet());
+        List<Long> mismatched = documentIds.stream()
+                .filter(id -> !expected.getOrDefault(id, Set.of()).equals(actual.getOrDefault(id, Set.of())))
+                .toList();
+
+        if (repair && !mismatched.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE_DOCUMENT_SQL, mismatched.stream()
+                    .map(id -> new Object[]{documentType, id})
+                    .toList());
+            insertRows(mismatched.stream()
+                    .flatMap(id -> expected.getOrDefault(id, Set.of()).stream())
+                    .toList());
+            log.warn("문서함 불일치 보정: type={}, documentIds={}", documentType, mismatched);
+        }
+        return mismatched.size();
+    }
+
+    private List<InboxRow> computeRows(String documentType, long fromIdExclusive, long toIdInclusive) {
+        return switch (documentType) {
+            case TYPE_CONTRACT -> computeContractRows(fromIdExclusive, toIdInclusive);
+            case TYPE_LEAVE_APPLICATION -> computeLeaveApplicationRows(fromIdExclusive, toIdInclusive);
+            case TYPE_WORK_SCHEDULE -> computeWorkScheduleRows(fromIdExclusive, toIdInclusive);
+            default -> throw new IllegalArgumentException("지원하지 않는 문서 타입입니다: " + documentType);
+        };
+    }
+
+    /**
+     * 근로계약서: 작성자(임시저장/진행/반려/완료), 직원(서명 대기/반려/완료), 공용(완료)
+     */
+    private List<InboxRow> computeContractRows(long fromIdExclusive, long toIdInclusive) {
+        List<InboxRow> rows = new ArrayList<>();
+        jdbcTemplate.query(CONTRACT_SOURCE_SQL, rs -> {
+            RowCollector doc = new RowCollector(TYPE_CONTRACT, rs.getLong("id"), "근로계약서",
+                    rs.getString("status"), rs.getString("creator_name"), rs.getString("employee_name"), rs);
+            String creatorId = rs.getString("creator_id");
+            String employeeId = rs.getString("employee_id");
+            switch (doc.status) {
+                case "DRAFT" -> doc.add(creatorId, BOX_DRAFT, ROLE_CREATOR);
+                case "SENT_TO_EMPLOYEE" -> {
+                    doc.add(creatorId, BOX_IN_PROGRESS, ROLE_CREATOR);
+                    doc.add(employeeId, BOX_PENDING, ROLE_EMPLOYEE);
+                }
+                case "SIGNED_BY_EMPLOYEE" -> doc.add(creatorId, BOX_IN_PROGRESS, ROLE_CREATOR);
+                case "RETURNED_TO_ADMIN", "DELETED" -> {
+                    doc.add(creatorId, BOX_REJECTED, ROLE_CREATOR);
+                    doc.add(employeeId, BOX_REJECTED, ROLE_EMPLOYEE);
+                }
+                case "COMPLETED" -> {
+                    doc.add(creatorId, BOX_COMPLETED, ROLE_CREATOR);
+                    doc.add(employeeId, BOX_COMPLETED, ROLE_EMPLOYEE);
+                    doc.add(SHARED_USER, BOX_COMPLETED, ROLE_ALL);
+                }
+                default -> { }
+            }
+            rows.addAll(doc.rows());
+        }, fromIdExclusive, toIdInclusive);
+        return rows;
+    }
+
+    /**
+     * 휴가원: 신청자(임시저장/진행/반려/완료), 현재 단계 결재자(결재 대기), 인사팀 공용(결재 대기), 공용(완료)
+     */
+    private List<InboxRow> computeLeaveApplicationRows(long fromIdExclusive, long toIdInclusive) {
+        Map<Long, List<StepApprover>> approvers = loadApprovers(LEAVE_APPROVER_SQL, fromIdExclusive, toIdInclusive);
+
+        List<InboxRow> rows = new ArrayList<>();
+        jdbcTemplate.query(LEAVE_SOURCE_SQL, rs -> {
+            String applicantName = rs.getString("applicant_name");
+            RowCollector doc = new RowCollector(TYPE_LEAVE_APPLICATION, rs.getLong("id"), "휴가원",
+                    rs.getString("status"), applicantName, applicantName, rs);
+            String applicantId = rs.getString("applicant_id");
+            switch (doc.status) {
+                case "DRAFT" -> doc.add(applicantId, BOX_DRAFT, ROLE_APPLICANT);
+                case "PENDING" -> {
+                    doc.add(applicantId, BOX_IN_PROGRESS, ROLE_APPLICANT);
+                    if (rs.getObject("approval_line_id") == null) {
+                        // 결재라인 없는 구 방식: 현재 승인자
+                        doc.add(rs.getString("current_approver_id"), BOX_PENDING, ROLE_APPROVER);
+                    } else {
+                        doc.addApprovers(approvers.getOrDefault(doc.documentId, List.of()));
+                    }
+                }
+                case "REJECTED" -> doc.add(applicantId, BOX_REJECTED, ROLE_APPLICANT);
+                case "APPROVED" -> {
+                    doc.add(applicantId, BOX_COMPLETED, ROLE_APPLICANT);
+                    doc.add(SHARED_USER, BOX_COMPLETED, ROLE_ALL);
+                }
+                default -> { }
+            }
+            rows.addAll(doc.rows());
+        }, fromIdExclusive, toIdInclusive);
+        return rows;
+    }
+
+    /**
+     * 근무현황표(활성): 작성자(임시저장/진행/반려/완료), 현재 단계 결재자(결재 대기),
+     * 인사팀 공용(결재 대기), 근무표 구성원(완료), 공용(완료)
+     */
+    private List<InboxRow> computeWorkScheduleRows(long fromIdExclusive, long toIdInclusive) {
+        Map<Long, List<StepApprover>> approvers =
+                loadApprovers(WORK_SCHEDULE_APPROVER_SQL, fromIdExclusive, toIdInclusive);
+        Map<Long, List<String>> participants = new HashMap<>();
+        jdbcTemplate.query(WORK_SCHEDULE_PARTICIPANT_SQL, rs -> {
+            participants.computeIfAbsent(rs.getLong("work_schedule_id"), k -> new ArrayList<>())
+                    .add(rs.getString("user_id"));
+        }, fromIdExclusive, toIdInclusive);
+
+        List<InboxRow> rows = new ArrayList<>();
+        jdbcTemplate.query(WORK_SCHEDULE_SOURCE_SQL, rs -> {
+            if (!rs.getBoolean("is_active")) {
+                return;
+            }
+            String creatorName = rs.getString("creator_name");
+            RowCollector doc = new RowCollector(TYPE_WORK_SCHEDULE, rs.getLong("id"),
+                    "근무현황표 (" + rs.getString("schedule_year_month") + ")",
+                    rs.getString("approval_status"), creatorName, creatorName, rs);
+            String creatorId = rs.getString("created_by");
+            switch (doc.status) {
+                case "DRAFT" -> doc.add(creatorId, BOX_DRAFT, ROLE_CREATOR);
+                case "SUBMITTED" -> {
+                    doc.add(creatorId, BOX_IN_PROGRESS, ROLE_CREATOR);
+                    doc.addApprovers(approvers.getOrDefault(doc.documentId, List.of()));
+                }
+                case "REJECTED" -> doc.add(creatorId, BOX_REJECTED, ROLE_CREATOR);
+                case "APPROVED" -> {
+                    doc.add(creatorId, BOX_COMPLETED, ROLE_CREATOR);
+                    for (String participantId : participants.getOrDefault(doc.documentId, List.of())) {
+                        doc.add(participantId, BOX_COMPLETED, ROLE_PARTICIPANT);
+                    }
+                    doc.add(SHARED_USER, BOX_COMPLETED, ROLE_ALL);
+                }
+                default -> { }
+            }
+            rows.addAll(doc.rows());
+        }, fromIdExclusive, toIdInclusive);
+        return rows;
+    }
+
+    private Map<Long, List<StepApprover>> loadApprovers(String sql, long fromIdExclusive, long toIdInclusive) {
+        Map<Long, List<StepApprover>> approvers = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            approvers.computeIfAbsent(rs.getLong("id"), k -> new ArrayList<>()).add(new StepApprover(
+                    rs.getString("approver_id"),
+                    rs.getString("approver_type"),
+                    rs.getBoolean("handled"),
+                    rs.getBoolean("has_process")));
+        }, fromIdExclusive, toIdInclusive);
+        return approvers;
+    }
+
+    private void insertRows(List<InboxRow> rows) {
+        if (rows.isEmpty()) return;
+        jdbcTemplate.batchUpdate(INSERT_ROW_SQL, rows.stream()
+                .map(row -> new Object[]{row.userId(), row.box(), row.role(), row.documentType(), row.documentId(),
+                        row.title(), row.status(), row.creatorName(), row.employeeName(),
+                        row.createdAt(), row.updatedAt()})
+                .toList());
+    }
+
+    private static Map<Long, Set<InboxRow>> groupByDocument(List<InboxRow> rows) {
+        return rows.stream().collect(Collectors.groupingBy(InboxRow::documentId, Collectors.toSet()));
+    }
+
+    private record DocumentKey(String documentType, Long documentId) {
+    }
+
+    private record StepApprover(String approverId, String approverType, boolean handled, boolean hasProcess) {
+    }
+
+    private record InboxRow(String documentType, long documentId, String userId, String box, String role,
+                            String title, String status, String creatorName, String employeeName,
+                            LocalDateTime createdAt, LocalDateTime updatedAt) {
+    }
+
+    /**
+     * 문서 1건의 문서함 행 모음 (같은 사용자/문서함은 먼저 추가된 역할로 1행)
+     */
+    private static final class RowCollector {
+        private final String documentType;
+        private final long documentId;
+        private final String title;
+        private final String status;
+        private final String creatorName;
+        private final String employeeName;
+        private final LocalDateTime createdAt;
+        private final LocalDateTime updatedAt;
+        private final Map<String, InboxRow> rows = new LinkedHashMap<>();
+
+        private RowCollector(String documentType, long documentId, String title, String status,
+                             String creatorName, String employeeName, ResultSet rs) throws SQLException {
+            this.documentType = documentType;
+            this.documentId = documentId;
+            this.title = title;
+            this.status = status != null ? status : "";
+            this.creatorName = creatorName;
+            this.employeeName = employeeName;
+            this.createdAt = rs.getObject("created_at", LocalDateTime.class);
+            this.updatedAt = rs.getObject("updated_at", LocalDateTime.class);
+        }
+
+        private void add(String userId, String box, String role) {
+            if (userId == null) return;
+            rows.putIfAbsent(userId + "|" + box, new InboxRow(documentType, documentId, userId, box, role,
+                    title, status, creatorName, employeeName, createdAt, updatedAt));
+        }
+
+        /**
+         * 현재 단계 결재자: 아직 처리 이력이 없는 지정 결재자는 개인 결재 대기, 인사팀 단계는 공용 결재 대기
+         */
+        private void addApprovers(List<StepApprover> approvers) {
+            for (StepApprover approver : approvers) {
+                if (approver.hasProcess() && !approver.handled()) {
+                    add(approver.approverId(), BOX_PENDING, ROLE_APPROVER);
+                }
+                if ("HR_STAFF".equals(approver.approverType())) {
+                    add(SHARED_USER, BOX_HR_PENDING, ROLE_HR_STAFF);
+                }
+            }
+        }
+
+        private Collection<InboxRow> rows() {
+            return rows.values();
+        }
+    }
+}
@@ -6,16 +6,21 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import sunhan.sunhanbackend.dto.response.ReportsCursorPageDto;
 import sunhan.sunhanbackend.dto.response.ReportsResponseDto;
+import sunhan.sunhanbackend.entity.mysql.DocumentInbox;
 import sunhan.sunhanbackend.entity.mysql.UserEntity;
 import sunhan.sunhanbackend.enums.ContractType;
 import sunhan.sunhanbackend.enums.PermissionType;
 import sunhan.sunhanbackend.enums.Role;
 import sunhan.sunhanbackend.repository.mysql.ReportsRepository;
-import sunhan.sunhanbackend.repository.mysql.UserRepository;
 
+import java.nio.charset.StandardCharsets;
 import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,8 +29,22 @@ import java.util.stream.Collectors;
 public class IntegratedReportsService {
 
     private final ReportsRepository reportsRepository;
-    private final UserRepository userRepository;
+    private final UserService userService;
     private final PermissionService permissionService;
+    private final DocumentInboxCounter documentInboxCounter;
+    private final ParallelReadExecutor parallelReadExecutor;
+
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    // 첫 페이지 커서 (모든 문서보다 뒤의 시각)
+    private static final LocalDateTime CURSOR_START = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+    // 같은 updated_at 안에서의 타입 순서 (커서 정렬 키의 두 번째 항목)
+    private static final List<String> COMPLETED_TYPE_ORDER = List.of("CONTRACT", "LEAVE_APPLICATION", "WORK_SCHEDULE");
+    // updated_at DESC → 타입 순서 → id DESC (커서 쿼리의 ORDER BY와 동일)
+    private static final Comparator<Object[]> COMPLETED_ORDER = Comparator
+            .comparing((Object[] row) -> (Timestamp) row[3], Comparator.reverseOrder())
+            .thenComparingInt(row -> typeOrder((String) row[0]))
+            .thenComparing(row -> ((Number) row[1]).longValue(), Comparator.reverseOrder());
+
     /**
      * 상태별 통합 문서 조회 (모든 상태에 대해 DB 레벨 최적화 적용)
      */
@@ -39,82 +58,33 @@ public class IntegratedReportsService {
         switch (status.toLowerCase()) {
             case "draft":
                 results = reportsRepository.findDraftDocuments(userId, limit, offset);
-                totalCount = reportsRepository.countDraftDocuments(userId);
+                totalCount = documentInboxCounter.count(userId, DocumentInbox.BOX_DRAFT);
                 break;
 
             case "inprogress":
                 results = reportsRepository.findInProgressDocuments(userId, limit, offset);
-                totalCount = reportsRepository.countInProgressDocuments(userId);
+                totalCount = documentInboxCounter.count(userId, DocumentInbox.BOX_IN_PROGRESS);
                 break;
 
             case "rejected":
                 results = reportsRepository.findRejectedDocuments(userId, limit, offset);
-                totalCount = reportsRepository.countRejectedDocuments(userId);
+                totalCount = documentInboxCounter.count(userId, DocumentInbox.BOX_REJECTED);
                 break;
 
             case "completed": {
-                UserEntity currentUserCompleted = userRepository.findByUserId(userId).orElse(null);
-                String jobLevel = currentUserCompleted != null ? currentUserCompleted.getJobLevel() : null;
-                Role userRole = currentUserCompleted != null ? currentUserCompleted.getRole() : null;
-
-                Set<PermissionType> userPermissions = permissionService.getAllUserPermissions(userId);
-                boolean hasHrContractPermissionCompleted = userPermissions.contains(PermissionType.HR_CONTRACT);
-                boolean hasHrLeavePermissionCompleted = userPermissions.contains(PermissionType.HR_LEAVE_APPLICATION);
-                boolean hasWorkSchedulePermission = userPermissions.contains(PermissionType.WORK_SCHEDULE_MANAGE);
+                CompletedScope scope = resolveCompletedScope(userId);
 
-                // 페치 사이즈: 각 타입별로 offset+limit 만큼 미리 가져와 병합 후 페이징
+                // 페치 사이즈: 각 타입별로 offset+limit 만큼 미리 가져와 병합 후 페이징, 타입별 조회는 병렬 실행
+                // (타입별 조회는 document_inbox 인덱스 범위 스캔이므로 깊은 페이지도 제한하지 않음, 대량 순회는 커서 조회 권장)
                 int fetchSize = offset + limit;
-
-                // 어떤 타입을 admin(전체)으로 볼지 결정하는 플래그들
-                boolean contractsAdmin = false;
-                boolean leavesAdmin = false;
-                boolean workSchedulesAdmin = false; // workSchedulesAdmin == true 는 모든 근무표를 보여줘야 하는 상황
-
-                // 결정 로직 (기존 권한 로직을 기반으로)
-                if (("2".equals(jobLevel) || "6".equals(jobLevel)) && userRole == Role.ADMIN) {
-                    // 최고권한: 모든 타입 전체 조회
-                    contractsAdmin = true;
-                    leavesAdmin = true;
-                    workSchedulesAdmin = true;
-                } else if (userRole == Role.ADMIN && hasHrContractPermissionCompleted && hasHrLeavePermissionCompleted) {
-                    // ADMIN이고 둘다 HR 권한 보유: 모든 타입 전체 조회
-                    contractsAdmin = true;
-                    leavesAdmin = true;
-                    workSchedulesAdmin = true;
-                } else if (userRole == Role.ADMIN && hasHrContractPermissionCompleted) {
-                    // 계약서는 전체, 휴가원은 본인 관련만
-                    contractsAdmin = true;
-                    leavesAdmin = false;
-                    workSchedulesAdmin = hasWorkSchedulePermission;
-                } else if (userRole == Role.ADMIN && hasHrLeavePermissionCompleted) {
-                    // 휴가원은 전체, 계약서는 본인 관련만
-                    contractsAdmin = false;
-                    leavesAdmin = true;
-                    workSchedulesAdmin = hasWorkSchedulePermission;
-                } else {
-                    // 그 외: 본인 관련 문서만
-                    contractsAdmin = false;
-                    leavesAdmin = false;
-                    workSchedulesAdmin = hasWorkSchedulePermission;
-                }
-
-                // 타입별로 전용 조회
-                List<Object[]> contractResults = reportsRepository.findCompletedContracts(userId, contractsAdmin, fetchSize, 0);
-                List<Object[]> leaveResults = reportsRepository.findCompletedLeaveApplications(userId, leavesAdmin, fetchSize, 0);
-                List<Object[]> workScheduleResults = reportsRepository.findCompletedWorkSchedules(userId, workSchedulesAdmin, fetchSize, 0);
-
-                // 합치고 정렬 (updated_at 컬럼이 인덱스 3인 형식 유지)
-                List<Object[]> combined = new ArrayList<>();
-                combined.addAll(contractResults);
-                combined.addAll(leaveResults);
-                combined.addAll(workScheduleResults);
-
-                combined.sort((a, b) -> ((Timestamp) b[3]).compareTo((Timestamp) a[3]));
+                List<Object[]> combined = mergeCompleted(parallelReadExecutor.readAll(
+                        () -> reportsRepository.findCompletedContracts(userId, scope.contractsAdmin(), fetchSize, 0),
+                        () -> reportsRepository.findCompletedLeaveApplications(userId, scope.leavesAdmin(), fetchSize, 0),
+                        () -> reportsRepository.findCompletedWorkSchedules(userId, scope.workSchedulesAdmin(), fetchSize, 0)
+                ), fetchSize);
 
                 // totalCount 는 타입별 카운트 합산
-                totalCount = reportsRepository.countCompletedContracts(userId, contractsAdmin)
-                        + reportsRepository.countCompletedLeaveApplications(userId, leavesAdmin)
-                        + reportsRepository.countCompletedWorkSchedules(userId, workSchedulesAdmin);
+                totalCount = countCompleted(userId, scope);
 
                 // 페이징 슬라이스
                 int fromIndex = Math.min(offset, combined.size());
@@ -126,7 +96,7 @@ public class IntegratedReportsService {
 
             case "pending": {
                 // 1. 현재 사용자 정보 조회
-                UserEntity currentUser = userRepository.findByUserId(userId).orElse(null);
+                UserEntity currentUser = userService.findUser(userId).orElse(null);
 
                 // 2. 인사팀 권한 확인
                 Set<PermissionType> currentUserPermissions = permissionService.getAllUserPermissions(userId);
@@ -143,19 +113,17 @@ public class IntegratedReportsService {
                     Set<Long> addedIds = new HashSet<>();
                     List<Object[]> combinedResults = new ArrayList<>();
 
-                    // HR_CONTRACT 권한이 있으면 근로계약서 문서 조회
+                    // HR_CONTRACT 권한이 있으면 근로계약서 문서, HR_LEAVE_APPLICATION 권한이 있으면 휴가원 문서 (병렬 조회)
+                    List<Supplier<List<Object[]>>> queries = new ArrayList<>();
                     if (hasHrContractPermission) {
-                        List<Object[]> contractResults = reportsRepository.findPendingDocuments(userId, limit, offset);
-                        for (Object[] r : contractResults) {
-                            Long id = ((Number) r[1]).longValue();
-                            if (addedIds.add(id)) combinedResults.add(r);
-                        }
+                        queries.add(() -> reportsRepository.findPendingDocuments(userId, limit, offset));
                     }
-
-                    // HR_LEAVE_APPLICATION 권한이 있으면 휴가원 문서 조회
                     if (hasHrLeavePermission) {
-                        List<Object[]> leaveResults = reportsRepository.findPendingHrStaffDocuments(limit, offset);
-                        for (Object[] r : leaveResults) {
+                        queries.add(() -> reportsRepository.findPendingHrStaffDocuments(limit, offset));
+                    }
+
+                    for (List<Object[]> rows : parallelReadExecutor.readAll(queries)) {
+                        for (Object[] r : rows) {
                             Long id = ((Number) r[1]).longValue();
                             if (addedIds.add(id)) combinedResults.add(r);
                         }
@@ -168,13 +136,13 @@ public class IntegratedReportsService {
 
                     // totalCount 계산
                     totalCount = 0;
-                    if (hasHrContractPermission) totalCount += reportsRepository.countPendingDocuments(userId);
-                    if (hasHrLeavePermission) totalCount += reportsRepository.countPendingHrStaffDocuments();
+                    if (hasHrContractPermission) totalCount += documentInboxCounter.count(userId, DocumentInbox.BOX_PENDING);
+                    if (hasHrLeavePermission) totalCount += documentInboxCounter.count(DocumentInbox.SHARED_USER, DocumentInbox.BOX_HR_PENDING);
 
                 } else {
                     // 그 외 사용자는 자신에게 할당된 문서만 조회
                     results = reportsRepository.findPendingDocuments(userId, limit, offset);
-                    totalCount = reportsRepository.countPendingDocuments(userId);
+                    totalCount = documentInboxCounter.count(userId, DocumentInbox.BOX_PENDING);
                 }
                 break;
             }
@@ -190,18 +158,17 @@ public class IntegratedReportsService {
     }
 
     /**
-     * 상태별 문서 개수 조회도 DB 레벨에서 최적화
+     * 상태별 문서 개수 조회 (문서함 배지 개수 캐시에서 조회, 캐시에 없으면 사용자당 집계 1회)
      */
     public Map<String, Long> getDocumentCounts(String userId, boolean isAdmin) {
         Map<String, Long> counts = new HashMap<>();
 
-        // 병렬로 카운트 조회하여 성능 향상
-        counts.put("draftCount", reportsRepository.countDraftDocuments(userId));
-        counts.put("inProgressCount", reportsRepository.countInProgressDocuments(userId));
-        counts.put("rejectedCount", reportsRepository.countRejectedDocuments(userId));
+        counts.put("draftCount", documentInboxCounter.count(userId, DocumentInbox.BOX_DRAFT));
+        counts.put("inProgressCount", documentInboxCounter.count(userId, DocumentInbox.BOX_IN_PROGRESS));
+        counts.put("rejectedCount", documentInboxCounter.count(userId, DocumentInbox.BOX_REJECTED));
 
         // 1. 현재 사용자 정보 조회
-        UserEntity currentUser = userRepository.findByUserId(userId).orElse(null);
+        UserEntity currentUser = userService.findUser(userId).orElse(null);
 
         Set<PermissionType> userPermissions = permissionService.getAllUserPermissions(userId);
         boolean hasHrContractPermission = userPermissions.contains(PermissionType.HR_CONTRACT);
@@ -219,59 +186,171 @@ public class IntegratedReportsService {
         if (isHrStaff) {
             // 권한별로 문서 수 합산
             if (hasHrContractPermission) {
-                pendingCount += reportsRepository.countPendingDocuments(userId);
+                pendingCount += documentInboxCounter.count(userId, DocumentInbox.BOX_PENDING);
             }
             if (hasHrLeavePermission) {
-                pendingCount += reportsRepository.countPendingHrStaffDocuments();
+                pendingCount += documentInboxCounter.count(DocumentInbox.SHARED_USER, DocumentInbox.BOX_HR_PENDING);
             }
         } else {
-            pendingCount = reportsRepository.countPendingDocuments(userId);
+            pendingCount = documentInboxCounter.count(userId, DocumentInbox.BOX_PENDING);
         }
         counts.put("pendingCount", pendingCount);
 
-        // completed는 권한별로 조회
-        String jobLevel = currentUser != null ? currentUser.getJobLevel() : null;
-        Role userRole = currentUser != null ? currentUser.getRole() : null;
+        // completed는 권한별로 조회 (getDocumentsByStatus 와 동일한 결정 로직)
+        long completedCount = countCompleted(userId, resolveCompletedScope(currentUser, userPermissions));
 
-// 권한 변수들 이미 선언됨: hasHrContractPermission, hasHrLeavePermission, hasWorkSchedulePermission
+        counts.put("completedCount", completedCount);
 
-        long completedCount;
+        return counts;
+    }
 
-// 결정 로직은 getDocumentsByStatus 와 동일하게 맞춘다
-        if (("2".equals(jobLevel) || "6".equals(jobLevel)) && userRole == Role.ADMIN) {
-            // 모든 타입 전체
-            completedCount = reportsRepository.countCompletedContracts(userId, true)
-                    + reportsRepository.countCompletedLeaveApplications(userId, true)
-                    + reportsRepository.countCompletedWorkSchedules(userId, true);
+    /**
+     * ✅ 완료 문서 커서 페이지 조회
+     * 커서는 마지막으로 받은 문서의 (updated_at, 문서 타입, id)이며, 타입별로 커서 이후 size+1건만 조회해
+     * k-way 병합하므로 페이지 깊이와 관계없이 비용이 일정합니다. 전체 개수는 /reports/documents 에서 조회합니다.
+     */
+    public ReportsCursorPageDto getCompletedDocumentsByCursor(String userId, String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        CompletedCursor after = (cursor == null || cursor.isBlank()) ? null : CompletedCursor.decode(cursor);
+        LocalDateTime cursorUpdatedAt = after != null ? after.updatedAt() : CURSOR_START;
+        CompletedScope scope = resolveCompletedScope(userId);
+
+        // +1건은 다음 페이지 존재 여부 판단용
+        int fetchSize = limit + 1;
+        List<Object[]> merged = mergeCompleted(parallelReadExecutor.readAll(
+                () -> reportsRepository.findCompletedContractsAfter(userId, scope.contractsAdmin(),
+                        cursorUpdatedAt, cursorIdFor(after, "CONTRACT"), fetchSize),
+                () -> reportsRepository.findCompletedLeaveApplicationsAfter(userId, scope.leavesAdmin(),
+                        cursorUpdatedAt, cursorIdFor(after, "LEAVE_APPLICATION"), fetchSize),
+                () -> reportsRepository.findCompletedWorkSchedulesAfter(userId, scope.workSchedulesAdmin(),
+                        cursorUpdatedAt, cursorIdFor(after, "WORK_SCHEDULE"), fetchSize)
+        ), fetchSize);
+
+        boolean hasNext = merged.size() > limit;
+        List<Object[]> pageRows = hasNext ? merged.subList(0, limit) : merged;
+
+        return ReportsCursorPageDto.builder()
+                .content(pageRows.stream().map(this::mapToReportsDto).collect(Collectors.toList()))
+                .size(limit)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? CompletedCursor.of(pageRows.get(pageRows.size() - 1)).encode() : null)
+                .build();
+    }
 
-        } else if (userRole == Role.ADMIN && hasHrContractPermission && hasHrLeavePermission) {
-            // ADMIN + 둘다 HR 권한: 모든 타입 전체
-            completedCount = reportsRepository.countCompletedContracts(userId, true)
-                    + reportsRepository.countCompletedLeaveApplications(userId, true)
-                    + reportsRepository.countCompletedWorkSchedules(userId, true);
+    /**
+     * 커서와 같은 updated_at인 행 중 어디부터 읽을지 타입별 id 경계로 변환
+     * - 커서보다 앞 순서 타입: 같은 시각 행은 이미 전달됨 (경계 0 → id < 0 인 행이 없으므로 같은 시각 행 제외)
+     * - 커서와 같은 타입: 커서 id 미만
+     * - 커서보다 뒤 순서 타입: 같은 시각 행 전부
+     */
+    private long cursorIdFor(CompletedCursor after, String documentType) {
+        if (after == null) {
+            return Long.MAX_VALUE;
+        }
+        int compare = Integer.compare(typeOrder(documentType), typeOrder(after.documentType()));
+        if (compare < 0) return 0L;
+        if (compare > 0) return Long.MAX_VALUE;
+        return after.id();
+    }
 
-        } else if (userRole == Role.ADMIN && hasHrContractPermission) {
-            // 계약서는 전체, 휴가원은 본인 관련, 근무현황표는 권한 보유 시 전체/그렇지 않으면 참여자기준
-            completedCount = reportsRepository.countCompletedContracts(userId, true)
-                    + reportsRepository.countCompletedLeaveApplications(userId, false)
-                    + reportsRepository.countCompletedWorkSchedules(userId, hasWorkSchedulePermission);
+    /**
+     * 타입별로 (updated_at DESC, 타입, id DESC) 정렬된 목록을 k-way 병합해 앞에서 limit건 반환
+     */
+    private List<Object[]> mergeCompleted(List<List<Object[]>> sources, int limit) {
+        PriorityQueue<int[]> heap = new PriorityQueue<>((a, b) ->
+                COMPLETED_ORDER.compare(sources.get(a[0]).get(a[1]), sources.get(b[0]).get(b[1])));
+        for (int i = 0; i < sources.size(); i++) {
+            if (!sources.get(i).isEmpty()) heap.add(new int[]{i, 0});
+        }
 
+        List<Object[]> merged = new ArrayList<>(limit);
+        while (!heap.isEmpty() && merged.size() < limit) {
+            int[] head = heap.poll();
+            List<Object[]> source = sources.get(head[0]);
+            merged.add(source.get(head[1]));
+            if (head[1] + 1 < source.size()) heap.add(new int[]{head[0], head[1] + 1});
+        }
+        return merged;
+    }
+
+    private long countCompleted(String userId, CompletedScope scope) {
+        return countCompleted(userId, scope.contractsAdmin(), DocumentInbox.TYPE_CONTRACT)
+                + countCompleted(userId, scope.leavesAdmin(), DocumentInbox.TYPE_LEAVE_APPLICATION)
+                + countCompleted(userId, scope.workSchedulesAdmin(), DocumentInbox.TYPE_WORK_SCHEDULE);
+    }
+
+    // 전체 조회 권한이면 공용 문서함, 아니면 본인 문서함 개수
+    private long countCompleted(String userId, boolean isAdmin, String documentType) {
+        return documentInboxCounter.count(isAdmin ? DocumentInbox.SHARED_USER : userId,
+                DocumentInbox.BOX_COMPLETED, documentType);
+    }
+
+    private CompletedScope resolveCompletedScope(String userId) {
+        return resolveCompletedScope(userService.findUser(userId).orElse(null),
+                permissionService.getAllUserPermissions(userId));
+    }
+
+    /**
+     * 완료 문서를 타입별로 전체(admin) 조회할지 본인 관련만 조회할지 결정
+     */
+    private CompletedScope resolveCompletedScope(UserEntity user, Set<PermissionType> permissions) {
+        String jobLevel = user != null ? user.getJobLevel() : null;
+        Role userRole = user != null ? user.getRole() : null;
+        boolean hasHrContractPermission = permissions.contains(PermissionType.HR_CONTRACT);
+        boolean hasHrLeavePermission = permissions.contains(PermissionType.HR_LEAVE_APPLICATION);
+        boolean hasWorkSchedulePermission = permissions.contains(PermissionType.WORK_SCHEDULE_MANAGE);
+
+        if (("2".equals(jobLevel) || "6".equals(jobLevel)) && userRole == Role.ADMIN) {
+            // 최고권한: 모든 타입 전체 조회
+            return new CompletedScope(true, true, true);
+        } else if (userRole == Role.ADMIN && hasHrContractPermission && hasHrLeavePermission) {
+            // ADMIN이고 둘다 HR 권한 보유: 모든 타입 전체 조회
+            return new CompletedScope(true, true, true);
+        } else if (userRole == Role.ADMIN && hasHrContractPermission) {
+            // 계약서는 전체, 휴가원은 본인 관련만
+            return new CompletedScope(true, false, hasWorkSchedulePermission);
         } else if (userRole == Role.ADMIN && hasHrLeavePermission) {
-            // 휴가원은 전체, 계약서는 본인 관련, 근무현황표는 권한 보유 시 전체/그렇지 않으면 참여자기준
-            completedCount = reportsRepository.countCompletedLeaveApplications(userId, true)
-                    + reportsRepository.countCompletedContracts(userId, false)
-                    + reportsRepository.countCompletedWorkSchedules(userId, hasWorkSchedulePermission);
+            // 휴가원은 전체, 계약서는 본인 관련만
+            return new CompletedScope(false, true, hasWorkSchedulePermission);
+        }
+        // 그 외: 본인 관련 문서만 (근무현황표는 작성자/참여자/권한 보유자 기준)
+        return new CompletedScope(false, false, hasWorkSchedulePermission);
+    }
 
-        } else {
-            // 그 외: 본인 관련 문서만 (근무현황표는 작성자/참여자/권한 보유자 기준)
-            completedCount = reportsRepository.countCompletedContracts(userId, false)
-                    + reportsRepository.countCompletedLeaveApplications(userId, false)
-                    + reportsRepository.countCompletedWorkSchedules(userId, hasWorkSchedulePermission);
+    private static int typeOrder(String documentType) {
+        int index = COMPLETED_TYPE_ORDER.indexOf(documentType);
+        return index >= 0 ? index : COMPLETED_TYPE_ORDER.size();
+    }
+
+    private record CompletedScope(boolean contractsAdmin, boolean leavesAdmin, boolean workSchedulesAdmin) {
+    }
+
+    /**
+     * 완료 문서 커서: "updatedAt|문서타입|id"를 URL-safe Base64로 인코딩
+     */
+    private record CompletedCursor(LocalDateTime updatedAt, String documentType, long id) {
+
+        static CompletedCursor of(Object[] row) {
+            return new CompletedCursor(((Timestamp) row[3]).toLocalDateTime(), (String) row[0],
+                    ((Number) row[1]).longValue());
         }
 
-        counts.put("completedCount", completedCount);
+        static CompletedCursor decode(String cursor) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+                if (parts.length != 3 || !COMPLETED_TYPE_ORDER.contains(parts[1])) {
+                    throw new IllegalArgumentException("잘못된 커서입니다.");
+                }
+                return new CompletedCursor(LocalDateTime.parse(parts[0]), parts[1], Long.parseLong(parts[2]));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                throw new IllegalArgumentException("잘못된 커서입니다.", e);
+            }
+        }
 
-        return counts;
+        String encode() {
+            String raw = updatedAt + "|" + documentType + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
     }
 
     private ReportsResponseDto mapToReportsDto(Object[] row) {
@@ -0,0 +1,296 @@
+package sunhan.sunhanbackend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import sunhan.sunhanbackend.dto.request.BulkApprovalRequestDto;
+import sunhan.sunhanbackend.dto.response.BulkApprovalResultDto;
+import sunhan.sunhanbackend.entity.mysql.LeaveApplication;
+import sunhan.sunhanbackend.entity.mysql.UserAnnualVacationHistory;
+import sunhan.sunhanbackend.entity.mysql.approval.ApprovalStepHistory;
+import sunhan.sunhanbackend.entity.mysql.approval.DocumentApprovalProcess;
+import sunhan.sunhanbackend.enums.LeaveApplicationStatus;
+import sunhan.sunhanbackend.enums.LeaveType;
+import sunhan.sunhanbackend.enums.PermissionType;
+import sunhan.sunhanbackend.enums.approval.ApprovalAction;
+import sunhan.sunhanbackend.enums.approval.ApprovalProcessStatus;
+import sunhan.sunhanbackend.enums.approval.DocumentType;
+import sunhan.sunhanbackend.repository.mysql.LeaveApplicationRepository;
+import sunhan.sunhanbackend.repository.mysql.UserAnnualVacationHistoryRepository;
+import sunhan.sunhanbackend.repository.mysql.approval.ApprovalStepHistoryRepository;
+import sunhan.sunhanbackend.repository.mysql.approval.DocumentApprovalProcessRepository;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 휴가원 일괄 승인/반려
+ * - 권한은 요청당 1회만 확인
+ * - 휴가원/결재 프로세스(결재라인 포함)/현재 단계 이력을 묶음 조회로 미리 적재해 항목별 검증
+ * - 최종 승인되는 연차는 신청자·연도별 잔여 연차를 묶음 조회해 누적 차감 후에도 남는지 미리 확인
+ * - 검증을 통과한 항목만 한 트랜잭션에서 미리 적재한 휴가원/프로세스로 결재 처리하고,
+ *   연차 차감(영속성 컨텍스트를 비우는 UPDATE)은 모든 결재 처리 후 한 번에 수행
+ * - 항목마다 성공/실패 사유를 반환하며, PDF 생성은 커밋 후 한 번에 등록
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LeaveApplicationBatchService {
+
+    private final LeaveApplicationService leaveApplicationService;
+    private final LeaveApplicationRepository leaveApplicationRepository;
+    private final DocumentApprovalProcessRepository processRepository;
+    private final ApprovalStepHistoryRepository historyRepository;
+    private final UserAnnualVacationHistoryRepository vacationHistoryRepository;
+    private final VacationService vacationService;
+    private final PermissionService permissionService;
+    private final PdfGenerationService pdfGenerationService;
+
+    /**
+     * 일괄 승인
+     */
+    @Transactional
+    public BulkApprovalResultDto approveAll(String approverId, BulkApprovalRequestDto request) {
+        if (request.isFinalApproval()) {
+            Set<PermissionType> permissions = permissionService.getAllUserPermissions(approverId);
+            if (!permissions.contains(PermissionType.FINAL_APPROVAL_ALL)
+                    && !permissions.contains(PermissionType.FINAL_APPROVAL_LEAVE_APPLICATION)) {
+                throw new AccessDeniedException("전결 승인 권한이 없습니다.");
+            }
+        }
+
+        Map<Long, String> rejected = new LinkedHashMap<>();
+        List<BatchItem> items = validate(approverId, request.getIds(), rejected);
+        items = validateVacationBalance(items, request.isFinalApproval(), rejected);
+
+        List<BulkApprovalResultDto.ItemResult> results = new ArrayList<>();
+        List<LeaveApplication> approved = new ArrayList<>();
+        for (BatchItem item : items) {
+            LeaveApplication saved = leaveApplicationService.approveWithApprovalLine(
+                    item.application(),
+                    item.process(),
+                    approverId,
+                    request.getComment() != null ? request.getComment() : "",
+                    request.getSignatureImageUrl(),
+                    request.isFinalApproval()
+            );
+            if (saved.getStatus() == LeaveApplicationStatus.APPROVED) {
+                approved.add(saved);
+            }
+            results.add(success(saved));
+        }
+
+        // 연차 차감은 결재 처리가 모두 끝난 뒤 수행 (잔여 연차는 위에서 미리 확인함)
+        for (LeaveApplication saved : approved) {
+            if (leaveApplicationService.requiresVacationDeduction(saved)) {
+                vacationService.deductVacationDays(
+                        saved.getApplicantId(), saved.getTotalDays(), saved.getStartDate(), saved.getId());
+            }
+        }
+
+        enqueuePdfGeneration(approved.stream().map(LeaveApplication::getId).toList());
+        return buildResult(request.getIds(), results, rejected);
+    }
+
+    /**
+     * 일괄 반려
+     */
+    @Transactional
+    public BulkApprovalResultDto rejectAll(String approverId, BulkApprovalRequestDto request) {
+        String reason = request.getRejectionReason();
+        if (reason == null || reason.trim().isEmpty()) {
+            throw new IllegalArgumentException("반려 사유를 입력해주세요.");
+        }
+
+        Map<Long, String> rejected = new LinkedHashMap<>();
+        List<BatchItem> items = validate(approverId, request.getIds(), rejected);
+
+        List<BulkApprovalResultDto.ItemResult> results = new ArrayList<>();
+        for (BatchItem item : items) {
+            LeaveApplication saved = leaveApplicationService.rejectWithApprovalLine(
+                    item.application(), item.process(), approverId, reason);
+            results.add(success(saved));
+        }
+
+        return buildResult(request.getIds(), results, rejected);
+    }
+
+    /**
+     * 묶음 조회로 항목별 사전 검증 - 실패 항목은 rejected에 사유를 담고 처리 대상에서 제외
+     * (결재 로직 중간 예외는 트랜잭션 전체를 롤백시키므로, 예측 가능한 실패는 여기서 걸러낸다)
+     */
+    private List<BatchItem> validate(String approverId, List<Long> requestedIds, Map<Long, String> rejected) {
+        List<Long> ids = requestedIds.stream().filter(Objects::nonNull).distinct().toList();
+
+        Map<Long, LeaveApplication> applications = leaveApplicationRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(LeaveApplication::getId, Function.identity()));
+
+        Map<Long, DocumentApprovalProcess> processes = processRepository
+                .findByDocumentIdInAndDocumentTypeWithLine(ids, DocumentType.LEAVE_APPLICATION).stream()
+                .collect(Collectors.toMap(DocumentApprovalProcess::getDocumentId, Function.identity(), (a, b) -> a));
+
+        // 프로세스별 현재 단계 PENDING 이력 (현재 승인자 확인용)
+        Map<Long, DocumentApprovalProcess> processById = processes.values().stream()
+                .collect(Collectors.toMap(DocumentApprovalProcess::getId, Function.identity()));
+        Map<Long, ApprovalStepHistory> currentPending = new HashMap<>();
+        if (!processById.isEmpty()) {
+            for (ApprovalStepHistory h : historyRepository.findByApprovalProcessIdInAndAction(
+                    processById.keySet(), ApprovalAction.PENDING)) {
+                DocumentApprovalProcess p = processById.get(h.getApprovalProcess().getId());
+                if (p != null && Objects.equals(h.getStepOrder(), p.getCurrentStepOrder())) {
+                    currentPending.put(p.getId(), h);
+                }
+            }
+        }
+
+        List<BatchItem> valid = new ArrayList<>();
+        for (Long id : ids) {
+            LeaveApplication app = applications.get(id);
+            DocumentApprovalProcess process = processes.get(id);
+
+            if (app == null) {
+                rejected.put(id, "휴가원을 찾을 수 없습니다.");
+            } else if (!app.isUsingApprovalLine()) {
+                rejected.put(id, "결재라인을 사용하지 않는 휴가원입니다.");
+            } else if (app.getStatus() != LeaveApplicationStatus.PENDING) {
+                rejected.put(id, "결재 대기 상태가 아닙니다.");
+            } else if (process == null || process.getStatus() != ApprovalProcessStatus.IN_PROGRESS) {
+                rejected.put(id, "진행 중인 결재 프로세스가 없습니다.");
+            } else {
+                ApprovalStepHistory pending = currentPending.get(process.getId());
+                if (pending == null) {
+                    rejected.put(id, "현재 단계를 찾을 수 없습니다.");
+                } else if (!approverId.equals(pending.getApproverId())) {
+                    rejected.put(id, "해당 단계의 승인 권한이 없습니다.");
+                } else {
+                    valid.add(new BatchItem(app, process));
+                }
+            }
+        }
+        return valid;
+    }
+
+    /**
+     * 이번 승인으로 최종 승인되는 연차의 잔여 연차 사전 확인
+     * 신청자·연도별로 요청 순서대로 누적해, 잔여 연차를 넘는 항목은 rejected에 사유를 담고 제외한다.
+     * (차감 UPDATE 실패는 트랜잭션 전체를 롤백시키므로 미리 걸러낸다. 연도 이력이 없으면 차감 시 생성되므로 확인하지 않음)
+     */
+    private List<BatchItem> validateVacationBalance(List<BatchItem> items, boolean isFinalApproval,
+                                                    Map<Long, String> rejected) {
+        Map<Integer, Set<String>> applicantsByYear = new HashMap<>();
+        for (BatchItem item : items) {
+            if (completesAnnualLeave(item, isFinalApproval)) {
+                applicantsByYear.computeIfAbsent(item.application().getStartDate().getYear(), y -> new HashSet<>())
+                        .add(item.application().getApplicantId());
+            }
+        }
+        if (applicantsByYear.isEmpty()) {
+            return items;
+        }
+
+        // (연도, 신청자) → 남은 잔여 연차
+        Map<String, Double> remaining = new HashMap<>();
+        applicantsByYear.forEach((year, userIds) -> {
+            for (UserAnnualVacationHistory history :
+                    vacationHistoryRepository.findByUserIdsAndYear(List.copyOf(userIds), year)) {
+                remaining.put(year + ":" + history.getUserId(), history.getRemainingDays());
+            }
+        });
+
+        List<BatchItem> valid = new ArrayList<>();
+        for (BatchItem item : items) {
+            if (completesAnnualLeave(item, isFinalApproval)) {
+                LeaveApplication app = item.application();
+                int year = app.getStartDate().getYear();
+                String key = year + ":" + app.getApplicantId();
+                Double left = remaining.get(key);
+                if (left != null) {
+                    if (left < app.getTotalDays()) {
+                        rejected.put(app.getId(), String.format("%d년 연차가 부족합니다. (필요: %.1f일, 잔여: %.1f일)",
+                                year, app.getTotalDays(), left));
+                        continue;
+                    }
+                    remaining.put(key, left - app.getTotalDays());
+                }
+            }
+            valid.add(item);
+        }
+        return valid;
+    }
+
+    /**
+     * 이번 승인으로 결재가 끝나는 연차인지 (전결이거나 현재 단계가 마지막 단계)
+     */
+    private static boolean completesAnnualLeave(BatchItem item, boolean isFinalApproval) {
+        LeaveApplication app = item.application();
+        if (app.getLeaveType() != LeaveType.ANNUAL_LEAVE || app.getTotalDays() == null || app.getTotalDays() <= 0
+                || app.getStartDate() == null) {
+            return false;
+        }
+        if (isFinalApproval) {
+            return true;
+        }
+        Integer currentOrder = item.process().getCurrentStepOrder();
+        return item.process().getApprovalLine().getSteps().stream()
+                .noneMatch(step -> step.getStepOrder() > currentOrder);
+    }
+
+    private void enqueuePdfGeneration(List<Long> approvedIds) {
+        if (approvedIds.isEmpty()) return;
+
+        List<Long> ids = List.copyOf(approvedIds);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                log.info("AfterCommit -> generate PDFs for {} applications", ids.size());
+                for (Long id : ids) {
+                    try {
+                        pdfGenerationService.generateLeaveApplicationPdfAsync(id);
+                    } catch (Exception ex) {
+                        log.error("PDF generation failed after commit for id=" + id, ex);
+                    }
+                }
+            }
+        });
+    }
+
+    private BulkApprovalResultDto.ItemResult success(LeaveApplication saved) {
+        return BulkApprovalResultDto.ItemResult.builder()
+                .id(saved.getId())
+                .success(true)
+                .status(saved.getStatus().name())
+                .build();
+    }
+
+    private BulkApprovalResultDto buildResult(List<Long> requestedIds,
+                                              List<BulkApprovalResultDto.ItemResult> succeeded,
+                                              Map<Long, String> rejected) {
+        List<BulkApprovalResultDto.ItemResult> results = new ArrayList<>(succeeded);
+        rejected.forEach((id, message) -> results.add(BulkApprovalResultDto.ItemResult.builder()
+                .id(id)
+                .success(false)
+                .message(message)
+                .build()));
+
+        // 요청 순서대로 정렬
+        Map<Long, Integer> order = new HashMap<>();
+        for (int i = 0; i < requestedIds.size(); i++) order.putIfAbsent(requestedIds.get(i), i);
+        results.sort(Comparator.comparing(r -> order.getOrDefault(r.getId(), Integer.MAX_VALUE)));
+
+        return BulkApprovalResultDto.builder()
+                .requested(results.size())
+                .succeeded(succeeded.size())
+                .failed(rejected.size())
+                .results(results)
+                .build();
+    }
+
+    // 사전 검증을 통과해 미리 적재된 휴가원과 결재 프로세스
+    private record BatchItem(LeaveApplication application, DocumentApprovalProcess process) {
+    }
+}
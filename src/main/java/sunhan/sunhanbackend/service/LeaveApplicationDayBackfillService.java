@@ -0,0 +1,265 @@
+package sunhan.sunhanbackend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sunhan.sunhanbackend.entity.mysql.LeaveApplication;
+import sunhan.sunhanbackend.entity.mysql.LeaveApplicationDay;
+import sunhan.sunhanbackend.enums.HalfDayType;
+import sunhan.sunhanbackend.repository.mysql.LeaveApplicationRepository;
+import sunhan.sunhanbackend.util.WorkingDayCalendar;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ✅ 휴가원 일자(leave_application_day) 보정 작업
+ * 일자 행이 없는 과거 승인 휴가원에 대해 formDataJson의 기간 정보로 일자를 생성합니다.
+ * (조회 중에 쓰기가 일어나지 않도록 관리대장 조회 경로에서 분리)
+ * id 순 청크마다 별도 트랜잭션으로 커밋하므로 영속성 컨텍스트가 청크 단위로 비워지고,
+ * 한 청크가 실패해도 앞서 커밋된 청크는 유지됩니다 (실패한 청크는 건별 트랜잭션으로 다시 처리).
+ */
+@Slf4j
+@Service
+public class LeaveApplicationDayBackfillService {
+
+    private static final int BACKFILL_CHUNK_SIZE = 200;
+
+    private final LeaveApplicationRepository leaveApplicationRepository;
+    private final WorkingDayCalendar workingDayCalendar;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public LeaveApplicationDayBackfillService(LeaveApplicationRepository leaveApplicationRepository,
+                                              WorkingDayCalendar workingDayCalendar,
+                                              ObjectMapper objectMapper,
+                                              PlatformTransactionManager transactionManager) {
+        this.leaveApplicationRepository = leaveApplicationRepository;
+        this.workingDayCalendar = workingDayCalendar;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 매일 새벽 3시 30분 자동 보정
+     */
+    @Scheduled(cron = "0 30 3 * * *")
+    public void scheduledBackfill() {
+        try {
+            backfillMissingDays();
+        } catch (Exception e) {
+            log.error("휴가원 일자 자동 보정 실패", e);
+        }
+    }
+
+    /**
+     * ✅ 일자가 없는 승인 휴가원 일괄 보정 (관리자 수동 실행 가능)
+     * @return 일자가 생성된 휴가원 수
+     */
+    public int backfillMissingDays() {
+        long lastId = 0L;
+        int scanned = 0;
+        int backfilled = 0;
+
+        while (true) {
+            long afterId = lastId;
+            ChunkResult result;
+            try {
+                result = transactionTemplate.execute(status -> backfillChunk(afterId));
+            } catch (RuntimeException e) {
+                // 청크 커밋 실패 (저장 실패로 rollback-only 등) → 이 청크만 건별 트랜잭션으로 다시 처리
+                log.warn("휴가원 일자 보정 청크 실패, 건별로 재처리: afterId={}", afterId, e);
+                result = backfillChunkOneByOne(afterId);
+            }
+            if (result == null || result.size() == 0) break;
+
+            scanned += result.size();
+            backfilled += result.backfilled();
+            lastId = result.lastId();
+            if (result.size() < BACKFILL_CHUNK_SIZE) break;
+        }
+
+        log.info("휴가원 일자 보정 완료: 대상 {}건, 생성 {}건", scanned, backfilled);
+        return backfilled;
+    }
+
+    /**
+     * 한 청크 보정 (호출한 트랜잭션에서 실행)
+     */
+    private ChunkResult backfillChunk(long afterId) {
+        List<LeaveApplication> chunk = leaveApplicationRepository.findApprovedWithoutDaysChunk(
+                afterId, PageRequest.of(0, BACKFILL_CHUNK_SIZE));
+        if (chunk.isEmpty()) {
+            return new ChunkResult(0, afterId, 0);
+        }
+
+        int backfilled = 0;
+        for (LeaveApplication app : chunk) {
+            if (createLeaveApplicationDays(app)) {
+                backfilled++;
+            }
+        }
+        // 요청 범위 EntityManager(OSIV)를 쓰는 수동 실행에서도 청크마다 영속성 컨텍스트를 비움
+        entityManager.flush();
+        entityManager.clear();
+        return new ChunkResult(chunk.size(), chunk.get(chunk.size() - 1).getId(), backfilled);
+    }
+
+    /**
+     * 실패한 청크를 휴가원마다 별도 트랜잭션으로 처리 (실패한 건은 건너뛰고 다음 실행에서 다시 시도)
+     */
+    private ChunkResult backfillChunkOneByOne(long afterId) {
+        List<Long> ids = leaveApplicationRepository.findApprovedWithoutDaysChunk(
+                        afterId, PageRequest.of(0, BACKFILL_CHUNK_SIZE)).stream()
+                .map(LeaveApplication::getId)
+                .toList();
+        if (ids.isEmpty()) {
+            return new ChunkResult(0, afterId, 0);
+        }
+
+        int backfilled = 0;
+        for (Long id : ids) {
+            try {
+                Boolean created = transactionTemplate.execute(status -> leaveApplicationRepository.findById(id)
+                        .map(this::createLeaveApplicationDays)
+                        .orElse(false));
+                if (Boolean.TRUE.equals(created)) {
+                    backfilled++;
+                }
+            } catch (RuntimeException e) {
+                log.error("LeaveApplicationDay 생성 실패: applicationId={}", id, e);
+            }
+        }
+        return new ChunkResult(ids.size(), ids.get(ids.size() - 1), backfilled);
+    }
+
+    /**
+     * LeaveApplication에서 flexiblePeriods를 기반으로 LeaveApplicationDay 생성
+     * @return 일자가 생성되었는지 여부
+     */
+    private boolean createLeaveApplicationDays(LeaveApplication app) {
+        try {
+            String formDataJson = app.getFormDataJson();
+            if (formDataJson == null || formDataJson.isEmpty()) {
+                log.warn("formDataJson이 없음: applicationId={}", app.getId());
+                return false;
+            }
+
+            JsonNode root = objectMapper.readTree(formDataJson);
+
+            // ✅ 기존 컬렉션을 clear하고 재사용 (새로 할당하지 않음)
+            List<LeaveApplicationDay> days = app.getDays();
+            if (days == null) {
+                days = new ArrayList<>();
+            } else {
+                days.clear(); // ✅ 기존 리스트 비우기
+            }
+
+            // flexiblePeriods 처리
+            JsonNode periods = root.get("flexiblePeriods");
+            if (periods != null && periods.isArray()) {
+                for (JsonNode period : periods) {
+                    JsonNode startDateNode = period.get("startDate");
+                    JsonNode endDateNode = period.get("endDate");
+                    JsonNode halfDayOptionNode = period.get("halfDayOption");
+
+                    if (startDateNode == null || endDateNode == null || halfDayOptionNode == null) {
+                        log.warn("flexiblePeriod 정보가 불완전함: applicationId={}", app.getId());
+                        continue;
+                    }
+
+                    String startDateStr = startDateNode.asText();
+                    String endDateStr = endDateNode.asText();
+                    String halfDayOption = halfDayOptionNode.asText();
+
+                    if (startDateStr.isEmpty() || endDateStr.isEmpty()) {
+                        continue;
+                    }
+
+                    LocalDate startDate = LocalDate.parse(startDateStr);
+                    LocalDate endDate = LocalDate.parse(endDateStr);
+
+                    HalfDayType halfDayType;
+                    switch (halfDayOption) {
+                        case "morning":
+                            halfDayType = HalfDayType.MORNING;
+                            break;
+                        case "afternoon":
+                            halfDayType = HalfDayType.AFTERNOON;
+                            break;
+                        default:
+                            halfDayType = HalfDayType.ALL_DAY;
+                    }
+
+                    for (LocalDate date : workingDayCalendar.workingDaysBetween(startDate, endDate)) {
+                        LeaveApplicationDay day = new LeaveApplicationDay(
+                                date,
+                                halfDayType,
+                                halfDayType.getDayValue()
+                        );
+                        day.setLeaveApplication(app);
+                        days.add(day); // ✅ 기존 리스트에 추가
+                    }
+                }
+            }
+
+            // consecutivePeriod 처리
+            JsonNode consecutive = root.get("consecutivePeriod");
+            if (consecutive != null) {
+                JsonNode startDateNode = consecutive.get("startDate");
+                JsonNode endDateNode = consecutive.get("endDate");
+
+                if (startDateNode != null && endDateNode != null) {
+                    String startDateStr = startDateNode.asText();
+                    String endDateStr = endDateNode.asText();
+
+                    if (!startDateStr.isEmpty() && !endDateStr.isEmpty()) {
+                        LocalDate startDate = LocalDate.parse(startDateStr);
+                        LocalDate endDate = LocalDate.parse(endDateStr);
+
+                        for (LocalDate date : workingDayCalendar.workingDaysBetween(startDate, endDate)) {
+                            LeaveApplicationDay day = new LeaveApplicationDay(
+                                    date,
+                                    HalfDayType.ALL_DAY,
+                                    1.0
+                            );
+                            day.setLeaveApplication(app);
+                            days.add(day); // ✅ 기존 리스트에 추가
+                        }
+                    }
+                }
+            }
+
+            // ✅ 새로 할당하지 않고 기존 리스트 사용
+            if (app.getDays() == null) {
+                app.setDays(days); // ✅ 최초 할당만
+            }
+
+            // ✅ saveAll 대신 save (cascade로 자동 저장)
+            if (!days.isEmpty()) {
+                leaveApplicationRepository.save(app);
+                log.info("LeaveApplicationDay 생성 완료: applicationId={}, count={}", app.getId(), days.size());
+                return true;
+            }
+            return false;
+
+        } catch (Exception e) {
+            log.error("LeaveApplicationDay 생성 실패: applicationId={}", app.getId(), e);
+            return false;
+        }
+    }
+
+    private record ChunkResult(int size, long lastId, int backfilled) {
+    }
+}
@@ -4,12 +4,9 @@
     import com.fasterxml.jackson.core.type.TypeReference;
     import com.fasterxml.jackson.databind.JsonNode;
     import com.fasterxml.jackson.databind.ObjectMapper;
-    import com.fasterxml.jackson.databind.node.ArrayNode;
-    import com.fasterxml.jackson.databind.node.ObjectNode;
     import jakarta.persistence.EntityNotFoundException;
     import lombok.RequiredArgsConstructor;
     import lombok.extern.slf4j.Slf4j;
-    import org.springframework.beans.factory.annotation.Value;
     import org.springframework.cache.annotation.CacheEvict;
     import org.springframework.core.io.Resource;
     import org.springframework.core.io.UrlResource;
@@ -24,6 +21,7 @@
     import org.springframework.web.multipart.MultipartFile;
     import sunhan.sunhanbackend.dto.response.AttachmentResponseDto;
     import sunhan.sunhanbackend.dto.response.LeaveApplicationResponseDto;
+    import sunhan.sunhanbackend.dto.response.LeaveApprovalHistoryDto;
     import sunhan.sunhanbackend.dto.request.LeaveApplicationUpdateFormRequestDto;
     import sunhan.sunhanbackend.dto.request.SignLeaveApplicationRequestDto;
     import sunhan.sunhanbackend.entity.mysql.*;
@@ -31,6 +29,7 @@
     import sunhan.sunhanbackend.entity.mysql.approval.ApprovalStep;
     import sunhan.sunhanbackend.entity.mysql.approval.DocumentApprovalProcess;
     import sunhan.sunhanbackend.enums.*;
+    import sunhan.sunhanbackend.enums.approval.ApprovalAction;
     import sunhan.sunhanbackend.enums.approval.ApprovalProcessStatus;
     import sunhan.sunhanbackend.enums.approval.ApproverType;
     import sunhan.sunhanbackend.enums.approval.DocumentType;
@@ -38,11 +37,12 @@
     import sunhan.sunhanbackend.repository.mysql.approval.ApprovalLineRepository;
     import sunhan.sunhanbackend.repository.mysql.approval.DocumentApprovalProcessRepository;
     import sunhan.sunhanbackend.service.approval.ApprovalProcessService;
+    import sunhan.sunhanbackend.util.WorkingDayCalendar;
 
     import java.io.File;
     import java.io.IOException;
+    import java.io.InputStream;
     import java.net.MalformedURLException;
-    import java.nio.file.Files;
     import java.nio.file.Path;
     import java.nio.file.Paths;
     import java.time.LocalDate;
@@ -67,14 +67,17 @@
         private final DocumentApprovalProcessRepository processRepository;
         private static final DateTimeFormatter ISO_LOCAL = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
         private final PdfGenerationService pdfGenerationService; // 비동기 서비스 주입
+        private final DocumentInboxService documentInboxService;
         private final PermissionService permissionService;
         private final LeaveApplicationAttachmentRepository attachmentRepository;
-        @Value("${file.upload-dir}") // application.properties에 경로 설정 필요
-        private String uploadDir;
         private final ApprovalLineRepository approvalLineRepository;
         private final DepartmentRepository departmentRepository;
         private final VacationService vacationService;
         private final UserAnnualVacationHistoryRepository vacationHistoryRepository;
+        private final LeaveCalendarService leaveCalendarService;
+        private final AttachmentBlobStore attachmentBlobStore;
+        private final LeaveApprovalHistoryService approvalHistoryService;
+        private final WorkingDayCalendar workingDayCalendar;
 
         private String toIsoString(Object maybeDate) {
             if (maybeDate == null) return LocalDateTime.now().format(ISO_LOCAL);
@@ -109,27 +112,21 @@
                 throw new AccessDeniedException("파일을 첨부할 권한이 없습니다.");
             }
 
-            // 1. 파일 저장 로직
+            // 1. 파일 저장 (내용 해시 기반 - 같은 파일은 한 번만 저장)
             String originalFileName = file.getOriginalFilename();
-            // 실제 저장될 파일 이름 (UUID를 사용하여 파일명 중복 방지)
-            String storedFileName = UUID.randomUUID().toString() + "_" + originalFileName;
-
-            // 저장 경로 설정
-            Path storagePath = Paths.get(uploadDir).toAbsolutePath().normalize();
-            // 디렉토리가 존재하지 않으면 생성
-            Files.createDirectories(storagePath);
-            Path targetLocation = storagePath.resolve(storedFileName);
-
-            // 파일 저장
-            Files.copy(file.getInputStream(), targetLocation);
+            AttachmentBlob blob;
+            try (InputStream in = file.getInputStream()) {
+                blob = attachmentBlobStore.store(in);
+            }
 
             // 2. 데이터베이스에 파일 메타데이터 저장
             LeaveApplicationAttachment attachment = LeaveApplicationAttachment.builder()
                     .leaveApplication(application)
                     .originalFileName(originalFileName)
-                    .storedFilePath(targetLocation.toString()) // 서버에 저장된 전체 경로
+                    .storedFilePath(blob.getStoredPath()) // 업로드 루트 기준 상대 경로
                     .fileType(file.getContentType())
-                    .fileSize(file.getSize())
+                    .fileSize(blob.getFileSize())
+                    .contentHash(blob.getSha256())
                     .build();
 
             attachmentRepository.save(attachment);
@@ -154,10 +151,14 @@
             LeaveApplicationAttachment attachment = attachmentRepository.findById(attachmentId)
                     .orElseThrow(() -> new EntityNotFoundException("첨부파일을 찾을 수 없습니다."));
 
-            // 1. 서버에 저장된 실제 파일 삭제
-            File fileToDelete = new File(attachment.getStoredFilePath());
-            if (fileToDelete.exists()) {
-                fileToDelete.delete();
+            // 1. 파일 참조 해제 (blob은 참조 수가 0이 되면 커밋 후 삭제)
+            if (attachment.getContentHash() != null) {
+                attachmentBlobStore.release(attachment.getContentHash());
+            } else {
+                File fileToDelete = new File(attachment.getStoredFilePath());
+                if (fileToDelete.exists()) {
+                    fileToDelete.delete();
+                }
             }
 
             // 2. 데이터베이스에서 파일 정보 삭제
@@ -176,7 +177,16 @@
          * 첨부파일 다운로드를 위한 리소스 로드
          */
         public Resource loadFileAsResource(Long attachmentId) throws MalformedURLException {
-            LeaveApplicationAttachment attachment = getAttachmentInfo(attachmentId);
+            return loadFileAsResource(getAttachmentInfo(attachmentId));
+        }
+
+        /**
+         * 이미 조회한 첨부파일 정보로 리소스 로드 (중복 조회 방지)
+         */
+        public Resource loadFileAsResource(LeaveApplicationAttachment attachment) throws MalformedURLException {
+            if (attachment.getContentHash() != null) {
+                return attachmentBlobStore.loadAsResource(attachment.getContentHash());
+            }
 
             Path filePath = Paths.get(attachment.getStoredFilePath()).normalize();
             Resource resource = new UrlResource(filePath.toUri());
@@ -207,7 +217,9 @@
                 throw new RuntimeException("휴가원 폼 데이터 초기화에 실패했습니다.", e);
             }
 
-            return leaveApplicationRepository.save(application);
+            LeaveApplication savedApplication = leaveApplicationRepository.save(application);
+            documentInboxService.leaveApplicationChanged(savedApplication.getId());
+            return savedApplication;
         }
 
         /**
@@ -339,6 +351,7 @@
             }
 
             application.setUpdatedAt(LocalDateTime.now());
+            documentInboxService.leaveApplicationChanged(application.getId());
             return leaveApplicationRepository.save(application);
         }
 
@@ -413,6 +426,7 @@
             }
 
             application.setUpdatedAt(LocalDateTime.now());
+            documentInboxService.leaveApplicationChanged(application.getId());
             return leaveApplicationRepository.save(application);
         }
 
@@ -671,6 +685,7 @@
                 throw new RuntimeException("폼 데이터 저장에 실패했습니다.", e);
             }
 
+            documentInboxService.leaveApplicationChanged(application.getId());
             LeaveApplication savedApplication = leaveApplicationRepository.save(application);
 
             log.info("휴가원 제출 완료: id={}, applicantId={}, status={}",
@@ -688,7 +703,7 @@
             LeaveApplication application = leaveApplicationRepository.findById(id)
                     .orElseThrow(() -> new EntityNotFoundException("휴가원을 찾을 수 없습니다. id=" + id));
 
-            UserEntity approver = userRepository.findByUserId(approverId)
+            UserEntity approver = userService.findUser(approverId)
                     .orElseThrow(() -> new EntityNotFoundException("승인자를 찾을 수 없습니다. userId=" + approverId));
 
             Set<PermissionType> approverPermissions = permissionService.getAllUserPermissions(approverId);
@@ -773,9 +788,11 @@
             }
 
             application.setUpdatedAt(now);
-            appendApprovalHistory(application, approver.getUserName() + " (전결)", approver.getJobLevel());
+            // ✅ 결재 이력 1행 추가 (formDataJson 재작성 없음)
+            approvalHistoryService.record(application, approver, ApprovalAction.FINAL_APPROVED, currentStep, null);
 
             // 저장 -> 트랜잭션 내에서 실행
+            documentInboxService.leaveApplicationChanged(application.getId());
             LeaveApplication saved = leaveApplicationRepository.saveAndFlush(application);
 
             // ✅ 연차인 경우에만 차감
@@ -784,11 +801,7 @@
                     && saved.getTotalDays() > 0) {
                 try {
                     // ✅ startDate 추가
-                    deductVacationDaysInSameTransaction(
-                            saved.getApplicantId(),
-                            saved.getTotalDays(),
-                            saved.getStartDate()
-                    );
+                    saved = deductVacationDaysInSameTransaction(saved);
                     log.info("전결 승인 시 연차 차감 완료: userId={}, days={}",
                             saved.getApplicantId(), saved.getTotalDays());
                 } catch (Exception e) {
@@ -797,6 +810,9 @@
                 }
             }
 
+            // ✅ 부서 부재 달력 반영
+            leaveCalendarService.recordApprovedApplication(saved);
+
             log.info("Saved application id={} isFinalApproved={} status={} currentStep={}",
                     saved.getId(), saved.getIsFinalApproved(), saved.getStatus(), saved.getCurrentApprovalStep());
 
@@ -881,26 +897,26 @@
                                     ? HalfDayType.MORNING
                                     : HalfDayType.AFTERNOON;
 
-                            // 반차는 단일 날짜만 생성
-                            LeaveApplicationDay day = new LeaveApplicationDay(
-                                    startDate,
-                                    halfDayType,
-                                    0.5
-                            );
-                            day.setLeaveApplication(application);
-                            days.add(day);
+                            // 반차는 단일 날짜만 생성 (근무일인 경우)
+                            if (workingDayCalendar.isWorkingDay(startDate)) {
+                                LeaveApplicationDay day = new LeaveApplicationDay(
+                                        startDate,
+                                        halfDayType,
+                                        halfDayType.getDayValue()
+                                );
+                                day.setLeaveApplication(application);
+                                days.add(day);
+                            }
                         } else {
-                            // 종일인 경우 날짜 범위 루프
-                            LocalDate currentDate = startDate;
-                            while (!currentDate.isAfter(endDate)) {
+                            // 종일인 경우 근무일 달력 기준 날짜 생성
+                            for (LocalDate date : workingDayCalendar.workingDaysBetween(startDate, endDate)) {
                                 LeaveApplicationDay day = new LeaveApplicationDay(
-                                        currentDate,
+                                        date,
                                         HalfDayType.ALL_DAY,
                                         1.0
                                 );
                                 day.setLeaveApplication(application);
                                 days.add(day);
-                                currentDate = currentDate.plusDays(1);
                             }
                         }
                     }
@@ -917,16 +933,14 @@
                     LocalDate startDate = LocalDate.parse(startDateStr);
                     LocalDate endDate = LocalDate.parse(endDateStr);
 
-                    LocalDate currentDate = startDate;
-                    while (!currentDate.isAfter(endDate)) {
+                    for (LocalDate date : workingDayCalendar.workingDaysBetween(startDate, endDate)) {
                         LeaveApplicationDay day = new LeaveApplicationDay(
-                                currentDate,
+                                date,
                                 HalfDayType.ALL_DAY,
                                 1.0
                         );
                         day.setLeaveApplication(application);
                         days.add(day);
-                        currentDate = currentDate.plusDays(1);
                     }
                 }
             }
@@ -1115,36 +1129,6 @@
             };
         }
 
-        private void appendApprovalHistory(LeaveApplication application, String approverName, String approverJobLevel) {
-            try {
-                ObjectNode historyEntry = objectMapper.createObjectNode();
-                historyEntry.put("approverName", approverName);
-                historyEntry.put("approverJobLevel", approverJobLevel);
-                historyEntry.put("approvedAt", LocalDateTime.now().toString());
-
-                String formDataJson = application.getFormDataJson();
-                ObjectNode rootNode;
-                if (formDataJson == null || formDataJson.isEmpty()) {
-                    rootNode = objectMapper.createObjectNode();
-                } else {
-                    rootNode = (ObjectNode) objectMapper.readTree(formDataJson);
-                }
-
-                ArrayNode approvalHistoryArray;
-                if (rootNode.has("approvalHistory") && rootNode.get("approvalHistory").isArray()) {
-                    approvalHistoryArray = (ArrayNode) rootNode.get("approvalHistory");
-                } else {
-                    approvalHistoryArray = objectMapper.createArrayNode();
-                    rootNode.set("approvalHistory", approvalHistoryArray);
-                }
-                approvalHistoryArray.add(historyEntry);
-
-                application.setFormDataJson(objectMapper.writeValueAsString(rootNode));
-            } catch (JsonProcessingException e) {
-                log.error("Failed to append approval history to formDataJson", e);
-            }
-        }
-
         /**
          * 휴가원 반려
          */
@@ -1166,23 +1150,28 @@
                     && application.getTotalDays() > 0) {
 
                 try {
-                    restoreVacationDaysInSameTransaction(
-                            application.getApplicantId(),
-                            application.getTotalDays(),
-                            application.getStartDate()
-                    );
+                    application = restoreVacationDaysInSameTransaction(application);
                 } catch (Exception e) {
                     log.error("연차 복구 실패", e);
                     throw new IllegalStateException("연차 복구 실패: " + e.getMessage());
                 }
             }
 
+            // ✅ 승인 완료 건이면 부서 부재 달력에서 제거
+            if (application.getStatus() == LeaveApplicationStatus.APPROVED) {
+                leaveCalendarService.removeApplication(application.getId());
+            }
+
+            approvalHistoryService.record(
+                    application, approver, ApprovalAction.REJECTED, application.getCurrentApprovalStep(), rejectionReason);
+
             application.setStatus(LeaveApplicationStatus.REJECTED);
             application.setRejectionReason(rejectionReason);
             application.setCurrentApprovalStep(null);
             application.setPrintable(false);
             application.setUpdatedAt(LocalDateTime.now());
 
+            documentInboxService.leaveApplicationChanged(application.getId());
             LeaveApplication savedApplication = leaveApplicationRepository.save(application);
 
             // 알림 전송
@@ -1209,6 +1198,7 @@
             }
             // 실제 삭제 대신 상태 변경
             application.setStatus(LeaveApplicationStatus.DELETED);
+            documentInboxService.leaveApplicationChanged(application.getId());
             leaveApplicationRepository.save(application);
         }
 
@@ -1250,6 +1240,24 @@
             return LeaveApplicationResponseDto.fromEntity(application, applicant, substitute);
         }
 
+        /**
+         * ✅ 휴가원 결재 이력 조회 (상세 조회와 동일한 권한)
+         */
+        @Transactional(readOnly = true)
+        public List<LeaveApprovalHistoryDto> getApprovalHistory(Long id, String userId) {
+            LeaveApplication application = getOrThrow(id);
+
+            UserEntity viewer = userRepository.findByUserId(userId)
+                    .orElseThrow(() -> new EntityNotFoundException("사용자 정보를 찾을 수 없습니다."));
+            UserEntity applicant = userRepository.findByUserId(application.getApplicantId())
+                    .orElseThrow(() -> new EntityNotFoundException("신청자 정보를 찾을 수 없습니다."));
+
+            if (!canView(viewer, application, applicant)) {
+                throw new AccessDeniedException("해당 휴가원을 조회할 권한이 없습니다.");
+            }
+            return approvalHistoryService.getHistory(id);
+        }
+
         /**
          * 내 휴가원 목록 조회 (신청자 본인)
          */
@@ -1433,6 +1441,7 @@
             }
 
             application.setUpdatedAt(LocalDateTime.now());
+            documentInboxService.leaveApplicationChanged(application.getId());
             LeaveApplication savedApplication = leaveApplicationRepository.save(application);
 
             return getLeaveApplicationDetail(savedApplication.getId(), signerId);
@@ -1508,6 +1517,7 @@
         public void setSubstitute(Long id, String substituteId) {
             LeaveApplication app = getOrThrow(id);
             app.setSubstituteId(substituteId);
+            documentInboxService.leaveApplicationChanged(app.getId());
             leaveApplicationRepository.save(app);
         }
 
@@ -1590,6 +1600,35 @@
                     .findByDocumentIdAndDocumentType(id, DocumentType.LEAVE_APPLICATION)
                     .orElseThrow(() -> new EntityNotFoundException("결재 프로세스를 찾을 수 없습니다."));
 
+            LeaveApplication saved = approveWithApprovalLine(
+                    application, process, approverId, comment, signatureImageUrl, isFinalApproval);
+
+            // ✅ 최종 승인 완료된 연차는 차감
+            if (requiresVacationDeduction(saved)) {
+                try {
+                    saved = deductVacationDaysInSameTransaction(saved);
+                } catch (Exception e) {
+                    log.error("연차 차감 실패: {}", e.getMessage(), e);
+                    throw new IllegalStateException("연차 차감 실패: " + e.getMessage());
+                }
+            }
+            return saved;
+        }
+
+        /**
+         * ✅ 결재라인 승인 1건 (이미 조회한 휴가원/결재 프로세스 사용 - 일괄 승인에서 재사용)
+         * 최종 승인되어도 연차는 차감하지 않으므로, 호출자가 requiresVacationDeduction 확인 후 차감해야 합니다.
+         */
+        @Transactional
+        @CacheEvict(value = "userCache", key = "#result.applicantId")
+        public LeaveApplication approveWithApprovalLine(
+                LeaveApplication application,
+                DocumentApprovalProcess process,
+                String approverId,
+                String comment,
+                String signatureImageUrl,
+                boolean isFinalApproval
+        ) {
             String currentStepBeforeApproval = application.getCurrentApprovalStep();
             Integer currentStepOrderBeforeApproval = application.getCurrentStepOrder();
 
@@ -1602,6 +1641,14 @@
                     isFinalApproval
             );
 
+            approvalHistoryService.record(
+                    application,
+                    approverId,
+                    isFinalApproval ? ApprovalAction.FINAL_APPROVED : ApprovalAction.APPROVED,
+                    currentStepBeforeApproval,
+                    comment
+            );
+
             if (isFinalApproval) {
                 application.setIsFinalApproved(true);
                 application.setFinalApprovalStep(currentStepBeforeApproval);
@@ -1630,44 +1677,45 @@
             // 프로세스 재조회
             process = processRepository.findById(process.getId()).orElseThrow();
 
-            // ✅ 수정: 최종 승인 완료 시 연차 차감
+            // ✅ 최종 승인 완료 (연차 차감은 호출자가 수행)
             if (process.getStatus() == ApprovalProcessStatus.APPROVED) {
                 application.setStatus(LeaveApplicationStatus.APPROVED);
                 application.setPrintable(true);
                 application.setUpdatedAt(LocalDateTime.now());
 
                 // ✅ 먼저 application 저장 (flush하여 DB에 반영)
+                documentInboxService.leaveApplicationChanged(application.getId());
                 LeaveApplication savedApp = leaveApplicationRepository.saveAndFlush(application);
 
-                // ✅ 연차인 경우에만 차감
-                if (savedApp.getLeaveType() == LeaveType.ANNUAL_LEAVE
-                        && savedApp.getTotalDays() != null
-                        && savedApp.getTotalDays() > 0) {
-                    try {
-                        // ✅ startDate 추가
-                        deductVacationDaysInSameTransaction(
-                                savedApp.getApplicantId(),
-                                savedApp.getTotalDays(),
-                                savedApp.getStartDate()
-                        );
-                    } catch (Exception e) {
-                        log.error("연차 차감 실패: {}", e.getMessage(), e);
-                        throw new IllegalStateException("연차 차감 실패: " + e.getMessage());
-                    }
-                }
+                // ✅ 부서 부재 달력 반영
+                leaveCalendarService.recordApprovedApplication(savedApp);
 
                 return savedApp;
             }
 
             application.setUpdatedAt(LocalDateTime.now());
+            documentInboxService.leaveApplicationChanged(application.getId());
             return leaveApplicationRepository.save(application);
         }
 
+        /**
+         * ✅ 최종 승인되어 연차 차감이 필요한 휴가원인지 (연차 + 사용일수 > 0)
+         */
+        public boolean requiresVacationDeduction(LeaveApplication application) {
+            return application.getStatus() == LeaveApplicationStatus.APPROVED
+                    && application.getLeaveType() == LeaveType.ANNUAL_LEAVE
+                    && application.getTotalDays() != null
+                    && application.getTotalDays() > 0;
+        }
+
         /**
          * ✅ 같은 트랜잭션 내에서 연차 차감 (REQUIRES_NEW 제거)
+         * 잔여 연차 UPDATE가 영속성 컨텍스트를 비우므로 휴가원을 다시 조회해 반환합니다.
          */
-        private void deductVacationDaysInSameTransaction(String applicantId, Double days, LocalDate startDate) {
-            vacationService.deductVacationDays(applicantId, days, startDate);
+        private LeaveApplication deductVacationDaysInSameTransaction(LeaveApplication application) {
+            vacationService.deductVacationDays(application.getApplicantId(), application.getTotalDays(),
+                    application.getStartDate(), application.getId());
+            return getOrThrow(application.getId());
         }
 
         /**
@@ -1764,7 +1812,24 @@
                     .findByDocumentIdAndDocumentType(id, DocumentType.LEAVE_APPLICATION)
                     .orElseThrow(() -> new EntityNotFoundException("결재 프로세스를 찾을 수 없습니다."));
 
+            return rejectWithApprovalLine(application, process, approverId, rejectionReason);
+        }
+
+        /**
+         * ✅ 결재라인 반려 1건 (이미 조회한 휴가원/결재 프로세스 사용 - 일괄 반려에서 재사용)
+         */
+        @Transactional
+        @CacheEvict(value = "userCache", key = "#result.applicantId")
+        public LeaveApplication rejectWithApprovalLine(
+                LeaveApplication application,
+                DocumentApprovalProcess process,
+                String approverId,
+                String rejectionReason
+        ) {
+            String currentStepBeforeReject = application.getCurrentApprovalStep();
             approvalProcessService.rejectStep(process.getId(), approverId, rejectionReason);
+            approvalHistoryService.record(
+                    application, approverId, ApprovalAction.REJECTED, currentStepBeforeReject, rejectionReason);
 
             // ✅ [추가] APPROVED 상태의 연차휴가를 반려하는 경우 복구
             if (application.getStatus() == LeaveApplicationStatus.APPROVED
@@ -1774,11 +1839,7 @@
 
                 try {
                     // ✅ startDate 추가
-                    restoreVacationDaysInSameTransaction(
-                            application.getApplicantId(),
-                            application.getTotalDays(),
-                            application.getStartDate()
-                    );
+                    application = restoreVacationDaysInSameTransaction(application);
                     log.info("결재라인 반려 시 연차 복구: userId={}, days={}",
                             application.getApplicantId(), application.getTotalDays());
                 } catch (Exception e) {
@@ -1787,20 +1848,29 @@
                 }
             }
 
+            // ✅ 승인 완료 건이면 부서 부재 달력에서 제거
+            if (application.getStatus() == LeaveApplicationStatus.APPROVED) {
+                leaveCalendarService.removeApplication(application.getId());
+            }
+
             application.setStatus(LeaveApplicationStatus.REJECTED);
             application.setRejectionReason(rejectionReason);
             application.setPrintable(false);
             application.setUpdatedAt(LocalDateTime.now());
 
+            documentInboxService.leaveApplicationChanged(application.getId());
             return leaveApplicationRepository.save(application);
         }
 
 
         /**
          * ✅ 같은 트랜잭션 내에서 연차 복구
+         * 잔여 연차 UPDATE가 영속성 컨텍스트를 비우므로 휴가원을 다시 조회해 반환합니다.
          */
-        private void restoreVacationDaysInSameTransaction(String userId, Double days, LocalDate startDate) {
-            vacationService.restoreVacationDays(userId, days, startDate);
+        private LeaveApplication restoreVacationDaysInSameTransaction(LeaveApplication application) {
+            vacationService.restoreVacationDays(application.getApplicantId(), application.getTotalDays(),
+                    application.getStartDate(), application.getId());
+            return getOrThrow(application.getId());
         }
 
         @Transactional
@@ -1831,11 +1901,7 @@
 
                 try {
                     // ✅ VacationService 사용으로 변경
-                    restoreVacationDaysInSameTransaction(
-                            application.getApplicantId(),
-                            application.getTotalDays(),
-                            application.getStartDate()
-                    );
+                    application = restoreVacationDaysInSameTransaction(application);
                     log.info("연차 복구 완료: userId={}, days={}",
                             application.getApplicantId(), application.getTotalDays());
                 } catch (Exception e) {
@@ -1844,11 +1910,18 @@
                 }
             }
 
+            // ✅ 부서 부재 달력에서 제거
+            leaveCalendarService.removeApplication(application.getId());
+
+            approvalHistoryService.record(
+                    application, requesterId, ApprovalAction.CANCELLED, null, cancellationReason);
+
             // ✅ 상태 변경
             application.setStatus(LeaveApplicationStatus.REJECTED);
             application.setRejectionReason("관리자 취소: " + cancellationReason);
             application.setPrintable(false);
 
+            documentInboxService.leaveApplicationChanged(application.getId());
             return leaveApplicationRepository.save(application);
         }
 
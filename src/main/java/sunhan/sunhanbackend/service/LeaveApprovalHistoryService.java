@@ -0,0 +1,192 @@
+package sunhan.sunhanbackend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import sunhan.sunhanbackend.dto.response.LeaveApprovalHistoryDto;
+import sunhan.sunhanbackend.entity.mysql.LeaveApplication;
+import sunhan.sunhanbackend.entity.mysql.LeaveApprovalHistory;
+import sunhan.sunhanbackend.entity.mysql.UserEntity;
+import sunhan.sunhanbackend.enums.approval.ApprovalAction;
+import sunhan.sunhanbackend.repository.mysql.LeaveApplicationRepository;
+import sunhan.sunhanbackend.repository.mysql.LeaveApprovalHistoryRepository;
+import sunhan.sunhanbackend.repository.mysql.UserRepository;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+/**
+ * 휴가원 결재 이력 서비스
+ * 결재 행위마다 leave_approval_history에 1행을 INSERT합니다. (기존 행 수정/삭제 없음)
+ */
+@Slf4j
+@Service
+public class LeaveApprovalHistoryService {
+
+    private static final int MIGRATION_CHUNK_SIZE = 200;
+
+    private final LeaveApprovalHistoryRepository historyRepository;
+    private final LeaveApplicationRepository leaveApplicationRepository;
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate chunkTransaction;
+
+    public LeaveApprovalHistoryService(LeaveApprovalHistoryRepository historyRepository,
+                                       LeaveApplicationRepository leaveApplicationRepository,
+                                       UserRepository userRepository,
+                                       ObjectMapper objectMapper,
+                                       PlatformTransactionManager transactionManager) {
+        this.historyRepository = historyRepository;
+        this.leaveApplicationRepository = leaveApplicationRepository;
+        this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+        // 마이그레이션 청크마다 새 트랜잭션 (청크 단위로 커밋)
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * 결재 이력 1건 기록 (호출한 트랜잭션에 참여)
+     */
+    @Transactional
+    public LeaveApprovalHistory record(LeaveApplication application, UserEntity actor,
+                                       ApprovalAction action, String stepName, String comment) {
+        LeaveApprovalHistory history = new LeaveApprovalHistory();
+        history.setLeaveApplicationId(application.getId());
+        history.setAction(action);
+        history.setStepName(stepName);
+        history.setActorId(actor != null ? actor.getUserId() : null);
+        history.setActorName(actor != null ? actor.getUserName() : null);
+        history.setActorJobLevel(actor != null ? actor.getJobLevel() : null);
+        history.setComment(comment);
+        history.setActedAt(LocalDateTime.now());
+        return historyRepository.save(history);
+    }
+
+    /**
+     * 처리자 ID로 이력 기록 (처리자 정보는 캐시된 사용자 조회로 스냅샷)
+     */
+    @Transactional
+    public LeaveApprovalHistory record(LeaveApplication application, String actorId,
+                                       ApprovalAction action, String stepName, String comment) {
+        UserEntity actor = userRepository.findByUserId(actorId).orElse(null);
+        LeaveApprovalHistory history = record(application, actor, action, stepName, comment);
+        if (actor == null) {
+            history.setActorId(actorId);
+        }
+        return history;
+    }
+
+    /**
+     * 휴가원별 이력 조회
+     */
+    @Transactional(readOnly = true)
+    public List<LeaveApprovalHistoryDto> getHistory(Long leaveApplicationId) {
+        return historyRepository.findByLeaveApplicationIdOrderByActedAtAscIdAsc(leaveApplicationId).stream()
+                .map(LeaveApprovalHistoryDto::fromEntity)
+                .toList();
+    }
+
+    /**
+     * 내가 처리한 결재 이력 조회
+     */
+    @Transactional(readOnly = true)
+    public Page<LeaveApprovalHistoryDto> getHistoryByActor(String actorId, Pageable pageable) {
+        return historyRepository.findByActorIdOrderByActedAtDescIdDesc(actorId, pageable)
+                .map(LeaveApprovalHistoryDto::fromEntity);
+    }
+
+    /**
+     * ✅ 1회성 마이그레이션: formDataJson.approvalHistory / approval_history 컬럼의 JSON 배열을 이력 테이블로 이관
+     * 이관한 행은 legacy로 표시하고, 이미 legacy 행이 있는 휴가원만 건너뛰므로
+     * 배포 후 새 이력이 생긴 휴가원도 과거 이력이 이관되며 여러 번 실행해도 중복되지 않습니다.
+     * 청크(200건)마다 별도 트랜잭션으로 커밋하므로 중간에 실패해도 이미 커밋된 청크는 유지됩니다. 원본 JSON은 그대로 둡니다.
+     *
+     * @return 이관된 이력 행 수
+     */
+    public int migrateLegacyJsonHistory() {
+        long lastId = 0L;
+        int migrated = 0;
+
+        while (true) {
+            long afterId = lastId;
+            MigrationChunk result = chunkTransaction.execute(status -> migrateChunk(afterId));
+            migrated += result.migrated();
+            if (result.lastId() == null) break;
+
+            lastId = result.lastId();
+            if (result.size() < MIGRATION_CHUNK_SIZE) break;
+        }
+
+        log.info("휴가원 결재 이력 마이그레이션 완료: {}건", migrated);
+        return migrated;
+    }
+
+    private MigrationChunk migrateChunk(long lastId) {
+        List<LeaveApplication> chunk = leaveApplicationRepository.findLegacyApprovalHistoryChunk(
+                lastId, PageRequest.of(0, MIGRATION_CHUNK_SIZE));
+        if (chunk.isEmpty()) {
+            return new MigrationChunk(0, null, 0);
+        }
+
+        Set<Long> alreadyMigrated = new HashSet<>(historyRepository.findLegacyMigratedApplicationIds(
+                chunk.stream().map(LeaveApplication::getId).toList()));
+
+        List<LeaveApprovalHistory> rows = new ArrayList<>();
+        for (LeaveApplication app : chunk) {
+            if (alreadyMigrated.contains(app.getId())) continue;
+            parseLegacyEntries(app.getFormDataJson(), true, app, rows);
+            parseLegacyEntries(app.getApprovalHistory(), false, app, rows);
+        }
+        historyRepository.saveAll(rows);
+
+        return new MigrationChunk(chunk.size(), chunk.get(chunk.size() - 1).getId(), rows.size());
+    }
+
+    private void parseLegacyEntries(String json, boolean nestedInFormData,
+                                    LeaveApplication app, List<LeaveApprovalHistory> out) {
+        if (json == null || json.isBlank()) return;
+        try {
+            JsonNode root = objectMapper.readTree(json);
+            JsonNode array = nestedInFormData ? root.path("approvalHistory") : root;
+            if (!array.isArray()) return;
+
+            for (JsonNode entry : array) {
+                LeaveApprovalHistory history = new LeaveApprovalHistory();
+                history.setLeaveApplicationId(app.getId());
+                // 기존 JSON 이력은 전결 승인 시에만 기록되었음
+                history.setAction(ApprovalAction.FINAL_APPROVED);
+                history.setActorName(entry.path("approverName").asText(null));
+                history.setActorJobLevel(entry.path("approverJobLevel").asText(null));
+                history.setActedAt(parseDateTime(entry.path("approvedAt").asText(null), app));
+                history.setLegacy(true);
+                out.add(history);
+            }
+        } catch (Exception e) {
+            log.warn("결재 이력 JSON 파싱 실패: leaveApplicationId={}, error={}", app.getId(), e.getMessage());
+        }
+    }
+
+    private LocalDateTime parseDateTime(String value, LeaveApplication app) {
+        if (value != null) {
+            try {
+                return LocalDateTime.parse(value);
+            } catch (DateTimeParseException ignored) {
+                // 형식이 다르면 휴가원 수정 시각으로 대체
+            }
+        }
+        return app.getUpdatedAt() != null ? app.getUpdatedAt() : LocalDateTime.now();
+    }
+
+    private record MigrationChunk(int size, Long lastId, int migrated) {
+    }
+}
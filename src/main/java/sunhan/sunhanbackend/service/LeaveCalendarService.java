@@ -0,0 +1,187 @@
+package sunhan.sunhanbackend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import sunhan.sunhanbackend.dto.response.DeptAbsenceCalendarDto;
+import sunhan.sunhanbackend.entity.mysql.*;
+import sunhan.sunhanbackend.enums.LeaveApplicationStatus;
+import sunhan.sunhanbackend.enums.PermissionType;
+import sunhan.sunhanbackend.repository.mysql.DepartmentRepository;
+import sunhan.sunhanbackend.repository.mysql.DeptAbsenceDayRepository;
+import sunhan.sunhanbackend.repository.mysql.LeaveApplicationDayRepository;
+import sunhan.sunhanbackend.repository.mysql.UserRepository;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * 부서 부재 달력 서비스
+ * dept_absence_day 집계 테이블을 휴가원 상태 전이와 같은 트랜잭션에서 유지합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LeaveCalendarService {
+
+    private final DeptAbsenceDayRepository absenceDayRepository;
+    private final LeaveApplicationDayRepository leaveApplicationDayRepository;
+    private final UserRepository userRepository;
+    private final DepartmentRepository departmentRepository;
+    private final UserService userService;
+    private final PermissionService permissionService;
+
+    // 부서 코드에서 baseCode 추출 (예: "OS01" -> "OS", "OS_01" -> "OS")
+    private String getBaseDeptCode(String deptCode) {
+        if (deptCode == null || deptCode.trim().isEmpty()) return deptCode;
+        return deptCode.replaceAll("[_\\-]?\\d+$", "");
+    }
+
+    /**
+     * 승인 완료된 휴가원의 일자를 집계 테이블에 반영 (기존 행은 교체)
+     */
+    @Transactional
+    public void recordApprovedApplication(LeaveApplication application) {
+        absenceDayRepository.deleteByLeaveApplicationId(application.getId());
+
+        if (application.getDays() == null || application.getDays().isEmpty()) {
+            log.warn("부재 달력 반영 생략 (days 없음): applicationId={}", application.getId());
+            return;
+        }
+
+        UserEntity applicant = application.getApplicant() != null
+                ? application.getApplicant()
+                : userRepository.findByUserId(application.getApplicantId()).orElse(null);
+        if (applicant == null || applicant.getDeptCode() == null) {
+            log.warn("부재 달력 반영 생략 (신청자/부서 없음): applicationId={}", application.getId());
+            return;
+        }
+
+        List<DeptAbsenceDay> rows = application.getDays().stream()
+                .map(day -> toAbsenceDay(application, applicant, day))
+                .collect(Collectors.toList());
+        absenceDayRepository.saveAll(rows);
+
+        log.info("부재 달력 반영: applicationId={}, deptCode={}, count={}",
+                application.getId(), rows.get(0).getDeptCode(), rows.size());
+    }
+
+    /**
+     * 반려/취소된 휴가원의 부재 일자 제거
+     */
+    @Transactional
+    public void removeApplication(Long leaveApplicationId) {
+        int deleted = absenceDayRepository.deleteByLeaveApplicationId(leaveApplicationId);
+        if (deleted > 0) {
+            log.info("부재 달력 제거: applicationId={}, count={}", leaveApplicationId, deleted);
+        }
+    }
+
+    /**
+     * 기간 내 집계 테이블 재구축 (기존 데이터 이관 및 복구용)
+     */
+    @Transactional
+    public int rebuild(LocalDate startDate, LocalDate endDate) {
+        absenceDayRepository.deleteByPeriod(startDate, endDate);
+
+        List<LeaveApplicationDay> days = leaveApplicationDayRepository
+                .findByStatusAndDateBetweenWithApplication(LeaveApplicationStatus.APPROVED, startDate, endDate);
+
+        List<DeptAbsenceDay> rows = days.stream()
+                .filter(day -> day.getLeaveApplication().getApplicant() != null
+                        && day.getLeaveApplication().getApplicant().getDeptCode() != null)
+                .map(day -> toAbsenceDay(day.getLeaveApplication(), day.getLeaveApplication().getApplicant(), day))
+                .collect(Collectors.toList());
+        absenceDayRepository.saveAll(rows);
+
+        log.info("부재 달력 재구축 완료: {} ~ {}, {}건", startDate, endDate, rows.size());
+        return rows.size();
+    }
+
+    /**
+     * 부서 월간 부재 달력 조회
+     * 부서장(본인 부서), 인사 권한자, 관리자만 조회 가능
+     */
+    @Transactional(readOnly = true)
+    public DeptAbsenceCalendarDto getDepartmentCalendar(String requesterId, String deptCode, YearMonth month) {
+        UserEntity requester = userService.getUserInfo(requesterId);
+        String baseCode = getBaseDeptCode(deptCode != null && !deptCode.isBlank() ? deptCode : requester.getDeptCode());
+
+        if (!canViewDepartment(requester, baseCode)) {
+            throw new AccessDeniedException("해당 부서의 부재 현황을 조회할 권한이 없습니다.");
+        }
+
+        LocalDate startDate = month.atDay(1);
+        LocalDate endDate = month.atEndOfMonth();
+
+        Map<LocalDate, List<DeptAbsenceCalendarDto.Absentee>> byDate = absenceDayRepository
+                .findByDeptCodeAndPeriod(baseCode, startDate, endDate).stream()
+                .collect(Collectors.groupingBy(
+                        DeptAbsenceDay::getAbsenceDate,
+                        Collectors.mapping(row -> DeptAbsenceCalendarDto.Absentee.builder()
+                                .userId(row.getUserId())
+                                .userName(row.getUserName())
+                                .leaveApplicationId(row.getLeaveApplicationId())
+                                .leaveType(row.getLeaveType())
+                                .halfDayType(row.getHalfDayType())
+                                .days(row.getDays())
+                                .build(), Collectors.toList())
+                ));
+
+        List<DeptAbsenceCalendarDto.DayRoster> roster = new ArrayList<>(month.lengthOfMonth());
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            roster.add(DeptAbsenceCalendarDto.DayRoster.builder()
+                    .date(date)
+                    .absentees(byDate.getOrDefault(date, Collections.emptyList()))
+                    .build());
+        }
+
+        String deptName = departmentRepository.findByDeptCode(baseCode)
+                .map(Department::getDeptName)
+                .orElse(baseCode);
+
+        return DeptAbsenceCalendarDto.builder()
+                .deptCode(baseCode)
+                .deptName(deptName)
+                .month(month.toString())
+                .days(roster)
+                .build();
+    }
+
+    private boolean canViewDepartment(UserEntity requester, String baseCode) {
+        int jobLevel = jobLevelOf(requester);
+        if (jobLevel == 6 || requester.isAdmin()) {
+            return true;
+        }
+        if (permissionService.hasPermission(requester.getUserId(), PermissionType.HR_LEAVE_APPLICATION)) {
+            return true;
+        }
+        return jobLevel >= 1 && Objects.equals(getBaseDeptCode(requester.getDeptCode()), baseCode);
+    }
+
+    // 직급 숫자 (형식이 잘못되었거나 없으면 -1)
+    private static int jobLevelOf(UserEntity user) {
+        try {
+            return user.getJobLevel() != null ? Integer.parseInt(user.getJobLevel().trim()) : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private DeptAbsenceDay toAbsenceDay(LeaveApplication application, UserEntity applicant, LeaveApplicationDay day) {
+        DeptAbsenceDay row = new DeptAbsenceDay();
+        row.setDeptCode(getBaseDeptCode(applicant.getDeptCode()));
+        row.setAbsenceDate(day.getDate());
+        row.setUserId(applicant.getUserId());
+        row.setUserName(applicant.getUserName());
+        row.setLeaveApplicationId(application.getId());
+        row.setLeaveType(application.getLeaveType());
+        row.setHalfDayType(day.getHalfDayType());
+        row.setDays(day.getDays());
+        return row;
+    }
+}
@@ -0,0 +1,139 @@
+package sunhan.sunhanbackend.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * ✅ 서로 독립적인 조회 쿼리 병렬 실행 (가상 스레드)
+ * 각 조회는 가상 스레드에서 자체 읽기 전용 트랜잭션(별도 커넥션)으로 실행되고, 결과는 전달한 순서대로 반환합니다.
+ * 동시에 병렬 실행되는 조회 수는 커넥션 예산(maxConcurrentQueries)으로 제한하며,
+ * 예산이 없으면 해당 조회는 호출 스레드에서 기존처럼 순서대로 실행합니다.
+ * 하나라도 실패하거나 제한 시간을 넘기면 나머지 조회를 취소하고 예외를 던집니다.
+ */
+@Service
+public class ParallelReadExecutor {
+
+    private final TransactionTemplate readOnlyTransaction;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore connectionBudget;
+    private final long taskTimeoutMillis;
+
+    public ParallelReadExecutor(PlatformTransactionManager transactionManager,
+                                @Value("${reports.fan-out.max-concurrent-queries:16}") int maxConcurrentQueries,
+                                @Value("${reports.fan-out.task-timeout-ms:5000}") long taskTimeoutMillis) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.connectionBudget = new Semaphore(maxConcurrentQueries);
+        this.taskTimeoutMillis = taskTimeoutMillis;
+    }
+
+    /**
+     * ✅ 조회 병렬 실행 (결과는 queries 순서와 동일)
+     */
+    @SafeVarargs
+    public final <T> List<T> readAll(Supplier<T>... queries) {
+        return readAll(Arrays.asList(queries));
+    }
+
+    /**
+     * ✅ 조회 병렬 실행 (결과는 queries 순서와 동일)
+     */
+    public <T> List<T> readAll(List<Supplier<T>> queries) {
+        if (queries.size() <= 1) {
+            return queries.stream().map(Supplier::get).toList();
+        }
+
+        List<Future<T>> futures = new ArrayList<>(queries.size());
+        try {
+            for (Supplier<T> query : queries) {
+                futures.add(connectionBudget.tryAcquire() ? submit(query) : null);
+            }
+
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(taskTimeoutMillis);
+
+            // 예산을 받지 못한 조회는 호출 스레드(호출자 트랜잭션)에서 실행
+            List<T> results = new ArrayList<>(queries.size());
+            for (int i = 0; i < queries.size(); i++) {
+                results.add(futures.get(i) == null ? queries.get(i).get() : null);
+            }
+
+            for (int i = 0; i < futures.size(); i++) {
+                Future<T> future = futures.get(i);
+                if (future != null) {
+                    results.set(i, await(future, deadline));
+                }
+            }
+            return results;
+        } finally {
+            // 실패/시간 초과 시 남은 조회 취소 (이미 끝난 조회에는 영향 없음)
+            futures.stream().filter(f -> f != null && !f.isDone()).forEach(f -> f.cancel(true));
+        }
+    }
+
+    private <T> Future<T> submit(Supplier<T> query) {
+        // 예산은 조회가 끝나거나, 시작 전에 취소된 경우 한 번만 반납
+        AtomicBoolean started = new AtomicBoolean();
+        FutureTask<T> task = new FutureTask<>(() -> {
+            if (!started.compareAndSet(false, true)) {
+                return null;
+            }
+            try {
+                return readOnlyTransaction.execute(status -> query.get());
+            } finally {
+                connectionBudget.release();
+            }
+        }) {
+            @Override
+            protected void done() {
+                if (started.compareAndSet(false, true)) {
+                    connectionBudget.release();
+                }
+            }
+        };
+
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            task.cancel(false);
+            throw e;
+        }
+        return task;
+    }
+
+    private <T> T await(Future<T> future, long deadlineNanos) {
+        try {
+            return future.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("조회 시간이 초과되었습니다. (" + taskTimeoutMillis + "ms)", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("조회가 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("조회 중 오류가 발생했습니다.", cause);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,237 @@
+package sunhan.sunhanbackend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ✅ 로그인 비밀번호(BCrypt) 검증 전용 스레드 풀
+ * 검증은 요청 스레드가 아닌 크기가 정해진 풀에서 실행하므로 로그인이 몰려도 CPU를 모두 차지하지 않습니다.
+ * 사용자/IP별 토큰 버킷으로 시도 횟수를 제한하고, 버킷이 비었거나 대기열이 가득 찼거나
+ * 제한 시간 안에 검증하지 못하면 즉시 LoginThrottledException(429)을 던집니다.
+ * IP는 신뢰하는 프록시가 넘긴 X-Forwarded-For 기준의 실제 클라이언트 IP이며(server.forward-headers-strategy),
+ * 병원 NAT처럼 여러 사용자가 한 IP를 쓰는 환경은 IP 버킷 용량을 늘리거나 0 이하로 두어 끌 수 있습니다.
+ */
+@Slf4j
+@Service
+public class PasswordVerificationPool {
+
+    private static final int MAX_BUCKETS = 10_000;
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+    private final BucketSpec userBucket;
+    private final BucketSpec ipBucket;
+
+    private final Map<String, TokenBucket> userBuckets = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> ipBuckets = new ConcurrentHashMap<>();
+
+    private final Timer matchedTimer;
+    private final Timer mismatchedTimer;
+    private final MeterRegistry meterRegistry;
+
+    public PasswordVerificationPool(PasswordEncoder passwordEncoder,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${auth.password-verify.threads:0}") int threads,
+                                    @Value("${auth.password-verify.queue-capacity:64}") int queueCapacity,
+                                    @Value("${auth.password-verify.timeout-ms:3000}") long timeoutMillis,
+                                    @Value("${auth.login-rate.per-user.capacity:5}") int userCapacity,
+                                    @Value("${auth.login-rate.per-user.refill-per-minute:5}") int userRefillPerMinute,
+                                    @Value("${auth.login-rate.per-ip.capacity:60}") int ipCapacity,
+                                    @Value("${auth.login-rate.per-ip.refill-per-minute:120}") int ipRefillPerMinute) {
+        this.passwordEncoder = passwordEncoder;
+        this.meterRegistry = meterRegistry;
+        this.timeoutMillis = timeoutMillis;
+        this.userBucket = new BucketSpec(userCapacity, userRefillPerMinute);
+        this.ipBucket = ipCapacity > 0 ? new BucketSpec(ipCapacity, ipRefillPerMinute) : null;
+
+        // 기본값: 코어의 절반 (나머지 코어는 다른 API 처리용으로 남김)
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-verify-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.matchedTimer = Timer.builder("auth.password_verification")
+                .tag("result", "match")
+                .description("비밀번호 검증 시간 (대기 시간 제외)")
+                .register(meterRegistry);
+        this.mismatchedTimer = Timer.builder("auth.password_verification")
+                .tag("result", "mismatch")
+                .description("비밀번호 검증 시간 (대기 시간 제외)")
+                .register(meterRegistry);
+        meterRegistry.gauge("auth.password_verification.queue", executor, pool -> pool.getQueue().size());
+        meterRegistry.gauge("auth.password_verification.active", executor, ThreadPoolExecutor::getActiveCount);
+
+        log.info("비밀번호 검증 풀: 스레드 {}개, 대기열 {}건, 제한 시간 {}ms, IP 제한 {}", poolSize, queueCapacity, timeoutMillis,
+                ipBucket != null ? ipCapacity + "회/" + ipRefillPerMinute + "분당" : "사용 안 함");
+    }
+
+    /**
+     * ✅ 로그인 시도 허용 여부 확인 (IP, 사용자 순으로 토큰 1개씩 사용)
+     * 비밀번호 검증 전에 호출하며, 존재하지 않는 사용자에 대한 시도도 포함합니다.
+     */
+    public void acquireAttempt(String userId, String clientIp) {
+        if (ipBucket != null && clientIp != null && !bucketOf(ipBuckets, clientIp, ipBucket).tryConsume()) {
+            throw throttled("ip", "같은 IP에서 로그인 시도가 너무 많습니다. 잠시 후 다시 시도해주세요.", ipBucket);
+        }
+        if (userId != null && !bucketOf(userBuckets, userId.toLowerCase(), userBucket).tryConsume()) {
+            throw throttled("user", "로그인 시도가 너무 많습니다. 잠시 후 다시 시도해주세요.", userBucket);
+        }
+    }
+
+    /**
+     * ✅ 비밀번호 검증 (전용 풀에서 실행, 호출 스레드는 결과를 기다림)
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        Future<Boolean> future;
+        try {
+            future = executor.submit(() -> verify(rawPassword, encodedPassword));
+        } catch (RejectedExecutionException e) {
+            throw throttled("saturated", "로그인 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요.", null);
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw throttled("timeout", "로그인 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요.", null);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("비밀번호 검증이 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("비밀번호 검증 중 오류가 발생했습니다.", cause);
+        }
+    }
+
+    private boolean verify(String rawPassword, String encodedPassword) {
+        long start = System.nanoTime();
+        boolean matched = encodedPassword != null && passwordEncoder.matches(rawPassword, encodedPassword);
+        (matched ? matchedTimer : mismatchedTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return matched;
+    }
+
+    private LoginThrottledException throttled(String reason, String message, BucketSpec spec) {
+        Counter.builder("auth.login.throttled")
+                .tag("reason", reason)
+                .description("로그인 제한 (429) 횟수")
+                .register(meterRegistry)
+                .increment();
+        log.warn("로그인 제한: reason={}, queue={}, active={}", reason, executor.getQueue().size(), executor.getActiveCount());
+        long retryAfterSeconds = spec != null ? spec.secondsPerToken() : 1;
+        return new LoginThrottledException(message, retryAfterSeconds);
+    }
+
+    private TokenBucket bucketOf(Map<String, TokenBucket> buckets, String key, BucketSpec spec) {
+        TokenBucket bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(spec));
+        if (buckets.size() > MAX_BUCKETS) {
+            trim(buckets);
+        }
+        return bucket;
+    }
+
+    /**
+     * 최대 건수를 넘으면 가득 찬(쉬고 있는) 버킷을 먼저 지우고, 그래도 넘으면 가장 오래 쓰이지 않은 버킷부터 10% 여유가 생길 때까지 제거
+     */
+    private void trim(Map<String, TokenBucket> buckets) {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+
+        int overflow = buckets.size() - MAX_BUCKETS;
+        if (overflow <= 0) {
+            return;
+        }
+        int removeCount = overflow + MAX_BUCKETS / 10;
+        buckets.entrySet().stream()
+                .sorted(Comparator.comparingLong(entry -> entry.getValue().lastRefillNanos))
+                .limit(removeCount)
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(buckets::remove);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 로그인 시도 제한 초과 / 검증 풀 포화 (429 Too Many Requests)
+     */
+    @Getter
+    public static class LoginThrottledException extends RuntimeException {
+        private final long retryAfterSeconds;
+
+        public LoginThrottledException(String message, long retryAfterSeconds) {
+            super(message);
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+    }
+
+    private record BucketSpec(int capacity, int refillPerMinute) {
+
+        private double tokensPerNano() {
+            return refillPerMinute / (double) TimeUnit.MINUTES.toNanos(1);
+        }
+
+        private long secondsPerToken() {
+            return Math.max(1, (long) Math.ceil(60.0 / Math.max(1, refillPerMinute)));
+        }
+    }
+
+    private static final class TokenBucket {
+        private final BucketSpec spec;
+        private double tokens;
+        private volatile long lastRefillNanos;
+
+        private TokenBucket(BucketSpec spec) {
+            this.spec = spec;
+            this.tokens = spec.capacity();
+            this.lastRefillNanos = System.nanoTime();
+        }
+
+        private synchronized boolean tryConsume() {
+            refill(System.nanoTime());
+            if (tokens < 1) {
+                return false;
+            }
+            tokens -= 1;
+            return true;
+        }
+
+        private synchronized boolean isFull(long now) {
+            refill(now);
+            return tokens >= spec.capacity();
+        }
+
+        private void refill(long now) {
+            long elapsed = now - lastRefillNanos;
+            if (elapsed > 0) {
+                tokens = Math.min(spec.capacity(), tokens + elapsed * spec.tokensPerNano());
+                lastRefillNanos = now;
+            }
+        }
+    }
+}
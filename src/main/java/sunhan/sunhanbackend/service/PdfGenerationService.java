@@ -33,6 +33,7 @@ public class PdfGenerationService {
     private final WorkScheduleService workScheduleService;
     private final WorkScheduleRepository scheduleRepository;
     private final ConsentAgreementRepository agreementRepository;
+    private final DocumentInboxService documentInboxService;
 
     @Value("${holiday.api.key}")
     private String holidayApiKey;
@@ -58,6 +59,7 @@ public class PdfGenerationService {
             contract.setPdfUrl(pdfUrl);
             contract.setPrintable(true);
             contractRepository.save(contract);
+            documentInboxService.contractChanged(contractId);
             log.info("[Async] 근로계약서 PDF 생성 및 저장 완료: id={}", contractId);
         } catch (Exception e) {
             log.error("[Async] 근로계약서 PDF 생성 중 오류 발생: id={}", contractId, e);
@@ -78,6 +80,7 @@ public class PdfGenerationService {
             // PDF URL 업데이트 (printable은 이미 이전 단계에서 true가 됨)
             application.setPdfUrl(pdfUrl);
             leaveApplicationRepository.save(application);
+            documentInboxService.leaveApplicationChanged(applicationId);
             log.info("[Async] 휴가신청서 PDF 생성 및 저장 완료: id={}", applicationId);
         } catch (Exception e) {
             log.error("[Async] 휴가신청서 PDF 생성 중 오류 발생: id={}", applicationId, e);
@@ -115,6 +118,7 @@ public class PdfGenerationService {
 
             schedule.setPdfUrl(pdfUrl);
             scheduleRepository.save(schedule);
+            documentInboxService.workScheduleChanged(scheduleId);
             log.info("[Async] 근무표 PDF 생성 및 저장 완료: id={}, pdfUrl={}", scheduleId, pdfUrl);  // 성공 로그 추가
         } catch (Exception e) {
             log.error("[Async] 근무표 PDF 생성 중 오류 발생: id={}", scheduleId, e);  // 상세 에러 로그
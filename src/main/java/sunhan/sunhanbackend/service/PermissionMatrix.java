@@ -0,0 +1,194 @@
+package sunhan.sunhanbackend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import sunhan.sunhanbackend.entity.mysql.DeptPermissionEntity;
+import sunhan.sunhanbackend.entity.mysql.UserPermissionEntity;
+import sunhan.sunhanbackend.enums.PermissionType;
+import sunhan.sunhanbackend.repository.mysql.DeptPermissionRepository;
+import sunhan.sunhanbackend.repository.mysql.UserPermissionRepository;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * ✅ 개인/부서 권한 매트릭스 (userId → 권한, deptCode → 권한의 불변 스냅샷)
+ * 조회는 현재 스냅샷의 EnumSet 비트 검사만 하므로 잠금이 없고,
+ * 권한 부여/제거가 커밋되면 바뀐 사용자(또는 부서)의 행만 다시 읽어 새 스냅샷으로 교체합니다.
+ * 스냅샷 교체는 한 번에 하나씩 수행하므로 늦게 읽은 값이 먼저 읽은 값을 덮어쓰지 않습니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PermissionMatrix {
+
+    private final UserPermissionRepository userPermissionRepository;
+    private final DeptPermissionRepository deptPermissionRepository;
+
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+    // 스냅샷을 만드는 쪽(전체 로드/부분 교체)만 직렬화 - 조회는 잠그지 않음
+    private final ReentrantLock publishLock = new ReentrantLock();
+
+    /**
+     * 개인에게 직접 부여된 권한 (없으면 빈 집합)
+     */
+    public Set<PermissionType> userGrants(String userId) {
+        return snapshot().users().getOrDefault(userId, Collections.emptySet());
+    }
+
+    /**
+     * 부서에 부여된 권한 (없으면 빈 집합)
+     */
+    public Set<PermissionType> deptGrants(String deptCode) {
+        if (deptCode == null) {
+            return Collections.emptySet();
+        }
+        return snapshot().depts().getOrDefault(deptCode, Collections.emptySet());
+    }
+
+    /**
+     * ✅ 커밋 이후 사용자 개인 권한만 다시 읽어 스냅샷 교체
+     */
+    public void reloadUserAfterCommit(String userId) {
+        runAfterCommit(() -> publish(snapshot -> snapshot.withUser(userId,
+                toEnumSet(userPermissionRepository.findByUserId(userId).stream()
+                        .map(UserPermissionEntity::getPermissionType)
+                        .toList()))));
+    }
+
+    /**
+     * ✅ 커밋 이후 부서 권한만 다시 읽어 스냅샷 교체
+     */
+    public void reloadDeptAfterCommit(String deptCode) {
+        runAfterCommit(() -> publish(snapshot -> snapshot.withDept(deptCode,
+                toEnumSet(deptPermissionRepository.findByDeptCode(deptCode).stream()
+                        .map(DeptPermissionEntity::getPermissionType)
+                        .toList()))));
+    }
+
+    /**
+     * 10분마다 전체 권한을 다시 읽어 교체 (이 서비스를 거치지 않은 변경 반영)
+     */
+    @Scheduled(fixedDelay = 600_000, initialDelay = 600_000)
+    public void scheduledRebuild() {
+        try {
+            if (current.get() != null) {
+                rebuild();
+            }
+        } catch (Exception e) {
+            log.error("권한 매트릭스 재구성 실패", e);
+        }
+    }
+
+    /**
+     * ✅ 전체 권한을 읽어 새 스냅샷 교체
+     */
+    public void rebuild() {
+        publishLock.lock();
+        try {
+            current.set(loadAll());
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    private Snapshot snapshot() {
+        Snapshot snapshot = current.get();
+        if (snapshot != null) {
+            return snapshot;
+        }
+        publishLock.lock();
+        try {
+            if (current.get() == null) {
+                current.set(loadAll());
+            }
+            return current.get();
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    private void publish(Function<Snapshot, Snapshot> change) {
+        publishLock.lock();
+        try {
+            Snapshot snapshot = current.get();
+            // 아직 한 번도 로드되지 않았으면 첫 조회 때 전체를 읽으므로 교체할 필요 없음
+            if (snapshot != null) {
+                current.set(change.apply(snapshot));
+            }
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    private Snapshot loadAll() {
+        Map<String, List<PermissionType>> users = new HashMap<>();
+        for (UserPermissionEntity permission : userPermissionRepository.findAll()) {
+            users.computeIfAbsent(permission.getUserId(), k -> new ArrayList<>()).add(permission.getPermissionType());
+        }
+        Map<String, List<PermissionType>> depts = new HashMap<>();
+        for (DeptPermissionEntity permission : deptPermissionRepository.findAll()) {
+            depts.computeIfAbsent(permission.getDeptCode(), k -> new ArrayList<>()).add(permission.getPermissionType());
+        }
+
+        Snapshot snapshot = new Snapshot(compile(users), compile(depts));
+        log.info("권한 매트릭스 로드: 사용자 {}명, 부서 {}개", snapshot.users().size(), snapshot.depts().size());
+        return snapshot;
+    }
+
+    private static Map<String, Set<PermissionType>> compile(Map<String, List<PermissionType>> grants) {
+        Map<String, Set<PermissionType>> compiled = new HashMap<>();
+        grants.forEach((key, permissions) -> compiled.put(key, toEnumSet(permissions)));
+        return Map.copyOf(compiled);
+    }
+
+    private static Set<PermissionType> toEnumSet(Collection<PermissionType> permissions) {
+        EnumSet<PermissionType> set = EnumSet.noneOf(PermissionType.class);
+        permissions.stream().filter(Objects::nonNull).forEach(set::add);
+        return Collections.unmodifiableSet(set);
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * 불변 권한 스냅샷 (교체 시 바뀐 키만 새 맵에 반영)
+     */
+    private record Snapshot(Map<String, Set<PermissionType>> users, Map<String, Set<PermissionType>> depts) {
+
+        private Snapshot withUser(String userId, Set<PermissionType> permissions) {
+            return new Snapshot(replace(users, userId, permissions), depts);
+        }
+
+        private Snapshot withDept(String deptCode, Set<PermissionType> permissions) {
+            return new Snapshot(users, replace(depts, deptCode, permissions));
+        }
+
+        private static Map<String, Set<PermissionType>> replace(Map<String, Set<PermissionType>> source,
+                                                                String key, Set<PermissionType> permissions) {
+            Map<String, Set<PermissionType>> updated = new HashMap<>(source);
+            if (permissions.isEmpty()) {
+                updated.remove(key);
+            } else {
+                updated.put(key, permissions);
+            }
+            return Map.copyOf(updated);
+        }
+    }
+}
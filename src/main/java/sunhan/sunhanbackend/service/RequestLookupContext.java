@@ -0,0 +1,138 @@
+package sunhan.sunhanbackend.service;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import sunhan.sunhanbackend.entity.mysql.UserEntity;
+import sunhan.sunhanbackend.enums.PermissionType;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * ✅ 요청 범위 사용자/권한 조회 재사용 (identity map)
+ * 한 요청 안에서 같은 사용자 정보와 권한 집합을 여러 번 조회하면 처음 조회한 결과를 그대로 돌려주고,
+ * 실제 조회(loads)와 재사용(reuses) 횟수를 요청별로 집계합니다.
+ * JwtAuthenticationFilter가 요청 시작 시 컨텍스트를 만들고, 요청 스레드가 아닌 곳(비동기/병렬 조회)에서는 매번 조회합니다.
+ * OSIV로 요청 동안 영속성 컨텍스트가 유지되므로 재사용하는 엔티티는 같은 요청의 영속 엔티티와 동일합니다.
+ */
+@Slf4j
+@Component
+public class RequestLookupContext {
+
+    private static final String ATTRIBUTE_KEY = "REQUEST_LOOKUP_CONTEXT";
+
+    /**
+     * 요청 시작 (필터에서 호출)
+     */
+    public Lookups begin(HttpServletRequest request) {
+        Lookups lookups = new Lookups();
+        request.setAttribute(ATTRIBUTE_KEY, lookups);
+        return lookups;
+    }
+
+    /**
+     * 현재 요청의 조회 집계 (요청 컨텍스트가 없으면 null)
+     */
+    public Lookups current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        return (Lookups) attributes.getAttribute(ATTRIBUTE_KEY, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    /**
+     * 사용자 조회 (같은 요청에서 이미 조회했으면 재사용, loader가 null을 돌려주면 보관하지 않음)
+     */
+    public UserEntity user(String userId, Function<String, UserEntity> loader) {
+        Lookups lookups = current();
+        if (lookups == null || userId == null) {
+            return loader.apply(userId);
+        }
+
+        UserEntity cached = lookups.users.get(userId);
+        if (cached != null) {
+            lookups.userReuses.incrementAndGet();
+            return cached;
+        }
+
+        lookups.userLoads.incrementAndGet();
+        UserEntity loaded = loader.apply(userId);
+        if (loaded != null) {
+            lookups.users.put(userId, loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * 권한 집합 조회 (같은 요청에서 이미 조회했으면 재사용, 변경 불가 집합 반환)
+     */
+    public Set<PermissionType> permissions(String userId, Function<String, Set<PermissionType>> loader) {
+        Lookups lookups = current();
+        if (lookups == null || userId == null) {
+            return Collections.unmodifiableSet(loader.apply(userId));
+        }
+
+        Set<PermissionType> cached = lookups.permissions.get(userId);
+        if (cached != null) {
+            lookups.permissionReuses.incrementAndGet();
+            return cached;
+        }
+
+        lookups.permissionLoads.incrementAndGet();
+        Set<PermissionType> loaded = Collections.unmodifiableSet(loader.apply(userId));
+        lookups.permissions.put(userId, loaded);
+        return loaded;
+    }
+
+    /**
+     * 현재 요청의 권한 집합 제거 (같은 요청 안에서 권한을 바꾼 경우)
+     */
+    public void clearPermissions() {
+        Lookups lookups = current();
+        if (lookups != null) {
+            lookups.permissions.clear();
+        }
+    }
+
+    /**
+     * 요청별 조회 집계
+     */
+    public static final class Lookups {
+        private final Map<String, UserEntity> users = new ConcurrentHashMap<>();
+        private final Map<String, Set<PermissionType>> permissions = new ConcurrentHashMap<>();
+        private final AtomicInteger userLoads = new AtomicInteger();
+        private final AtomicInteger userReuses = new AtomicInteger();
+        private final AtomicInteger permissionLoads = new AtomicInteger();
+        private final AtomicInteger permissionReuses = new AtomicInteger();
+
+        public int userLoads() {
+            return userLoads.get();
+        }
+
+        public int userReuses() {
+            return userReuses.get();
+        }
+
+        public int permissionLoads() {
+            return permissionLoads.get();
+        }
+
+        public int permissionReuses() {
+            return permissionReuses.get();
+        }
+
+        @Override
+        public String toString() {
+            return "users(load=" + userLoads + ", reuse=" + userReuses + "), permissions(load="
+                    + permissionLoads + ", reuse=" + permissionReuses + ")";
+        }
+    }
+}
@@ -46,17 +46,23 @@ public class UserService {
     private final PermissionService permissionService;
     private final VacationService vacationService;
     private final DepartmentRepository departmentRepository;
+    private final AuthPrincipalCache authPrincipalCache;
+    private final PasswordVerificationPool passwordVerificationPool;
+    private final RequestLookupContext requestLookupContext;
 
     @Value("${file.upload.sign-dir}")
     private String uploadDir;  // "/uploads/signatures/"
 
     @Autowired
-    public UserService(UserRepository userRepository, PasswordEncoder passwdEncoder, PermissionService permissionService, DepartmentRepository departmentRepository, @Lazy VacationService vacationService) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwdEncoder, PermissionService permissionService, DepartmentRepository departmentRepository, @Lazy VacationService vacationService, AuthPrincipalCache authPrincipalCache, PasswordVerificationPool passwordVerificationPool, RequestLookupContext requestLookupContext) {
         this.userRepository = userRepository;
         this.passwdEncoder = passwdEncoder;
         this.permissionService = permissionService;
         this.departmentRepository = departmentRepository;
         this.vacationService = vacationService;
+        this.authPrincipalCache = authPrincipalCache;
+        this.passwordVerificationPool = passwordVerificationPool;
+        this.requestLookupContext = requestLookupContext;
     }
 
     /**
@@ -77,9 +83,21 @@ public class UserService {
     @Cacheable(value = "userCache", key = "#userId", unless = "#result == null")
     @Transactional(readOnly = true)
     public UserEntity getUserInfo(String userId) {
-        // fetch-join 사용: department 프록시를 트랜잭션 안에서 초기화
-        return userRepository.findByUserIdWithDepartment(userId)
-                .orElseThrow(() -> new EntityNotFoundException("User not found: " + userId));
+        // fetch-join 사용: department 프록시를 트랜잭션 안에서 초기화 (같은 요청 안에서는 한 번만 조회)
+        UserEntity user = requestLookupContext.user(userId,
+                id -> userRepository.findByUserIdWithDepartment(id).orElse(null));
+        if (user == null) {
+            throw new EntityNotFoundException("User not found: " + userId);
+        }
+        return user;
+    }
+
+    /**
+     * 사용자 조회 (없으면 empty, 같은 요청 안에서는 한 번만 조회)
+     */
+    public Optional<UserEntity> findUser(String userId) {
+        return Optional.ofNullable(requestLookupContext.user(userId,
+                id -> userRepository.findByUserId(id).orElse(null)));
     }
 
     @Transactional(readOnly = true)
@@ -181,15 +199,18 @@ public class UserService {
 
     /**
      * 로그인 인증 메서드 (Oracle 마이그레이션 로직 제거)
+     * ✅ 사용자/IP별 시도 제한 후 비밀번호는 전용 검증 풀에서 확인 (제한 초과/포화 시 LoginThrottledException)
+     * ✅ 조회만 하므로 트랜잭션 없이 실행 (검증을 기다리는 동안 DB 커넥션을 잡지 않음)
      */
-    @Transactional
-    public boolean authenticateUser(String userId, String password) {
+    public boolean authenticateUser(String userId, String password, String clientIp) {
+        passwordVerificationPool.acquireAttempt(userId, clientIp);
+
         // 1. 'administrator' 계정 예외 처리
         if ("administrator".equalsIgnoreCase(userId)) {
             log.info("administrator 로그인 시도");
             Optional<UserEntity> adminUser = userRepository.findByUserId(userId);
             if (adminUser.isPresent()) {
-                boolean matches = passwdEncoder.matches(password, adminUser.get().getPasswd());
+                boolean matches = passwordVerificationPool.matches(password, adminUser.get().getPasswd());
                 log.info("✅ Administrator 인증 결과: {}", matches);
                 return matches;
             } else {
@@ -214,7 +235,7 @@ public class UserService {
         }
 
         // 4. 비밀번호 검증
-        boolean result = passwdEncoder.matches(password, user.getPasswd());
+        boolean result = passwordVerificationPool.matches(password, user.getPasswd());
         log.info("✅ 사용자 인증 결과 ({}): {}", userId, result);
         return result;
     }
@@ -417,6 +438,7 @@ public class UserService {
 
             target.setRole(Role.ADMIN);
             userRepository.saveAndFlush(target); // 즉시 DB에 반영
+            authPrincipalCache.invalidateAfterCommit(targetUserId);
 
             log.info("사용자 {}가 {}에게 ADMIN 권한 부여 완료", adminUserId, targetUserId);
 
@@ -464,6 +486,7 @@ public class UserService {
         });
 
         userRepository.saveAll(targets); // 배치 저장
+        authPrincipalCache.invalidateAfterCommit(targets.stream().map(UserEntity::getUserId).toList());
     }
 
     /**
@@ -515,6 +538,7 @@ public class UserService {
         }
 
         userRepository.saveAndFlush(target);
+        authPrincipalCache.invalidateAfterCommit(targetUserId);
         log.info("사용자 {}가 {}의 JobLevel을 {}에서 {}로 변경",
                 adminUserId, targetUserId, oldJobLevel, newJobLevel);
     }
@@ -734,6 +758,7 @@ public class UserService {
 
             target.setRole(Role.USER);
             userRepository.saveAndFlush(target); // 즉시 DB에 반영
+            authPrincipalCache.invalidateAfterCommit(targetUserId);
 
             log.info("사용자 {}가 {}의 ADMIN 권한 제거 완료", adminUserId, targetUserId);
 
@@ -1040,6 +1065,7 @@ public class UserService {
         targetUser.setDeptCode(newDeptCode);
 
         UserEntity savedUser = userRepository.saveAndFlush(targetUser);
+        authPrincipalCache.invalidateAfterCommit(targetUserId);
         log.info("✅ 부서 변경 완료: userId={}, {} → {}", targetUserId, oldDeptCode, newDeptCode);
 
         return savedUser;
@@ -1070,6 +1096,7 @@ public class UserService {
         targetUser.setUseFlag(newStatus);
 
         UserEntity savedUser = userRepository.saveAndFlush(targetUser);
+        authPrincipalCache.invalidateAfterCommit(targetUserId);
         log.info("✅ 사용자 상태 변경: userId={}, useFlag={}", targetUserId, newStatus);
 
         return savedUser;
@@ -0,0 +1,205 @@
+package sunhan.sunhanbackend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import sunhan.sunhanbackend.dto.response.VacationLedgerDto;
+import sunhan.sunhanbackend.entity.mysql.Department;
+import sunhan.sunhanbackend.entity.mysql.LeaveApplication;
+import sunhan.sunhanbackend.entity.mysql.LeaveApplicationDay;
+import sunhan.sunhanbackend.entity.mysql.UserAnnualVacationHistory;
+import sunhan.sunhanbackend.entity.mysql.UserEntity;
+import sunhan.sunhanbackend.enums.LeaveType;
+import sunhan.sunhanbackend.repository.mysql.DepartmentRepository;
+import sunhan.sunhanbackend.repository.mysql.LeaveApplicationRepository;
+import sunhan.sunhanbackend.repository.mysql.UserAnnualVacationHistoryRepository;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * ✅ 휴가 관리대장 생성기
+ * 사용자 묶음의 승인 휴가원(일자 포함)과 연차 이력을 각각 한 번의 쿼리로 미리 읽은 뒤,
+ * 부서 단위로 병렬 조립합니다. 일자가 없는 휴가원 보정은 LeaveApplicationDayBackfillService가 담당합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VacationLedgerBuilder {
+
+    private static final List<LeaveType> SPECIAL_LEAVE_TYPES = List.of(
+            LeaveType.FAMILY_EVENT_LEAVE,
+            LeaveType.SPECIAL_LEAVE,
+            LeaveType.SICK_LEAVE,
+            LeaveType.MENSTRUAL_LEAVE,
+            LeaveType.MATERNITY_LEAVE,
+            LeaveType.MISCARRIAGE_LEAVE
+    );
+
+    private final LeaveApplicationRepository leaveApplicationRepository;
+    private final UserAnnualVacationHistoryRepository vacationHistoryRepository;
+    private final DepartmentRepository departmentRepository;
+    private final VacationYearService vacationYearService;
+
+    /**
+     * ✅ 사용자 묶음의 관리대장 행 생성 (사용자당 연차 / 경조·특별 2행, 입력 순서 유지)
+     */
+    @Transactional(readOnly = true)
+    public List<VacationLedgerDto> build(List<UserEntity> users, int year, int startRowNumber) {
+        if (users.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<String> userIds = users.stream().map(UserEntity::getUserId).collect(Collectors.toList());
+
+        // 1. 연차 + 경조/특별 휴가원을 일자와 함께 한 번에 조회
+        List<LeaveType> leaveTypes = new ArrayList<>(SPECIAL_LEAVE_TYPES);
+        leaveTypes.add(LeaveType.ANNUAL_LEAVE);
+        Map<String, List<LeaveApplication>> applicationsByUser = leaveApplicationRepository
+                .findApprovedWithDaysByApplicantIds(userIds, leaveTypes,
+                        LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31))
+                .stream()
+                .collect(Collectors.groupingBy(LeaveApplication::getApplicantId));
+
+        // 2. 연차 이력 IN 조회 (없는 사용자만 개별 초기화)
+        Map<String, UserAnnualVacationHistory> historyByUser = vacationHistoryRepository
+                .findByUserIdsAndYear(userIds, year).stream()
+                .collect(Collectors.toMap(UserAnnualVacationHistory::getUserId, Function.identity(), (a, b) -> a));
+        for (String userId : userIds) {
+            if (!historyByUser.containsKey(userId)) {
+                historyByUser.put(userId, vacationYearService.initializeUserYearVacation(userId, year));
+            }
+        }
+
+        // 3. 부서명 일괄 조회
+        Map<String, String> deptNames = departmentRepository.findAll().stream()
+                .filter(dept -> dept.getDeptCode() != null && dept.getDeptName() != null)
+                .collect(Collectors.toMap(Department::getDeptCode, Department::getDeptName, (a, b) -> a));
+
+        // 4. 부서 단위로 병렬 조립 (각 사용자의 행 위치는 입력 순서로 고정)
+        VacationLedgerDto[] rows = new VacationLedgerDto[users.size() * 2];
+        Map<String, List<Integer>> indexesByDept = new HashMap<>();
+        for (int i = 0; i < users.size(); i++) {
+            String deptCode = users.get(i).getDeptCode();
+            indexesByDept.computeIfAbsent(deptCode != null ? getBaseDeptCode(deptCode) : "", k -> new ArrayList<>()).add(i);
+        }
+
+        indexesByDept.values().parallelStream().forEach(indexes -> {
+            for (int index : indexes) {
+                UserEntity user = users.get(index);
+                try {
+                    String deptName = resolveDeptName(user, deptNames);
+                    List<LeaveApplication> applications =
+                            applicationsByUser.getOrDefault(user.getUserId(), Collections.emptyList());
+
+                    // ✅ 연차 행
+                    rows[index * 2] = buildEntry(user, deptName, startRowNumber + index * 2, "연차",
+                            applications.stream().filter(app -> app.getLeaveType() == LeaveType.ANNUAL_LEAVE).toList(),
+                            historyByUser.get(user.getUserId()), year);
+
+                    // ✅ 경조/특별 행
+                    rows[index * 2 + 1] = buildEntry(user, deptName, startRowNumber + index * 2 + 1, "경조/특별",
+                            applications.stream().filter(app -> SPECIAL_LEAVE_TYPES.contains(app.getLeaveType())).toList(),
+                            null, year);
+                } catch (Exception e) {
+                    log.error("사용자 관리대장 생성 실패: userId={}", user.getUserId(), e);
+                    rows[index * 2] = null;
+                    rows[index * 2 + 1] = null;
+                }
+            }
+        });
+
+        return Arrays.stream(rows).filter(Objects::nonNull).collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    /**
+     * 미리 읽어 둔 휴가원/이력으로 관리대장 1행 생성 (history가 null이면 경조/특별 행)
+     */
+    private VacationLedgerDto buildEntry(
+            UserEntity user,
+            String deptName,
+            int rowNumber,
+            String leaveTypeName,
+            List<LeaveApplication> applications,
+            UserAnnualVacationHistory history,
+            int year
+    ) {
+        VacationLedgerDto dto = new VacationLedgerDto();
+        dto.setRowNumber(rowNumber);
+        dto.setUserId(user.getUserId());
+        dto.setYear(year);
+        dto.setDeptName(deptName);
+        dto.setUserName(user.getUserName());
+        dto.setStartDate(user.getStartDate() != null ? user.getStartDate().toString() : "");
+        dto.setLeaveType(leaveTypeName);
+
+        // ✅ 연차인 경우만 이월/정상 일수 설정
+        if (history != null) {
+            dto.setCarryoverDays(history.getCarryoverDays());
+            dto.setRegularDays(history.getRegularDays());
+        } else {
+            dto.setCarryoverDays(null);
+            dto.setRegularDays(null);
+        }
+
+        // ✅ 월별 사용 내역 계산
+        Map<Integer, VacationLedgerDto.MonthlyUsage> monthlyUsage = new HashMap<>();
+        Map<Integer, List<LeaveApplicationDay>> daysByMonth = new HashMap<>();
+        double totalUsed = 0.0;
+
+        for (LeaveApplication app : applications) {
+            if (app.getDays() == null || app.getDays().isEmpty()) {
+                log.debug("일자 데이터가 없는 휴가원은 관리대장에서 제외: appId={}", app.getId());
+                continue;
+            }
+            for (LeaveApplicationDay day : app.getDays()) {
+                daysByMonth.computeIfAbsent(day.getDate().getMonthValue(), k -> new ArrayList<>()).add(day);
+            }
+        }
+
+        for (Map.Entry<Integer, List<LeaveApplicationDay>> entry : daysByMonth.entrySet()) {
+            // 각 월별 사용일을 날짜 순으로 정렬
+            List<LeaveApplicationDay> days = entry.getValue();
+            days.sort(Comparator.comparing(LeaveApplicationDay::getDate));
+
+            VacationLedgerDto.MonthlyUsage usage = new VacationLedgerDto.MonthlyUsage();
+            double monthTotal = 0.0;
+            for (LeaveApplicationDay day : days) {
+                VacationLedgerDto.DailyDetail detail = new VacationLedgerDto.DailyDetail();
+                detail.setDate(day.getDate().toString());
+                detail.setHalfDayType(day.getHalfDayType());
+                detail.setDays(day.getDays());
+                usage.getDetails().add(detail);
+                monthTotal += day.getDays();
+            }
+            usage.setMonthTotal(monthTotal);
+            monthlyUsage.put(entry.getKey(), usage);
+            totalUsed += monthTotal;
+        }
+
+        dto.setMonthlyUsage(monthlyUsage);
+        dto.setTotalUsed(totalUsed);
+
+        // ✅ 남은 일수 계산 (연차만)
+        dto.setRemaining(history != null ? history.getTotalDays() - totalUsed : null);
+        dto.setRemarks("");
+
+        return dto;
+    }
+
+    private String resolveDeptName(UserEntity user, Map<String, String> deptNames) {
+        if (user.getDeptCode() == null || user.getDeptCode().isEmpty()) {
+            return "미설정";
+        }
+        return deptNames.getOrDefault(getBaseDeptCode(user.getDeptCode()), user.getDeptCode());
+    }
+
+    // 부서 코드에서 baseCode 추출 (예: "OS01" -> "OS", "OS_01" -> "OS")
+    private String getBaseDeptCode(String deptCode) {
+        if (deptCode == null || deptCode.trim().isEmpty()) return deptCode;
+        return deptCode.replaceAll("[_\\-]?\\d+$", "");
+    }
+}
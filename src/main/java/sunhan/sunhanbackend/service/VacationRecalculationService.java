@@ -0,0 +1,273 @@
+package sunhan.sunhanbackend.service;
+
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import sunhan.sunhanbackend.dto.response.VacationRecalculationProgressDto;
+import sunhan.sunhanbackend.entity.mysql.UserAnnualVacationHistory;
+import sunhan.sunhanbackend.entity.mysql.VacationLedgerEntry;
+import sunhan.sunhanbackend.enums.LeaveApplicationStatus;
+import sunhan.sunhanbackend.enums.LeaveType;
+import sunhan.sunhanbackend.enums.VacationLedgerType;
+import sunhan.sunhanbackend.repository.mysql.LeaveApplicationDayRepository;
+import sunhan.sunhanbackend.repository.mysql.UserAnnualVacationHistoryRepository;
+import sunhan.sunhanbackend.repository.mysql.VacationLedgerEntryRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * ✅ 연차 사용량 재계산 엔진
+ * 승인된 연차의 일자(leave_application_day)를 SQL에서 사용자별로 집계한 뒤 1~2월 이월 우선 차감 규칙을 적용합니다.
+ * 청크마다 별도 트랜잭션에서 이력과 사용량을 같은 시점 기준으로 읽고,
+ * "읽은 뒤 사용 일수가 바뀌지 않았을 때만" 조건부 UPDATE로 반영하므로 동시에 진행된 차감/복구를 덮어쓰지 않습니다.
+ * 충돌한 사용자는 새 트랜잭션에서 다시 읽어 재시도하고, 반영한 변경은 원장에 ADJUST로 기록합니다.
+ */
+@Slf4j
+@Service
+public class VacationRecalculationService {
+
+    private static final int CHUNK_SIZE = 200;
+    private static final int MAX_ATTEMPTS = 3;
+
+    private static final String STATUS_RUNNING = "RUNNING";
+    private static final String STATUS_COMPLETED = "COMPLETED";
+    private static final String STATUS_FAILED = "FAILED";
+
+    private final LeaveApplicationDayRepository leaveApplicationDayRepository;
+    private final UserAnnualVacationHistoryRepository vacationHistoryRepository;
+    private final VacationLedgerEntryRepository ledgerRepository;
+    private final VacationStatisticsService vacationStatisticsService;
+    private final VacationStatusCache vacationStatusCache;
+    private final TransactionTemplate chunkTransaction;
+
+    // 연도별 진행 상황 (최근 실행 결과 보관)
+    private final Map<Integer, VacationRecalculationProgressDto> progressByYear = new ConcurrentHashMap<>();
+
+    public VacationRecalculationService(LeaveApplicationDayRepository leaveApplicationDayRepository,
+                                        UserAnnualVacationHistoryRepository vacationHistoryRepository,
+                                        VacationLedgerEntryRepository ledgerRepository,
+                                        VacationStatisticsService vacationStatisticsService,
+                                        VacationStatusCache vacationStatusCache,
+                                        PlatformTransactionManager transactionManager) {
+        this.leaveApplicationDayRepository = leaveApplicationDayRepository;
+        this.vacationHistoryRepository = vacationHistoryRepository;
+        this.ledgerRepository = ledgerRepository;
+        this.vacationStatisticsService = vacationStatisticsService;
+        this.vacationStatusCache = vacationStatusCache;
+        // 청크마다 새 트랜잭션 (새 스냅샷에서 다시 읽고, 청크 단위로 커밋)
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * ✅ 특정 연도 전체 사용자 연차 사용량 재계산
+     */
+    public Map<String, Object> recalculateYear(Integer year) {
+        VacationRecalculationProgressDto started = VacationRecalculationProgressDto.builder()
+                .year(year)
+                .status(STATUS_RUNNING)
+                .startedAt(LocalDateTime.now())
+                .message(year + "년도 연차 히스토리 재계산 진행 중")
+                .build();
+
+        VacationRecalculationProgressDto previous = progressByYear.compute(year, (k, current) ->
+                current != null && STATUS_RUNNING.equals(current.getStatus()) ? current : started);
+        if (previous != started) {
+            throw new RecalculationInProgressException(year + "년도 연차 재계산이 이미 진행 중입니다.");
+        }
+
+        try {
+            log.info("{}년도 연차 히스토리 재계산 시작", year);
+
+            List<String> userIds = vacationHistoryRepository.findUserIdsByYear(year);
+            updateProgress(year, p -> p.totalUsers(userIds.size()));
+
+            int processed = 0;
+            int updatedCount = 0;
+            int skippedCount = 0;
+            for (int from = 0; from < userIds.size(); from += CHUNK_SIZE) {
+                List<String> chunk = userIds.subList(from, Math.min(from + CHUNK_SIZE, userIds.size()));
+
+                ChunkResult result = recalculateWithRetry(year, chunk);
+
+                processed += chunk.size();
+                updatedCount += result.updated();
+                skippedCount += result.conflicted().size();
+                int processedSnapshot = processed;
+                int updatedSnapshot = updatedCount;
+                int skippedSnapshot = skippedCount;
+                updateProgress(year, p -> p.processedUsers(processedSnapshot)
+                        .updatedCount(updatedSnapshot)
+                        .skippedCount(skippedSnapshot));
+            }
+
+            log.info("{}년도 연차 히스토리 재계산 완료: {}명 업데이트, {}명 충돌로 건너뜀", year, updatedCount, skippedCount);
+
+            String message = skippedCount > 0
+                    ? year + "년도 연차 히스토리 재계산 완료 (동시 변경으로 " + skippedCount + "명 건너뜀, 다시 실행해주세요)"
+                    : year + "년도 연차 히스토리 재계산 완료";
+            updateProgress(year, p -> p.status(STATUS_COMPLETED)
+                    .finishedAt(LocalDateTime.now())
+                    .message(message));
+
+            Map<String, Object> result = new HashMap<>();
+            result.put("year", year);
+            result.put("totalCount", userIds.size());
+            result.put("updatedCount", updatedCount);
+            result.put("skippedCount", skippedCount);
+            result.put("message", message);
+            return result;
+        } catch (RuntimeException e) {
+            updateProgress(year, p -> p.status(STATUS_FAILED)
+                    .finishedAt(LocalDateTime.now())
+                    .message("재계산 실패: " + e.getMessage()));
+            throw e;
+        }
+    }
+
+    /**
+     * ✅ 특정 사용자의 연도별 연차 사용량 재계산
+     */
+    public void recalculateUser(String userId, Integer year) {
+        ChunkResult result = recalculateWithRetry(year, List.of(userId));
+        if (result.missing() > 0) {
+            throw new EntityNotFoundException("연차 히스토리를 찾을 수 없습니다.");
+        }
+        if (!result.conflicted().isEmpty()) {
+            throw new IllegalStateException("연차 사용 일수가 동시에 변경되어 재계산하지 못했습니다. 잠시 후 다시 시도해주세요.");
+        }
+    }
+
+    /**
+     * ✅ 진행 상황 조회 (실행 이력이 없으면 null)
+     */
+    public VacationRecalculationProgressDto getProgress(Integer year) {
+        return progressByYear.get(year);
+    }
+
+    /**
+     * 청크 재계산 후, 충돌한 사용자만 새 트랜잭션에서 다시 읽어 최대 MAX_ATTEMPTS번까지 재시도
+     */
+    private ChunkResult recalculateWithRetry(Integer year, List<String> userIds) {
+        ChunkResult result = chunkTransaction.execute(status -> recalculateChunk(year, userIds));
+        int updated = result.updated();
+        for (int attempt = 2; attempt <= MAX_ATTEMPTS && !result.conflicted().isEmpty(); attempt++) {
+            List<String> retry = result.conflicted();
+            log.info("{}년도 연차 재계산 충돌 재시도 ({}회차): {}명", year, attempt, retry.size());
+            result = chunkTransaction.execute(status -> recalculateChunk(year, retry));
+            updated += result.updated();
+        }
+        if (!result.conflicted().isEmpty()) {
+            log.warn("{}년도 연차 재계산 충돌로 건너뜀: {}", year, result.conflicted());
+        }
+        return new ChunkResult(updated, result.conflicted(), result.missing());
+    }
+
+    /**
+     * 한 트랜잭션에서 이력과 사용량을 읽고, 바뀐 사용자만 조건부 UPDATE + ADJUST 원장 기록
+     */
+    private ChunkResult recalculateChunk(Integer year, List<String> userIds) {
+        // 1. 이력과 사용량을 같은 트랜잭션(같은 스냅샷)에서 조회
+        List<UserAnnualVacationHistory> histories = vacationHistoryRepository.findByUserIdsAndYear(userIds, year);
+
+        Map<String, double[]> usageByUser = new HashMap<>();
+        for (Object[] row : leaveApplicationDayRepository.sumUsageByApplicantIds(
+                userIds, LeaveApplicationStatus.APPROVED, LeaveType.ANNUAL_LEAVE,
+                LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31))) {
+            usageByUser.put((String) row[0], new double[]{toDouble(row[1]), toDouble(row[2])});
+        }
+
+        // 2. 이월 우선 규칙 적용 후 값이 바뀐 사용자만 반영
+        int updated = 0;
+        List<String> conflicted = new ArrayList<>();
+        for (UserAnnualVacationHistory history : histories) {
+            double[] usage = usageByUser.getOrDefault(history.getUserId(), new double[]{0.0, 0.0});
+            Usage target = computeUsage(history, usage[0], usage[1]);
+
+            Double oldCarryover = history.getUsedCarryoverDays();
+            Double oldRegular = history.getUsedRegularDays();
+            if (Objects.equals(oldCarryover, target.carryover()) && Objects.equals(oldRegular, target.regular())) {
+                continue;
+            }
+
+            int changed = vacationHistoryRepository.replaceUsageIfUnchanged(
+                    history.getUserId(), year, oldCarryover, oldRegular, target.carryover(), target.regular());
+            if (changed == 0) {
+                // 읽은 뒤 차감/복구가 반영됨 - 새 스냅샷에서 다시 계산
+                conflicted.add(history.getUserId());
+                continue;
+            }
+
+            appendAdjustment(history.getUserId(), year, oldCarryover, oldRegular, target);
+            vacationStatusCache.refreshAfterCommit(history.getUserId(), year);
+            updated++;
+        }
+
+        if (updated > 0) {
+            vacationStatisticsService.invalidate();
+        }
+        return new ChunkResult(updated, conflicted, userIds.size() - histories.size());
+    }
+
+    /**
+     * 1~2월 사용분은 이월 연차에서 먼저 차감하고, 남은 1~2월 사용분과 3월 이후 사용분은 정상 연차에서 차감합니다.
+     */
+    private Usage computeUsage(UserAnnualVacationHistory history, double janFebUsage, double restUsage) {
+        double carryover = history.getCarryoverDays() != null ? Math.max(history.getCarryoverDays(), 0.0) : 0.0;
+        double usedCarryover = Math.min(carryover, janFebUsage);
+        double usedRegular = (janFebUsage - usedCarryover) + restUsage;
+        return new Usage(usedCarryover, usedRegular);
+    }
+
+    /**
+     * 재계산으로 바뀐 사용 일수를 원장에 ADJUST로 기록 (days = 잔여 연차 증감분)
+     */
+    private void appendAdjustment(String userId, int year, Double oldCarryover, Double oldRegular, Usage target) {
+        double before = (oldCarryover != null ? oldCarryover : 0.0) + (oldRegular != null ? oldRegular : 0.0);
+        double after = target.carryover() + target.regular();
+
+        log.info("연차 재계산: userId={}, year={}, 이월: {} → {}, 정상: {} → {}",
+                userId, year, oldCarryover, target.carryover(), oldRegular, target.regular());
+
+        VacationLedgerEntry entry = new VacationLedgerEntry();
+        entry.setUserId(userId);
+        entry.setYear(year);
+        entry.setEntryType(VacationLedgerType.ADJUST);
+        entry.setDays(before - after);
+        entry.setMemo(String.format("재계산 사용일수 이월:%.1f→%.1f, 정상:%.1f→%.1f",
+                oldCarryover != null ? oldCarryover : 0.0, target.carryover(),
+                oldRegular != null ? oldRegular : 0.0, target.regular()));
+        ledgerRepository.save(entry);
+    }
+
+    private void updateProgress(Integer year,
+                                UnaryOperator<VacationRecalculationProgressDto.VacationRecalculationProgressDtoBuilder> change) {
+        progressByYear.computeIfPresent(year, (k, current) -> change.apply(current.toBuilder()).build());
+    }
+
+    private static double toDouble(Object value) {
+        return value instanceof Number number ? number.doubleValue() : 0.0;
+    }
+
+    /**
+     * 같은 연도 재계산이 이미 진행 중 (409 Conflict)
+     */
+    public static class RecalculationInProgressException extends RuntimeException {
+        public RecalculationInProgressException(String message) {
+            super(message);
+        }
+    }
+
+    private record Usage(double carryover, double regular) {
+    }
+
+    private record ChunkResult(int updated, List<String> conflicted, int missing) {
+    }
+}
@@ -0,0 +1,280 @@
+package sunhan.sunhanbackend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import sunhan.sunhanbackend.dto.request.VacationSimulationRequestDto;
+import sunhan.sunhanbackend.dto.response.VacationSimulationResponseDto;
+import sunhan.sunhanbackend.dto.response.VacationStatusResponseDto;
+import sunhan.sunhanbackend.entity.mysql.UserAnnualVacationHistory;
+import sunhan.sunhanbackend.enums.HalfDayType;
+import sunhan.sunhanbackend.enums.LeaveApplicationStatus;
+import sunhan.sunhanbackend.enums.LeaveType;
+import sunhan.sunhanbackend.repository.mysql.LeaveApplicationDayRepository;
+import sunhan.sunhanbackend.repository.mysql.UserAnnualVacationHistoryRepository;
+import sunhan.sunhanbackend.util.WorkingDayCalendar;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ✅ 연차 사용 시뮬레이션 (읽기 전용)
+ * 사용자의 연도별 잔여 연차와 신청/승인된 연차 일자를 메모리 모델로 한 번 읽어 두고,
+ * 가정한 기간을 deductVacationDays와 같은 규칙(1~2월 시작 휴가는 이월 연차 우선 차감,
+ * 잔여 부족 시 차감 거절)과 근무일 달력으로 계산합니다. DB에는 아무것도 쓰지 않습니다.
+ * (연도 이력이 없어도 초기화하지 않고 기본 부여 기준으로 메모리에서만 계산 - 이월 연차가 미리 고정되지 않도록)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VacationSimulationService {
+
+    private static final Duration MODEL_TTL = Duration.ofSeconds(30);   // 휴가 신청서 입력 중 반복 호출용
+    private static final int MAX_MODELS = 1000;
+    private static final double DEFAULT_REGULAR_DAYS = 15.0;
+    private static final double MAX_CARRYOVER_DAYS = 15.0;
+
+    private final VacationStatusCache vacationStatusCache;
+    private final UserAnnualVacationHistoryRepository vacationHistoryRepository;
+    private final LeaveApplicationDayRepository leaveApplicationDayRepository;
+    private final WorkingDayCalendar workingDayCalendar;
+
+    private final Map<String, BalanceModel> models = new ConcurrentHashMap<>();
+
+    /**
+     * ✅ 가정한 기간들을 순서대로 차감했을 때의 예상 잔여 연차
+     */
+    @Transactional(readOnly = true)
+    public VacationSimulationResponseDto simulate(String userId, VacationSimulationRequestDto request) {
+        List<VacationSimulationRequestDto.Period> periods = request.getPeriods() != null
+                ? new ArrayList<>(request.getPeriods())
+                : new ArrayList<>();
+        for (VacationSimulationRequestDto.Period period : periods) {
+            validatePeriod(period);
+        }
+        periods.sort(Comparator.comparing(VacationSimulationRequestDto.Period::getStartDate));
+
+        int year = periods.isEmpty() ? LocalDate.now().getYear() : periods.get(0).getStartDate().getYear();
+        if (periods.stream().anyMatch(period -> period.getStartDate().getYear() != year)) {
+            throw new IllegalArgumentException("같은 연도에 시작하는 기간만 함께 시뮬레이션할 수 있습니다.");
+        }
+
+        BalanceModel model = getModel(userId, year);
+        Balance balance = new Balance(model);
+
+        // 결재 진행 중인 연차는 승인되면 먼저 차감되므로 시작일 순으로 미리 반영
+        double pendingDays = 0.0;
+        if (!Boolean.FALSE.equals(request.getIncludePending())) {
+            for (PendingLeave pending : model.pending()) {
+                if (balance.deduct(pending.startDate(), pending.days()) != null) {
+                    pendingDays += pending.days();
+                }
+            }
+        }
+
+        List<VacationSimulationResponseDto.PeriodResult> results = new ArrayList<>();
+        double requestedDays = 0.0;
+        boolean sufficient = true;
+        for (VacationSimulationRequestDto.Period period : periods) {
+            HalfDayType halfDayType = period.getHalfDayType() != null ? period.getHalfDayType() : HalfDayType.ALL_DAY;
+            LocalDate endDate = halfDayType == HalfDayType.ALL_DAY ? period.getEndDate() : period.getStartDate();
+            double days = workingDayCalendar.leaveDays(period.getStartDate(), endDate, halfDayType);
+            requestedDays += days;
+
+            double[] deducted = balance.deduct(period.getStartDate(), days);
+            if (deducted == null) {
+                sufficient = false;
+            }
+
+            results.add(VacationSimulationResponseDto.PeriodResult.builder()
+                    .startDate(period.getStartDate())
+                    .endDate(endDate)
+                    .halfDayType(halfDayType)
+                    .days(days)
+                    .carryoverDeducted(deducted != null ? deducted[0] : 0.0)
+                    .regularDeducted(deducted != null ? deducted[1] : 0.0)
+                    .deductible(deducted != null)
+                    .overlappingDates(findOverlaps(model, period.getStartDate(), endDate, halfDayType))
+                    .build());
+        }
+
+        return VacationSimulationResponseDto.builder()
+                .userId(userId)
+                .year(year)
+                .carryoverDays(model.carryover())
+                .regularDays(model.regular())
+                .usedCarryoverDays(model.usedCarryover())
+                .usedRegularDays(model.usedRegular())
+                .remainingDays(model.carryover() + model.regular() - model.usedCarryover() - model.usedRegular())
+                .pendingDays(pendingDays)
+                .periods(results)
+                .requestedDays(requestedDays)
+                .projectedUsedCarryoverDays(balance.usedCarryover)
+                .projectedUsedRegularDays(balance.usedRegular)
+                .projectedRemainingDays(balance.remaining())
+                .sufficient(sufficient)
+                .build();
+    }
+
+    private void validatePeriod(VacationSimulationRequestDto.Period period) {
+        if (period == null || period.getStartDate() == null) {
+            throw new IllegalArgumentException("시작일을 입력해주세요.");
+        }
+        if (period.getEndDate() == null) {
+            period.setEndDate(period.getStartDate());
+        }
+        if (period.getEndDate().isBefore(period.getStartDate())) {
+            throw new IllegalArgumentException("종료일이 시작일보다 빠를 수 없습니다.");
+        }
+    }
+
+    private List<LocalDate> findOverlaps(BalanceModel model, LocalDate startDate, LocalDate endDate,
+                                         HalfDayType halfDayType) {
+        List<LocalDate> dates = halfDayType == HalfDayType.ALL_DAY
+                ? workingDayCalendar.workingDaysBetween(startDate, endDate)
+                : List.of(startDate);
+        return dates.stream().filter(model.bookedDates()::contains).toList();
+    }
+
+    /**
+     * 잔여 연차 + 신청/승인된 연차 일자 모델 (MODEL_TTL 동안 재사용)
+     */
+    private BalanceModel getModel(String userId, int year) {
+        String key = userId + ":" + year;
+        BalanceModel cached = models.get(key);
+        if (cached != null && !cached.isExpired()) {
+            return cached;
+        }
+
+        BalanceModel loaded = loadModel(userId, year);
+        if (models.size() >= MAX_MODELS) {
+            models.values().removeIf(BalanceModel::isExpired);
+        }
+        models.put(key, loaded);
+        return loaded;
+    }
+
+    private BalanceModel loadModel(String userId, int year) {
+        Entitlement entitlement = loadEntitlement(userId, year);
+
+        Set<LocalDate> bookedDates = new HashSet<>();
+        Map<Long, LocalDate> pendingStartDates = new LinkedHashMap<>();
+        Map<Long, Double> pendingDays = new HashMap<>();
+        for (Object[] row : leaveApplicationDayRepository.findDayRowsByApplicantId(
+                userId, LeaveType.ANNUAL_LEAVE,
+                List.of(LeaveApplicationStatus.APPROVED, LeaveApplicationStatus.PENDING),
+                LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31))) {
+            Long applicationId = (Long) row[0];
+            LocalDate date = (LocalDate) row[3];
+            bookedDates.add(date);
+            if (row[1] == LeaveApplicationStatus.PENDING) {
+                pendingStartDates.putIfAbsent(applicationId, row[2] != null ? (LocalDate) row[2] : date);
+                pendingDays.merge(applicationId, ((Number) row[4]).doubleValue(), Double::sum);
+            }
+        }
+
+        List<PendingLeave> pending = pendingStartDates.entrySet().stream()
+                .map(entry -> new PendingLeave(entry.getValue(), pendingDays.get(entry.getKey())))
+                .sorted(Comparator.comparing(PendingLeave::startDate))
+                .toList();
+
+        return new BalanceModel(
+                entitlement.carryover(),
+                entitlement.regular(),
+                entitlement.usedCarryover(),
+                entitlement.usedRegular(),
+                pending,
+                Set.copyOf(bookedDates),
+                System.currentTimeMillis());
+    }
+
+    /**
+     * 연도별 부여/사용 연차 (조회만 수행)
+     * 캐시 → 연도 이력 순으로 읽고, 이력이 없으면 VacationYearService.initializeUserYearVacation과 같은 기준
+     * (전년도 잔여 최대 15일 이월 + 기본 15일)으로 메모리에서만 만든다.
+     */
+    private Entitlement loadEntitlement(String userId, int year) {
+        VacationStatusResponseDto cached = vacationStatusCache.getIfPresent(userId, year);
+        if (cached != null) {
+            return new Entitlement(
+                    orZero(cached.getAnnualCarryoverDays()),
+                    cached.getAnnualRegularDays() != null ? cached.getAnnualRegularDays() : DEFAULT_REGULAR_DAYS,
+                    orZero(cached.getUsedCarryoverDays()),
+                    orZero(cached.getUsedRegularDays()));
+        }
+
+        UserAnnualVacationHistory history = vacationHistoryRepository.findByUserIdAndYear(userId, year).orElse(null);
+        if (history != null) {
+            return new Entitlement(
+                    orZero(history.getCarryoverDays()),
+                    history.getRegularDays() != null ? history.getRegularDays() : DEFAULT_REGULAR_DAYS,
+                    orZero(history.getUsedCarryoverDays()),
+                    orZero(history.getUsedRegularDays()));
+        }
+
+        double carryover = vacationHistoryRepository.findByUserIdAndYear(userId, year - 1)
+                .map(UserAnnualVacationHistory::getRemainingDays)
+                .filter(remaining -> remaining != null && remaining > 0)
+                .map(remaining -> Math.min(remaining, MAX_CARRYOVER_DAYS))
+                .orElse(0.0);
+        return new Entitlement(carryover, DEFAULT_REGULAR_DAYS, 0.0, 0.0);
+    }
+
+    private static double orZero(Double value) {
+        return value != null ? value : 0.0;
+    }
+
+    private record Entitlement(double carryover, double regular, double usedCarryover, double usedRegular) {
+    }
+
+    private record PendingLeave(LocalDate startDate, double days) {
+    }
+
+    private record BalanceModel(double carryover, double regular, double usedCarryover, double usedRegular,
+                                List<PendingLeave> pending, Set<LocalDate> bookedDates, long loadedAt) {
+        boolean isExpired() {
+            return System.currentTimeMillis() - loadedAt > MODEL_TTL.toMillis();
+        }
+    }
+
+    /**
+     * 요청마다 새로 만드는 차감용 잔여 (모델은 공유하므로 변경하지 않음)
+     */
+    private static final class Balance {
+        private final double carryover;
+        private final double regular;
+        private double usedCarryover;
+        private double usedRegular;
+
+        private Balance(BalanceModel model) {
+            this.carryover = model.carryover();
+            this.regular = model.regular();
+            this.usedCarryover = model.usedCarryover();
+            this.usedRegular = model.usedRegular();
+        }
+
+        private double remaining() {
+            return carryover + regular - usedCarryover - usedRegular;
+        }
+
+        /**
+         * deductCarryoverFirst / deductRegular와 같은 규칙으로 차감
+         * @return [이월 차감, 정상 차감], 잔여가 부족하면 null (차감하지 않음)
+         */
+        private double[] deduct(LocalDate startDate, double days) {
+            if (remaining() < days) {
+                return null;
+            }
+            double fromCarryover = startDate.getMonthValue() <= 2
+                    ? Math.min(days, Math.max(0.0, carryover - usedCarryover))
+                    : 0.0;
+            double fromRegular = days - fromCarryover;
+            usedCarryover += fromCarryover;
+            usedRegular += fromRegular;
+            return new double[]{fromCarryover, fromRegular};
+        }
+    }
+}
@@ -0,0 +1,372 @@
+package sunhan.sunhanbackend.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import sunhan.sunhanbackend.dto.response.DepartmentSummaryDto;
+import sunhan.sunhanbackend.dto.response.EmployeeVacationDto;
+import sunhan.sunhanbackend.dto.response.VacationStatisticsResponseDto;
+import sunhan.sunhanbackend.entity.mysql.Department;
+import sunhan.sunhanbackend.entity.mysql.UserAnnualVacationHistory;
+import sunhan.sunhanbackend.entity.mysql.UserEntity;
+import sunhan.sunhanbackend.repository.mysql.DepartmentRepository;
+import sunhan.sunhanbackend.repository.mysql.UserAnnualVacationHistoryRepository;
+import sunhan.sunhanbackend.repository.mysql.UserRepository;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * ✅ 부서별 휴가 통계 집계
+ * 재직자, 해당 연도 연차 이력, 부서명을 고정된 횟수의 쿼리로 읽어 기본 부서 코드별로 메모리에서 집계하고,
+ * 결과 스냅샷을 연도별로 캐시합니다. 연차 차감/복구/설정 시 커밋 이후 캐시를 비웁니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VacationStatisticsService {
+
+    private static final String SYSTEM_DEPT_CODE = "000";
+    private static final Duration SNAPSHOT_TTL = Duration.ofMinutes(5);   // 사용자/부서 변경 반영용 최대 보관 시간
+    private static final int PARALLEL_THRESHOLD = 1000;                   // 이 인원 이상이면 병렬로 DTO 변환
+
+    private final UserRepository userRepository;
+    private final UserAnnualVacationHistoryRepository vacationHistoryRepository;
+    private final DepartmentRepository departmentRepository;
+    private final VacationYearService vacationYearService;
+
+    private final Map<Integer, DeptVacationSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * ✅ 부서별 통계 (직원 상세 포함, 시스템 부서 제외)
+     */
+    public List<VacationStatisticsResponseDto> getDepartmentStatistics(String sortBy, String sortOrder) {
+        DeptVacationSnapshot snapshot = getSnapshot(LocalDate.now().getYear());
+
+        return snapshot.getEmployeesByBase().keySet().stream()
+                .sorted()
+                .map(baseCode -> buildStatistics(baseCode, snapshot.getDeptName(baseCode),
+                        snapshot.getEmployeesByBase().get(baseCode), sortBy, sortOrder))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * ✅ 부서 요약 (직원 상세 제외, 시스템 부서 제외)
+     */
+    public List<DepartmentSummaryDto> getDepartmentSummaries() {
+        DeptVacationSnapshot snapshot = getSnapshot(LocalDate.now().getYear());
+
+        return snapshot.getEmployeesByBase().entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> {
+                    double avgUsageRate = entry.getValue().stream()
+                            .mapToDouble(EmployeeVacationDto::getUsageRate)
+                            .average()
+                            .orElse(0.0);
+
+                    return DepartmentSummaryDto.builder()
+                            .deptCode(entry.getKey())
+                            .deptName(snapshot.getDeptName(entry.getKey()))
+                            .totalEmployees(entry.getValue().size())
+                            .avgUsageRate(Math.round(avgUsageRate * 100.0) / 100.0)
+                            .build();
+                })
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * ✅ 특정 부서 상세 ("ALL"이면 시스템 부서를 제외한 전체)
+     */
+    public VacationStatisticsResponseDto getDepartmentDetail(String deptCode, String sortBy, String sortOrder) {
+        DeptVacationSnapshot snapshot = getSnapshot(LocalDate.now().getYear());
+
+        if ("ALL".equals(deptCode)) {
+            List<EmployeeVacationDto> all = snapshot.getEmployeesById().values().stream()
+                    .filter(emp -> !SYSTEM_DEPT_CODE.equals(emp.getDeptCode()))
+                    .collect(Collectors.toList());
+            return buildStatistics("ALL", "전체", all, sortBy, sortOrder);
+        }
+
+        String baseCode = snapshot.getEmployeesByBase().containsKey(deptCode) ? deptCode : getBaseDeptCode(deptCode);
+        return buildStatistics(baseCode, snapshot.getDeptName(baseCode),
+                snapshot.getEmployeesByBase().getOrDefault(baseCode, List.of()), sortBy, sortOrder);
+    }
+
+    /**
+     * ✅ 지정한 재직자들의 휴가 현황
+     */
+    public List<EmployeeVacationDto> getEmployees(Collection<String> userIds) {
+        DeptVacationSnapshot snapshot = getSnapshot(LocalDate.now().getYear());
+
+        return userIds.stream()
+                .distinct()
+                .map(snapshot.getEmployeesById()::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    /**
+     * ✅ 통계 캐시 무효화 (트랜잭션 중이면 커밋 이후 실행)
+     */
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictAll();
+                }
+            });
+        } else {
+            evictAll();
+        }
+    }
+
+    /**
+     * ✅ 직원 목록 정렬
+     */
+    public List<EmployeeVacationDto> sortEmployees(
+            List<EmployeeVacationDto> employees,
+            String sortBy,
+            String sortOrder
+    ) {
+        if (sortBy == null || sortBy.isEmpty()) {
+            sortBy = "usageRate";
+        }
+        if (sortOrder == null || sortOrder.isEmpty()) {
+            sortOrder = "desc";
+        }
+
+        Comparator<EmployeeVacationDto> comparator;
+
+        switch (sortBy) {
+            case "userName":
+                comparator = Comparator.comparing(EmployeeVacationDto::getUserName,
+                        Comparator.nullsLast(String::compareTo));
+                break;
+            case "deptCode":
+                comparator = Comparator.comparing(
+                        emp -> {
+                            String deptCode = emp.getDeptCode();
+                            if (deptCode == null) return "";
+                            // 부서 이름으로 정렬하려면 departmentNames Map 사용
+                            String baseDeptCode = deptCode.replaceAll("\\d+$", "");
+                            return baseDeptCode;
+                        },
+                        Comparator.nullsLast(String::compareTo)
+                );
+                break;
+            case "jobLevel":
+                comparator = Comparator.comparing(
+                        emp -> {
+                            try {
+                                return Integer.parseInt(emp.getJobLevel());
+                            } catch (NumberFormatException e) {
+                                return 999;
+                            }
+                        }
+                );
+                break;
+            case "totalDays":
+                comparator = Comparator.comparing(EmployeeVacationDto::getTotalDays);
+                break;
+            case "usedDays":
+                comparator = Comparator.comparing(EmployeeVacationDto::getUsedDays);
+                break;
+            case "remainingDays":
+                comparator = Comparator.comparing(EmployeeVacationDto::getRemainingDays);
+                break;
+            case "startDate":
+                comparator = Comparator.comparing(
+                        e -> e.getStartDate() != null ? e.getStartDate() : LocalDate.MIN
+                );
+                break;
+            case "usageRate":
+            default:
+                comparator = Comparator.comparing(EmployeeVacationDto::getUsageRate);
+                break;
+        }
+
+        if ("asc".equalsIgnoreCase(sortOrder)) {
+            employees.sort(comparator);
+        } else {
+            employees.sort(comparator.reversed());
+        }
+
+        return employees;
+    }
+
+    private void evictAll() {
+        generation.incrementAndGet();
+        snapshots.clear();
+    }
+
+    private DeptVacationSnapshot getSnapshot(int year) {
+        DeptVacationSnapshot cached = snapshots.get(year);
+        if (cached != null && !cached.isExpired()) {
+            return cached;
+        }
+
+        synchronized (this) {
+            cached = snapshots.get(year);
+            if (cached != null && !cached.isExpired()) {
+                return cached;
+            }
+
+            long startedGeneration = generation.get();
+            DeptVacationSnapshot built = buildSnapshot(year);
+            // 집계 중에 무효화가 일어났다면 오래된 결과를 캐시에 넣지 않음
+            if (generation.get() == startedGeneration) {
+                snapshots.put(year, built);
+            }
+            return built;
+        }
+    }
+
+    /**
+     * 재직자 / 연차 이력 / 부서명을 각각 한 번씩 조회해 스냅샷을 만듭니다.
+     */
+    private DeptVacationSnapshot buildSnapshot(int year) {
+        long start = System.currentTimeMillis();
+
+        List<UserEntity> users = userRepository.findByUseFlag("1");
+
+        Map<String, UserAnnualVacationHistory> historyByUser = vacationHistoryRepository.findByYear(year).stream()
+                .collect(Collectors.toMap(UserAnnualVacationHistory::getUserId, Function.identity(), (a, b) -> a));
+
+        // 이력이 없는 사용자만 개별 초기화 (신규 입사자 등 예외적인 경우)
+        for (UserEntity user : users) {
+            if (!historyByUser.containsKey(user.getUserId())) {
+                historyByUser.put(user.getUserId(),
+                        vacationYearService.initializeUserYearVacation(user.getUserId(), year));
+            }
+        }
+
+        Map<String, String> deptNames = departmentRepository.findAll().stream()
+                .filter(dept -> dept.getDeptCode() != null && dept.getDeptName() != null)
+                .collect(Collectors.toMap(Department::getDeptCode, Department::getDeptName, (a, b) -> a));
+
+        Stream<UserEntity> userStream = users.size() >= PARALLEL_THRESHOLD ? users.parallelStream() : users.stream();
+        List<EmployeeVacationDto> employees = userStream
+                .map(user -> toEmployeeVacation(user, historyByUser.get(user.getUserId())))
+                .collect(Collectors.toList());
+
+        Map<String, EmployeeVacationDto> employeesById = new LinkedHashMap<>();
+        Map<String, List<EmployeeVacationDto>> employeesByBase = new HashMap<>();
+        for (EmployeeVacationDto employee : employees) {
+            employeesById.put(employee.getUserId(), employee);
+
+            String deptCode = employee.getDeptCode();
+            if (deptCode == null || deptCode.trim().isEmpty() || SYSTEM_DEPT_CODE.equals(deptCode)) {
+                continue;
+            }
+            String baseCode = getBaseDeptCode(deptCode);
+            if (baseCode.trim().isEmpty() || SYSTEM_DEPT_CODE.equals(baseCode)) {
+                continue;
+            }
+            employeesByBase.computeIfAbsent(baseCode, k -> new ArrayList<>()).add(employee);
+        }
+
+        log.info("{}년 부서별 휴가 통계 스냅샷 생성: 재직자 {}명, 부서 {}개 ({}ms)",
+                year, employees.size(), employeesByBase.size(), System.currentTimeMillis() - start);
+
+        return new DeptVacationSnapshot(employeesById, employeesByBase, deptNames, LocalDateTime.now());
+    }
+
+    private VacationStatisticsResponseDto buildStatistics(
+            String deptCode,
+            String deptName,
+            List<EmployeeVacationDto> cachedEmployees,
+            String sortBy,
+            String sortOrder
+    ) {
+        // 캐시된 목록은 공유되므로 복사본을 정렬
+        List<EmployeeVacationDto> employeeStats = sortEmployees(new ArrayList<>(cachedEmployees), sortBy, sortOrder);
+
+        double totalVacationDays = 0.0;
+        double totalUsedDays = 0.0;
+        double totalRemainingDays = 0.0;
+        double usageRateSum = 0.0;
+        for (EmployeeVacationDto employee : employeeStats) {
+            totalVacationDays += employee.getTotalDays();
+            totalUsedDays += employee.getUsedDays();
+            totalRemainingDays += employee.getRemainingDays();
+            usageRateSum += employee.getUsageRate();
+        }
+        double avgUsageRate = employeeStats.isEmpty() ? 0.0 : usageRateSum / employeeStats.size();
+
+        return VacationStatisticsResponseDto.builder()
+                .deptCode(deptCode)
+                .deptName(deptName)
+                .totalEmployees(employeeStats.size())
+                .avgUsageRate(Math.round(avgUsageRate * 100.0) / 100.0)
+                .totalVacationDays(totalVacationDays)
+                .totalUsedDays(totalUsedDays)
+                .totalRemainingDays(totalRemainingDays)
+                .employees(employeeStats)
+                .build();
+    }
+
+    private EmployeeVacationDto toEmployeeVacation(UserEntity user, UserAnnualVacationHistory history) {
+        double annualUsageRate = history.getTotalDays() > 0
+                ? (history.getUsedDays() * 100.0 / history.getTotalDays())
+                : 0.0;
+        double roundedUsageRate = Math.round(annualUsageRate * 100.0) / 100.0;
+
+        return EmployeeVacationDto.builder()
+                .userId(user.getUserId())
+                .userName(user.getUserName())
+                .deptCode(user.getDeptCode())
+                .jobLevel(user.getJobLevel())
+                .jobType(user.getJobType())
+                .startDate(user.getStartDate())
+                .annualCarryover(history.getCarryoverDays())
+                .annualRegular(history.getRegularDays())
+                .annualTotal(history.getTotalDays())
+                .annualUsed(history.getUsedDays())
+                .annualRemaining(history.getRemainingDays())
+                .annualUsageRate(roundedUsageRate)
+                // 하위 호환
+                .totalDays(history.getTotalDays())
+                .usedDays(history.getUsedDays())
+                .remainingDays(history.getRemainingDays())
+                .usageRate(roundedUsageRate)
+                .build();
+    }
+
+    // 부서 코드에서 baseCode 추출 (예: "OS01" -> "OS", "OS_01" -> "OS")
+    private String getBaseDeptCode(String deptCode) {
+        if (deptCode == null || deptCode.trim().isEmpty()) return deptCode;
+        return deptCode.replaceAll("[_\\-]?\\d+$", "");
+    }
+
+    /**
+     * 연도별 통계 스냅샷 (불변으로 취급)
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private static class DeptVacationSnapshot {
+        private final Map<String, EmployeeVacationDto> employeesById;
+        private final Map<String, List<EmployeeVacationDto>> employeesByBase;
+        private final Map<String, String> deptNames;
+        private final LocalDateTime builtAt;
+
+        String getDeptName(String baseCode) {
+            return deptNames.getOrDefault(baseCode, baseCode);
+        }
+
+        boolean isExpired() {
+            return builtAt.plus(SNAPSHOT_TTL).isBefore(LocalDateTime.now());
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package sunhan.sunhanbackend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import sunhan.sunhanbackend.dto.response.VacationStatusResponseDto;
+import sunhan.sunhanbackend.entity.mysql.UserAnnualVacationHistory;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * ✅ 사용자별 연차 현황 캐시 ((userId, year) 단위, 최대 MAX_ENTRIES건)
+ * 차감/복구/연차 설정/재계산이 커밋되면 해당 항목만 DB 값으로 다시 채우고(항목이 없으면 무시),
+ * 오래 쓰이지 않은 항목부터 정리합니다. 이름/부서명 변경은 ENTRY_TTL 이내에 반영됩니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VacationStatusCache {
+
+    private static final int MAX_ENTRIES = 5000;
+    private static final Duration ENTRY_TTL = Duration.ofMinutes(10);
+
+    private static final String SELECT_HISTORY_SQL =
+            "SELECT carryover_days, regular_days, used_carryover_days, used_regular_days " +
+            "FROM user_annual_vacation_history WHERE user_id = ? AND year = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<Key, CachedStatus> entries = new ConcurrentHashMap<>();
+    // 커밋된 쓰기마다 증가 - 조회 도중 쓰기가 끼어들면 조회 결과를 캐시에 넣지 않음
+    private final AtomicLong writeGeneration = new AtomicLong();
+
+    /**
+     * 캐시된 현황 (없거나 만료되면 null)
+     */
+    public VacationStatusResponseDto getIfPresent(String userId, int year) {
+        CachedStatus cached = entries.get(new Key(userId, year));
+        if (cached == null) {
+            return null;
+        }
+        if (cached.isExpired()) {
+            entries.remove(new Key(userId, year), cached);
+            return null;
+        }
+        cached.touch();
+        return cached.status;
+    }
+
+    /**
+     * DB 조회 전에 받아 두고 put에 넘기는 값
+     */
+    public long stamp() {
+        return writeGeneration.get();
+    }
+
+    /**
+     * 조회 결과 저장 (stamp 이후 커밋된 쓰기가 있으면 버림)
+     */
+    public void put(VacationStatusResponseDto status, long stamp) {
+        if (status == null || status.getUserId() == null || status.getYear() == null) {
+            return;
+        }
+        if (writeGeneration.get() != stamp) {
+            return;
+        }
+        entries.put(new Key(status.getUserId(), status.getYear()), new CachedStatus(status));
+        trimIfNeeded();
+    }
+
+    /**
+     * ✅ 여러 사용자 현황 일괄 조회 - 캐시에 없는 사용자만 loader로 한 번에 읽어 채움
+     */
+    public Map<String, VacationStatusResponseDto> getMany(
+            Collection<String> userIds,
+            int year,
+            Function<List<String>, List<VacationStatusResponseDto>> loader
+    ) {
+        Map<String, VacationStatusResponseDto> result = new LinkedHashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String userId : new LinkedHashSet<>(userIds)) {
+            VacationStatusResponseDto cached = getIfPresent(userId, year);
+            if (cached != null) {
+                result.put(userId, cached);
+            } else {
+                missing.add(userId);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            long stamp = stamp();
+            for (VacationStatusResponseDto status : loader.apply(missing)) {
+                result.put(status.getUserId(), status);
+                put(status, stamp);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * ✅ 커밋 이후 해당 항목을 DB 값으로 갱신 (SQL UPDATE로 사용 일수가 바뀐 경우)
+     */
+    public void refreshAfterCommit(String userId, int year) {
+        runAfterCommit(() -> {
+            writeGeneration.incrementAndGet();
+            entries.computeIfPresent(new Key(userId, year), (key, cached) -> reload(key, cached));
+        });
+    }
+
+    /**
+     * ✅ 커밋 이후 특정 연도 항목 전체 제거 (연도 일괄 초기화 등)
+     */
+    public void evictYearAfterCommit(int year) {
+        runAfterCommit(() -> {
+            writeGeneration.incrementAndGet();
+            entries.keySet().removeIf(key -> key.year() == year);
+        });
+    }
+
+    /**
+     * ✅ 연차 이력 → 현황 DTO 변환
+     */
+    public static VacationStatusResponseDto toStatus(String userId, String userName, String deptName,
+                                                     UserAnnualVacationHistory history) {
+        return VacationStatusResponseDto.builder()
+                .userId(userId)
+                .userName(userName)
+                .deptName(deptName)
+                .year(history.getYear())
+                .annualCarryoverDays(history.getCarryoverDays())
+                .annualRegularDays(history.getRegularDays())
+                .annualTotalDays(history.getTotalDays())
+                .usedCarryoverDays(history.getUsedCarryoverDays())
+                .usedRegularDays(history.getUsedRegularDays())
+                .annualUsedDays(history.getUsedDays())
+                .annualRemainingDays(history.getRemainingDays())
+                .totalVacationDays(history.getTotalDays())
+                .usedVacationDays(history.getUsedDays())
+                .remainingVacationDays(history.getRemainingDays())
+                .build();
+    }
+
+    private CachedStatus reload(Key key, CachedStatus cached) {
+        try {
+            List<UserAnnualVacationHistory> rows = jdbcTemplate.query(SELECT_HISTORY_SQL,
+                    (rs, rowNum) -> UserAnnualVacationHistory.builder()
+                            .userId(key.userId())
+                            .year(key.year())
+                            .carryoverDays(rs.getObject("carryover_days", Double.class))
+                            .regularDays(rs.getObject("regular_days", Double.class))
+                            .usedCarryoverDays(rs.getObject("used_carryover_days", Double.class))
+                            .usedRegularDays(rs.getObject("used_regular_days", Double.class))
+                            .build(),
+                    key.userId(), key.year());
+            if (rows.isEmpty()) {
+                return null;
+            }
+            return new CachedStatus(toStatus(key.userId(), cached.status.getUserName(),
+                    cached.status.getDeptName(), rows.get(0)));
+        } catch (Exception e) {
+            log.warn("연차 현황 캐시 갱신 실패 → 항목 제거: userId={}, year={}", key.userId(), key.year(), e);
+            return null;
+        }
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * 최대 건수를 넘으면 가장 오래 쓰이지 않은 항목부터 10% 여유가 생길 때까지 제거
+     */
+    private void trimIfNeeded() {
+        int overflow = entries.size() - MAX_ENTRIES;
+        if (overflow <= 0) {
+            return;
+        }
+        int removeCount = overflow + MAX_ENTRIES / 10;
+        entries.entrySet().stream()
+                .sorted(Comparator.comparingLong(entry -> entry.getValue().lastAccess))
+                .limit(removeCount)
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(entries::remove);
+    }
+
+    private record Key(String userId, int year) {
+    }
+
+    private static final class CachedStatus {
+        private final VacationStatusResponseDto status;
+        private final long loadedAt;
+        private volatile long lastAccess;
+
+        private CachedStatus(VacationStatusResponseDto status) {
+            this.status = status;
+            this.loadedAt = System.currentTimeMillis();
+            this.lastAccess = loadedAt;
+        }
+
+        private boolean isExpired() {
+            return System.currentTimeMillis() - loadedAt > ENTRY_TTL.toMillis();
+        }
+
+        private void touch() {
+            lastAccess = System.currentTimeMillis();
+        }
+    }
+}
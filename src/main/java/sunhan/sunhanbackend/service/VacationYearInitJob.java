@@ -0,0 +1,240 @@
+package sunhan.sunhanbackend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sunhan.sunhanbackend.dto.response.BatchJobProgressDto;
+import sunhan.sunhanbackend.entity.mysql.BatchJobCheckpoint;
+import sunhan.sunhanbackend.entity.mysql.UserAnnualVacationHistory;
+import sunhan.sunhanbackend.repository.mysql.BatchJobCheckpointRepository;
+import sunhan.sunhanbackend.repository.mysql.UserAnnualVacationHistoryRepository;
+import sunhan.sunhanbackend.repository.mysql.UserRepository;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * ✅ 새해 연차 초기화 배치
+ * 재직자를 userId 순으로 페이지 단위 처리하며, 페이지마다 한 트랜잭션에서
+ * 연차 이력 일괄 INSERT와 체크포인트 갱신을 함께 커밋합니다.
+ * 체크포인트 행의 lease를 가진 노드만 실행하므로 여러 노드에서 동시에 호출해도 안전하고,
+ * 중간에 중단되면 마지막으로 처리한 userId 다음부터 이어서 실행합니다.
+ */
+@Slf4j
+@Service
+public class VacationYearInitJob {
+
+    private static final String JOB_NAME_PREFIX = "VACATION_YEAR_INIT_";
+    private static final int CHUNK_SIZE = 500;
+    private static final Duration LEASE_DURATION = Duration.ofMinutes(5);
+    private static final double DEFAULT_REGULAR_DAYS = 15.0;
+    private static final double MAX_CARRYOVER_DAYS = 15.0;
+
+    private static final String INSERT_HISTORY_SQL =
+            "INSERT IGNORE INTO user_annual_vacation_history " +
+            "(user_id, year, carryover_days, regular_days, used_carryover_days, used_regular_days, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, 0, 0, NOW(), NOW())";
+
+    private final UserRepository userRepository;
+    private final UserAnnualVacationHistoryRepository vacationHistoryRepository;
+    private final BatchJobCheckpointRepository checkpointRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final String nodeId;
+
+    public VacationYearInitJob(UserRepository userRepository,
+                               UserAnnualVacationHistoryRepository vacationHistoryRepository,
+                               BatchJobCheckpointRepository checkpointRepository,
+                               JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.vacationHistoryRepository = vacationHistoryRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.nodeId = resolveNodeId();
+    }
+
+    /**
+     * ✅ 연도 초기화 실행 (이미 완료된 연도는 건너뜀)
+     * @return 이번 실행 후의 진행 상황 (다른 노드가 실행 중이면 해당 상황 그대로)
+     */
+    public BatchJobProgressDto run(int year) {
+        return run(year, false);
+    }
+
+    /**
+     * ✅ 연도 초기화 실행
+     * @param rerunIfCompleted 완료된 연도도 처음부터 다시 순회 (관리자 수동 실행 - 첫 실행 이후 입사자 생성용,
+     *                         INSERT IGNORE이므로 기존 이력은 그대로 유지)
+     */
+    public BatchJobProgressDto run(int year, boolean rerunIfCompleted) {
+        String jobName = jobName(year);
+
+        // 1. 체크포인트 행 확보 + lease 획득
+        Boolean acquired = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            checkpointRepository.insertIfAbsent(jobName, now);
+            return checkpointRepository.tryAcquireLease(jobName, nodeId, now.plus(LEASE_DURATION), now) == 1;
+        });
+        if (!Boolean.TRUE.equals(acquired)) {
+            log.info("{}년 연차 초기화는 다른 노드에서 진행 중입니다.", year);
+            return getProgress(year);
+        }
+
+        try {
+            // 2. 시작 상태 기록 (완료된 작업이면 종료)
+            boolean alreadyCompleted = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                BatchJobCheckpoint checkpoint = checkpointRepository.findById(jobName).orElseThrow();
+                if ("COMPLETED".equals(checkpoint.getStatus())) {
+                    if (!rerunIfCompleted) {
+                        return true;
+                    }
+                    // 새로 한 바퀴: 커서/집계 초기화
+                    checkpoint.setLastProcessedKey(null);
+                    checkpoint.setProcessedCount(0);
+                    checkpoint.setCreatedCount(0);
+                    checkpoint.setStartedAt(null);
+                }
+                checkpoint.setStatus("RUNNING");
+                checkpoint.setTotalCount(userRepository.countActiveUsers());
+                checkpoint.setMessage(null);
+                checkpoint.setFinishedAt(null);
+                if (checkpoint.getStartedAt() == null) {
+                    checkpoint.setStartedAt(LocalDateTime.now());
+                }
+                checkpoint.setUpdatedAt(LocalDateTime.now());
+                return false;
+            }));
+            if (alreadyCompleted) {
+                log.info("{}년 연차 초기화는 이미 완료되었습니다.", year);
+                return getProgress(year);
+            }
+
+            String lastKey = checkpointRepository.findById(jobName)
+                    .map(BatchJobCheckpoint::getLastProcessedKey)
+                    .orElse(null);
+            if (lastKey != null) {
+                log.info("=== {}년 연차 초기화 재개: 마지막 처리 userId={} ===", year, lastKey);
+            } else {
+                log.info("=== {}년 연차 데이터 초기화 시작 ===", year);
+            }
+
+            // 3. 페이지 단위 처리 (페이지 = 한 트랜잭션)
+            while (true) {
+                List<String> userIds = userRepository.findActiveUserIdsAfter(
+                        lastKey != null ? lastKey : "", PageRequest.of(0, CHUNK_SIZE));
+                if (userIds.isEmpty()) break;
+
+                Integer created = transactionTemplate.execute(status -> processChunk(jobName, year, userIds));
+                lastKey = userIds.get(userIds.size() - 1);
+                log.info("{}년 연차 초기화 진행: 마지막 userId={}, 이번 청크 생성 {}건", year, lastKey, created);
+
+                if (userIds.size() < CHUNK_SIZE) break;
+            }
+
+            // 4. 완료 기록
+            transactionTemplate.executeWithoutResult(status -> {
+                BatchJobCheckpoint checkpoint = checkpointRepository.findById(jobName).orElseThrow();
+                checkpoint.setStatus("COMPLETED");
+                checkpoint.setFinishedAt(LocalDateTime.now());
+                checkpoint.setUpdatedAt(LocalDateTime.now());
+                log.info("=== {}년 연차 데이터 초기화 완료: 처리 {}명, 생성 {}명 ===",
+                        year, checkpoint.getProcessedCount(), checkpoint.getCreatedCount());
+            });
+        } catch (RuntimeException e) {
+            log.error("{}년 연차 초기화 실패 (체크포인트부터 재실행 가능)", year, e);
+            transactionTemplate.executeWithoutResult(status ->
+                    checkpointRepository.findById(jobName).ifPresent(checkpoint -> {
+                        checkpoint.setStatus("FAILED");
+                        checkpoint.setMessage(abbreviate(e.getMessage()));
+                        checkpoint.setUpdatedAt(LocalDateTime.now());
+                    }));
+        } finally {
+            transactionTemplate.executeWithoutResult(status -> checkpointRepository.releaseLease(jobName, nodeId));
+        }
+
+        return getProgress(year);
+    }
+
+    /**
+     * ✅ 진행 상황 조회 (실행 이력이 없으면 null)
+     */
+    public BatchJobProgressDto getProgress(int year) {
+        return checkpointRepository.findById(jobName(year))
+                .map(BatchJobProgressDto::fromEntity)
+                .orElse(null);
+    }
+
+    /**
+     * 한 페이지 처리: 작년 이력으로 이월 일수를 계산해 없는 사용자만 일괄 INSERT 후 체크포인트 전진
+     */
+    private int processChunk(String jobName, int year, List<String> userIds) {
+        Set<String> existing = vacationHistoryRepository.findByUserIdsAndYear(userIds, year).stream()
+                .map(UserAnnualVacationHistory::getUserId)
+                .collect(Collectors.toSet());
+
+        Map<String, UserAnnualVacationHistory> lastYearByUser = vacationHistoryRepository
+                .findByUserIdsAndYear(userIds, year - 1).stream()
+                .collect(Collectors.toMap(UserAnnualVacationHistory::getUserId, Function.identity(), (a, b) -> a));
+
+        List<Object[]> rows = new ArrayList<>();
+        for (String userId : userIds) {
+            if (existing.contains(userId)) continue;
+
+            double carryoverDays = 0.0;
+            UserAnnualVacationHistory lastYear = lastYearByUser.get(userId);
+            if (lastYear != null) {
+                Double remaining = lastYear.getRemainingDays();
+                if (remaining != null && remaining > 0) {
+                    carryoverDays = Math.min(remaining, MAX_CARRYOVER_DAYS);
+                }
+            }
+            rows.add(new Object[]{userId, year, carryoverDays, DEFAULT_REGULAR_DAYS});
+        }
+
+        int created = 0;
+        if (!rows.isEmpty()) {
+            // INSERT IGNORE: 다른 경로(개별 초기화)에서 먼저 생성된 행은 건너뜀
+            // 실제로 삽입된 행만 집계 (드라이버가 건별 결과를 알려주지 않는 경우는 생성 수에 넣지 않음)
+            for (int count : jdbcTemplate.batchUpdate(INSERT_HISTORY_SQL, rows)) {
+                if (count > 0) created++;
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        int advanced = checkpointRepository.advance(jobName, nodeId, userIds.get(userIds.size() - 1),
+                userIds.size(), created, now.plus(LEASE_DURATION), now);
+        if (advanced == 0) {
+            // lease를 잃었으면 이 청크를 롤백하고 중단 (다른 노드가 이어서 처리)
+            throw new IllegalStateException("배치 lease를 잃었습니다: " + jobName);
+        }
+        return created;
+    }
+
+    private String jobName(int year) {
+        return JOB_NAME_PREFIX + year;
+    }
+
+    private static String abbreviate(String message) {
+        if (message == null) return null;
+        return message.length() > 500 ? message.substring(0, 500) : message;
+    }
+
+    private static String resolveNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown";
+        }
+        return host + ":" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
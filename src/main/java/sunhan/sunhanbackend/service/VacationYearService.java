@@ -7,6 +7,7 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import sunhan.sunhanbackend.dto.response.BatchJobProgressDto;
 import sunhan.sunhanbackend.entity.mysql.UserAnnualVacationHistory;
 import sunhan.sunhanbackend.entity.mysql.UserEntity;
 import sunhan.sunhanbackend.repository.mysql.UserAnnualVacationHistoryRepository;
@@ -23,33 +24,34 @@ public class VacationYearService {
 
     private final UserRepository userRepository;
     private final UserAnnualVacationHistoryRepository vacationHistoryRepository;
+    private final VacationYearInitJob vacationYearInitJob;
+    private final VacationStatusCache vacationStatusCache;
 
     /**
      * 매년 1월 1일 자정에 자동 초기화
+     * 청크 단위 배치로 처리하며, 여러 노드에서 동시에 실행돼도 lease를 가진 한 노드만 진행합니다.
      */
     @Scheduled(cron = "0 0 0 1 1 *")
-    public void initializeNewYearVacation() { // @Transactional 제거됨
+    public void initializeNewYearVacation() {
         int currentYear = LocalDate.now().getYear();
-        log.info("=== {}년 연차 데이터 자동 초기화 시작 ===", currentYear);
-
-        List<UserEntity> activeUsers = userRepository.findByUseFlag("1").stream()
-                .filter(user -> !"000".equals(user.getDeptCode()))
-                .toList();
-
-        int successCount = 0;
+        BatchJobProgressDto progress = vacationYearInitJob.run(currentYear);
+        log.info("{}년 연차 데이터 자동 초기화 상태: {}", currentYear,
+                progress != null ? progress.getStatus() : "UNKNOWN");
+    }
 
-        for (UserEntity user : activeUsers) {
-            try {
-                // ✅ 핵심: 별도로 정의된 REQUIRES_NEW 메서드를 호출
-                // 이렇게 해야 한 명이 실패해도 다음 사람 처리가 정상적으로 진행됩니다.
-                this.initializeUserYearVacation(user.getUserId(), currentYear);
-                successCount++;
-            } catch (Exception e) {
-                log.error("사용자 {} 연차 초기화 실패: {}", user.getUserId(), e.getMessage());
-            }
-        }
+    /**
+     * ✅ 연도 초기화 배치 수동 실행 (기존 이력은 유지하고 없는 사용자만 생성)
+     * 이미 완료된 연도도 다시 순회하므로 첫 실행 이후 입사자의 이력이 생성됨
+     */
+    public BatchJobProgressDto runYearInitializationJob(int year) {
+        return vacationYearInitJob.run(year, true);
+    }
 
-        log.info("=== {}년 연차 데이터 초기화 완료: 성공 {}명 ===", currentYear, successCount);
+    /**
+     * ✅ 연도 초기화 배치 진행 상황
+     */
+    public BatchJobProgressDto getYearInitializationProgress(int year) {
+        return vacationYearInitJob.getProgress(year);
     }
 
     /**
@@ -113,6 +115,11 @@ public class VacationYearService {
             }
         }
 
+        if (forceOverwrite && successCount > 0) {
+            // 기존 이력을 덮어썼으므로 해당 연도 현황 캐시는 커밋 이후 비움
+            vacationStatusCache.evictYearAfterCommit(year);
+        }
+
         log.info("=== {}년 연차 데이터 초기화 완료: {}명 ===", year, successCount);
     }
 
@@ -26,6 +26,8 @@ import sunhan.sunhanbackend.repository.mysql.approval.ApprovalLineRepository;
 import sunhan.sunhanbackend.repository.mysql.approval.ApprovalStepHistoryRepository;
 import sunhan.sunhanbackend.repository.mysql.approval.DocumentApprovalProcessRepository;
 import sunhan.sunhanbackend.repository.mysql.workschedule.WorkScheduleRepository;
+import sunhan.sunhanbackend.service.DocumentInboxService;
+import sunhan.sunhanbackend.service.workschedule.WorkScheduleVacationUsageService;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -43,6 +45,8 @@ public class ApprovalProcessService {
     private final LeaveApplicationRepository leaveApplicationRepository;
     private final ObjectMapper objectMapper;
     private final WorkScheduleRepository scheduleRepository;
+    private final WorkScheduleVacationUsageService workScheduleVacationUsageService;
+    private final DocumentInboxService documentInboxService;
 
     /**
      * 문서 제출 시 결재 프로세스 시작
@@ -68,6 +72,7 @@ public class ApprovalProcessService {
         process.setStatus(ApprovalProcessStatus.IN_PROGRESS);
 
         DocumentApprovalProcess saved = processRepository.save(process);
+        documentChanged(documentType, documentId);
 
         // 첫 번째 단계의 승인자에게 알림
         notifyNextApprover(saved, approvalLine.getSteps().get(0), applicantId);
@@ -130,6 +135,7 @@ public class ApprovalProcessService {
         history.setActionDate(LocalDateTime.now());
 
         historyRepository.save(history);
+        documentChanged(process.getDocumentType(), process.getDocumentId());
 
         if (isFinalApproval) {
             // ✅ 전결 처리 시에는 남은 단계만 처리
@@ -328,11 +334,22 @@ public class ApprovalProcessService {
         // 프로세스 상태 변경
         process.setStatus(ApprovalProcessStatus.REJECTED);
         processRepository.save(process);
+        documentChanged(process.getDocumentType(), process.getDocumentId());
 
         // 신청자에게 반려 알림
         notifyRejection(process, rejectionReason);
     }
 
+    /**
+     * 결재 대상 문서 변경 알림 (문서함, 근무표면 월간 휴가 사용량 집계도 커밋 직전에 재계산)
+     */
+    private void documentChanged(DocumentType documentType, Long documentId) {
+        documentInboxService.approvalDocumentChanged(documentType, documentId);
+        if (documentType == DocumentType.WORK_SCHEDULE) {
+            workScheduleVacationUsageService.scheduleChanged(documentId);
+        }
+    }
+
     /**
      * 현재 단계의 승인자 확인
      */
@@ -687,6 +704,7 @@ public class ApprovalProcessService {
                     savedProcess.getId(), step.getStepOrder(), approverId, step.getStepName());
         }
 
+        documentChanged(documentType, documentId);
         return savedProcess;
     }
 
@@ -25,7 +25,6 @@ import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 @Slf4j
 @Service
@@ -44,16 +43,14 @@ public class ConsentService {
      * 동의서 생성 권한 확인
      */
     public boolean hasCreatePermission(String userId) {
-        Set<PermissionType> permissions = permissionService.getAllUserPermissions(userId);
-        return permissions.contains(PermissionType.CONSENT_CREATE);
+        return permissionService.hasPermission(userId, PermissionType.CONSENT_CREATE);
     }
 
     /**
      * 동의서 관리 권한 확인
      */
     public boolean hasManagePermission(String userId) {
-        Set<PermissionType> permissions = permissionService.getAllUserPermissions(userId);
-        return permissions.contains(PermissionType.CONSENT_MANAGE);
+        return permissionService.hasPermission(userId, PermissionType.CONSENT_MANAGE);
     }
 
     /**
@@ -259,13 +256,10 @@ public class ConsentService {
     // ==================== 조회 (권한별) ====================
 
     /**
-     * 관리자용: 전체 동의서 목록
+     * 관리자용: 전체 동의서 목록 (CONSENT_MANAGE 권한은 컨트롤러의 @RequiresPermission에서 검사)
      */
     @Transactional(readOnly = true)
-    public List<ConsentAgreement> findAllForAdmin(String adminUserId) {
-        if (!hasManagePermission(adminUserId)) {
-            throw new RuntimeException("관리 권한이 없습니다.");
-        }
+    public List<ConsentAgreement> findAllForAdmin() {
         return agreementRepository.findAllByOrderByCreatedAtDesc();
     }
 
@@ -274,26 +268,19 @@ public class ConsentService {
      */
     @Transactional(readOnly = true)
     public Page<ConsentAgreement> searchAgreements(
-            String adminUserId,
             ConsentStatus status,
             ConsentType type,
             String searchTerm,
             Pageable pageable
     ) {
-        if (!hasManagePermission(adminUserId)) {
-            throw new RuntimeException("관리 권한이 없습니다.");
-        }
         return agreementRepository.searchAgreements(status, type, searchTerm, pageable);
     }
 
     /**
-     * 생성자용: 내가 발송한 동의서 목록
+     * 생성자용: 내가 발송한 동의서 목록 (CONSENT_CREATE 권한은 컨트롤러의 @RequiresPermission에서 검사)
      */
     @Transactional(readOnly = true)
     public List<ConsentAgreement> findByCreator(String creatorId) {
-        if (!hasCreatePermission(creatorId)) {
-            throw new RuntimeException("동의서 생성 권한이 없습니다.");
-        }
         return agreementRepository.findByCreatorId(creatorId);
     }
 
@@ -302,9 +289,6 @@ public class ConsentService {
      */
     @Transactional(readOnly = true)
     public List<ConsentAgreement> findCompletedByCreator(String creatorId) {
-        if (!hasCreatePermission(creatorId)) {
-            throw new RuntimeException("동의서 생성 권한이 없습니다.");
-        }
         return agreementRepository.findByCreatorIdAndStatus(creatorId, ConsentStatus.COMPLETED);
     }
 
@@ -347,11 +331,7 @@ public class ConsentService {
      * 동의서 현황 통계
      */
     @Transactional(readOnly = true)
-    public Map<String, Object> getStatistics(String adminUserId) {
-        if (!hasManagePermission(adminUserId)) {
-            throw new RuntimeException("관리 권한이 없습니다.");
-        }
-
+    public Map<String, Object> getStatistics() {
         long totalIssued = agreementRepository.countByStatus(ConsentStatus.ISSUED);
         long totalCompleted = agreementRepository.countByStatus(ConsentStatus.COMPLETED);
 
@@ -36,6 +36,7 @@ import sunhan.sunhanbackend.repository.mysql.workschedule.DeptDutyConfigReposito
 import sunhan.sunhanbackend.repository.mysql.workschedule.WorkScheduleEntryRepository;
 import sunhan.sunhanbackend.repository.mysql.workschedule.WorkScheduleRepository;
 import sunhan.sunhanbackend.repository.mysql.workschedule.WorkScheduleTemplateRepository;
+import sunhan.sunhanbackend.service.DocumentInboxService;
 import sunhan.sunhanbackend.service.PermissionService;
 import sunhan.sunhanbackend.service.VacationService;
 import sunhan.sunhanbackend.service.approval.ApprovalProcessService;
@@ -68,6 +69,8 @@ public class WorkScheduleService {
     private final WorkScheduleTemplateRepository templateRepository;
     private final DeptDutyConfigRepository deptDutyConfigRepository;
     private final VacationService vacationService;
+    private final WorkScheduleVacationUsageService vacationUsageService;
+    private final DocumentInboxService documentInboxService;
 
     @Value("${holiday.api.key}")
     private String holidayApiKey;
@@ -114,6 +117,7 @@ public class WorkScheduleService {
 
         try {
             WorkSchedule saved = scheduleRepository.save(schedule);
+            scheduleChanged(saved.getId());
             // 엔트리 자동 생성
             createEntriesForDeptUsers(saved);
             log.info("근무현황표 생성: id={}, dept={}, yearMonth={}", saved.getId(), deptCode, yearMonth);
@@ -165,6 +169,10 @@ public class WorkScheduleService {
         // 해당 년도에 APPROVED된 이전 근무표 합계 계산 (모든 이전 달)
         String currentYear = schedule.getScheduleYearMonth().split("-")[0];
 
+        // 부서원 연차 현황 일괄 조회
+        Map<String, VacationStatusResponseDto> vacationStatuses = prefetchVacationStatuses(
+                deptUsers.stream().map(UserEntity::getUserId).toList());
+
         int order = 0;
         for (UserEntity user : deptUsers) {
             WorkScheduleEntry entry = new WorkScheduleEntry(schedule, user.getUserId(), order++);
@@ -192,11 +200,7 @@ public class WorkScheduleService {
 
             // 휴가 총계 설정 (유지)
             try {
-                final Integer leaveCurrentYear = LocalDate.now().getYear();
-                VacationStatusResponseDto vacationStatus = vacationService.getVacationStatus(
-                        user.getUserId(),
-                        leaveCurrentYear
-                );
+                VacationStatusResponseDto vacationStatus = getVacationStatus(vacationStatuses, user.getUserId());
                 entry.setVacationTotal(vacationStatus.getTotalVacationDays());
                 entry.setVacationUsedTotal(vacationStatus.getUsedVacationDays());
             } catch (Exception e) {
@@ -207,10 +211,7 @@ public class WorkScheduleService {
             entry.setVacationUsedThisMonth(0.0);  // 초기 0
 
             // ✅ 새로 추가: 년도 첫 생성 확인 및 누적
-            Double yearToDateUsed = entryRepository.sumApprovedVacationByUserIdAndYear(user.getUserId(), currentYear);
-            if (yearToDateUsed == null) {
-                yearToDateUsed = 0.0;
-            }
+            double yearToDateUsed = vacationUsageService.getYearToDate(user.getUserId(), Integer.parseInt(currentYear));
             entry.setVacationUsedTotal(yearToDateUsed + entry.getVacationUsedThisMonth());  // 초기: 이전 합계 + 0
 
             // ✅ calculateStatistics 호출 (workData 기반 이번 달 재계산, but 초기 empty이므로 유지)
@@ -272,6 +273,8 @@ public class WorkScheduleService {
                         .max()
                         .orElse(0);
 
+        Map<String, VacationStatusResponseDto> vacationStatuses = prefetchVacationStatuses(newComerUserIds);
+
         for (String userId : newComerUserIds) {
             UserEntity user = userRepository.findByUserId(userId).orElse(null);
             if (user == null) continue;
@@ -290,11 +293,7 @@ public class WorkScheduleService {
 
             // 4-3. 휴가 총계 설정 (UserEntity 데이터 사용)
             try {
-                final Integer currentYear = LocalDate.now().getYear();
-                VacationStatusResponseDto vacationStatus = vacationService.getVacationStatus(
-                        user.getUserId(),
-                        currentYear
-                );
+                VacationStatusResponseDto vacationStatus = getVacationStatus(vacationStatuses, user.getUserId());
                 newEntry.setVacationTotal(vacationStatus.getTotalVacationDays());
                 newEntry.setVacationUsedTotal(vacationStatus.getUsedVacationDays());
             } catch (Exception e) {
@@ -342,6 +341,10 @@ public class WorkScheduleService {
         int removedCount = entriesToRemove.size();
         entryRepository.deleteAll(entriesToRemove);
 
+        // 삭제된 사용자의 월간 휴가 사용량 집계도 갱신
+        vacationUsageService.scheduleChanged(schedule.getId(),
+                entriesToRemove.stream().map(WorkScheduleEntry::getUserId).toList());
+
         log.warn("근무표 ID {}에서 부서원이 아닌 엔트리 {}개 삭제 완료.", schedule.getId(), removedCount);
         return removedCount;
     }
@@ -748,6 +751,34 @@ public class WorkScheduleService {
         }
 
         scheduleRepository.save(schedule);
+        scheduleChanged(schedule.getId());
+    }
+
+    /**
+     * ✅ 근무표 상태/서명/PDF 변경 저장 (문서함·휴가 사용량 집계 반영까지 같은 트랜잭션에서 커밋)
+     */
+    @Transactional
+    public WorkSchedule saveScheduleChange(WorkSchedule schedule) {
+        WorkSchedule saved = scheduleRepository.save(schedule);
+        scheduleChanged(saved.getId());
+        return saved;
+    }
+
+    /**
+     * ✅ 근무표 삭제 (문서함 행 삭제까지 같은 트랜잭션에서 커밋)
+     */
+    @Transactional
+    public void deleteSchedule(WorkSchedule schedule) {
+        scheduleRepository.delete(schedule);
+        scheduleChanged(schedule.getId());
+    }
+
+    /**
+     * 근무표 변경 알림 (문서함 + 월간 휴가 사용량 집계, 둘 다 커밋 직전에 반영)
+     */
+    private void scheduleChanged(Long scheduleId) {
+        documentInboxService.workScheduleChanged(scheduleId);
+        vacationUsageService.scheduleChanged(scheduleId);
     }
 
     @Transactional
@@ -759,6 +790,7 @@ public class WorkScheduleService {
 
         schedule.setRemarks(remarks);
         scheduleRepository.save(schedule);
+        scheduleChanged(schedule.getId());
     }
 
     /**
@@ -824,6 +856,7 @@ public class WorkScheduleService {
         );
 
         scheduleRepository.save(schedule);
+        scheduleChanged(schedule.getId());
         log.info("근무표 제출 완료: scheduleId={}, approvalLineId={}", scheduleId, approvalLineId);
     }
 
@@ -901,6 +934,7 @@ public class WorkScheduleService {
         }
 
         scheduleRepository.save(schedule);
+        scheduleChanged(schedule.getId());
 
         log.info("근무표 서명 완료 (통합 프로세스): scheduleId={}, userId={}, stepOrder={}, processId={}",
                 scheduleId, userId, stepOrder, process.getId());
@@ -953,6 +987,7 @@ public class WorkScheduleService {
                 schedule.setUpdatedAt(LocalDateTime.now());
                 entryRepository.save(entry);
             }
+            scheduleChanged(scheduleId);
 
             log.info("근무 데이터 업데이트: scheduleId={}, count={}", scheduleId, updates.size());
 
@@ -1078,15 +1113,10 @@ public class WorkScheduleService {
             entry.setVacationUsedThisMonth(vacationUsed); // 이번 달 사용량 저장
 
             // 2. 연간 누적 사용량 계산 (올해 다른 달 합계 + 이번 달)
-            String currentYear = schedule.getScheduleYearMonth().split("-")[0];
-
-            // ✅ 수정: 해당 년도 APPROVED된 이전 달 합계만 (exclude current)
-            Double otherMonthsUsed = entryRepository.sumApprovedVacationByUserIdAndYearExcludingCurrent(
-                    entry.getUserId(), currentYear, schedule.getId()
+            // ✅ 수정: 해당 년도 APPROVED된 다른 달 합계만 (월간 집계에서 이번 달 제외)
+            double otherMonthsUsed = vacationUsageService.getYearToDateExcludingMonth(
+                    entry.getUserId(), schedule.getScheduleYearMonth()
             );
-            if (otherMonthsUsed == null) {
-                otherMonthsUsed = 0.0;
-            }
 
             // 총계 = 다른 달 누적 사용량 + 이번 달 사용량
             entry.setVacationUsedTotal(otherMonthsUsed + vacationUsed);
@@ -1289,6 +1319,23 @@ public class WorkScheduleService {
      * @param deptCode 부서 코드
      * @return 이전 달의 WorkSchedule ID (없으면 null)
      */
+    /**
+     * 여러 사용자의 올해 연차 현황 일괄 조회 (실패하면 빈 Map → 사용자별 개별 조회로 대체)
+     */
+    private Map<String, VacationStatusResponseDto> prefetchVacationStatuses(Collection<String> userIds) {
+        try {
+            return vacationService.getVacationStatuses(userIds, LocalDate.now().getYear());
+        } catch (Exception e) {
+            log.warn("연차 현황 일괄 조회 실패 → 개별 조회로 대체: count={}", userIds.size(), e);
+            return new HashMap<>();
+        }
+    }
+
+    private VacationStatusResponseDto getVacationStatus(Map<String, VacationStatusResponseDto> prefetched, String userId) {
+        VacationStatusResponseDto status = prefetched.get(userId);
+        return status != null ? status : vacationService.getVacationStatus(userId, LocalDate.now().getYear());
+    }
+
     private Long findPreviousMonthScheduleId(String currentScheduleYearMonth, String deptCode) {
         try {
             // 1. 현재 연월을 YearMonth 객체로 파싱
@@ -1343,6 +1390,7 @@ public class WorkScheduleService {
         schedule.setIsActive(true);
 
         WorkSchedule saved = scheduleRepository.save(schedule);
+        scheduleChanged(saved.getId());
 
         // 선택된 사용자들로 엔트리 생성
         createCustomEntries(saved, memberUserIds);
@@ -1353,6 +1401,7 @@ public class WorkScheduleService {
     // 2. 커스텀 엔트리 생성
     private void createCustomEntries(WorkSchedule schedule, List<String> memberUserIds) {
         int order = 0;
+        Map<String, VacationStatusResponseDto> vacationStatuses = prefetchVacationStatuses(memberUserIds);
 
         for (String userId : memberUserIds) {
             UserEntity user = userRepository.findByUserId(userId)
@@ -1364,11 +1413,7 @@ public class WorkScheduleService {
             entry.setDeptCode(user.getDeptCode()); // 원 소속 부서 저장
             entry.setUserName(user.getUserName());
             try {
-                final Integer currentYear = LocalDate.now().getYear();
-                VacationStatusResponseDto vacationStatus = vacationService.getVacationStatus(
-                        user.getUserId(),
-                        currentYear
-                );
+                VacationStatusResponseDto vacationStatus = getVacationStatus(vacationStatuses, user.getUserId());
                 entry.setVacationTotal(vacationStatus.getTotalVacationDays());
             } catch (Exception e) {
                 log.warn("연차 정보 조회 실패: userId={}", user.getUserId(), e);
@@ -1486,6 +1531,8 @@ public class WorkScheduleService {
                 .max()
                 .orElse(-1);
 
+        Map<String, VacationStatusResponseDto> vacationStatuses = prefetchVacationStatuses(userIds);
+
         for (String userId : userIds) {
             // 이미 존재하는 엔트리인지 확인
             boolean exists = entryRepository.findByWorkScheduleIdOrderByDisplayOrderAsc(scheduleId)
@@ -1502,11 +1549,7 @@ public class WorkScheduleService {
             entry.setDeptCode(user.getDeptCode());
             entry.setUserName(user.getUserName());
             try {
-                final Integer currentYear = LocalDate.now().getYear();
-                VacationStatusResponseDto vacationStatus = vacationService.getVacationStatus(
-                        user.getUserId(),
-                        currentYear
-                );
+                VacationStatusResponseDto vacationStatus = getVacationStatus(vacationStatuses, user.getUserId());
                 entry.setVacationTotal(vacationStatus.getTotalVacationDays());
             } catch (Exception e) {
                 log.warn("연차 정보 조회 실패: userId={}", user.getUserId(), e);
@@ -1516,6 +1559,7 @@ public class WorkScheduleService {
 
             entryRepository.save(entry);
         }
+        scheduleChanged(scheduleId);
     }
 
     // 7. 엔트리 삭제 (논리적 삭제)
@@ -1554,6 +1598,7 @@ public class WorkScheduleService {
                 entryRepository.save(entry);
             }
         }
+        scheduleChanged(scheduleId);
     }
 
     /**
@@ -1754,10 +1799,9 @@ public class WorkScheduleService {
             entry.setVacationUsedThisMonth(vacationThisMonth);
 
             // vacationUsedTotal: 다른 달 합계 + 이번 달
-            String yearStr = schedule.getScheduleYearMonth().substring(0, 4);
-            Double usedExcluding = entryRepository.sumApprovedVacationByUserIdAndYearExcludingCurrent(
-                    entry.getUserId(), yearStr, scheduleId);
-            entry.setVacationUsedTotal(usedExcluding != null ? usedExcluding + vacationThisMonth : vacationThisMonth);
+            double usedExcluding = vacationUsageService.getYearToDateExcludingMonth(
+                    entry.getUserId(), schedule.getScheduleYearMonth());
+            entry.setVacationUsedTotal(usedExcluding + vacationThisMonth);
 
             // vacationTotal: 기본값
             entry.setVacationTotal(entry.getVacationTotal() != null ? entry.getVacationTotal() : 15.0);
@@ -1765,6 +1809,8 @@ public class WorkScheduleService {
             entryRepository.save(entry);
         }
 
+        vacationUsageService.scheduleChanged(scheduleId);
+
         log.info("통계 업데이트 완료: scheduleId={}", scheduleId);
     }
 
@@ -0,0 +1,244 @@
+package sunhan.sunhanbackend.service.workschedule;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import sunhan.sunhanbackend.entity.mysql.workschedule.WorkSchedule;
+import sunhan.sunhanbackend.entity.mysql.workschedule.WorkScheduleEntry;
+import sunhan.sunhanbackend.entity.mysql.workschedule.WorkScheduleVacationUsage;
+import sunhan.sunhanbackend.repository.mysql.workschedule.WorkScheduleEntryRepository;
+import sunhan.sunhanbackend.repository.mysql.workschedule.WorkScheduleRepository;
+import sunhan.sunhanbackend.repository.mysql.workschedule.WorkScheduleVacationUsageRepository;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+/**
+ * ✅ 근무표 휴가 사용량 집계
+ * 승인된 근무표의 엔트리 사용량을 (userId, year, month) 단위로 미리 합산해 두고,
+ * 연간 누적/이번 달 제외 누적을 집계 테이블에서 바로 조회합니다.
+ * 근무표가 바뀔 때마다(scheduleChanged) 커밋 직전에 해당 월의 집계를 다시 계산하고,
+ * 매일 새벽 원본 엔트리와 대조해 어긋난 값을 바로잡습니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WorkScheduleVacationUsageService {
+
+    private static final double TOLERANCE = 1e-9;
+
+    private static final String UPSERT_USAGE_SQL =
+            "INSERT INTO work_schedule_vacation_usage (user_id, year, month, used_days, updated_at) " +
+            "VALUES (?, ?, ?, ?, NOW()) " +
+            "ON DUPLICATE KEY UPDATE used_days = VALUES(used_days), updated_at = NOW()";
+
+    private final WorkScheduleEntryRepository entryRepository;
+    private final WorkScheduleVacationUsageRepository usageRepository;
+    private final WorkScheduleRepository scheduleRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    // 트랜잭션별 변경 근무표 목록(근무표 id → 엔트리가 삭제된 사용자)을 묶어 두는 리소스 키
+    private final Object resourceKey = new Object();
+
+    /**
+     * ✅ 근무표 변경 알림 (상태 전환/엔트리 수정/구성원 변경)
+     * 집계는 승인된 근무표의 엔트리만 다시 합산하므로 상태와 관계없이 호출해도 되며,
+     * 트랜잭션 중이면 커밋 직전에 근무표별로 한 번만, 아니면 즉시 재계산합니다.
+     */
+    public void scheduleChanged(Long scheduleId) {
+        scheduleChanged(scheduleId, Collections.emptyList());
+    }
+
+    /**
+     * ✅ 근무표 변경 알림 + 엔트리가 삭제된 사용자
+     */
+    @SuppressWarnings("unchecked")
+    public void scheduleChanged(Long scheduleId, Collection<String> removedUserIds) {
+        if (scheduleId == null) return;
+
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            refreshChanged(Map.of(scheduleId, new LinkedHashSet<>(removedUserIds)));
+            return;
+        }
+
+        Map<Long, Set<String>> changed = (Map<Long, Set<String>>) TransactionSynchronizationManager.getResource(resourceKey);
+        if (changed == null) {
+            Map<Long, Set<String>> schedules = new LinkedHashMap<>();
+            TransactionSynchronizationManager.bindResource(resourceKey, schedules);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    // 아직 flush되지 않은 상태/엔트리 변경을 먼저 반영한 뒤 원본을 다시 읽음
+                    scheduleRepository.flush();
+                    refreshChanged(schedules);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(resourceKey);
+                }
+            });
+            changed = schedules;
+        }
+        changed.computeIfAbsent(scheduleId, id -> new LinkedHashSet<>()).addAll(removedUserIds);
+    }
+
+    private void refreshChanged(Map<Long, Set<String>> schedules) {
+        // 삭제된 근무표는 임시저장 상태만 가능하므로 집계에 영향이 없음
+        schedules.forEach((scheduleId, removedUserIds) -> scheduleRepository.findById(scheduleId)
+                .ifPresent(schedule -> refreshSchedule(schedule, removedUserIds)));
+    }
+
+    /**
+     * ✅ 근무표 구성원의 해당 월 집계 재계산
+     */
+    @Transactional
+    public void refreshSchedule(WorkSchedule schedule) {
+        refreshSchedule(schedule, Collections.emptyList());
+    }
+
+    /**
+     * ✅ 근무표 구성원 + 엔트리가 삭제된 사용자의 해당 월 집계 재계산
+     */
+    @Transactional
+    public void refreshSchedule(WorkSchedule schedule, Collection<String> removedUserIds) {
+        YearMonth yearMonth = parseYearMonth(schedule.getScheduleYearMonth());
+        if (yearMonth == null) {
+            return;
+        }
+
+        Set<String> userIds = new LinkedHashSet<>(removedUserIds);
+        entryRepository.findByWorkScheduleIdOrderByDisplayOrderAsc(schedule.getId()).stream()
+                .map(WorkScheduleEntry::getUserId)
+                .forEach(userIds::add);
+        if (userIds.isEmpty()) {
+            return;
+        }
+
+        // 같은 달 승인된 다른 근무표(커스텀 근무표 등) 사용량까지 포함해 합산
+        Map<String, Double> usedByUser = new HashMap<>();
+        for (Object[] row : entryRepository.sumApprovedVacationByUserIdsAndYearMonth(
+                userIds, schedule.getScheduleYearMonth())) {
+            usedByUser.put((String) row[0], toDouble(row[1]));
+        }
+
+        List<Object[]> rows = new ArrayList<>();
+        for (String userId : userIds) {
+            rows.add(new Object[]{userId, yearMonth.getYear(), yearMonth.getMonthValue(),
+                    usedByUser.getOrDefault(userId, 0.0)});
+        }
+        jdbcTemplate.batchUpdate(UPSERT_USAGE_SQL, rows);
+
+        log.debug("근무표 휴가 사용량 집계 갱신: scheduleId={}, yearMonth={}, users={}",
+                schedule.getId(), yearMonth, rows.size());
+    }
+
+    /**
+     * ✅ 연간 누적 사용량 (승인된 근무표 기준)
+     */
+    @Transactional(readOnly = true)
+    public double getYearToDate(String userId, int year) {
+        Double sum = usageRepository.sumByUserIdAndYear(userId, year);
+        return sum != null ? sum : 0.0;
+    }
+
+    /**
+     * ✅ 연간 누적 사용량 (근무표 해당 월 제외)
+     */
+    @Transactional(readOnly = true)
+    public double getYearToDateExcludingMonth(String userId, String scheduleYearMonth) {
+        YearMonth yearMonth = parseYearMonth(scheduleYearMonth);
+        if (yearMonth == null) {
+            return 0.0;
+        }
+        Double sum = usageRepository.sumByUserIdAndYearExcludingMonth(
+                userId, yearMonth.getYear(), yearMonth.getMonthValue());
+        return sum != null ? sum : 0.0;
+    }
+
+    /**
+     * 매일 새벽 4시 집계 검증 (1월에는 전년도 포함)
+     */
+    @Scheduled(cron = "0 0 4 * * *")
+    @Transactional
+    public void scheduledReconcile() {
+        LocalDate today = LocalDate.now();
+        reconcile(today.getYear());
+        if (today.getMonthValue() == 1) {
+            reconcile(today.getYear() - 1);
+        }
+    }
+
+    /**
+     * ✅ 해당 연도 집계를 원본 엔트리 합계와 대조해 다른 행만 바로잡음
+     * @return 수정된 행 수
+     */
+    @Transactional
+    public int reconcile(int year) {
+        Map<String, Object[]> expected = new HashMap<>();
+        for (Object[] row : entryRepository.sumApprovedVacationGroupedByUserAndYearMonth(String.valueOf(year))) {
+            YearMonth yearMonth = parseYearMonth((String) row[1]);
+            if (yearMonth == null) continue;
+            String userId = (String) row[0];
+            expected.put(key(userId, yearMonth.getMonthValue()),
+                    new Object[]{userId, year, yearMonth.getMonthValue(), toDouble(row[2])});
+        }
+
+        Map<String, WorkScheduleVacationUsage> actual = new HashMap<>();
+        for (WorkScheduleVacationUsage usage : usageRepository.findByYear(year)) {
+            actual.put(key(usage.getUserId(), usage.getMonth()), usage);
+        }
+
+        List<Object[]> fixes = new ArrayList<>();
+        for (Map.Entry<String, Object[]> entry : expected.entrySet()) {
+            WorkScheduleVacationUsage usage = actual.get(entry.getKey());
+            double expectedDays = (Double) entry.getValue()[3];
+            double actualDays = usage != null && usage.getUsedDays() != null ? usage.getUsedDays() : 0.0;
+            if (Math.abs(expectedDays - actualDays) > TOLERANCE) {
+                fixes.add(entry.getValue());
+            }
+        }
+        for (Map.Entry<String, WorkScheduleVacationUsage> entry : actual.entrySet()) {
+            WorkScheduleVacationUsage usage = entry.getValue();
+            if (!expected.containsKey(entry.getKey())
+                    && usage.getUsedDays() != null && Math.abs(usage.getUsedDays()) > TOLERANCE) {
+                fixes.add(new Object[]{usage.getUserId(), year, usage.getMonth(), 0.0});
+            }
+        }
+
+        if (!fixes.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_USAGE_SQL, fixes);
+            log.warn("{}년 근무표 휴가 사용량 집계 불일치 {}건 보정", year, fixes.size());
+        } else {
+            log.info("{}년 근무표 휴가 사용량 집계 검증 완료: 불일치 없음", year);
+        }
+        return fixes.size();
+    }
+
+    private static String key(String userId, Integer month) {
+        return userId + ":" + month;
+    }
+
+    private static YearMonth parseYearMonth(String scheduleYearMonth) {
+        if (scheduleYearMonth == null) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(scheduleYearMonth);
+        } catch (DateTimeParseException e) {
+            log.warn("근무표 연월 형식 오류: {}", scheduleYearMonth);
+            return null;
+        }
+    }
+
+    private static double toDouble(Object value) {
+        return value instanceof Number number ? number.doubleValue() : 0.0;
+    }
+}
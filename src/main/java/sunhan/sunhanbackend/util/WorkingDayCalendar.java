@@ -0,0 +1,114 @@
+package sunhan.sunhanbackend.util;
+
+import sunhan.sunhanbackend.enums.HalfDayType;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.time.Year;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 휴가 일수 계산용 근무일 달력
+ * 연도별로 "1월 1일부터 해당 일까지의 근무일 수" 누적합을 한 번 만들어 두고,
+ * 두 날짜 사이 근무일 수를 누적합의 차이(O(1))로 계산합니다.
+ *
+ * 주말/공휴일 제외 여부는 생성 시 규칙으로 결정되며, 규칙이 비어 있으면 모든 날을 근무일로 봅니다.
+ */
+public class WorkingDayCalendar {
+
+    private final Set<DayOfWeek> weekendDays;
+    private final Set<MonthDay> fixedHolidays;   // 매년 반복 (양력 공휴일)
+    private final Set<LocalDate> extraHolidays;  // 특정 연도 공휴일 (음력 명절, 대체공휴일 등)
+
+    // 연도 -> prefix[dayOfYear] = 1월 1일 ~ dayOfYear 까지의 근무일 수 (prefix[0] = 0)
+    private final Map<Integer, int[]> prefixByYear = new ConcurrentHashMap<>();
+
+    public WorkingDayCalendar(Set<DayOfWeek> weekendDays,
+                              Set<MonthDay> fixedHolidays,
+                              Set<LocalDate> extraHolidays) {
+        this.weekendDays = weekendDays == null ? Set.of() : Set.copyOf(weekendDays);
+        this.fixedHolidays = fixedHolidays == null ? Set.of() : Set.copyOf(fixedHolidays);
+        this.extraHolidays = extraHolidays == null ? Set.of() : Set.copyOf(extraHolidays);
+    }
+
+    /**
+     * 모든 날을 근무일로 보는 달력 (기존 휴가 일수 계산 방식)
+     */
+    public static WorkingDayCalendar everyDay() {
+        return new WorkingDayCalendar(Set.of(), Set.of(), Set.of());
+    }
+
+    public boolean isWorkingDay(LocalDate date) {
+        int[] prefix = prefixOf(date.getYear());
+        int doy = date.getDayOfYear();
+        return prefix[doy] - prefix[doy - 1] == 1;
+    }
+
+    /**
+     * start ~ end (양 끝 포함) 사이 근무일 수. end가 start보다 앞서면 0
+     */
+    public int countWorkingDays(LocalDate start, LocalDate end) {
+        if (start == null || end == null || end.isBefore(start)) return 0;
+
+        if (start.getYear() == end.getYear()) {
+            int[] prefix = prefixOf(start.getYear());
+            return prefix[end.getDayOfYear()] - prefix[start.getDayOfYear() - 1];
+        }
+
+        // 연도가 걸치는 경우: 시작 연도 잔여 + 중간 연도 전체 + 종료 연도 앞부분
+        int[] startPrefix = prefixOf(start.getYear());
+        int total = startPrefix[startPrefix.length - 1] - startPrefix[start.getDayOfYear() - 1];
+        for (int year = start.getYear() + 1; year < end.getYear(); year++) {
+            int[] prefix = prefixOf(year);
+            total += prefix[prefix.length - 1];
+        }
+        total += prefixOf(end.getYear())[end.getDayOfYear()];
+        return total;
+    }
+
+    /**
+     * 휴가 사용 일수 계산 (반차는 시작일이 근무일일 때만 0.5일)
+     */
+    public double leaveDays(LocalDate start, LocalDate end, HalfDayType halfDayType) {
+        if (halfDayType != null && halfDayType != HalfDayType.ALL_DAY) {
+            return start != null && isWorkingDay(start) ? halfDayType.getDayValue() : 0.0;
+        }
+        return countWorkingDays(start, end);
+    }
+
+    /**
+     * start ~ end 사이 근무일 목록 (LeaveApplicationDay 생성용)
+     */
+    public List<LocalDate> workingDaysBetween(LocalDate start, LocalDate end) {
+        int count = countWorkingDays(start, end);
+        List<LocalDate> result = new ArrayList<>(count);
+        if (count == 0) return result;
+
+        for (LocalDate date = start; !date.isAfter(end) && result.size() < count; date = date.plusDays(1)) {
+            if (isWorkingDay(date)) result.add(date);
+        }
+        return result;
+    }
+
+    private int[] prefixOf(int year) {
+        return prefixByYear.computeIfAbsent(year, this::buildPrefix);
+    }
+
+    private int[] buildPrefix(int year) {
+        int length = Year.of(year).length();
+        int[] prefix = new int[length + 1];
+        LocalDate date = LocalDate.of(year, 1, 1);
+        for (int doy = 1; doy <= length; doy++, date = date.plusDays(1)) {
+            prefix[doy] = prefix[doy - 1] + (isExcluded(date) ? 0 : 1);
+        }
+        return prefix;
+    }
+
+    private boolean isExcluded(LocalDate date) {
+        return weekendDays.contains(date.getDayOfWeek())
+                || fixedHolidays.contains(MonthDay.from(date))
+                || extraHolidays.contains(date);
+    }
+}
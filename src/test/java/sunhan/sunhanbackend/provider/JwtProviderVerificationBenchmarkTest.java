@@ -0,0 +1,121 @@
+package sunhan.sunhanbackend.provider;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import sunhan.sunhanbackend.enums.Role;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 요청당 토큰 검증 비용 비교 (기존: 요청마다 파서 생성 + 서명 검증 / 캐시: 첫 요청만 검증)
+ * 검증 결과와 캐시 적중 수를 확인합니다. 소요 시간 비교는 환경에 따라 달라지므로 단언하지 않고
+ * benchmark 태그 테스트에서 로그로만 남깁니다 (기본 test 태스크 제외, ./gradlew benchmark로 실행).
+ */
+class JwtProviderVerificationBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtProviderVerificationBenchmarkTest.class);
+
+    private static final String SECRET = "benchmark-secret-key-benchmark-secret-key-0123456789";
+    private static final int WARMUP = 2_000;
+    private static final int ITERATIONS = 20_000;
+
+    private SimpleMeterRegistry meterRegistry;
+    private VerifiedTokenCache verifiedTokenCache;
+    private JwtProvider jwtProvider;
+    private Key signingKey;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        verifiedTokenCache = new VerifiedTokenCache(meterRegistry);
+        jwtProvider = new JwtProvider(verifiedTokenCache);
+        ReflectionTestUtils.setField(jwtProvider, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtProvider, "accessTokenExpiration", 3_600_000L);
+        jwtProvider.init();
+        signingKey = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void cachedVerificationReturnsSameResultAndHitsCache() {
+        String token = jwtProvider.create("bench-user", Role.ADMIN);
+
+        assertEquals("bench-user", jwtProvider.validate(token));
+        assertEquals(Role.ADMIN, jwtProvider.extractRole(token));
+        assertTrue(jwtProvider.validateToken(token));
+
+        assertEquals(1.0, counter("miss"));
+        assertEquals(2.0, counter("hit"));
+    }
+
+    @Test
+    void evictedAndTamperedTokensAreVerifiedAgain() {
+        String token = jwtProvider.create("bench-user", Role.USER);
+        assertEquals("bench-user", jwtProvider.validate(token));
+
+        jwtProvider.evictVerifiedToken(token);
+        assertEquals("bench-user", jwtProvider.validate(token));
+        assertEquals(2.0, counter("miss"));
+
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+        assertNull(jwtProvider.validate(tampered));
+        assertFalse(jwtProvider.validateToken(tampered));
+    }
+
+    @Test
+    void repeatedRequestsAreServedFromCache() {
+        String token = jwtProvider.create("bench-user", Role.USER);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(Role.USER, jwtProvider.extractRole(token));
+        }
+
+        assertEquals(1.0, counter("miss"));
+        assertEquals(99.0, counter("hit"));
+    }
+
+    @Test
+    @Tag("benchmark")
+    void perRequestVerificationCost() {
+        String token = jwtProvider.create("bench-user", Role.USER);
+
+        // 기존 방식: 요청마다 파서를 만들어 서명 검증 후 role 조회
+        long before = measure(() -> Role.valueOf(Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .setAllowedClockSkewSeconds(30)
+                .build()
+                .parseClaimsJws(token)
+                .getBody()
+                .get("role", String.class)));
+
+        // 캐시 방식: 첫 요청 이후 토큰 해시 조회 (성공 시 로그가 없는 extractRole로 비교)
+        long after = measure(() -> jwtProvider.extractRole(token));
+
+        assertTrue(counter("hit") >= ITERATIONS);
+        log.info("요청당 토큰 검증 비용: 기존 {} ns, 캐시 {} ns ({}회 평균)", before, after, ITERATIONS);
+    }
+
+    private long measure(Runnable verification) {
+        for (int i = 0; i < WARMUP; i++) {
+            verification.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            verification.run();
+        }
+        return (System.nanoTime() - start) / ITERATIONS;
+    }
+
+    private double counter(String result) {
+        return meterRegistry.get("jwt.verified_token_cache").tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,153 @@
+package sunhan.sunhanbackend.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import sunhan.sunhanbackend.entity.mysql.UserAnnualVacationHistory;
+import sunhan.sunhanbackend.enums.VacationLedgerType;
+import sunhan.sunhanbackend.repository.mysql.UserAnnualVacationHistoryRepository;
+import sunhan.sunhanbackend.repository.mysql.VacationLedgerEntryRepository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 같은 사용자에게 승인이 동시에 몰릴 때 잔여 연차가 정확히 유지되는지 확인
+ * 실제 MySQL(행 잠금/조건부 UPDATE)이 필요하므로 integration 태그로 기본 test 태스크에서 제외하며,
+ * 테스트용 DB를 설정한 뒤 ./gradlew integrationTest로 실행합니다. (2099년 이력/원장 행을 만들고 정리함)
+ */
+@Tag("integration")
+@SpringBootTest
+class VacationLedgerConcurrencyTest {
+
+    private static final int YEAR = 2099;
+    private static final LocalDate MARCH = LocalDate.of(YEAR, 3, 10);
+
+    @Autowired
+    private VacationService vacationService;
+
+    @Autowired
+    private UserAnnualVacationHistoryRepository historyRepository;
+
+    @Autowired
+    private VacationLedgerEntryRepository ledgerRepository;
+
+    private final List<String> createdUserIds = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        for (String userId : createdUserIds) {
+            ledgerRepository.deleteAll(ledgerRepository.findByUserIdAndYearOrderByIdAsc(userId, YEAR));
+            historyRepository.findByUserIdAndYear(userId, YEAR).ifPresent(historyRepository::delete);
+        }
+    }
+
+    @Test
+    void parallelDeductionsNeverOverdraw() throws Exception {
+        String userId = newUser(15.0);
+        long documentBase = System.nanoTime();
+
+        AtomicInteger succeeded = runConcurrently(20, i ->
+                vacationService.deductVacationDays(userId, 1.0, MARCH, documentBase + i));
+
+        UserAnnualVacationHistory history = historyRepository.findByUserIdAndYear(userId, YEAR).orElseThrow();
+        assertEquals(15, succeeded.get());
+        assertEquals(15.0, history.getUsedRegularDays());
+        assertEquals(0.0, history.getRemainingDays());
+        assertEquals(15, countLedger(userId, VacationLedgerType.DEDUCT));
+    }
+
+    @Test
+    void sameDocumentIsDeductedOnce() throws Exception {
+        String userId = newUser(15.0);
+        long documentId = System.nanoTime();
+
+        AtomicInteger succeeded = runConcurrently(10, i ->
+                vacationService.deductVacationDays(userId, 2.0, MARCH, documentId));
+
+        UserAnnualVacationHistory history = historyRepository.findByUserIdAndYear(userId, YEAR).orElseThrow();
+        assertEquals(2.0, history.getUsedRegularDays());
+        assertEquals(1, countLedger(userId, VacationLedgerType.DEDUCT));
+        // 중복 요청은 유니크 제약 충돌 또는 멱등 처리로 끝나며, 어느 쪽이든 잔여는 한 번만 줄어든다
+        assertTrue(succeeded.get() >= 1);
+    }
+
+    @Test
+    void parallelDeductAndRestoreKeepExactTotals() throws Exception {
+        String userId = newUser(15.0);
+        long documentBase = System.nanoTime();
+
+        runConcurrently(10, i -> vacationService.deductVacationDays(userId, 1.0, MARCH, documentBase + i));
+        runConcurrently(10, i -> {
+            // 짝수 문서는 복구, 같은 복구를 두 번 보내도 한 번만 반영
+            if (i % 2 == 0) {
+                vacationService.restoreVacationDays(userId, 1.0, MARCH, documentBase + i);
+                vacationService.restoreVacationDays(userId, 1.0, MARCH, documentBase + i);
+            }
+        });
+
+        UserAnnualVacationHistory history = historyRepository.findByUserIdAndYear(userId, YEAR).orElseThrow();
+        assertEquals(5.0, history.getUsedRegularDays());
+        assertEquals(5, countLedger(userId, VacationLedgerType.RESTORE));
+    }
+
+    private String newUser(double regularDays) {
+        String userId = "ledger-test-" + UUID.randomUUID().toString().substring(0, 8);
+        historyRepository.save(UserAnnualVacationHistory.builder()
+                .userId(userId)
+                .year(YEAR)
+                .carryoverDays(0.0)
+                .regularDays(regularDays)
+                .usedCarryoverDays(0.0)
+                .usedRegularDays(0.0)
+                .build());
+        createdUserIds.add(userId);
+        return userId;
+    }
+
+    private long countLedger(String userId, VacationLedgerType type) {
+        return ledgerRepository.findByUserIdAndYearOrderByIdAsc(userId, YEAR).stream()
+                .filter(e -> e.getEntryType() == type)
+                .count();
+    }
+
+    private AtomicInteger runConcurrently(int threads, IndexedTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < threads; i++) {
+            final int index = i;
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    task.run(index);
+                    succeeded.incrementAndGet();
+                } catch (RuntimeException ignored) {
+                    // 잔여 부족 / 중복 차감 충돌은 예상된 실패
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> f : futures) f.get(30, TimeUnit.SECONDS);
+        executor.shutdown();
+        return succeeded;
+    }
+
+    @FunctionalInterface
+    private interface IndexedTask {
+        void run(int index);
+    }
+}
@@ -0,0 +1,170 @@
+package sunhan.sunhanbackend.service.workschedule;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import sunhan.sunhanbackend.entity.mysql.workschedule.WorkSchedule;
+import sunhan.sunhanbackend.entity.mysql.workschedule.WorkScheduleEntry;
+import sunhan.sunhanbackend.entity.mysql.workschedule.WorkScheduleVacationUsage;
+import sunhan.sunhanbackend.repository.mysql.workschedule.WorkScheduleEntryRepository;
+import sunhan.sunhanbackend.repository.mysql.workschedule.WorkScheduleRepository;
+import sunhan.sunhanbackend.repository.mysql.workschedule.WorkScheduleVacationUsageRepository;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 근무표 휴가 사용량 집계: 변경 알림 → 재계산, 새벽 대조 보정
+ */
+@ExtendWith(MockitoExtension.class)
+class WorkScheduleVacationUsageServiceTest {
+
+    private static final long SCHEDULE_ID = 7L;
+
+    @Mock
+    private WorkScheduleEntryRepository entryRepository;
+    @Mock
+    private WorkScheduleVacationUsageRepository usageRepository;
+    @Mock
+    private WorkScheduleRepository scheduleRepository;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private WorkScheduleVacationUsageService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new WorkScheduleVacationUsageService(entryRepository, usageRepository, scheduleRepository, jdbcTemplate);
+    }
+
+    @AfterEach
+    void clearTransaction() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    void refreshUpsertsMonthTotalsForMembersAndRemovedUsers() {
+        WorkSchedule schedule = schedule("2026-03");
+        when(entryRepository.findByWorkScheduleIdOrderByDisplayOrderAsc(SCHEDULE_ID))
+                .thenReturn(List.of(entry(schedule, "u1"), entry(schedule, "u2")));
+        when(entryRepository.sumApprovedVacationByUserIdsAndYearMonth(anyCollection(), eq("2026-03")))
+                .thenReturn(List.<Object[]>of(new Object[]{"u1", 2.5}));
+
+        service.refreshSchedule(schedule, List.of("u3"));
+
+        List<Object[]> rows = capturedUpserts();
+        assertEquals(3, rows.size());
+        assertArrayEquals(new Object[]{"u3", 2026, 3, 0.0}, rows.get(0));
+        assertArrayEquals(new Object[]{"u1", 2026, 3, 2.5}, rows.get(1));
+        assertArrayEquals(new Object[]{"u2", 2026, 3, 0.0}, rows.get(2));
+    }
+
+    @Test
+    void changesInsideTransactionRefreshOncePerScheduleBeforeCommit() {
+        WorkSchedule schedule = schedule("2026-04");
+        when(scheduleRepository.findById(SCHEDULE_ID)).thenReturn(Optional.of(schedule));
+        when(entryRepository.findByWorkScheduleIdOrderByDisplayOrderAsc(SCHEDULE_ID))
+                .thenReturn(List.of(entry(schedule, "u1")));
+        when(entryRepository.sumApprovedVacationByUserIdsAndYearMonth(anyCollection(), eq("2026-04")))
+                .thenReturn(List.<Object[]>of(new Object[]{"u1", 1.0}));
+
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        service.scheduleChanged(SCHEDULE_ID);
+        service.scheduleChanged(SCHEDULE_ID, List.of("u9"));
+        verifyNoInteractions(jdbcTemplate);
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        assertEquals(1, synchronizations.size());
+        synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        verify(scheduleRepository).flush();
+        List<Object[]> rows = capturedUpserts();
+        assertArrayEquals(new Object[]{"u9", 2026, 4, 0.0}, rows.get(0));
+        assertArrayEquals(new Object[]{"u1", 2026, 4, 1.0}, rows.get(1));
+    }
+
+    @Test
+    void changesOutsideTransactionRefreshImmediatelyAndSkipDeletedSchedules() {
+        when(scheduleRepository.findById(SCHEDULE_ID)).thenReturn(Optional.empty());
+
+        service.scheduleChanged(SCHEDULE_ID);
+
+        verify(scheduleRepository).findById(SCHEDULE_ID);
+        verifyNoInteractions(entryRepository, jdbcTemplate);
+    }
+
+    @Test
+    void reconcileFixesDriftedAndStaleRows() {
+        when(entryRepository.sumApprovedVacationGroupedByUserAndYearMonth("2026")).thenReturn(List.of(
+                new Object[]{"u1", "2026-03", 1.5},
+                new Object[]{"u2", "2026-04", 2.0}
+        ));
+        when(usageRepository.findByYear(2026)).thenReturn(List.of(
+                usage("u1", 3, 1.5),
+                usage("u2", 4, 1.0),
+                usage("u4", 5, 3.0)
+        ));
+
+        assertEquals(2, service.reconcile(2026));
+
+        List<Object[]> fixes = capturedUpserts();
+        assertEquals(2, fixes.size());
+        assertTrue(fixes.stream().anyMatch(row -> Arrays.equals(row, new Object[]{"u2", 2026, 4, 2.0})));
+        assertTrue(fixes.stream().anyMatch(row -> Arrays.equals(row, new Object[]{"u4", 2026, 5, 0.0})));
+    }
+
+    @Test
+    void reconcileWritesNothingWhenTotalsMatch() {
+        when(entryRepository.sumApprovedVacationGroupedByUserAndYearMonth("2026"))
+                .thenReturn(List.<Object[]>of(new Object[]{"u1", "2026-03", 1.5}));
+        when(usageRepository.findByYear(2026)).thenReturn(List.of(usage("u1", 3, 1.5), usage("u2", 4, 0.0)));
+
+        assertEquals(0, service.reconcile(2026));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object[]> capturedUpserts() {
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), captor.capture());
+        return captor.getValue();
+    }
+
+    private static WorkSchedule schedule(String yearMonth) {
+        WorkSchedule schedule = new WorkSchedule();
+        schedule.setId(SCHEDULE_ID);
+        schedule.setScheduleYearMonth(yearMonth);
+        return schedule;
+    }
+
+    private static WorkScheduleEntry entry(WorkSchedule schedule, String userId) {
+        return new WorkScheduleEntry(schedule, userId, 0);
+    }
+
+    private static WorkScheduleVacationUsage usage(String userId, int month, double usedDays) {
+        WorkScheduleVacationUsage usage = new WorkScheduleVacationUsage();
+        usage.setUserId(userId);
+        usage.setYear(2026);
+        usage.setMonth(month);
+        usage.setUsedDays(usedDays);
+        return usage;
+    }
+}
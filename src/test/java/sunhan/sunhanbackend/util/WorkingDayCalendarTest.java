@@ -0,0 +1,88 @@
+package sunhan.sunhanbackend.util;
+
+import org.junit.jupiter.api.Test;
+import sunhan.sunhanbackend.enums.HalfDayType;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkingDayCalendarTest {
+
+    private final WorkingDayCalendar weekdays = new WorkingDayCalendar(
+            EnumSet.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY),
+            Set.of(MonthDay.of(1, 1), MonthDay.of(3, 1)),
+            Set.of(LocalDate.of(2025, 1, 28), LocalDate.of(2025, 1, 29), LocalDate.of(2025, 1, 30))
+    );
+
+    @Test
+    void everyDayCountsCalendarDays() {
+        WorkingDayCalendar calendar = WorkingDayCalendar.everyDay();
+
+        assertEquals(1, calendar.countWorkingDays(LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 1)));
+        assertEquals(31, calendar.countWorkingDays(LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31)));
+        assertEquals(366, calendar.countWorkingDays(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31)));
+    }
+
+    @Test
+    void excludesWeekendsAndHolidays() {
+        // 2025-01-27(월) ~ 2025-01-31(금): 설 연휴 28~30 제외 -> 27, 31
+        assertEquals(2, weekdays.countWorkingDays(LocalDate.of(2025, 1, 27), LocalDate.of(2025, 1, 31)));
+        // 2025-03-01(토, 삼일절) ~ 2025-03-03(월)
+        assertEquals(1, weekdays.countWorkingDays(LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 3)));
+        assertFalse(weekdays.isWorkingDay(LocalDate.of(2025, 1, 1)));
+        assertTrue(weekdays.isWorkingDay(LocalDate.of(2025, 1, 2)));
+    }
+
+    @Test
+    void countsAcrossYearBoundaries() {
+        // 2024-12-30(월), 31(화) + 2025-01-02(목), 03(금) (1/1 신정 제외)
+        assertEquals(4, weekdays.countWorkingDays(LocalDate.of(2024, 12, 30), LocalDate.of(2025, 1, 3)));
+
+        WorkingDayCalendar calendar = WorkingDayCalendar.everyDay();
+        assertEquals(365 + 366 + 365 + 1,
+                calendar.countWorkingDays(LocalDate.of(2023, 1, 1), LocalDate.of(2026, 1, 1)));
+    }
+
+    @Test
+    void matchesDayByDayCount() {
+        LocalDate start = LocalDate.of(2024, 11, 15);
+        LocalDate end = LocalDate.of(2026, 2, 10);
+
+        int expected = 0;
+        for (LocalDate d = start; !d.isAfter(end); d = d.plusDays(1)) {
+            if (weekdays.isWorkingDay(d)) expected++;
+        }
+        assertEquals(expected, weekdays.countWorkingDays(start, end));
+        assertEquals(expected, weekdays.workingDaysBetween(start, end).size());
+    }
+
+    @Test
+    void reversedRangeIsZero() {
+        assertEquals(0, weekdays.countWorkingDays(LocalDate.of(2025, 5, 2), LocalDate.of(2025, 5, 1)));
+        assertTrue(weekdays.workingDaysBetween(LocalDate.of(2025, 5, 2), LocalDate.of(2025, 5, 1)).isEmpty());
+    }
+
+    @Test
+    void halfDayOnlyOnWorkingDay() {
+        assertEquals(0.5, weekdays.leaveDays(LocalDate.of(2025, 1, 2), LocalDate.of(2025, 1, 2), HalfDayType.MORNING));
+        assertEquals(0.0, weekdays.leaveDays(LocalDate.of(2025, 1, 4), LocalDate.of(2025, 1, 4), HalfDayType.AFTERNOON));
+        assertEquals(2.0, weekdays.leaveDays(LocalDate.of(2025, 1, 2), LocalDate.of(2025, 1, 5), HalfDayType.ALL_DAY));
+    }
+
+    @Test
+    void workingDaysBetweenSkipsExcludedDates() {
+        List<LocalDate> dates = weekdays.workingDaysBetween(LocalDate.of(2025, 1, 24), LocalDate.of(2025, 2, 3));
+        assertEquals(List.of(
+                LocalDate.of(2025, 1, 24),
+                LocalDate.of(2025, 1, 27),
+                LocalDate.of(2025, 1, 31),
+                LocalDate.of(2025, 2, 3)
+        ), dates);
+    }
+}